@@ -15,16 +15,54 @@
  * limitations under the License.
  */
 
-uniform mat4 u_ModelView;
-uniform mat4 u_ModelViewProjection;
+#ifndef USE_QUANTIZED_VERTICES
+#define USE_QUANTIZED_VERTICES 0
+#endif
+#ifndef USE_INSTANCING
+#define USE_INSTANCING 0
+#endif
+
+// u_View and u_ViewProjection come from the per-frame camera block
+// (CameraBlock); only the model matrix is per object.
+#if USE_INSTANCING
+// The model matrix comes per instance (see InstanceBatcher); a mat4 attribute
+// occupies locations 3 to 6.
+layout(location = 3) in mat4 a_Model;
+#else
+uniform mat4 u_Model;
+#endif
 
 layout(location = 0) in vec4 a_Position;
 layout(location = 1) in vec2 a_TexCoord;
+#if USE_QUANTIZED_VERTICES
+// Positions are unorm16 relative to the mesh bounds, normals are octahedral
+// snorm16 (see VertexQuantizer).
+uniform vec3 u_PositionOffset;
+uniform vec3 u_PositionScale;
+layout(location = 2) in vec2 a_Normal;
+#else
 layout(location = 2) in vec3 a_Normal;
+#endif
 
 out vec2 v_TexCoord;
 
+mat4 Model() {
+#if USE_INSTANCING
+  return a_Model;
+#else
+  return u_Model;
+#endif
+}
+
+vec4 DecodePosition() {
+#if USE_QUANTIZED_VERTICES
+  return vec4(u_PositionOffset + a_Position.xyz * u_PositionScale, 1.0);
+#else
+  return a_Position;
+#endif
+}
+
 void main() {
   v_TexCoord = a_TexCoord;
-  gl_Position = u_ModelViewProjection * a_Position;
+  gl_Position = u_ViewProjection * (Model() * DecodePosition());
 }
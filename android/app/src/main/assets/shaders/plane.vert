@@ -15,8 +15,8 @@
  * limitations under the License.
  */
 
+// u_ViewProjection comes from the per-frame camera block (CameraBlock).
 uniform mat4 u_Model;
-uniform mat4 u_ModelViewProjection;
 uniform mat2 u_PlaneUvMatrix;
 uniform vec3 u_Normal;
 
@@ -38,5 +38,5 @@ void main() {
    // Project vertices in world frame onto vec_u and vec_v.
    vec2 uv = vec2(dot(world_pos.xyz, vec_u), dot(world_pos.xyz, vec_v));
    v_TexCoordAlpha = vec3(u_PlaneUvMatrix * uv, a_XZPositionAlpha.z);
-   gl_Position = u_ModelViewProjection * local_pos;
+   gl_Position = u_ViewProjection * world_pos;
 }
@@ -15,12 +15,13 @@
  * limitations under the License.
  */
 
-uniform mat4 u_ModelViewProjection;
+// u_ViewProjection comes from the per-frame camera block (CameraBlock); the
+// points are in world space.
 uniform float u_PointSize;
 
 layout(location = 0) in vec4 a_Position;
 
 void main() {
-  gl_Position = u_ModelViewProjection * vec4(a_Position.xyz, 1.0);
+  gl_Position = u_ViewProjection * vec4(a_Position.xyz, 1.0);
   gl_PointSize = u_PointSize;
 }
@@ -3,11 +3,13 @@ package com.example.project_furnitureapp; // ประกาศ package ขอ
 // --- import ที่จำเป็นสำหรับ AR, OpenGL, Android, Flutter ---
 import android.app.Activity; // สำหรับใช้งาน Activity
 import android.content.Context; // สำหรับใช้งาน Context
+import android.content.pm.ApplicationInfo; // สำหรับเช็คว่าเป็น debug build หรือไม่
 import android.opengl.GLES30; // สำหรับเรียกใช้ OpenGL ES 3.0
 import android.opengl.GLSurfaceView; // สำหรับแสดงผล OpenGL
 import android.opengl.Matrix; // สำหรับคำนวณเมทริกซ์
 import android.os.Handler; // สำหรับรันโค้ดบน thread อื่น
 import android.os.Looper; // สำหรับดึง main thread
+import android.util.Log; // สำหรับเขียน log
 import android.view.MotionEvent; // สำหรับรับ event การสัมผัสหน้าจอ
 import android.view.SurfaceHolder; // สำหรับจัดการ surface
 import android.view.View; // สำหรับใช้งาน View
@@ -18,10 +20,26 @@ import androidx.lifecycle.LifecycleOwner; // สำหรับ lifecycle owner
 import com.google.ar.core.*; // สำหรับใช้งาน ARCore
 import com.google.ar.core.exceptions.*; // สำหรับ exception ของ ARCore
 import com.google.ar.core.ArCoreApk.InstallStatus; // สำหรับเช็คสถานะการติดตั้ง ARCore
+import com.example.project_furnitureapp.samplerender.AssetLoader; // สำหรับโหลด asset แบบ background
+import com.example.project_furnitureapp.samplerender.CameraUniforms; // สำหรับ uniform buffer ข้อมูลกล้องต่อเฟรม
+import com.example.project_furnitureapp.samplerender.Framebuffer; // สำหรับวาดฉากเสมือนนอกจอเพื่อ occlusion
+import com.example.project_furnitureapp.samplerender.GLError; // สำหรับเลือกโหมดตรวจ error ของ GL
+import com.example.project_furnitureapp.samplerender.GlState; // สำหรับตั้งค่า GL state ผ่าน cache
+import com.example.project_furnitureapp.samplerender.GpuProfiler; // สำหรับวัดเวลา GPU ของแต่ละ pass
+import com.example.project_furnitureapp.samplerender.ProgramBinaryCache; // สำหรับโหลด shader program จาก binary ที่เก็บไว้
+import com.example.project_furnitureapp.samplerender.ResourceCache; // สำหรับแชร์ mesh/texture และจำกัดหน่วยความจำ GPU
 import com.example.project_furnitureapp.samplerender.SampleRender; // สำหรับวาดกราฟิก
+import com.example.project_furnitureapp.samplerender.AsyncShaderCompiler; // สำหรับ compile shader โดยไม่หยุดเฟรม
+import com.example.project_furnitureapp.samplerender.PendingShader; // สำหรับนับ shader variant ที่ compile
+import com.example.project_furnitureapp.samplerender.diagnostics.FrameStats; // สำหรับเวลา CPU ของแต่ละช่วงของเฟรม
+import com.example.project_furnitureapp.samplerender.geometry.Frustum; // สำหรับตัด object ที่อยู่นอกมุมมองกล้อง
+import com.example.project_furnitureapp.samplerender.diagnostics.GlErrorPolicy; // สำหรับโหมดตรวจ error ของ GL
+import com.example.project_furnitureapp.samplerender.gl.VariantRegistry; // สำหรับเก็บ shader variant ที่ compile แล้ว
 import com.example.project_furnitureapp.samplerender.arcore.PlaneRenderer; // สำหรับวาด plane
 import com.example.project_furnitureapp.samplerender.PointRenderer; // สำหรับวาดจุด
 import com.example.project_furnitureapp.samplerender.arcore.BackgroundRenderer; // สำหรับวาดกล้อง
+import com.example.project_furnitureapp.samplerender.arcore.DepthUploader; // สำหรับจำนวน upload ภาพ depth
+import java.io.File; // สำหรับโฟลเดอร์ cache
 import java.io.IOException; // สำหรับจัดการ exception
 import java.util.ArrayList; // สำหรับ list
 import java.util.Collections; // สำหรับ list
@@ -37,7 +55,26 @@ import io.flutter.plugin.platform.PlatformView; // สำหรับฝัง V
 // คลาสหลักสำหรับฝัง ARCore ใน Flutter ผ่าน PlatformView
 public class ArMeasureView implements PlatformView, DefaultLifecycleObserver, GLSurfaceView.Renderer, SurfaceHolder.Callback {
 
+    private static final String TAG = ArMeasureView.class.getSimpleName(); // ตัวแปร TAG สำหรับ log
     private static final String CHANNEL_NAME = "ar_measurement_channel"; // ชื่อ channel สำหรับสื่อสารกับ Flutter
+    private static final String PROGRAM_CACHE_DIR = "program_binaries"; // โฟลเดอร์ของ program binary ใน cache dir
+    private static final int PASS_BACKGROUND = 0; // pass วาดกล้อง
+    private static final int PASS_PLANES = 1; // pass วาด plane
+    private static final int PASS_POINTS = 2; // pass วาดจุด
+    private static final int PASS_COMPOSITE = 3; // pass รวมฉากเสมือนกับภาพกล้อง (โหมด occlusion)
+    private static final int PHASE_PREPARE = 0; // ล้างจอ upload asset และรับ shader ที่ compile เสร็จ
+    private static final int PHASE_ROTATION = 1; // อัปเดตการหมุนจอและ texture ของกล้อง
+    private static final int PHASE_UPDATE = 2; // arSession.update()
+    private static final int PHASE_BACKGROUND = 3; // วาดกล้อง
+    private static final int PHASE_CAMERA = 4; // matrix, frustum และ uniform ของกล้อง
+    private static final int PHASE_PLANES = 5; // วาด plane
+    private static final int PHASE_POINTS = 6; // วาดจุด
+    private static final int PHASE_TAP = 7; // จัดการการแตะ
+    private static final int PHASE_COMPOSITE = 8; // รวมฉากเสมือนกับภาพกล้อง (โหมด occlusion)
+    private static final long FRAME_BUDGET_NANOS = 50_000_000L; // 1.5 เฟรมของกล้อง 30 fps: ช้ากว่านี้คือพลาดภาพกล้อง
+    private static final float Z_NEAR = 0.1f; // ระนาบใกล้ของ projection
+    private static final float Z_FAR = 100.0f; // ระนาบไกลของ projection
+    private static final float DEFAULT_OCCLUSION_SCALE = 0.5f; // ฉากเสมือนของโหมด occlusion วาดที่ครึ่งหนึ่งของความละเอียดจอ
 
     private final Context context; // เก็บ context
     private final Activity activity; // เก็บ activity
@@ -52,15 +89,28 @@ public class ArMeasureView implements PlatformView, DefaultLifecycleObserver, GL
     private boolean installGlobalRequested = false; // flag สำหรับเช็คการติดตั้ง ARCore
 
     private SampleRender sampleRender; // สำหรับวาดกราฟิก
+    private AssetLoader assetLoader; // สำหรับโหลด asset บน worker thread และ upload ตามงบเวลา
+    private ResourceCache resourceCache; // cache ของ mesh/texture ตาม path ของ asset
     private BackgroundRenderer backgroundRenderer; // สำหรับวาดกล้อง
     private PlaneRenderer planeRenderer; // สำหรับวาด plane
     private PointRenderer pointRenderer; // สำหรับวาดจุด
+    private CameraUniforms cameraUniforms; // ข้อมูลกล้องที่ทุก shader อ่านร่วมกัน
+    private volatile GpuProfiler gpuProfiler; // เวลา GPU ของแต่ละ pass (Flutter อ่านจาก main thread)
+    private volatile DepthUploader depthUploader; // upload ภาพ depth ของ backgroundRenderer (Flutter อ่านจาก main thread)
+    private volatile boolean occlusionRequested = false; // Flutter ขอโหมด occlusion หรือไม่
+    private volatile float occlusionScale = DEFAULT_OCCLUSION_SCALE; // สัดส่วนความละเอียดของฉากเสมือนเทียบกับจอ
+    private volatile boolean depthEnabled = false; // session เปิด depth อยู่ (occlusion ใช้งานได้)
+    private Framebuffer virtualSceneFramebuffer; // ฉากเสมือนของโหมด occlusion (GL thread เท่านั้น)
 
     private final List<Anchor> measurementAnchors = Collections.synchronizedList(new ArrayList<Anchor>()); // รายการ anchor สำหรับการวัด
     private final Object anchorLock = new Object(); // object สำหรับ lock การเข้าถึง anchor
 
     private final float[] projectionMatrix = new float[16]; // เมทริกซ์ projection
     private final float[] viewMatrix = new float[16]; // เมทริกซ์ view
+    private final float[] cameraPosition = new float[3]; // ตำแหน่งกล้องใน world
+    private final Frustum frustum = new Frustum(); // frustum ของกล้องในเฟรมนี้
+    private final FrameStats frameStats = new FrameStats(FRAME_BUDGET_NANOS,
+            "prepare", "rotation", "update", "background", "camera", "planes", "points", "tap", "composite"); // ชื่อช่วงตามลำดับ PHASE_*
 
     // Constructor สำหรับสร้าง View
     public ArMeasureView(Context context, Activity activity, Lifecycle lifecycle, BinaryMessenger messenger, int id, Map<String, Object> creationParams) {
@@ -144,10 +194,7 @@ public class ArMeasureView implements PlatformView, DefaultLifecycleObserver, GL
                 if (installStatus != InstallStatus.INSTALLED) { return; } // ถ้ายังไม่ติดตั้ง
 
                 arSession = new Session(context); // สร้าง session
-                Config config = new Config(arSession); // สร้าง config
-                config.setPlaneFindingMode(Config.PlaneFindingMode.HORIZONTAL_AND_VERTICAL); // ค้นหา plane ทั้งแนวนอนและแนวตั้ง
-                config.setUpdateMode(Config.UpdateMode.LATEST_CAMERA_IMAGE); // ใช้ภาพกล้องล่าสุด
-                arSession.configure(config); // ตั้งค่า session
+                depthEnabled = configureSession(arSession, occlusionRequested); // ตั้งค่า session
             } catch (Exception e) {
                 arSession = null; // ถ้า error ให้ลบ session
                 return;
@@ -159,6 +206,9 @@ public class ArMeasureView implements PlatformView, DefaultLifecycleObserver, GL
 
         if (glSurfaceView != null) {
             glSurfaceView.onResume(); // resume GLSurfaceView
+            if (occlusionRequested) {
+                glSurfaceView.queueEvent(this::applyOcclusion); // session อาจเพิ่งสร้างหลัง renderer: ตั้ง occlusion ของ renderer ด้วย
+            }
             glSurfaceView.requestRender(); // ขอให้วาดใหม่
         }
         if (displayRotationHelper != null) {
@@ -166,9 +216,68 @@ public class ArMeasureView implements PlatformView, DefaultLifecycleObserver, GL
         }
     }
 
+    /**
+     * Configures the session for measuring, with the automatic depth mode if {@code occlusion} is
+     * requested and the device supports it. Returns whether depth is on.
+     */
+    private static boolean configureSession(Session session, boolean occlusion) {
+        Config config = new Config(session); // สร้าง config
+        config.setPlaneFindingMode(Config.PlaneFindingMode.HORIZONTAL_AND_VERTICAL); // ค้นหา plane ทั้งแนวนอนและแนวตั้ง
+        config.setUpdateMode(Config.UpdateMode.LATEST_CAMERA_IMAGE); // ใช้ภาพกล้องล่าสุด
+        boolean depth = occlusion && session.isDepthModeSupported(Config.DepthMode.AUTOMATIC); // อุปกรณ์รองรับ depth หรือไม่
+        config.setDepthMode(depth ? Config.DepthMode.AUTOMATIC : Config.DepthMode.DISABLED);
+        session.configure(config); // ตั้งค่า session
+        return depth;
+    }
+
+    /**
+     * Turns occlusion on or off on the GL thread: configures the session's depth mode and the
+     * background's occlusion variant, and frees the virtual scene framebuffer when off. Returns
+     * whether occlusion is on, which it cannot be without a session or depth support; if ARCore
+     * rejects the configuration, for example because the session is paused, depth stays off.
+     */
+    private boolean applyOcclusion() {
+        if (arSession == null || backgroundRenderer == null) return false; // session หรือ renderer ยังไม่พร้อม: ตั้งค่าตอนสร้าง session
+        boolean depth;
+        try {
+            depth = configureSession(arSession, occlusionRequested);
+        } catch (SessionPausedException | UnsupportedConfigurationException e) {
+            Log.w(TAG, "Failed to configure the session for occlusion; depth stays off", e); // log เตือน
+            depth = false; // ไม่ให้ exception หลุดไปหยุด GL thread
+        }
+        depthEnabled = depth;
+        try {
+            backgroundRenderer.setUseOcclusion(depth); // สลับ variant ของ occlusion (compile ไว้แล้ว)
+        } catch (IOException e) {
+            Log.e(TAG, "Failed to switch occlusion", e); // log
+        }
+        if (!depth && virtualSceneFramebuffer != null) {
+            virtualSceneFramebuffer.close(); // ไม่ใช้แล้ว: คืนหน่วยความจำ GPU
+            virtualSceneFramebuffer = null;
+        }
+        return depth;
+    }
+
+    /**
+     * Returns the framebuffer to draw the virtual scene into, at {@link #occlusionScale} of the
+     * viewport, or null to draw it straight to the screen when occlusion is off.
+     */
+    private Framebuffer getVirtualSceneFramebuffer() {
+        if (!depthEnabled) return null; // โหมดปกติ: วาดลงจอโดยตรง
+        int width = Math.max(1, Math.round(sampleRender.getViewportWidth() * occlusionScale)); // ขนาดตามสัดส่วนของจอ
+        int height = Math.max(1, Math.round(sampleRender.getViewportHeight() * occlusionScale));
+        if (virtualSceneFramebuffer == null) {
+            virtualSceneFramebuffer = new Framebuffer(sampleRender, width, height); // สร้างครั้งแรก
+        } else {
+            virtualSceneFramebuffer.resize(width, height); // ขนาดเท่าเดิมจะไม่ทำอะไร
+        }
+        return virtualSceneFramebuffer;
+    }
+
     // Lifecycle: Pause
     @Override
     public void onPause(@NonNull LifecycleOwner owner) {
+        frameStats.pause(); // ช่วงที่หยุดไม่นับเป็นเฟรมช้า
         if (displayRotationHelper != null) displayRotationHelper.onPause(); // pause helper
         if (glSurfaceView != null) glSurfaceView.onPause(); // pause GLSurfaceView
         if (arSession != null) arSession.pause(); // pause session
@@ -177,10 +286,13 @@ public class ArMeasureView implements PlatformView, DefaultLifecycleObserver, GL
     // Callback เมื่อ Surface ถูกสร้าง
     @Override
     public void onSurfaceCreated(GL10 gl, EGLConfig config) {
+        GlState.invalidate(); // context ใหม่: ค่าที่ cache ไว้ใช้ไม่ได้แล้ว
+        boolean debuggable = (context.getApplicationInfo().flags & ApplicationInfo.FLAG_DEBUGGABLE) != 0;
+        GLError.setMode(debuggable ? GlErrorPolicy.Mode.FULL : GlErrorPolicy.Mode.OFF); // release build ไม่เรียก glGetError เลย
         GLES30.glClearColor(0.1f, 0.1f, 0.1f, 1.0f); // ตั้งสีพื้นหลัง
-        GLES30.glEnable(GLES30.GL_DEPTH_TEST); // เปิด depth test
-        GLES30.glEnable(GLES30.GL_BLEND); // เปิด blend
-        GLES30.glBlendFunc(GLES30.GL_SRC_ALPHA, GLES30.GL_ONE_MINUS_SRC_ALPHA); // ตั้ง blend mode
+        GlState.setEnabled(GLES30.GL_DEPTH_TEST, true); // เปิด depth test
+        GlState.setEnabled(GLES30.GL_BLEND, true); // เปิด blend
+        GlState.blendFunc(GLES30.GL_SRC_ALPHA, GLES30.GL_ONE_MINUS_SRC_ALPHA); // ตั้ง blend mode
         try {
             // สร้าง renderer และตัวช่วยวาดต่างๆ
             SampleRender.Renderer dummyRenderer = new SampleRender.Renderer() {
@@ -189,26 +301,99 @@ public class ArMeasureView implements PlatformView, DefaultLifecycleObserver, GL
                 @Override public void onDrawFrame(SampleRender render) {}
             };
             sampleRender = new SampleRender(glSurfaceView, dummyRenderer, context.getAssets()); // สร้าง SampleRender
-            backgroundRenderer = new BackgroundRenderer(sampleRender); // สร้าง BackgroundRenderer
-            planeRenderer = new PlaneRenderer(sampleRender); // สร้าง PlaneRenderer
+            try {
+                sampleRender.setProgramBinaryCache(new ProgramBinaryCache(new File(context.getCacheDir(), PROGRAM_CACHE_DIR))); // โหลด program ที่เคย link แล้ว
+            } catch (IOException e) {
+                Log.w(TAG, "Program binary cache unavailable; compiling every shader", e); // ใช้งานต่อได้โดยไม่มี cache
+            }
+            long rendererStart = System.nanoTime(); // เวลาเริ่มสร้าง renderer
+            assetLoader = new AssetLoader(sampleRender); // สร้าง AssetLoader
+            resourceCache = new ResourceCache(assetLoader); // สร้าง cache ด้วยงบหน่วยความจำเริ่มต้น
+            cameraUniforms = new CameraUniforms(sampleRender); // สร้าง uniform buffer ข้อมูลกล้อง
+            backgroundRenderer = new BackgroundRenderer(sampleRender, resourceCache); // สร้าง BackgroundRenderer (palette ของ depth มาจาก cache)
+            depthUploader = backgroundRenderer.getDepthUploader();
+            planeRenderer = new PlaneRenderer(sampleRender, resourceCache); // สร้าง PlaneRenderer (texture grid มาจาก cache)
             pointRenderer = new PointRenderer(sampleRender); // สร้าง PointRenderer
             pointRenderer.setColor(new float[]{1.0f, 0.0f, 1.0f, 1.0f}); // ตั้งสีจุด
             pointRenderer.setPointSize(25.0f); // ตั้งขนาดจุด
+            gpuProfiler = new GpuProfiler("background", "planes", "points", "composite"); // ชื่อ pass ตามลำดับ PASS_*
+            applyOcclusion(); // context ใหม่: ตั้ง variant ของ occlusion ตามโหมดปัจจุบัน
+            logStartup(System.nanoTime() - rendererStart); // เวลาเริ่มต้น cold หรือ warm
         } catch (IOException e) {
             closeSessionAndRenderers(); // ถ้า error ให้ปิด resource
         }
     }
 
+    /**
+     * Logs how long creating the renderers took and how many of their programs came from the
+     * binary cache: a cold start compiles them all, a warm one loads them.
+     */
+    private void logStartup(long rendererNanos) {
+        VariantRegistry<PendingShader> variants = sampleRender.getShaderVariants();
+        Log.i(TAG, String.format("%d shader variants started in %.1f ms for %d requests, %d still compiling",
+                variants.getCompileCount(), variants.getCompileNanos() / 1e6, variants.getRequestCount(),
+                sampleRender.getShaderCompiler().getPendingCount())); // log
+        ProgramBinaryCache cache = sampleRender.getProgramBinaryCache();
+        if (cache == null) {
+            Log.i(TAG, String.format("Renderers created in %.1f ms (no program cache)", rendererNanos / 1e6)); // log
+            return;
+        }
+        Log.i(TAG, String.format("Renderers created in %.1f ms, %s start: %.1f ms in programs, %d loaded, %d compiled, %d binaries rejected",
+                rendererNanos / 1e6, cache.getMissCount() == 0 ? "warm" : "cold", cache.getNanos() / 1e6,
+                cache.getHitCount(), cache.getMissCount(), cache.getRejectedCount())); // log
+    }
+
+    /** Logs how long the shaders compiled off the frame took to link, once the last one has. */
+    private void logShaderCompiles(AsyncShaderCompiler compiler) {
+        Log.i(TAG, String.format("Shaders ready: %d linked (%s), %d failed, %.1f ms average latency, %.1f ms blocking the GL thread",
+                compiler.getReadyCount(), compiler.isParallelCompile() ? "driver threads" : "shared-context thread", compiler.getFailedCount(),
+                compiler.getLatencyNanos() / 1e6 / Math.max(1, compiler.getReadyCount()), compiler.getBlockedNanos() / 1e6)); // log
+    }
+
     // ปิด session และ renderer ทั้งหมด
     private void closeSessionAndRenderers() {
         if (arSession != null) {
             arSession.close(); // ปิด session
             arSession = null;
         }
-        planeRenderer = null;
-        backgroundRenderer = null;
-        pointRenderer = null;
-        sampleRender = null;
+        // Renderers first: they hand their textures back to the cache and cancel pending shaders.
+        if (planeRenderer != null) {
+            planeRenderer.close(); // ลบ shader และคืน texture ของ plane
+            planeRenderer = null;
+        }
+        if (backgroundRenderer != null) {
+            backgroundRenderer.close(); // ลบ pixel buffer, fence และ texture ของ depth
+            backgroundRenderer = null;
+        }
+        depthUploader = null; // ปิดไปพร้อม backgroundRenderer
+        if (pointRenderer != null) {
+            pointRenderer.close(); // ลบ shader และ vertex buffer ของจุด
+            pointRenderer = null;
+        }
+        if (resourceCache != null) {
+            resourceCache.close(); // ลบ resource ทั้งหมดใน cache
+            resourceCache = null;
+        }
+        if (assetLoader != null) {
+            assetLoader.close(); // หยุด worker และทิ้งงาน upload ที่ค้าง
+            assetLoader = null;
+        }
+        if (virtualSceneFramebuffer != null) {
+            virtualSceneFramebuffer.close(); // ลบ framebuffer ของฉากเสมือน
+            virtualSceneFramebuffer = null;
+        }
+        if (cameraUniforms != null) {
+            cameraUniforms.close(); // ลบ uniform buffer ของกล้อง
+            cameraUniforms = null;
+        }
+        if (gpuProfiler != null) {
+            gpuProfiler.close(); // ลบ timer query
+            gpuProfiler = null;
+        }
+        if (sampleRender != null) {
+            sampleRender.getShaderCompiler().close(); // หยุด thread compile และลบ program ที่ยังไม่เสร็จ
+            sampleRender = null;
+        }
     }
 
     // Callback เมื่อขนาด Surface เปลี่ยน
@@ -222,54 +407,142 @@ public class ArMeasureView implements PlatformView, DefaultLifecycleObserver, GL
     // Callback หลักสำหรับวาดแต่ละเฟรม
     @Override
     public void onDrawFrame(GL10 gl) {
-        GLES30.glClear(GLES30.GL_COLOR_BUFFER_BIT | GLES30.GL_DEPTH_BUFFER_BIT); // ล้างหน้าจอ
+        boolean traced = TapTrace.beginSection("ArMeasureView.onDrawFrame"); // section ของทั้งเฟรม
+        try {
+            drawFrame();
+        } finally {
+            TapTrace.endSection(traced);
+        }
+    }
 
-        if (arSession == null) return; // ถ้าไม่มี session ไม่ต้องวาด
+    private void drawFrame() {
+        frameStats.beginFrame(System.nanoTime()); // เริ่มจับเวลาของเฟรม
+        try { // ทุกทางออกของเฟรมต้องผ่าน finally ด้านล่าง
+            GlState.beginFrame(); // เริ่มนับการเปลี่ยน GL state ของเฟรมนี้
+            GlState.depthMask(true); // shader ที่วาดล่าสุดอาจปิด depth write ไว้ ซึ่งจะทำให้ล้าง depth ไม่ได้
+            GLES30.glClear(GLES30.GL_COLOR_BUFFER_BIT | GLES30.GL_DEPTH_BUFFER_BIT); // ล้างหน้าจอ
+
+            if (assetLoader != null) {
+                assetLoader.drainUploads(AssetLoader.DEFAULT_UPLOAD_BUDGET_MS); // upload asset ที่โหลดเสร็จแล้วตามงบเวลา
+                resourceCache.trim(); // นับหน่วยความจำของ resource ใหม่และลบตามงบ
+            }
+            if (sampleRender != null) {
+                AsyncShaderCompiler compiler = sampleRender.getShaderCompiler();
+                boolean compiling = compiler.getPendingCount() > 0;
+                compiler.poll(); // shader ที่ link เสร็จแล้วพร้อมใช้ตั้งแต่เฟรมนี้ (ไม่รอ)
+                if (compiling && compiler.getPendingCount() == 0) {
+                    logShaderCompiles(compiler);
+                }
+            }
+            frameStats.mark(PHASE_PREPARE, System.nanoTime());
+
+            if (arSession == null) return; // ถ้าไม่มี session ไม่ต้องวาดต่อ (finally ยังจบเฟรม)
 
-        try {
             displayRotationHelper.updateSessionIfNeeded(arSession); // อัปเดต session ถ้าจำเป็น
             arSession.setCameraTextureName(backgroundRenderer.getTextureId()); // ตั้ง texture ของกล้อง
+            frameStats.mark(PHASE_ROTATION, System.nanoTime());
 
             Frame frame = arSession.update(); // อัปเดต frame
+            GlState.invalidateTextures(); // ARCore bind texture ของกล้องเองตอนอัปเดต
             Camera camera = frame.getCamera(); // ดึงกล้อง
+            frameStats.mark(PHASE_UPDATE, System.nanoTime());
 
+            gpuProfiler.begin(PASS_BACKGROUND);
+            if (depthEnabled) {
+                backgroundRenderer.updateCameraDepthTexture(frame); // upload ภาพ depth สำหรับ occlusion
+            }
             backgroundRenderer.draw(frame); // วาดกล้อง
+            gpuProfiler.end(PASS_BACKGROUND);
+            frameStats.mark(PHASE_BACKGROUND, System.nanoTime());
 
             if (camera.getTrackingState() == TrackingState.TRACKING) { // ถ้ากล้องกำลัง track
                 camera.getViewMatrix(viewMatrix, 0); // ดึง view matrix
-                camera.getProjectionMatrix(projectionMatrix, 0, 0.1f, 100.0f); // ดึง projection matrix
-
-                planeRenderer.drawPlanes(arSession.getAllTrackables(Plane.class), camera.getDisplayOrientedPose(), projectionMatrix); // วาด plane
+                camera.getProjectionMatrix(projectionMatrix, 0, Z_NEAR, Z_FAR); // ดึง projection matrix
+                frustum.update(viewMatrix, projectionMatrix, sampleRender.getViewportHeight()); // frustum จาก projection * view
+                Pose cameraPose = camera.getPose(); // pose ของกล้อง
+                cameraPosition[0] = cameraPose.tx(); cameraPosition[1] = cameraPose.ty(); cameraPosition[2] = cameraPose.tz(); // ตำแหน่งกล้อง
+                cameraUniforms.update(viewMatrix, projectionMatrix, cameraPosition, sampleRender.getViewportWidth(), sampleRender.getViewportHeight()); // ส่งข้อมูลกล้องครั้งเดียวต่อเฟรม
+                frameStats.mark(PHASE_CAMERA, System.nanoTime());
+
+                Framebuffer virtualScene = getVirtualSceneFramebuffer(); // null = วาดลงจอโดยตรง
+                gpuProfiler.begin(PASS_PLANES);
+                if (virtualScene != null) {
+                    sampleRender.clear(virtualScene, 0f, 0f, 0f, 0f); // ล้างฉากเสมือนให้โปร่งใส
+                }
+                planeRenderer.drawPlanes(arSession.getAllTrackables(Plane.class), frustum, virtualScene); // วาดเฉพาะ plane ที่มองเห็น
+                gpuProfiler.end(PASS_PLANES);
+                frameStats.mark(PHASE_PLANES, System.nanoTime());
                 synchronized (anchorLock) {
                     if (!measurementAnchors.isEmpty()) {
-                        pointRenderer.drawPoints(measurementAnchors, viewMatrix, projectionMatrix); // วาดจุด
+                        gpuProfiler.begin(PASS_POINTS);
+                        pointRenderer.drawPoints(measurementAnchors, virtualScene); // วาดจุด
+                        gpuProfiler.end(PASS_POINTS);
+                        frameStats.mark(PHASE_POINTS, System.nanoTime());
                     }
                 }
+                if (virtualScene != null) {
+                    gpuProfiler.begin(PASS_COMPOSITE);
+                    backgroundRenderer.drawVirtualScene(virtualScene, Z_NEAR, Z_FAR); // รวมฉากเสมือนกับภาพกล้อง ส่วนที่อยู่หลังของจริงถูกบัง
+                    gpuProfiler.end(PASS_COMPOSITE);
+                    frameStats.mark(PHASE_COMPOSITE, System.nanoTime());
+                }
 
                 MotionEvent tap = tapHelper.poll(); // ตรวจสอบการแตะหน้าจอ
                 if (tap != null) {
-                    handleTapForMeasurement(frame, camera, tap); // จัดการการแตะเพื่อวัด
+                    int traceId = tapHelper.getTraceId();
+                    TapTrace.dequeued(traceId); // tap ถึงเฟรมแล้ว
+                    handleTapForMeasurement(frame, camera, tap, traceId); // จัดการการแตะเพื่อวัด
+                    frameStats.mark(PHASE_TAP, System.nanoTime());
                 }
             }
         } catch (Throwable t) {
-            // Error handling can be added here if needed.
+            frameStats.fail(t); // นับเฟรมที่ error ตามชนิดของ exception
+        } finally {
+            frameStats.endFrame(System.nanoTime());
+            if (gpuProfiler != null) {
+                gpuProfiler.endFrame(); // อ่านเวลา GPU ของเฟรมก่อนๆ ที่เสร็จแล้ว
+            }
+            GLError.endFrame(); // รายงาน error ของเฟรม (โหมด PER_FRAME และ DEBUG_OUTPUT)
         }
     }
 
     // จัดการการแตะหน้าจอเพื่อวัดระยะ
-    private void handleTapForMeasurement(Frame frame, Camera camera, MotionEvent tap) {
-        if (camera.getTrackingState() != TrackingState.TRACKING) return; // ถ้าไม่ได้ track ไม่ต้องทำอะไร
+    private void handleTapForMeasurement(Frame frame, Camera camera, MotionEvent tap, int traceId) {
+        boolean posted = false; // ส่งผลไป Flutter แล้ว trace จบเมื่อ Dart รับ
+        try {
+            posted = measureTap(frame, camera, tap, traceId);
+        } finally {
+            if (!posted) {
+                TapTrace.endTap(traceId); // tap นี้ไม่มีผลการวัด
+            }
+        }
+    }
+
+    // หาจุดที่แตะ สร้าง anchor และส่งผลไป Flutter ถ้าครบคู่; คืนค่า true ถ้าส่งผลแล้ว
+    private boolean measureTap(Frame frame, Camera camera, MotionEvent tap, int traceId) {
+        if (camera.getTrackingState() != TrackingState.TRACKING) return false; // ถ้าไม่ได้ track ไม่ต้องทำอะไร
 
-        List<HitResult> hitResultList = frame.hitTest(tap); // หาจุดที่แตะบน plane
+        TapTrace.beginStage(traceId, "hitTest");
+        List<HitResult> hitResultList;
+        try {
+            hitResultList = frame.hitTest(tap); // หาจุดที่แตะบน plane
+        } finally {
+            TapTrace.endStage(traceId);
+        }
         Anchor newAnchor = null;
-        for (HitResult hit : hitResultList) {
-            Trackable trackable = hit.getTrackable();
-            if (trackable instanceof Plane && ((Plane) trackable).isPoseInPolygon(hit.getHitPose()) && ((Plane) trackable).getSubsumedBy() == null) {
-                try {
-                    newAnchor = hit.createAnchor(); // สร้าง anchor ที่ตำแหน่งที่แตะ
-                    break;
-                } catch (Exception e) { /* Do nothing */ }
+        TapTrace.beginStage(traceId, "createAnchor");
+        try {
+            for (HitResult hit : hitResultList) {
+                Trackable trackable = hit.getTrackable();
+                if (trackable instanceof Plane && ((Plane) trackable).isPoseInPolygon(hit.getHitPose()) && ((Plane) trackable).getSubsumedBy() == null) {
+                    try {
+                        newAnchor = hit.createAnchor(); // สร้าง anchor ที่ตำแหน่งที่แตะ
+                        break;
+                    } catch (Exception e) { /* Do nothing */ }
+                }
             }
+        } finally {
+            TapTrace.endStage(traceId);
         }
 
         if (newAnchor != null) {
@@ -286,13 +559,19 @@ public class ArMeasureView implements PlatformView, DefaultLifecycleObserver, GL
 
             // เมื่อมี Anchor ครบ 2 หรือ 4 จุด ให้คำนวณระยะทาง
             if (measurementAnchors.size() == 2 || measurementAnchors.size() == 4) {
-                calculateAndSendDistancesToFlutter(camera); // คำนวณและส่งผลไป Flutter
+                TapTrace.beginStage(traceId, "measure");
+                try {
+                    return calculateAndSendDistancesToFlutter(camera, traceId); // คำนวณและส่งผลไป Flutter
+                } finally {
+                    TapTrace.endStage(traceId);
+                }
             }
         }
+        return false;
     }
 
-    // คำนวณระยะทางระหว่าง anchor และส่งข้อมูลไป Flutter
-    private void calculateAndSendDistancesToFlutter(Camera camera) {
+    // คำนวณระยะทางระหว่าง anchor และส่งข้อมูลไป Flutter; คืนค่า true ถ้าส่งแล้ว
+    private boolean calculateAndSendDistancesToFlutter(Camera camera, int traceId) {
         List<Map<String, Object>> measurementsData = new ArrayList<>();
         synchronized (anchorLock) {
             // คำนวณระยะทางสำหรับคู่ที่ 1 (anchor 0, 1)
@@ -306,8 +585,26 @@ public class ArMeasureView implements PlatformView, DefaultLifecycleObserver, GL
             }
         }
         if (!measurementsData.isEmpty() && methodChannel != null) {
-            mainHandler.post(() -> methodChannel.invokeMethod("measurementSetResult", measurementsData)); // ส่งข้อมูลไป Flutter
+            TapTrace.beginResultPost(traceId);
+            mainHandler.post(() -> {
+                TapTrace.endResultPost(traceId);
+                TapTrace.beginStage(traceId, "invokeMethod");
+                methodChannel.invokeMethod("measurementSetResult", measurementsData, endTapWhenHandled(traceId)); // ส่งข้อมูลไป Flutter
+                TapTrace.endStage(traceId);
+            });
+            return true;
         }
+        return false;
+    }
+
+    /** Ends the tap's trace once Dart has handled its result; null if the tap is not traced. */
+    private static MethodChannel.Result endTapWhenHandled(int traceId) {
+        if (traceId == 0) return null;
+        return new MethodChannel.Result() {
+            @Override public void success(Object result) { TapTrace.endTap(traceId); }
+            @Override public void error(String errorCode, String errorMessage, Object errorDetails) { TapTrace.endTap(traceId); }
+            @Override public void notImplemented() { TapTrace.endTap(traceId); }
+        };
     }
 
     // สร้างข้อมูลการวัดสำหรับ anchor 2 จุด
@@ -380,6 +677,44 @@ public class ArMeasureView implements PlatformView, DefaultLifecycleObserver, GL
                            handleClearPoints(); // ล้างจุดวัด
                            methodResult.success(null); // ตอบกลับ Flutter
                            break;
+                        case "getGpuTimings":
+                           GpuProfiler profiler = gpuProfiler;
+                           methodResult.success(profiler != null ? profiler.getTimings() : Collections.singletonMap("supported", false)); // เวลา GPU ของแต่ละ pass
+                           break;
+                        case "setTapTracing":
+                           TapTrace.setEnabled(Boolean.TRUE.equals(call.argument("enabled"))); // เปิด/ปิด trace ของ tap
+                           methodResult.success(null); // ตอบกลับ Flutter
+                           break;
+                        case "setOcclusion":
+                           Object scale = call.argument("resolutionScale");
+                           float occlusionScale = scale instanceof Number ? ((Number) scale).floatValue() : DEFAULT_OCCLUSION_SCALE;
+                           if (!(occlusionScale > 0f && occlusionScale <= 1f)) {
+                               methodResult.error("INVALID_ARGUMENT", "resolutionScale must be in (0, 1]: " + scale, null); // ตอบกลับ Flutter
+                               break;
+                           }
+                           this.occlusionScale = occlusionScale;
+                           occlusionRequested = Boolean.TRUE.equals(call.argument("enabled")); // เปิด/ปิดโหมด occlusion
+                           if (glSurfaceView == null) {
+                               methodResult.success(false);
+                               break;
+                           }
+                           glSurfaceView.queueEvent(() -> {
+                               boolean occluding = false;
+                               try {
+                                   occluding = applyOcclusion(); // ตั้งค่าบน GL thread เดียวกับที่วาด
+                               } finally {
+                                   boolean reply = occluding;
+                                   mainHandler.post(() -> methodResult.success(reply)); // ตอบ Flutter เสมอ ว่าเปิดได้จริงหรือไม่
+                               }
+                           });
+                           break;
+                        case "getDepthUploads":
+                           DepthUploader uploader = depthUploader;
+                           methodResult.success(uploader != null ? uploader.getMetrics() : Collections.emptyMap()); // จำนวน upload และ byte ของภาพ depth
+                           break;
+                        case "getFrameStats":
+                           methodResult.success(frameStats.snapshot()); // เวลา CPU ของแต่ละช่วง อัตราเฟรม และ error
+                           break;
                         default:
                            methodResult.notImplemented(); // ไม่รองรับ method อื่น
                            break;
@@ -11,6 +11,7 @@ import io.flutter.embedding.android.FlutterActivity; // import FlutterActivity 
 import io.flutter.embedding.engine.FlutterEngine; // import FlutterEngine สำหรับจัดการ engine ของ Flutter
 import io.flutter.plugin.common.MethodChannel; // import MethodChannel สำหรับสื่อสารกับ Flutter (ไม่ได้ใช้ในไฟล์นี้)
 import io.flutter.plugin.common.BinaryMessenger; // import BinaryMessenger สำหรับส่ง message ระหว่าง Flutter กับ native
+import java.io.IOException; // import IOException เมื่อสร้าง cache ของ model ไม่ได้
 
 public class MainActivity extends FlutterActivity { // ประกาศคลาส MainActivity สืบทอดจาก FlutterActivity
     private static final String TAG = "MainActivity"; // ตัวแปร TAG สำหรับ log
@@ -47,6 +48,13 @@ public class MainActivity extends FlutterActivity { // ประกาศคล
              Toast.makeText(this, "Error setting up AR View component.", Toast.LENGTH_LONG).show(); // แจ้งเตือนผู้ใช้ถ้ามี error
         }
 
+        // Product pages read their glb models through an on-disk cache, so a second view needs no download.
+        try {
+            new ProductModelCache(this).register(messenger); // ลงทะเบียน channel ของ cache
+        } catch (IOException e) {
+            Log.w(TAG, "Product model cache unavailable; models load from the network", e); // Flutter โหลดจาก URL เองแทน
+        }
+
         // Permission check (ยังคงทำที่นี่ได้ หรือให้ ArMeasureView ทำอย่างเดียวก็ได้)
         if (!CameraPermissionHelper.hasCameraPermission(this)) { // ถ้ายังไม่มี permission กล้อง
             Log.d(TAG, "Requesting camera permission from MainActivity."); // log ว่ากำลังขอ permission
@@ -0,0 +1,76 @@
+package com.example.project_furnitureapp; // ประกาศ package ของไฟล์นี้
+
+import android.content.Context; // import Context สำหรับโฟลเดอร์ cache ของแอป
+import android.os.Handler; // import Handler สำหรับตอบ Flutter บน main thread
+import android.os.Looper; // import Looper สำหรับ main thread
+import android.os.Process; // import Process สำหรับลด priority ของ thread
+import android.util.Log; // import Log สำหรับเขียน log
+import androidx.annotation.NonNull; // import @NonNull สำหรับ annotation
+import com.example.project_furnitureapp.samplerender.geometry.ModelCache; // import ModelCache สำหรับ cache ของ model ที่ดาวน์โหลด
+import io.flutter.plugin.common.BinaryMessenger; // import BinaryMessenger สำหรับสื่อสารกับ Flutter
+import io.flutter.plugin.common.MethodCall; // import MethodCall สำหรับคำสั่งจาก Flutter
+import io.flutter.plugin.common.MethodChannel; // import MethodChannel สำหรับสื่อสารกับ Flutter
+import java.io.File; // import File สำหรับโฟลเดอร์และไฟล์ใน cache
+import java.io.IOException; // import IOException สำหรับจัดการ exception
+import java.util.concurrent.ExecutorService; // import ExecutorService สำหรับ thread ที่ดาวน์โหลด
+import java.util.concurrent.Executors; // import Executors สำหรับสร้าง thread pool
+import java.util.concurrent.atomic.AtomicInteger; // import AtomicInteger สำหรับตั้งชื่อ thread
+
+/**
+ * Serves the product pages' 3D models from a {@link ModelCache} of glb files, over the {@code
+ * product_model_cache} method channel. {@code getModelFile} (argument {@code url}) replies with
+ * the path of the cached file, downloading it first on a miss, so the second view of a product
+ * reads a local file instead of downloading the model again. The files are stored unchanged: the
+ * Flutter model viewer parses glb itself.
+ */ // คำอธิบายคลาส: cache ของไฟล์ model (glb) ของหน้าสินค้า ผ่าน MethodChannel
+public final class ProductModelCache implements MethodChannel.MethodCallHandler { // ประกาศคลาส ProductModelCache
+    private static final String TAG = ProductModelCache.class.getSimpleName(); // ตัวแปร TAG สำหรับ log
+    static final String CHANNEL_NAME = "product_model_cache"; // ชื่อ channel (ต้องตรงกับฝั่ง Dart)
+    private static final String CACHE_DIR = "product_models"; // โฟลเดอร์ย่อยใน cache ของแอป
+    private static final String FILE_EXTENSION = ".glb"; // นามสกุลของไฟล์ model
+    private static final int DOWNLOAD_THREADS = 2; // จำนวน thread ที่ดาวน์โหลดพร้อมกัน
+
+    private final ModelCache cache; // cache ของไฟล์ model
+    private final ExecutorService downloads; // thread ที่ดาวน์โหลด
+    private final Handler mainHandler = new Handler(Looper.getMainLooper()); // handler สำหรับ main thread
+
+    /** Opens the cache in the app's cache directory; throws if it cannot be created. */
+    public ProductModelCache(Context context) throws IOException { // constructor
+        AtomicInteger threadNumber = new AtomicInteger(); // ตัวนับสำหรับตั้งชื่อ thread
+        downloads = Executors.newFixedThreadPool(DOWNLOAD_THREADS, runnable -> {
+            Thread thread = new Thread(() -> {
+                Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND); // ไม่แย่ง CPU กับ UI
+                runnable.run();
+            }, TAG + "-" + threadNumber.incrementAndGet()); // ตั้งชื่อ thread
+            thread.setDaemon(true); // ไม่ขวางการปิดแอป
+            return thread;
+        });
+        cache = new ModelCache(new File(context.getCacheDir(), CACHE_DIR), FILE_EXTENSION, ModelCache.DEFAULT_MAX_BYTES, ModelCache.STORE, downloads);
+    }
+
+    /** Answers {@link #CHANNEL_NAME} calls from now on. */
+    public void register(BinaryMessenger messenger) { // เมธอดลงทะเบียน channel
+        new MethodChannel(messenger, CHANNEL_NAME).setMethodCallHandler(this);
+    }
+
+    @Override
+    public void onMethodCall(@NonNull MethodCall call, @NonNull MethodChannel.Result result) { // เมธอดรับคำสั่งจาก Flutter
+        if (!call.method.equals("getModelFile")) {
+            result.notImplemented(); // ไม่รู้จักคำสั่ง
+            return;
+        }
+        String url = call.argument("url");
+        if (url == null || !(url.startsWith("http://") || url.startsWith("https://"))) {
+            result.error("INVALID_URL", "Expected an http(s) model URL, got " + url, null); // cache ได้เฉพาะไฟล์จาก network
+            return;
+        }
+        cache.get(url).whenComplete((file, error) -> mainHandler.post(() -> { // ตอบบน main thread
+            if (error == null) {
+                result.success(file.getAbsolutePath()); // path ของไฟล์ใน cache
+            } else {
+                Log.w(TAG, "Failed to cache " + url, error); // log เตือน
+                result.error("DOWNLOAD_FAILED", String.valueOf(error.getMessage()), null); // Flutter โหลดจาก URL เองแทน
+            }
+        }));
+    }
+}
@@ -29,7 +29,19 @@ import java.util.concurrent.BlockingQueue; // import BlockingQueue สำหร
  */
 public final class TapHelper implements OnTouchListener { // ประกาศคลาส TapHelper และ implement OnTouchListener
   private final GestureDetector gestureDetector; // ตัวแปร GestureDetector สำหรับตรวจจับ gesture
-  private final BlockingQueue<MotionEvent> queuedSingleTaps = new ArrayBlockingQueue<>(16); // queue สำหรับเก็บ tap สูงสุด 16 อัน
+  private final BlockingQueue<QueuedTap> queuedSingleTaps = new ArrayBlockingQueue<>(16); // queue สำหรับเก็บ tap สูงสุด 16 อัน
+  private int polledTraceId; // trace id ของ tap ที่ poll ล่าสุด (render thread)
+
+  /** A tap and its {@link TapTrace} id. */ // tap พร้อม trace id
+  private static final class QueuedTap {
+    final MotionEvent event; // event ของ tap
+    final int traceId; // trace id (0 = ไม่ trace)
+
+    QueuedTap(MotionEvent event, int traceId) {
+      this.event = event;
+      this.traceId = traceId;
+    }
+  }
 
   /**
    * Creates the tap helper. // คำอธิบาย constructor
@@ -44,7 +56,11 @@ public final class TapHelper implements OnTouchListener { // ประกาศ
               @Override
               public boolean onSingleTapUp(MotionEvent e) { // เมื่อมี tap เดี่ยว
                 // Queue tap if there is space. Tap is lost if queue is full.
-                queuedSingleTaps.offer(e); // ใส่ event ลง queue ถ้ามีที่ว่าง
+                int traceId = TapTrace.beginTap(); // เริ่ม trace ของ tap นี้
+                if (!queuedSingleTaps.offer(new QueuedTap(e, traceId))) { // ใส่ event ลง queue ถ้ามีที่ว่าง
+                  TapTrace.dequeued(traceId); // tap หาย: ปิด trace
+                  TapTrace.endTap(traceId);
+                }
                 return true; // คืนค่า true ว่า event ถูกจัดการแล้ว
               }
 
@@ -61,11 +77,26 @@ public final class TapHelper implements OnTouchListener { // ประกาศ
    * @return if a tap was queued, a MotionEvent for the tap. Otherwise null if no taps are queued. // คืน MotionEvent ถ้ามี tap ใน queue, ถ้าไม่มีคืน null
    */
   public MotionEvent poll() { // เมธอดดึง tap ออกจาก queue
-    return queuedSingleTaps.poll(); // คืนค่า tap ตัวแรกใน queue หรือ null ถ้าไม่มี
+    QueuedTap tap = queuedSingleTaps.poll(); // tap ตัวแรกใน queue หรือ null ถ้าไม่มี
+    polledTraceId = tap != null ? tap.traceId : 0;
+    return tap != null ? tap.event : null; // คืนค่า event ของ tap
+  }
+
+  /**
+   * Returns the {@link TapTrace} id of the tap last returned by {@link #poll}, or 0 if it is not
+   * traced. Call on the thread that polls.
+   */
+  public int getTraceId() { // เมธอดคืนค่า trace id ของ tap ที่ poll ล่าสุด
+    return polledTraceId;
   }
 
   @Override
   public boolean onTouch(View view, MotionEvent motionEvent) { // เมธอด onTouch สำหรับรับ event สัมผัส
-    return gestureDetector.onTouchEvent(motionEvent); // ส่ง event ให้ gestureDetector จัดการ
+    boolean traced = TapTrace.beginSection("TapHelper.onTouch"); // section ของการตรวจ gesture
+    try {
+      return gestureDetector.onTouchEvent(motionEvent); // ส่ง event ให้ gestureDetector จัดการ
+    } finally {
+      TapTrace.endSection(traced);
+    }
   }
 }
\ No newline at end of file
@@ -0,0 +1,98 @@
+package com.example.project_furnitureapp; // ประกาศ package ของไฟล์นี้
+
+import android.os.Trace; // สำหรับ trace section ของ systrace/Perfetto
+import java.util.concurrent.atomic.AtomicInteger; // สำหรับสร้าง id ของ tap
+
+/**
+ * Trace sections for the tap-to-result pipeline, for systrace and Perfetto. Each tap gets an id:
+ * an async section {@code tap} runs from the gesture detector recognizing it to Dart handling its
+ * {@code measurementSetResult}, and async sections {@code tap queued} (waiting for the next frame)
+ * and {@code tap result post} (waiting for the main thread) cover the hand-offs between threads.
+ * The work on each thread is in sections named {@code tap#<id> <stage>}, so all of a tap's slices
+ * can be found by its id.
+ *
+ * <p>Off by default; {@link #setEnabled} turns it on at runtime (from Flutter, {@code
+ * setTapTracing}). Even when on, nothing is emitted unless a trace is being captured. A tap that
+ * started while tracing was on is traced to its end, so sections always balance.
+ */ // คำอธิบายคลาส: trace section ของขั้นตอนตั้งแต่แตะจนได้ผลการวัด
+final class TapTrace { // ประกาศคลาส TapTrace
+    private static final String TAP = "tap"; // async section ตั้งแต่แตะจน Dart ได้ผล
+    private static final String QUEUED = "tap queued"; // async section รอเฟรมถัดไป
+    private static final String RESULT_POST = "tap result post"; // async section รอ main thread
+
+    private static volatile boolean enabled; // เปิด trace หรือไม่
+    private static final AtomicInteger nextId = new AtomicInteger(1); // id ถัดไป (0 = ไม่ trace)
+
+    static void setEnabled(boolean enabled) { TapTrace.enabled = enabled; } // เมธอดเปิด/ปิด trace
+
+    static boolean isEnabled() { return enabled && Trace.isEnabled(); } // trace อยู่และมีการเก็บ trace
+
+    /** Begins a section that is not tied to one tap; pass the result to {@link #endSection}. */
+    static boolean beginSection(String name) { // เมธอดเริ่ม section ทั่วไป
+        if (!isEnabled()) {
+            return false;
+        }
+        Trace.beginSection(name);
+        return true;
+    }
+
+    static void endSection(boolean began) { // เมธอดจบ section ทั่วไป
+        if (began) {
+            Trace.endSection();
+        }
+    }
+
+    /** Starts tracing a tap that was just recognized; returns its id, or 0 if it is not traced. */
+    static int beginTap() { // เมธอดเริ่ม trace ของ tap
+        if (!isEnabled()) {
+            return 0;
+        }
+        int id = nextId.getAndIncrement();
+        Trace.beginAsyncSection(TAP, id);
+        Trace.beginAsyncSection(QUEUED, id);
+        return id;
+    }
+
+    /** The frame loop picked the tap up. */
+    static void dequeued(int id) { // เมธอดจบช่วงรอเฟรม
+        if (id != 0) {
+            Trace.endAsyncSection(QUEUED, id);
+        }
+    }
+
+    /** Begins a stage of the tap on the current thread; end it with {@link #endStage} on the same thread. */
+    static void beginStage(int id, String stage) { // เมธอดเริ่มช่วงของ tap
+        if (id != 0) {
+            Trace.beginSection("tap#" + id + " " + stage);
+        }
+    }
+
+    static void endStage(int id) { // เมธอดจบช่วงของ tap
+        if (id != 0) {
+            Trace.endSection();
+        }
+    }
+
+    /** The tap's result was posted to the main thread. */
+    static void beginResultPost(int id) { // เมธอดเริ่มช่วงรอ main thread
+        if (id != 0) {
+            Trace.beginAsyncSection(RESULT_POST, id);
+        }
+    }
+
+    /** The main thread picked the result up. */
+    static void endResultPost(int id) { // เมธอดจบช่วงรอ main thread
+        if (id != 0) {
+            Trace.endAsyncSection(RESULT_POST, id);
+        }
+    }
+
+    /** The tap is done: Dart handled its result, or it produced none. */
+    static void endTap(int id) { // เมธอดจบ trace ของ tap
+        if (id != 0) {
+            Trace.endAsyncSection(TAP, id);
+        }
+    }
+
+    private TapTrace() {} // constructor private เพื่อไม่ให้สร้าง instance
+}
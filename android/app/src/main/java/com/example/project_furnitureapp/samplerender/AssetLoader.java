@@ -0,0 +1,217 @@
+package com.example.project_furnitureapp.samplerender; // ประกาศ package ของไฟล์นี้
+
+import android.content.res.AssetManager; // import AssetManager สำหรับเปิดไฟล์ asset
+import android.os.Process; // import Process สำหรับลด priority ของ worker thread
+import android.util.Log; // import Log สำหรับเขียน log
+import java.io.Closeable; // import Closeable สำหรับปิด resource
+import java.io.IOException; // import IOException สำหรับจัดการ exception
+import java.util.Map; // import Map สำหรับ define ของ shader
+import java.util.Queue; // import Queue สำหรับคิวงาน upload
+import java.util.concurrent.ConcurrentLinkedQueue; // import ConcurrentLinkedQueue สำหรับคิวที่ใช้ข้าม thread
+import java.util.concurrent.ExecutorService; // import ExecutorService สำหรับ worker pool
+import java.util.concurrent.Executors; // import Executors สำหรับสร้าง worker pool
+import java.util.concurrent.atomic.AtomicInteger; // import AtomicInteger สำหรับตั้งชื่อ thread
+
+/**
+ * Loads assets in two stages so that the GL thread never waits for file I/O or parsing.
+ *
+ * <p>Reading, decoding and parsing run on a small pool of background workers. Each result is then
+ * queued for the GL upload, which the render thread performs in {@link #drainUploads} at the start
+ * of every frame, for at most the given number of milliseconds. Every asset is one upload slice;
+ * at least one slice runs per call so loading always makes progress. An asset therefore appears a
+ * few frames after it was requested instead of stalling the frame that requested it.
+ *
+ * <p>All {@code load} methods return immediately with a {@link Handle} that renderers poll each
+ * frame. {@link #drainUploads} must be called on the GL thread.
+ */ // คำอธิบายคลาส: โหลด asset บน worker thread แล้วทยอย upload บน GL thread ตามงบเวลาต่อเฟรม
+public class AssetLoader implements Closeable { // ประกาศคลาส AssetLoader
+    private static final String TAG = AssetLoader.class.getSimpleName(); // ตัวแปร TAG สำหรับ log
+
+    /** Default time the render thread spends on uploads per frame. */
+    public static final float DEFAULT_UPLOAD_BUDGET_MS = 4.0f; // งบเวลา upload ต่อเฟรม (ms)
+    private static final int DEFAULT_WORKER_COUNT = 2; // จำนวน worker thread
+
+    /** The CPU stage of a load; runs on a worker thread and must not call OpenGL. */
+    public interface Decoder<P> { // interface สำหรับขั้นตอนฝั่ง CPU
+        P decode(AssetManager assets) throws IOException; // อ่านและแปลงข้อมูล
+    }
+
+    /** The GL stage of a load; runs on the render thread inside {@link #drainUploads}. */
+    public interface Uploader<P, T extends Closeable> { // interface สำหรับขั้นตอน upload ขึ้น GPU
+        T upload(SampleRender render, P decoded); // สร้าง resource บน GPU
+    }
+
+    /**
+     * The pending result of a load. Poll {@link #get} each frame; it returns null until the asset
+     * is uploaded. Once delivered, the resource belongs to the caller, who must close it.
+     */
+    public static final class Handle<T extends Closeable> { // ผลลัพธ์ของการโหลดที่ยังไม่เสร็จ
+        private final String name; // ชื่อ asset
+        private volatile T result; // resource ที่ upload แล้ว
+        private volatile Throwable error; // error ถ้าโหลดไม่สำเร็จ
+        private volatile boolean cancelled; // ถูกยกเลิกหรือไม่
+
+        private Handle(String name) { // constructor
+            this.name = name; // กำหนดชื่อ asset
+        }
+
+        public String getName() { return name; } // คืนค่าชื่อ asset
+
+        /** Whether the load has finished, successfully or not. */
+        public boolean isDone() { // เมธอดเช็คว่าโหลดเสร็จหรือยัง
+            return result != null || error != null || cancelled; // มีผลลัพธ์, error หรือถูกยกเลิก
+        }
+
+        /** Returns the uploaded resource, or null while it is still loading or if the load failed. */
+        public T get() { // เมธอดคืนค่า resource
+            return result; // คืนค่าผลลัพธ์
+        }
+
+        /** Returns why the load failed, or null. */
+        public Throwable getError() { // เมธอดคืนค่า error
+            return error; // คืนค่า error
+        }
+
+        /**
+         * Stops the load if it has not been uploaded yet. A resource that was already delivered is
+         * not closed; it still belongs to the caller.
+         */
+        public void cancel() { // เมธอดยกเลิกการโหลด
+            cancelled = true; // เซ็ต flag
+        }
+
+        private void fail(Throwable t) { // เมธอดบันทึก error
+            error = t; // เก็บ error
+            Log.e(TAG, "Failed to load " + name, t); // log error
+        }
+    }
+
+    private final SampleRender render; // SampleRender สำหรับสร้าง resource บน GPU
+    private final AssetManager assets; // AssetManager สำหรับเปิดไฟล์
+    private final ExecutorService workers; // worker pool สำหรับงานฝั่ง CPU
+    private final Queue<Runnable> uploads = new ConcurrentLinkedQueue<>(); // คิวงาน upload ที่รอ GL thread
+    private volatile boolean closed; // loader ถูกปิดแล้วหรือไม่
+
+    public AssetLoader(SampleRender render) { // constructor ค่าเริ่มต้น
+        this(render, DEFAULT_WORKER_COUNT);
+    }
+
+    public AssetLoader(SampleRender render, int workerCount) { // constructor
+        if (workerCount < 1) { // ต้องมี worker อย่างน้อย 1 ตัว
+            throw new IllegalArgumentException("workerCount must be positive"); // ขว้าง exception
+        }
+        this.render = render; // กำหนด SampleRender
+        this.assets = render.getAssets(); // กำหนด AssetManager
+        AtomicInteger threadNumber = new AtomicInteger(); // ตัวนับสำหรับตั้งชื่อ thread
+        this.workers =
+                Executors.newFixedThreadPool(
+                        workerCount,
+                        runnable -> {
+                            Thread thread =
+                                    new Thread(
+                                            () -> {
+                                                Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND); // ไม่แย่ง CPU กับ UI และ GL thread
+                                                runnable.run();
+                                            },
+                                            TAG + "-" + threadNumber.incrementAndGet()); // ตั้งชื่อ thread
+                            thread.setDaemon(true); // ไม่ขวางการปิดแอป
+                            return thread;
+                        }); // สร้าง worker pool
+    }
+
+    /**
+     * Starts loading a mesh as {@link Mesh#createFromAsset(SampleRender, String, boolean)} would;
+     * a precompiled {@code .fmesh} asset is preferred when present.
+     */
+    public Handle<Mesh> loadMesh(String assetFileName, boolean quantize) { // เมธอดโหลด mesh
+        return load(assetFileName, assets -> Mesh.prepareAsset(assets, assetFileName, quantize), Mesh::upload); // อ่านบน worker, upload บน GL thread
+    }
+
+    /** Starts loading a mipmapped 2D texture as {@link Texture#createFromAsset} would. */
+    public Handle<Texture> loadTexture(String assetFileName, Texture.WrapMode wrapMode, Texture.ColorFormat colorFormat) { // เมธอดโหลด texture
+        return load(
+                assetFileName,
+                assets -> Texture.decodeAsset(assets, assetFileName),
+                (render, pixels) -> Texture.createFromPixels(render, pixels, wrapMode, colorFormat)); // decode บน worker, upload บน GL thread
+    }
+
+    /** Starts loading a shader; the sources are read on a worker and compiled on the GL thread. */
+    public Handle<Shader> loadShader(String vertexShaderFileName, String fragmentShaderFileName, Map<String, String> defines) { // เมธอดโหลด shader
+        return load(
+                vertexShaderFileName,
+                assets ->
+                        new String[] {
+                            Shader.readSourceAsset(assets, vertexShaderFileName),
+                            Shader.readSourceAsset(assets, fragmentShaderFileName)
+                        },
+                (render, sources) -> new Shader(render, sources[0], sources[1], defines)); // อ่านบน worker, compile บน GL thread
+    }
+
+    /** Starts a load made of a CPU stage and a GL stage. */
+    public <P, T extends Closeable> Handle<T> load(String name, Decoder<P> decoder, Uploader<P, T> uploader) { // เมธอดโหลดแบบทั่วไป
+        if (closed) { // loader ถูกปิดแล้ว
+            throw new IllegalStateException("AssetLoader is closed"); // ขว้าง exception
+        }
+        Handle<T> handle = new Handle<>(name); // สร้าง handle
+        workers.execute(
+                () -> {
+                    if (handle.cancelled || closed) { // ถูกยกเลิกก่อนเริ่ม
+                        return;
+                    }
+                    P decoded; // ข้อมูลที่อ่านแล้ว
+                    try {
+                        decoded = decoder.decode(assets); // อ่านและแปลงข้อมูลบน worker
+                    } catch (Throwable t) {
+                        handle.fail(t); // บันทึก error
+                        return;
+                    }
+                    uploads.add(() -> upload(handle, uploader, decoded)); // ส่งต่อให้ GL thread
+                }); // ส่งงานให้ worker
+        return handle; // คืน handle ทันที
+    }
+
+    /**
+     * Runs queued uploads on the GL thread until {@code budgetMs} milliseconds have passed, always
+     * running at least one if any is queued. Returns the number of uploads performed.
+     */
+    public int drainUploads(float budgetMs) { // เมธอด upload ตามงบเวลา
+        long deadline = System.nanoTime() + (long) (budgetMs * 1_000_000L); // เวลาสิ้นสุด
+        int count = 0; // จำนวน upload ที่ทำ
+        Runnable task; // งาน upload
+        while ((task = uploads.poll()) != null) { // ดึงงานจากคิว
+            task.run(); // upload บน GL thread
+            ++count;
+            if (System.nanoTime() >= deadline) { // หมดงบเวลาแล้ว
+                break; // ทำต่อในเฟรมถัดไป
+            }
+        }
+        return count; // คืนค่าจำนวน upload
+    }
+
+    /** Whether decoded assets are waiting for their upload. */
+    public boolean hasPendingUploads() { // เมธอดเช็คว่ายังมีงาน upload ค้างหรือไม่
+        return !uploads.isEmpty(); // มีงานในคิวหรือไม่
+    }
+
+    private <P, T extends Closeable> void upload(Handle<T> handle, Uploader<P, T> uploader, P decoded) { // เมธอด upload หนึ่งงาน
+        if (handle.cancelled) { // ถูกยกเลิกระหว่างรอ
+            return;
+        }
+        try {
+            handle.result = uploader.upload(render, decoded); // สร้าง resource บน GPU
+        } catch (Throwable t) {
+            handle.fail(t); // บันทึก error
+        }
+    }
+
+    /**
+     * Stops the workers and drops queued uploads without running them. Resources that were already
+     * delivered are not closed. Does not call OpenGL, so it may be called from any thread.
+     */
+    @Override
+    public void close() { // เมธอดปิด resource
+        closed = true; // เซ็ต flag
+        workers.shutdownNow(); // หยุด worker
+        uploads.clear(); // ทิ้งงาน upload ที่ค้าง
+    }
+}
@@ -0,0 +1,324 @@
+package com.example.project_furnitureapp.samplerender; // ประกาศ package ของไฟล์นี้
+
+import android.content.res.AssetManager; // import AssetManager สำหรับอ่าน source ของ shader
+import android.opengl.EGL14; // import EGL14 สำหรับสร้าง context ที่แชร์กับ GL thread
+import android.opengl.EGLConfig; // import EGLConfig สำหรับ config ของ context
+import android.opengl.EGLContext; // import EGLContext สำหรับ context ของ thread compile
+import android.opengl.EGLDisplay; // import EGLDisplay สำหรับ display ของ context
+import android.opengl.EGLSurface; // import EGLSurface สำหรับ surface ของ thread compile
+import android.opengl.GLES30; // import GLES30 สำหรับใช้งาน OpenGL ES 3.0
+import android.util.Log; // import Log สำหรับเขียน log
+import java.io.Closeable; // import Closeable สำหรับปิด resource
+import java.io.IOException; // import IOException สำหรับจัดการ exception
+import java.util.ArrayList; // import ArrayList สำหรับรายการ shader ที่ยัง compile ไม่เสร็จ
+import java.util.Arrays; // import Arrays สำหรับรายการ extension
+import java.util.List; // import List สำหรับรายการ shader ที่ยัง compile ไม่เสร็จ
+import java.util.Map; // import Map สำหรับ define
+import java.util.concurrent.ExecutionException; // import ExecutionException สำหรับ error จาก thread compile
+import java.util.concurrent.ExecutorService; // import ExecutorService สำหรับ thread compile
+import java.util.concurrent.Executors; // import Executors สำหรับสร้าง thread compile
+import java.util.concurrent.Future; // import Future สำหรับ program ที่ thread compile link ให้
+
+/**
+ * Compiles shaders without stalling the frame: {@link #compile} starts the work and returns a
+ * {@link PendingShader} right away, and {@link #poll}, called once per frame, hands each program
+ * to its pending shader once it has linked.
+ *
+ * <p>With {@code GL_KHR_parallel_shader_compile}, the driver compiles on its own threads and the
+ * GL thread only asks {@code GL_COMPLETION_STATUS_KHR}, which never blocks. Without it, programs
+ * are linked on a background thread with an EGL context shared with the GL thread's context,
+ * which then uses the program objects directly. If that context cannot be created, {@link
+ * #compile} falls back to compiling in place. A program found in the {@link ProgramBinaryCache} is
+ * loaded in place, since that is fast.
+ *
+ * <p>Create it and call everything except {@link #close} on the GL thread.
+ */ // คำอธิบายคลาส: compile shader โดยไม่หยุดเฟรม คืนค่า PendingShader ทันที
+public class AsyncShaderCompiler implements Closeable { // ประกาศคลาส AsyncShaderCompiler
+    private static final String TAG = AsyncShaderCompiler.class.getSimpleName(); // ตัวแปร TAG สำหรับ log
+    private static final String PARALLEL_COMPILE_EXTENSION = "GL_KHR_parallel_shader_compile"; // extension ที่ให้ driver compile แบบขนาน
+    private static final int GL_COMPLETION_STATUS_KHR = 0x91B1; // GLES30 ไม่มีค่าคงที่นี้
+
+    private final SampleRender render; // SampleRender สำหรับ asset และ binary cache
+    private final boolean parallelCompile; // driver รองรับ KHR_parallel_shader_compile หรือไม่
+    private final List<PendingShader> pending = new ArrayList<>(); // shader ที่ยัง compile ไม่เสร็จ
+    private final int[] status = new int[1]; // ใช้ซ้ำตอนถามสถานะ
+    private ExecutorService compileThread; // thread compile ที่มี context แชร์ (สร้างเมื่อต้องใช้)
+    private boolean compileThreadUnavailable; // สร้าง context แชร์ไม่ได้: compile ในที่
+    private EGLDisplay eglDisplay; // display ของ context แชร์
+    private EGLContext eglContext = EGL14.EGL_NO_CONTEXT; // context ของ thread compile
+    private EGLSurface eglSurface = EGL14.EGL_NO_SURFACE; // pbuffer 1x1 ของ thread compile
+    private int readyCount; // จำนวน shader ที่พร้อมใช้
+    private int failedCount; // จำนวน shader ที่ compile ไม่ผ่าน
+    private long latencyNanos; // เวลารวมตั้งแต่เริ่ม compile จนพร้อมใช้
+    private long blockedNanos; // เวลารวมที่ GL thread รอใน await
+
+    public AsyncShaderCompiler(SampleRender render) { // constructor รับ SampleRender (บน GL thread)
+        this.render = render;
+        String extensions = GLES30.glGetString(GLES30.GL_EXTENSIONS); // extension ของ context ปัจจุบัน
+        parallelCompile = extensions != null && Arrays.asList(extensions.split(" ")).contains(PARALLEL_COMPILE_EXTENSION);
+        Log.i(TAG, parallelCompile ? "Compiling shaders on driver threads" : "Compiling shaders on a shared-context thread"); // log
+    }
+
+    /** Starts compiling a shader from assets, like {@link Shader#createFromAssets}, and returns without waiting. */
+    public PendingShader compile(String vertexShaderFileName, String fragmentShaderFileName, Map<String, String> defines) throws IOException { // เมธอดเริ่ม compile shader
+        AssetManager assets = render.getAssets(); // ดึง asset manager
+        String vertexSource = Shader.finalSource(Shader.readSourceAsset(assets, vertexShaderFileName), defines); // source สุดท้ายของ vertex shader
+        String fragmentSource = Shader.finalSource(Shader.readSourceAsset(assets, fragmentShaderFileName), defines); // source สุดท้ายของ fragment shader
+        PendingShader shader = new PendingShader(this, vertexShaderFileName + ", " + fragmentShaderFileName, vertexSource, fragmentSource);
+        ProgramBinaryCache binaryCache = render.getProgramBinaryCache(); // cache ของ program binary (ถ้ามี)
+        long start = System.nanoTime(); // เวลาเริ่มสร้าง program
+        try {
+            if (binaryCache != null) { shader.programId = binaryCache.load(vertexSource, fragmentSource); } // ลองโหลดจาก binary ก่อน
+            if (shader.programId != 0) {
+                finish(shader, /*compiled=*/ false); // โหลดจาก binary แล้ว: พร้อมใช้ทันที
+            } else if (parallelCompile) { // driver compile บน thread ของตัวเอง: คำสั่งเหล่านี้ไม่รอ
+                shader.vertexShaderId = Shader.createShader(GLES30.GL_VERTEX_SHADER, vertexSource);
+                shader.fragmentShaderId = Shader.createShader(GLES30.GL_FRAGMENT_SHADER, fragmentSource);
+                shader.programId = Shader.createProgram(shader.vertexShaderId, shader.fragmentShaderId, binaryCache != null);
+                pending.add(shader);
+            } else if (startCompileThread()) { // link บน thread compile
+                boolean retrievable = binaryCache != null;
+                shader.linked = compileThread.submit(() -> linkOnCompileThread(vertexSource, fragmentSource, retrievable));
+                pending.add(shader);
+            } else { // ไม่มีทางอื่น: compile ในที่
+                shader.programId = Shader.linkProgram(vertexSource, fragmentSource, binaryCache != null);
+                finish(shader, /*compiled=*/ true);
+            }
+        } catch (RuntimeException e) {
+            fail(shader, e); // เช่น glCreateShader ไม่ผ่าน
+        } finally {
+            if (binaryCache != null) { binaryCache.addNanos(System.nanoTime() - start); } // เวลาบน GL thread เท่านั้น
+        }
+        return shader;
+    }
+
+    /** Completes every pending shader whose program has linked. Call once per frame; never blocks. */
+    public void poll() { // เมธอดตรวจ shader ที่ compile เสร็จแล้ว
+        for (int i = 0; i < pending.size(); ) {
+            PendingShader shader = pending.get(i);
+            if (isDone(shader)) {
+                pending.remove(i);
+                finish(shader, /*compiled=*/ true);
+            } else {
+                ++i;
+            }
+        }
+    }
+
+    /** Number of shaders still compiling. */
+    public int getPendingCount() { return pending.size(); } // คืนค่าจำนวน shader ที่ยังไม่เสร็จ
+
+    /** Number of shaders that became ready, compiled or loaded from a binary. */
+    public int getReadyCount() { return readyCount; } // คืนค่าจำนวน shader ที่พร้อมใช้
+
+    /** Number of shaders that failed to compile or link. */
+    public int getFailedCount() { return failedCount; } // คืนค่าจำนวน shader ที่ไม่ผ่าน
+
+    /** Total time from {@link #compile} to ready over all ready shaders, in nanoseconds. */
+    public long getLatencyNanos() { return latencyNanos; } // คืนค่าเวลารวมจนพร้อมใช้
+
+    /** Total time the GL thread spent waiting in {@link PendingShader#await}, in nanoseconds. */
+    public long getBlockedNanos() { return blockedNanos; } // คืนค่าเวลาที่ GL thread รอ
+
+    /** Returns whether the driver compiles in parallel ({@code GL_KHR_parallel_shader_compile}). */
+    public boolean isParallelCompile() { return parallelCompile; } // driver compile แบบขนานหรือไม่
+
+    /** Waits for one pending shader; see {@link PendingShader#await}. */
+    void await(PendingShader shader) { // เมธอดรอ shader หนึ่งตัว
+        if (!pending.remove(shader)) {
+            return; // เสร็จหรือไม่ผ่านไปแล้ว
+        }
+        long start = System.nanoTime();
+        finish(shader, /*compiled=*/ true); // ถามสถานะแบบรอ หรือรอ thread compile
+        blockedNanos += System.nanoTime() - start;
+    }
+
+    /** Drops a shader closed before it was ready. */
+    void cancel(PendingShader shader) { // เมธอดยกเลิก shader
+        // A program the compile thread is still linking is deleted by poll once it is done.
+        if (shader.linked == null && pending.remove(shader)) {
+            discard(shader);
+        }
+    }
+
+    /**
+     * Deletes pending programs and stops the compile thread. A program the compile thread is still
+     * linking is deleted there once linked, before its context is destroyed. Shaders already handed
+     * out stay valid.
+     */
+    @Override
+    public void close() { // เมธอดปิด resource
+        for (PendingShader shader : pending) {
+            shader.closed = true;
+            discard(shader);
+        }
+        pending.clear();
+        if (compileThread != null) {
+            EGLDisplay display = eglDisplay;
+            EGLContext context = eglContext;
+            EGLSurface surface = eglSurface;
+            compileThread.execute(() -> { // ปล่อย context บน thread ของมันเอง
+                EGL14.eglMakeCurrent(display, EGL14.EGL_NO_SURFACE, EGL14.EGL_NO_SURFACE, EGL14.EGL_NO_CONTEXT);
+                if (surface != EGL14.EGL_NO_SURFACE) { EGL14.eglDestroySurface(display, surface); }
+                EGL14.eglDestroyContext(display, context);
+            });
+            compileThread.shutdown(); // thread จบหลังงานสุดท้าย
+            compileThread = null;
+        }
+    }
+
+    private boolean isDone(PendingShader shader) { // เมธอดตรวจว่า program link เสร็จหรือยัง
+        if (shader.linked != null) {
+            return shader.linked.isDone();
+        }
+        GLES30.glGetProgramiv(shader.programId, GL_COMPLETION_STATUS_KHR, status, 0); // ไม่รอ driver
+        return status[0] != GLES30.GL_FALSE;
+    }
+
+    /** Checks the program, stores its binary and wraps it in a {@link Shader}; blocks if the driver is not done. */
+    private void finish(PendingShader shader, boolean compiled) { // เมธอดทำให้ shader พร้อมใช้
+        try {
+            if (shader.linked != null) {
+                shader.programId = takeLinked(shader); // thread compile ตรวจสถานะให้แล้ว
+            } else if (shader.vertexShaderId != 0) {
+                Shader.checkCompileStatus(shader.vertexShaderId);
+                Shader.checkCompileStatus(shader.fragmentShaderId);
+                Shader.checkLinkStatus(shader.programId);
+            }
+            ProgramBinaryCache binaryCache = render.getProgramBinaryCache();
+            if (compiled && binaryCache != null) { binaryCache.store(shader.vertexSource, shader.fragmentSource, shader.programId); } // บันทึก binary สำหรับครั้งหน้า
+            int programId = shader.programId;
+            shader.programId = 0; // Shader เป็นเจ้าของ program แล้ว
+            Shader linked = new Shader(programId);
+            if (shader.closed) {
+                linked.close(); // ถูกปิดระหว่าง compile
+                return;
+            }
+            shader.complete(linked);
+            ++readyCount;
+            latencyNanos += System.nanoTime() - shader.submitNanos;
+        } catch (RuntimeException e) {
+            fail(shader, e);
+        } finally {
+            Shader.deleteShader(shader.vertexShaderId); // program ยังใช้ได้หลังลบ shader
+            Shader.deleteShader(shader.fragmentShaderId);
+            shader.vertexShaderId = 0;
+            shader.fragmentShaderId = 0;
+        }
+    }
+
+    private void fail(PendingShader shader, RuntimeException e) { // เมธอดบันทึก shader ที่ไม่ผ่าน
+        discard(shader);
+        shader.fail(e);
+        ++failedCount;
+        Log.e(TAG, "Failed to compile " + shader.name, e); // log
+    }
+
+    private void discard(PendingShader shader) { // เมธอดลบ program ที่ไม่ได้ใช้
+        if (shader.linked != null && !shader.linked.cancel(false)) {
+            Future<Integer> linked = shader.linked;
+            if (linked.isDone()) {
+                shader.programId = linkedProgram(linked); // link เสร็จแล้ว: ลบด้านล่าง
+            } else {
+                // Still linking: the compile thread runs one task at a time, so this deletes the
+                // program right after the link, and before close() destroys the shared context.
+                compileThread.execute(() -> deleteProgram(linkedProgram(linked)));
+            }
+        }
+        deleteProgram(shader.programId);
+        shader.programId = 0;
+        Shader.deleteShader(shader.vertexShaderId);
+        Shader.deleteShader(shader.fragmentShaderId);
+        shader.vertexShaderId = 0;
+        shader.fragmentShaderId = 0;
+    }
+
+    /** Returns the program of a finished link, or 0 if nothing was linked. */
+    private static int linkedProgram(Future<Integer> linked) { // เมธอดรับ program ที่ link เสร็จแล้วเพื่อลบ
+        try {
+            return linked.get();
+        } catch (InterruptedException | ExecutionException e) {
+            return 0; // ไม่มี program ให้ลบ
+        }
+    }
+
+    private static void deleteProgram(int programId) { // เมธอดลบ program (บน thread ที่มี context)
+        if (programId != 0) {
+            GLES30.glDeleteProgram(programId);
+            GLError.maybeLogGLError(Log.WARN, TAG, "Failed free program", "glDeleteProgram");
+        }
+    }
+
+    private static int takeLinked(PendingShader shader) { // เมธอดรับ program จาก thread compile
+        try {
+            return shader.linked.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while compiling " + shader.name, e); // ขว้าง exception
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause(); // error ของ compile หรือ link
+            }
+            throw new IllegalStateException("Failed to compile " + shader.name, e.getCause()); // ขว้าง exception
+        }
+    }
+
+    /** Runs on the compile thread, whose context shares objects with the GL thread's. */
+    private static int linkOnCompileThread(String vertexSource, String fragmentSource, boolean retrievable) { // เมธอด link บน thread compile
+        int programId = Shader.linkProgram(vertexSource, fragmentSource, retrievable);
+        GLES30.glFinish(); // ให้ program เสร็จสมบูรณ์ก่อน GL thread ใช้
+        return programId;
+    }
+
+    /** Creates the compile thread and its shared context on first use; false if that is not possible. */
+    private boolean startCompileThread() { // เมธอดสร้าง thread compile
+        if (compileThread != null || compileThreadUnavailable) {
+            return compileThread != null;
+        }
+        EGLDisplay display = EGL14.eglGetCurrentDisplay();
+        EGLContext shared = EGL14.eglGetCurrentContext(); // context ของ GLSurfaceView
+        int[] configId = new int[1];
+        EGLConfig[] configs = new EGLConfig[1];
+        int[] configCount = new int[1];
+        if (shared.equals(EGL14.EGL_NO_CONTEXT)
+                || !EGL14.eglQueryContext(display, shared, EGL14.EGL_CONFIG_ID, configId, 0)
+                || !EGL14.eglChooseConfig(display, new int[] {EGL14.EGL_CONFIG_ID, configId[0], EGL14.EGL_NONE}, 0, configs, 0, 1, configCount, 0)
+                || configCount[0] == 0) {
+            return compileThreadUnavailable("no config for a shared context");
+        }
+        EGLContext context = EGL14.eglCreateContext(display, configs[0], shared, new int[] {EGL14.EGL_CONTEXT_CLIENT_VERSION, 3, EGL14.EGL_NONE}, 0);
+        if (context.equals(EGL14.EGL_NO_CONTEXT)) {
+            return compileThreadUnavailable("eglCreateContext failed: " + EGL14.eglGetError());
+        }
+        // A 1x1 pbuffer if the config allows one; otherwise no surface (EGL_KHR_surfaceless_context).
+        EGLSurface surface = EGL14.eglCreatePbufferSurface(display, configs[0], new int[] {EGL14.EGL_WIDTH, 1, EGL14.EGL_HEIGHT, 1, EGL14.EGL_NONE}, 0);
+        if (surface == null) {
+            surface = EGL14.EGL_NO_SURFACE;
+        }
+        EGLSurface drawSurface = surface;
+        ExecutorService thread = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "ShaderCompile"));
+        boolean current;
+        try {
+            current = thread.submit(() -> EGL14.eglMakeCurrent(display, drawSurface, drawSurface, context)).get(); // รอครั้งเดียวตอนเริ่ม
+        } catch (InterruptedException | ExecutionException e) {
+            current = false;
+        }
+        if (!current) {
+            thread.shutdown();
+            if (!surface.equals(EGL14.EGL_NO_SURFACE)) { EGL14.eglDestroySurface(display, surface); }
+            EGL14.eglDestroyContext(display, context);
+            return compileThreadUnavailable("eglMakeCurrent failed on the compile thread");
+        }
+        eglDisplay = display;
+        eglContext = context;
+        eglSurface = surface;
+        compileThread = thread;
+        return true;
+    }
+
+    private boolean compileThreadUnavailable(String reason) { // เมธอดบันทึกว่าใช้ thread compile ไม่ได้
+        compileThreadUnavailable = true;
+        Log.w(TAG, "No shared-context compile thread (" + reason + "); compiling shaders on the GL thread"); // log
+        return false;
+    }
+}
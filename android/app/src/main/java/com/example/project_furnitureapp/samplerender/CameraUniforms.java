@@ -0,0 +1,45 @@
+package com.example.project_furnitureapp.samplerender; // ประกาศ package ของไฟล์นี้
+
+import android.opengl.GLES30; // import GLES30 สำหรับใช้งาน OpenGL ES 3.0
+import com.example.project_furnitureapp.samplerender.gl.CameraBlock; // import CameraBlock สำหรับ layout ของ block
+import java.io.Closeable; // import Closeable สำหรับปิด resource
+import java.nio.ByteBuffer; // import ByteBuffer สำหรับสร้าง buffer
+import java.nio.ByteOrder; // import ByteOrder สำหรับกำหนด endian
+import java.nio.FloatBuffer; // import FloatBuffer สำหรับข้อมูลที่ส่งไป GPU
+
+/**
+ * The uniform buffer behind the {@link CameraBlock} block: view, projection, view-projection,
+ * camera position and viewport, uploaded once per frame and bound to {@link CameraBlock#BINDING},
+ * where every {@link Shader} reads it. Per-object uniforms then shrink to the model matrix.
+ *
+ * <p>Create it after the GL context, like the renderers, and call {@link #update} once per frame
+ * before drawing.
+ */ // คำอธิบายคลาส: uniform buffer ข้อมูลกล้องต่อเฟรม ที่ทุก shader อ่านร่วมกัน
+public class CameraUniforms implements Closeable { // ประกาศคลาส CameraUniforms และ implement Closeable
+    private final float[] values = new float[CameraBlock.SIZE_FLOATS]; // ข้อมูลของเฟรม (ใช้ซ้ำ)
+    private final FloatBuffer data; // direct buffer สำหรับส่งไป GPU
+    private final GpuBuffer buffer; // uniform buffer บน GPU
+
+    public CameraUniforms(SampleRender render) { // constructor รับ SampleRender
+        data = ByteBuffer.allocateDirect(CameraBlock.SIZE_BYTES).order(ByteOrder.nativeOrder()).asFloatBuffer(); // จองครั้งเดียว
+        buffer = new GpuBuffer(GLES30.GL_UNIFORM_BUFFER, CameraBlock.SIZE_BYTES, data); // จองขนาดเต็ม block
+        GLES30.glBindBufferBase(GLES30.GL_UNIFORM_BUFFER, CameraBlock.BINDING, buffer.getBufferId()); // ผูกกับ binding point ครั้งเดียว
+        GLError.maybeThrowGLException("Failed to bind camera uniform buffer", "glBindBufferBase");
+    }
+
+    /**
+     * Uploads one frame of camera data. Matrices are column-major as ARCore returns them; {@code
+     * cameraPosition} is the world position (x, y, z) of the camera.
+     */
+    public void update(float[] viewMatrix, float[] projectionMatrix, float[] cameraPosition, int viewportWidth, int viewportHeight) { // เมธอดอัปเดตข้อมูลกล้องของเฟรม
+        CameraBlock.pack(viewMatrix, projectionMatrix, cameraPosition, 0, 0, viewportWidth, viewportHeight, values);
+        data.clear(); // เขียนทับตั้งแต่ต้น
+        data.put(values);
+        buffer.set(data); // ขนาดเท่าเดิม: glBufferSubData
+    }
+
+    @Override
+    public void close() { // เมธอดปิด resource
+        buffer.close(); // ลบ buffer
+    }
+}
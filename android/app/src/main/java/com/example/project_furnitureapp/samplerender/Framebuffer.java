@@ -51,7 +51,7 @@ public class Framebuffer implements Closeable { // ประกาศคลา
               /*useMipmaps=*/ false); // สร้าง texture สำหรับ depth
 
       // Set parameters of the depth texture so that it's readable by shaders.
-      GLES30.glBindTexture(GLES30.GL_TEXTURE_2D, depthTexture.getTextureId()); // bind depth texture
+      GlState.bindTexture(GLES30.GL_TEXTURE_2D, depthTexture.getTextureId()); // bind depth texture
       GLError.maybeThrowGLException("Failed to bind depth texture", "glBindTexture"); // เช็ค error
       GLES30.glTexParameteri(GLES30.GL_TEXTURE_2D, GLES30.GL_TEXTURE_COMPARE_MODE, GLES30.GL_NONE); // ตั้งค่า compare mode
       GLError.maybeThrowGLException("Failed to set texture parameter", "glTexParameteri"); // เช็ค error
@@ -66,7 +66,7 @@ public class Framebuffer implements Closeable { // ประกาศคลา
       // Create framebuffer object and bind to the color and depth textures.
       GLES30.glGenFramebuffers(1, framebufferId, 0); // สร้าง framebuffer
       GLError.maybeThrowGLException("Framebuffer creation failed", "glGenFramebuffers"); // เช็ค error
-      GLES30.glBindFramebuffer(GLES30.GL_FRAMEBUFFER, framebufferId[0]); // bind framebuffer
+      GlState.bindFramebuffer(framebufferId[0]); // bind framebuffer
       GLError.maybeThrowGLException("Failed to bind framebuffer", "glBindFramebuffer"); // เช็ค error
       GLES30.glFramebufferTexture2D(
           GLES30.GL_FRAMEBUFFER,
@@ -99,6 +99,7 @@ public class Framebuffer implements Closeable { // ประกาศคลา
   public void close() { // เมธอดปิด resource
     if (framebufferId[0] != 0) { // ถ้ามี framebuffer
       GLES30.glDeleteFramebuffers(1, framebufferId, 0); // ลบ framebuffer
+      GlState.onFramebuffersDeleted(framebufferId); // framebuffer 0 ถูก bind แทน
       GLError.maybeLogGLError(Log.WARN, TAG, "Failed to free framebuffer", "glDeleteFramebuffers"); // log error ถ้ามี
       framebufferId[0] = 0; // เซ็ต id เป็น 0
     }
@@ -115,7 +116,7 @@ public class Framebuffer implements Closeable { // ประกาศคลา
     this.height = height; // กำหนดความสูงใหม่
 
     // Color texture
-    GLES30.glBindTexture(GLES30.GL_TEXTURE_2D, colorTexture.getTextureId()); // bind color texture
+    GlState.bindTexture(GLES30.GL_TEXTURE_2D, colorTexture.getTextureId()); // bind color texture
     GLError.maybeThrowGLException("Failed to bind color texture", "glBindTexture"); // เช็ค error
     GLES30.glTexImage2D(
         GLES30.GL_TEXTURE_2D,
@@ -130,7 +131,7 @@ public class Framebuffer implements Closeable { // ประกาศคลา
     GLError.maybeThrowGLException("Failed to specify color texture format", "glTexImage2D"); // เช็ค error
 
     // Depth texture
-    GLES30.glBindTexture(GLES30.GL_TEXTURE_2D, depthTexture.getTextureId()); // bind depth texture
+    GlState.bindTexture(GLES30.GL_TEXTURE_2D, depthTexture.getTextureId()); // bind depth texture
     GLError.maybeThrowGLException("Failed to bind depth texture", "glBindTexture"); // เช็ค error
     GLES30.glTexImage2D(
         GLES30.GL_TEXTURE_2D,
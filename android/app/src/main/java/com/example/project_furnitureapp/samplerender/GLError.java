@@ -16,61 +16,141 @@
 package com.example.project_furnitureapp.samplerender; // ประกาศ package ของไฟล์นี้
 
 import android.opengl.GLES30; // import GLES30 สำหรับใช้งาน OpenGL ES 3.0
+import android.opengl.GLES31Ext; // import GLES31Ext สำหรับ KHR_debug
 import android.opengl.GLException; // import GLException สำหรับจัดการ error ของ OpenGL
 import android.opengl.GLU; // import GLU สำหรับแปลง error code เป็นข้อความ
 import android.util.Log; // import Log สำหรับเขียน log
-import java.util.ArrayList; // import ArrayList สำหรับเก็บ error code
-import java.util.Iterator; // import Iterator สำหรับวนลูป
-import java.util.List; // import List สำหรับเก็บ error code
+import com.example.project_furnitureapp.samplerender.diagnostics.GlErrorPolicy; // import GlErrorPolicy สำหรับเลือกว่าจะถาม glGetError เมื่อไร
+import java.util.Arrays; // import Arrays สำหรับรายการ extension
 
-/** Module for handling OpenGL errors. */ // คำอธิบายคลาส: โมดูลสำหรับจัดการ error ของ OpenGL
+/**
+ * Module for handling OpenGL errors.
+ *
+ * <p>The renderers call {@link #maybeThrowGLException} or {@link #maybeLogGLError} after their GL
+ * calls; whether that asks the driver is decided by the {@link GlErrorPolicy.Mode mode}, set once
+ * with {@link #setMode}. In {@code FULL} mode, errors throw or log at the call that caused them.
+ * In the other modes those methods return without touching GL, and {@link #endFrame} reports the
+ * frame's errors ({@code PER_FRAME}) or the driver's {@code KHR_debug} messages ({@code
+ * DEBUG_OUTPUT}). {@code OFF} is for release builds.
+ */ // คำอธิบายคลาส: โมดูลสำหรับจัดการ error ของ OpenGL ตามโหมดที่เลือก
 public class GLError { // ประกาศคลาส GLError
-  /** Throws a {@link GLException} if a GL error occurred. */ // เมธอด: ถ้ามี error ให้ throw exception
+  private static final String TAG = GLError.class.getSimpleName(); // ตัวแปร TAG สำหรับ log
+  private static final String DEBUG_EXTENSION = "GL_KHR_debug"; // extension สำหรับ debug output
+  private static final int DEBUG_MESSAGES_PER_FRAME = 16; // จำนวนข้อความ debug สูงสุดที่อ่านต่อเฟรม
+  private static final GlErrorPolicy POLICY = new GlErrorPolicy(GLES30::glGetError, GlErrorPolicy.Mode.FULL); // ค่าเริ่มต้นตรวจทุกการเรียก
+  private static boolean readDebugLog; // อ่าน message log ทุกเฟรม (Java ไม่มี callback)
+  private static final int[] debugSources = new int[DEBUG_MESSAGES_PER_FRAME]; // ที่มาของข้อความ debug (ใช้ซ้ำ)
+  private static final int[] debugTypes = new int[DEBUG_MESSAGES_PER_FRAME]; // ประเภทของข้อความ debug
+  private static final int[] debugIds = new int[DEBUG_MESSAGES_PER_FRAME]; // id ของข้อความ debug
+  private static final int[] debugSeverities = new int[DEBUG_MESSAGES_PER_FRAME]; // ความรุนแรงของข้อความ debug
+
+  /**
+   * Sets when errors are checked; call on the GL thread. {@code DEBUG_OUTPUT} turns on {@code
+   * KHR_debug} in the current context, and falls back to {@code PER_FRAME} if the driver or the
+   * Java binding cannot provide it.
+   */
+  public static void setMode(GlErrorPolicy.Mode mode) { // เมธอดตั้งโหมดการตรวจ error
+    if (mode == GlErrorPolicy.Mode.DEBUG_OUTPUT && !enableDebugOutput()) {
+      Log.w(TAG, "KHR_debug is not available; checking GL errors once per frame instead"); // log
+      mode = GlErrorPolicy.Mode.PER_FRAME;
+    } else if (mode != GlErrorPolicy.Mode.DEBUG_OUTPUT && POLICY.getMode() == GlErrorPolicy.Mode.DEBUG_OUTPUT) {
+      GLES30.glDisable(GLES31Ext.GL_DEBUG_OUTPUT_KHR); // ปิด debug output
+    }
+    POLICY.setMode(mode);
+  }
+
+  public static GlErrorPolicy.Mode getMode() { return POLICY.getMode(); } // คืนค่าโหมดปัจจุบัน
+
+  /** Number of errors found so far, in any mode. */
+  public static long getErrorCount() { return POLICY.getErrorCount(); } // คืนค่าจำนวน error ทั้งหมด
+
+  /** Throws a {@link GLException} if a GL error occurred; only checks in {@code FULL} mode. */ // เมธอด: ถ้ามี error ให้ throw exception
   public static void maybeThrowGLException(String reason, String api) { // เมธอดตรวจสอบและ throw exception ถ้ามี error
-    List<Integer> errorCodes = getGlErrors(); // ดึง error code ทั้งหมด
-    if (errorCodes != null) { // ถ้ามี error
-      throw new GLException(errorCodes.get(0), formatErrorMessage(reason, api, errorCodes)); // ขว้าง exception พร้อมข้อความ
+    int errorCode = POLICY.check(); // ไม่เรียก GL ถ้าไม่ได้อยู่ในโหมด FULL
+    if (errorCode != GLES30.GL_NO_ERROR) { // ถ้ามี error
+      int[] errorCodes = POLICY.drain(errorCode); // ดึง error code ที่เหลือทั้งหมด
+      throw new GLException(errorCodes[0], formatErrorMessage(reason, api, errorCodes)); // ขว้าง exception พร้อมข้อความ
     }
   }
 
-  /** Logs a message with the given logcat priority if a GL error occurred. */ // เมธอด: log ข้อความถ้ามี error
+  /** Logs a message with the given logcat priority if a GL error occurred; only checks in {@code FULL} mode. */ // เมธอด: log ข้อความถ้ามี error
   public static void maybeLogGLError(int priority, String tag, String reason, String api) { // เมธอด log error ถ้ามี
-    List<Integer> errorCodes = getGlErrors(); // ดึง error code ทั้งหมด
-    if (errorCodes != null) { // ถ้ามี error
-      Log.println(priority, tag, formatErrorMessage(reason, api, errorCodes)); // log ข้อความ
+    int errorCode = POLICY.check(); // ไม่เรียก GL ถ้าไม่ได้อยู่ในโหมด FULL
+    if (errorCode != GLES30.GL_NO_ERROR) { // ถ้ามี error
+      Log.println(priority, tag, formatErrorMessage(reason, api, POLICY.drain(errorCode))); // log ข้อความ
     }
   }
 
-  private static String formatErrorMessage(String reason, String api, List<Integer> errorCodes) { // เมธอดสร้างข้อความ error
-    StringBuilder builder = new StringBuilder(String.format("%s: %s: ", reason, api)); // สร้างข้อความเริ่มต้น
-    Iterator<Integer> iterator = errorCodes.iterator(); // เตรียมวนลูป error code
-    while (iterator.hasNext()) { // วนลูปทุก error code
-      int errorCode = iterator.next(); // ดึง error code
-      builder.append(String.format("%s (%d)", GLU.gluErrorString(errorCode), errorCode)); // แปลงเป็นข้อความ
-      if (iterator.hasNext()) { // ถ้ายังมี error code ต่อไป
-        builder.append(", "); // เพิ่ม comma
+  /**
+   * Call once at the end of every frame on the GL thread. Logs the frame's errors in {@code
+   * PER_FRAME} mode and the driver's messages in {@code DEBUG_OUTPUT} mode; does nothing otherwise.
+   */
+  public static void endFrame() { // เมธอดตรวจ error ครั้งเดียวต่อเฟรม
+    int[] errorCodes = POLICY.endFrame(); // เรียก glGetError เฉพาะโหมด PER_FRAME
+    if (errorCodes != null) {
+      Log.e(TAG, formatErrorMessage("GL errors during the frame", "glGetError", errorCodes)); // log
+    }
+    if (readDebugLog && POLICY.getMode() == GlErrorPolicy.Mode.DEBUG_OUTPUT) {
+      readDebugLog(); // อ่านข้อความที่ driver เก็บไว้
+    }
+  }
+
+  /**
+   * Clears pending errors, whatever the mode, so that code that must read {@code glGetError}
+   * itself (for example to see whether the driver took a program binary) sees only its own.
+   */
+  public static void clearErrors() { // เมธอดล้าง error ที่ค้าง
+    for (int i = 0; i < DEBUG_MESSAGES_PER_FRAME && GLES30.glGetError() != GLES30.GL_NO_ERROR; ++i) {
+      // driver มี error flag ไม่กี่ตัว; จำกัดรอบไว้กันวนไม่จบถ้าไม่มี context
+    }
+  }
+
+  private static boolean enableDebugOutput() { // เมธอดเปิด KHR_debug
+    String extensions = GLES30.glGetString(GLES30.GL_EXTENSIONS); // extension ของ context ปัจจุบัน
+    if (extensions == null || !Arrays.asList(extensions.split(" ")).contains(DEBUG_EXTENSION)) {
+      return false;
+    }
+    GLES30.glEnable(GLES31Ext.GL_DEBUG_OUTPUT_KHR); // เปิด debug output
+    try {
+      GLES31Ext.glDebugMessageCallbackKHR(GLError::onDebugMessage); // driver แจ้งเองเมื่อมีข้อความ
+      readDebugLog = false;
+    } catch (UnsupportedOperationException e) {
+      // Android's Java binding does not implement the callback; without one the driver keeps
+      // messages in its log, which endFrame reads instead.
+      readDebugLog = true;
+      try {
+        readDebugLog(); // ตรวจว่าอ่าน log ได้
+      } catch (UnsupportedOperationException unsupported) {
+        GLES30.glDisable(GLES31Ext.GL_DEBUG_OUTPUT_KHR);
+        return false;
       }
     }
-    return builder.toString(); // คืนค่าข้อความ
+    return true;
   }
 
-  private static List<Integer> getGlErrors() { // เมธอดดึง error code ทั้งหมดจาก OpenGL
-    int errorCode = GLES30.glGetError(); // ดึง error code แรก
-    // Shortcut for no errors
-    if (errorCode == GLES30.GL_NO_ERROR) { // ถ้าไม่มี error
-      return null; // คืนค่า null
+  private static void readDebugLog() { // เมธอดอ่านข้อความ debug ที่ driver เก็บไว้
+    String[] messages = GLES31Ext.glGetDebugMessageLogKHR(DEBUG_MESSAGES_PER_FRAME, debugSources, 0, debugTypes, 0, debugIds, 0, debugSeverities, 0);
+    for (int i = 0; messages != null && i < messages.length; ++i) {
+      onDebugMessage(debugSources[i], debugTypes[i], debugIds[i], debugSeverities[i], messages[i]);
     }
-    List<Integer> errorCodes = new ArrayList<>(); // สร้าง list สำหรับเก็บ error code
-    errorCodes.add(errorCode); // เพิ่ม error code แรก
-    while (true) { // วนลูปดึง error code จนกว่าจะหมด
-      errorCode = GLES30.glGetError(); // ดึง error code ถัดไป
-      if (errorCode == GLES30.GL_NO_ERROR) { // ถ้าไม่มี error แล้ว
-        break; // ออกจากลูป
+  }
+
+  private static void onDebugMessage(int source, int type, int id, int severity, String message) { // เมธอดรับข้อความจาก driver
+    if (POLICY.isReported(type, severity)) {
+      Log.println(type == GlErrorPolicy.DEBUG_TYPE_ERROR ? Log.ERROR : Log.WARN, TAG, String.format("GL debug message %d: %s", id, message)); // log
+    }
+  }
+
+  private static String formatErrorMessage(String reason, String api, int[] errorCodes) { // เมธอดสร้างข้อความ error
+    StringBuilder builder = new StringBuilder(String.format("%s: %s: ", reason, api)); // สร้างข้อความเริ่มต้น
+    for (int i = 0; i < errorCodes.length; ++i) { // วนลูปทุก error code
+      if (i > 0) { // ถ้าไม่ใช่ตัวแรก
+        builder.append(", "); // เพิ่ม comma
       }
-      errorCodes.add(errorCode); // เพิ่ม error code ลง list
+      builder.append(String.format("%s (%d)", GLU.gluErrorString(errorCodes[i]), errorCodes[i])); // แปลงเป็นข้อความ
     }
-    return errorCodes; // คืนค่า list ของ error code
+    return builder.toString(); // คืนค่าข้อความ
   }
 
   private GLError() {} // constructor private เพื่อไม่ให้สร้าง instance
-}
\ No newline at end of file
+}
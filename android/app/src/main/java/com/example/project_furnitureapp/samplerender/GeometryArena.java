@@ -0,0 +1,415 @@
+package com.example.project_furnitureapp.samplerender; // ประกาศ package ของไฟล์นี้
+
+import android.opengl.GLES30; // import GLES30 สำหรับใช้งาน OpenGL ES 3.0
+import android.util.Log; // import Log สำหรับเขียน log
+import com.example.project_furnitureapp.samplerender.geometry.Frustum; // import Frustum สำหรับแปลง bounds
+import com.example.project_furnitureapp.samplerender.geometry.MeshData; // import MeshData สำหรับ layout และ LOD
+import com.example.project_furnitureapp.samplerender.geometry.RangeAllocator; // import RangeAllocator สำหรับจัดสรรช่วงของ buffer
+import com.example.project_furnitureapp.samplerender.geometry.StaticBatcher; // import StaticBatcher สำหรับรวม draw call
+import java.io.Closeable; // import Closeable สำหรับปิด resource
+import java.nio.ByteBuffer; // import ByteBuffer สำหรับข้อมูล vertex
+import java.nio.ByteOrder; // import ByteOrder สำหรับกำหนด endian
+import java.nio.IntBuffer; // import IntBuffer สำหรับข้อมูล index
+import java.util.ArrayList; // import ArrayList สำหรับรายการ entry
+import java.util.LinkedHashMap; // import LinkedHashMap สำหรับจัดกลุ่มตาม group โดยคงลำดับ
+import java.util.List; // import List สำหรับรายการ entry
+import java.util.Map; // import Map สำหรับจัดกลุ่มตาม group
+
+/**
+ * Stores many static meshes in one shared vertex buffer and one shared index buffer behind a single
+ * vertex array, so that a room of furniture is drawn with a few {@code glDrawElements} calls
+ * instead of one VAO bind and draw per object.
+ *
+ * <p>Each {@link Entry} is one level of detail of a {@link Mesh.Source} placed by a model matrix;
+ * only that level's indices are stored, so the ranges of neighbouring entries touch. Its vertices are
+ * transformed to world space when they are written, and its indices are offset by the entry's
+ * first vertex (OpenGL ES 3.0 has no {@code glDrawElementsBaseVertex}), so the index ranges of any
+ * entries can be drawn together with an identity model matrix. {@link StaticBatcher} merges the
+ * ranges of a frame by shader; entries of one group stay next to each other after {@link #compact},
+ * so a group that is entirely visible becomes one draw call.
+ *
+ * <p>Space is suballocated with {@link RangeAllocator}. Adding and removing products during a
+ * session fragments it; {@link #add} compacts or grows the buffers when an entry does not fit, by
+ * copying the live ranges into new buffers with {@code glCopyBufferSubData}. Only the float layout
+ * ({@link VertexLayout#forMeshData()}) can be batched: quantized positions are relative to each
+ * mesh's own bounds.
+ */ // คำอธิบายคลาส: เก็บ mesh หลายชิ้นใน buffer ร่วมกัน เพื่อวาดทั้งห้องด้วย draw call ไม่กี่ครั้ง
+public class GeometryArena implements Closeable { // ประกาศคลาส GeometryArena และ implement Closeable
+    private static final String TAG = GeometryArena.class.getSimpleName(); // ตัวแปร TAG สำหรับ log
+
+    public static final int DEFAULT_VERTEX_CAPACITY = 1 << 16; // จำนวน vertex เริ่มต้น (2 MB)
+    public static final int DEFAULT_INDEX_CAPACITY = 1 << 18; // จำนวน index เริ่มต้น (1 MB)
+    /** {@link #add} compacts rather than grows while the live ranges would fill at most this share of a buffer. */
+    private static final float COMPACT_MAX_FILL = 0.75f; // เกณฑ์ที่บีบอัดแทนการขยาย
+
+    /** One mesh placed in the arena. */
+    public static final class Entry { // ประกาศคลาส Entry
+        private final Mesh.Source source; // ข้อมูล mesh ฝั่ง CPU (ใช้เขียน vertex และ index ใหม่)
+        private final Object group; // กลุ่มของ entry (เช่น shader) สำหรับจัดเรียงตอนบีบอัด
+        private final MeshData.Lod lod; // ระดับ LOD ที่เก็บไว้
+        private final float[] bounds = new float[6]; // bounds ใน world space
+        private int firstVertex; // vertex แรกใน buffer ร่วม
+        private int firstIndex; // index แรกใน buffer ร่วม
+        private boolean removed; // ถูกลบไปแล้วหรือยัง
+
+        private Entry(Mesh.Source source, Object group, MeshData.Lod lod) { // constructor
+            this.source = source; // กำหนดข้อมูล mesh
+            this.group = group; // กำหนดกลุ่ม
+            this.lod = lod; // กำหนดระดับ LOD
+        }
+
+        public Object getGroup() { return group; } // คืนค่ากลุ่ม
+
+        /** World-space bounds, for {@link Frustum#isVisible(float[], float)}. */
+        public float[] getBounds() { return bounds; } // คืนค่า bounds ใน world space
+
+        /** First index of the entry in the shared index buffer, for {@link StaticBatcher#add}. */
+        public int getFirstIndex() { return firstIndex; } // คืนค่า index แรก
+
+        public int getIndexCount() { return lod.indexCount; } // คืนค่าจำนวน index
+
+        private int getVertexCount() { return source.vertices.capacity() / MeshData.VERTEX_STRIDE; } // จำนวน vertex
+    }
+
+    private final int[] vertexArrayId = {0}; // vertex array ของ arena
+    private final int[] bufferIds = {0, 0}; // [0] = vertex buffer, [1] = index buffer
+    private final RangeAllocator vertices; // ตัวจัดสรรช่วง vertex
+    private final RangeAllocator indices; // ตัวจัดสรรช่วง index
+    private final List<Entry> entries = new ArrayList<>(); // entry ทั้งหมดตามลำดับที่เพิ่ม
+    private ByteBuffer vertexScratch = allocate(0); // buffer ชั่วคราวสำหรับ vertex ที่แปลงแล้ว
+    private IntBuffer indexScratch = allocate(0).asIntBuffer(); // buffer ชั่วคราวสำหรับ index ที่เลื่อนแล้ว
+
+    /** Creates an arena with the default capacities; it grows on demand. Must be called on the GL thread. */
+    public GeometryArena(SampleRender render) { // constructor ใช้ความจุเริ่มต้น
+        this(render, DEFAULT_VERTEX_CAPACITY, DEFAULT_INDEX_CAPACITY);
+    }
+
+    public GeometryArena(SampleRender render, int vertexCapacity, int indexCapacity) { // constructor รับความจุ
+        vertices = new RangeAllocator(vertexCapacity); // ตัวจัดสรร vertex
+        indices = new RangeAllocator(indexCapacity); // ตัวจัดสรร index
+        try {
+            GLES30.glGenVertexArrays(1, vertexArrayId, 0); // สร้าง vertex array
+            GLError.maybeThrowGLException("Failed to generate a vertex array", "glGenVertexArrays"); // เช็ค error
+            int[] newIds = createBuffers(vertexCapacity, indexCapacity); // สร้าง buffer ว่าง
+            bufferIds[0] = newIds[0];
+            bufferIds[1] = newIds[1];
+            bindVertexArray(); // ผูก buffer เข้ากับ vertex array
+        } catch (Throwable t) { // ถ้ามี error
+            close(); // ปิด resource
+            throw t; // ขว้าง exception ต่อ
+        }
+    }
+
+    /**
+     * Places the full-detail level of {@code source} at {@code modelMatrix} (column-major, rigid or
+     * uniformly scaled). {@code group} is what its ranges will be batched by, usually the shader.
+     * Must be called on the GL thread.
+     */
+    public Entry add(Mesh.Source source, float[] modelMatrix, Object group) { // เมธอดเพิ่ม mesh
+        return add(source, modelMatrix, group, /*lod=*/ 0); // ระดับละเอียดที่สุด
+    }
+
+    /** Like {@link #add(Mesh.Source, float[], Object)}, storing level of detail {@code lod}. */
+    public Entry add(Mesh.Source source, float[] modelMatrix, Object group, int lod) { // เมธอดเพิ่ม mesh ระดับ LOD ที่กำหนด
+        if (source.quantized) { // position แบบ quantize อ้างอิง bounds ของแต่ละ mesh
+            throw new IllegalArgumentException("Quantized meshes cannot be batched"); // ขว้าง exception
+        }
+        Entry entry = new Entry(source, group, source.lods[lod]); // entry ใหม่
+        int vertexCount = entry.getVertexCount(), indexCount = entry.getIndexCount(); // ขนาดที่ต้องจอง
+        if (vertexCount == 0 || indexCount == 0) {
+            throw new IllegalArgumentException("Mesh has no triangles"); // ขว้าง exception
+        }
+        entry.firstVertex = vertices.allocate(vertexCount); // จองช่วง vertex
+        entry.firstIndex = entry.firstVertex < 0 ? -1 : indices.allocate(indexCount); // จองช่วง index
+        if (entry.firstIndex < 0) { // ไม่มีที่ว่างติดกันพอ
+            if (entry.firstVertex >= 0) {
+                vertices.free(entry.firstVertex); // คืนช่วง vertex ที่จองไว้แล้ว
+            }
+            rebuild(
+                    requiredCapacity(vertices, vertexCount), requiredCapacity(indices, indexCount)); // บีบอัดหรือขยาย buffer
+            entry.firstVertex = vertices.allocate(vertexCount); // หลังบีบอัด ที่ว่างอยู่ท้าย buffer เสมอ
+            entry.firstIndex = indices.allocate(indexCount);
+        }
+        entries.add(entry);
+        write(entry, modelMatrix); // เขียน vertex และ index
+        return entry; // คืนค่า entry
+    }
+
+    /** Moves {@code entry} to {@code modelMatrix}, rewriting its vertices in place. */
+    public void move(Entry entry, float[] modelMatrix) { // เมธอดย้าย mesh
+        checkLive(entry);
+        writeVertices(entry, modelMatrix); // เขียนเฉพาะ vertex (index ไม่เปลี่ยน)
+    }
+
+    /** Frees the ranges of {@code entry}. Its space is reused by later entries. */
+    public void remove(Entry entry) { // เมธอดลบ mesh
+        checkLive(entry);
+        vertices.free(entry.firstVertex); // คืนช่วง vertex
+        indices.free(entry.firstIndex); // คืนช่วง index
+        entries.remove(entry);
+        entry.removed = true;
+    }
+
+    /**
+     * Packs the live entries to the front of the buffers, grouped by {@link Entry#getGroup}, leaving
+     * the free space in one block. {@link #add} does this by itself when an entry does not fit;
+     * call it after removing many products to merge the remaining ranges.
+     */
+    public void compact() { // เมธอดบีบอัด buffer
+        rebuild(vertices.getCapacity(), indices.getCapacity());
+    }
+
+    /** Share of the free space that is scattered; see {@link RangeAllocator#getFragmentation}. */
+    public float getFragmentation() { // เมธอดคืนค่าระดับการกระจายของที่ว่าง
+        return Math.max(vertices.getFragmentation(), indices.getFragmentation());
+    }
+
+    public int getEntryCount() { return entries.size(); } // คืนค่าจำนวน entry
+
+    /** Returns the GPU memory allocated for the shared buffers, in bytes. */
+    public long getGpuByteCount() { // เมธอดคืนค่าหน่วยความจำ GPU ที่ใช้ (byte)
+        return (long) vertices.getCapacity() * MeshData.VERTEX_STRIDE + (long) indices.getCapacity() * Integer.BYTES;
+    }
+
+    @Override
+    public void close() { // เมธอดปิด resource
+        if (vertexArrayId[0] != 0) { // ถ้ามี vertex array
+            GLES30.glDeleteVertexArrays(1, vertexArrayId, 0); // ลบ vertex array
+            GlState.onVertexArraysDeleted(vertexArrayId); // vertex array 0 ถูก bind แทน
+            GLError.maybeLogGLError(Log.WARN, TAG, "Failed to free vertex array object", "glDeleteVertexArrays"); // log error ถ้ามี
+            vertexArrayId[0] = 0; // เซ็ต id เป็น 0
+        }
+        deleteBuffers(bufferIds); // ลบ buffer ร่วม
+    }
+
+    /**
+     * Draws the merged ranges of {@code batch} with the bound shader. Don't call this directly
+     * unless you are doing low level OpenGL code; instead, prefer {@link SampleRender#draw(
+     * GeometryArena, StaticBatcher.Batch, Shader)}.
+     */
+    public void lowLevelDraw(StaticBatcher.Batch<?> batch) { // เมธอดวาด batch (ระดับ low-level)
+        if (vertexArrayId[0] == 0) { // ถ้า vertex array ถูกลบแล้ว
+            throw new IllegalStateException("Tried to draw a freed GeometryArena"); // ขว้าง exception
+        }
+        GlState.bindVertexArray(vertexArrayId[0]); // bind vertex array
+        GLError.maybeThrowGLException("Failed to bind vertex array object", "glBindVertexArray"); // เช็ค error
+        for (int draw = 0; draw < batch.getDrawCount(); ++draw) { // หนึ่งช่วงที่รวมแล้ว = หนึ่ง draw call
+            GLES30.glDrawElements(
+                    GLES30.GL_TRIANGLES, batch.getIndexCount(draw), GLES30.GL_UNSIGNED_INT, batch.getFirstIndex(draw) * Integer.BYTES); // วาดช่วง index
+            GLError.maybeThrowGLException("Failed to draw arena range", "glDrawElements"); // เช็ค error
+        }
+    }
+
+    private void checkLive(Entry entry) { // เมธอดเช็คว่า entry ยังอยู่ใน arena
+        if (entry.removed || !entries.contains(entry)) {
+            throw new IllegalArgumentException("Entry is not in this arena"); // ขว้าง exception
+        }
+    }
+
+    /** Capacity for {@code extra} more units: the current one if compacting leaves enough headroom, else doubled. */
+    private static int requiredCapacity(RangeAllocator allocator, int extra) { // เมธอดคำนวณความจุที่ต้องใช้
+        int needed = allocator.getUsed() + extra; // ขนาดหลังบีบอัด
+        if (needed <= allocator.getCapacity() * COMPACT_MAX_FILL) {
+            return allocator.getCapacity(); // บีบอัดก็พอ
+        }
+        return Math.max(needed, allocator.getCapacity() * 2); // ขยายสองเท่า
+    }
+
+    /**
+     * Copies every live entry, grouped, into new buffers of the given capacities. Vertex ranges are
+     * copied on the GPU; index ranges too, unless their entry's first vertex changed, in which case
+     * they are rewritten with the new offset.
+     */
+    private void rebuild(int vertexCapacity, int indexCapacity) { // เมธอดสร้าง buffer ใหม่และคัดลอก entry ทั้งหมด
+        Map<Object, List<Entry>> groups = new LinkedHashMap<>(); // entry ตามกลุ่ม (คงลำดับที่เจอ)
+        for (Entry entry : entries) {
+            List<Entry> group = groups.get(entry.group);
+            if (group == null) {
+                group = new ArrayList<>();
+                groups.put(entry.group, group);
+            }
+            group.add(entry);
+        }
+        List<Entry> ordered = new ArrayList<>(entries.size()); // entry ที่เรียงตามกลุ่มแล้ว
+        for (List<Entry> group : groups.values()) {
+            ordered.addAll(group);
+        }
+        int[] vertexOffsets = new int[ordered.size()], indexOffsets = new int[ordered.size()]; // offset เดิม
+        for (int i = 0; i < ordered.size(); ++i) {
+            vertexOffsets[i] = ordered.get(i).firstVertex;
+            indexOffsets[i] = ordered.get(i).firstIndex;
+        }
+        vertices.grow(vertexCapacity); // ขยายก่อน (ถ้าจำเป็น) แล้วบีบอัด
+        indices.grow(indexCapacity);
+        int[] newVertexOffsets = vertices.compact(vertexOffsets); // offset ใหม่
+        int[] newIndexOffsets = indices.compact(indexOffsets);
+
+        int[] oldIds = {bufferIds[0], bufferIds[1]}; // buffer เดิม
+        int[] newIds = createBuffers(vertexCapacity, indexCapacity); // buffer ใหม่
+        try {
+            GlState.bindBuffer(GLES30.GL_COPY_READ_BUFFER, oldIds[0]); // คัดลอก vertex จาก buffer เดิม
+            GLError.maybeThrowGLException("Failed to bind copy read buffer", "glBindBuffer"); // เช็ค error
+            GlState.bindBuffer(GLES30.GL_COPY_WRITE_BUFFER, newIds[0]); // ไปยัง buffer ใหม่
+            GLError.maybeThrowGLException("Failed to bind copy write buffer", "glBindBuffer"); // เช็ค error
+            for (int i = 0; i < ordered.size(); ++i) {
+                Entry entry = ordered.get(i);
+                GLES30.glCopyBufferSubData(
+                        GLES30.GL_COPY_READ_BUFFER, GLES30.GL_COPY_WRITE_BUFFER,
+                        vertexOffsets[i] * MeshData.VERTEX_STRIDE, newVertexOffsets[i] * MeshData.VERTEX_STRIDE,
+                        entry.getVertexCount() * MeshData.VERTEX_STRIDE); // คัดลอกบน GPU ไม่ผ่าน CPU
+                GLError.maybeThrowGLException("Failed to copy vertex range", "glCopyBufferSubData"); // เช็ค error
+            }
+            GlState.bindBuffer(GLES30.GL_COPY_READ_BUFFER, oldIds[1]); // คัดลอก index จาก buffer เดิม
+            GLError.maybeThrowGLException("Failed to bind copy read buffer", "glBindBuffer"); // เช็ค error
+            GlState.bindBuffer(GLES30.GL_COPY_WRITE_BUFFER, newIds[1]); // ไปยัง buffer ใหม่
+            GLError.maybeThrowGLException("Failed to bind copy write buffer", "glBindBuffer"); // เช็ค error
+            for (int i = 0; i < ordered.size(); ++i) {
+                Entry entry = ordered.get(i);
+                if (vertexOffsets[i] == newVertexOffsets[i]) { // vertex ไม่ได้ย้าย: index ยังใช้ได้
+                    GLES30.glCopyBufferSubData(
+                            GLES30.GL_COPY_READ_BUFFER, GLES30.GL_COPY_WRITE_BUFFER,
+                            indexOffsets[i] * Integer.BYTES, newIndexOffsets[i] * Integer.BYTES,
+                            entry.getIndexCount() * Integer.BYTES); // คัดลอกบน GPU
+                    GLError.maybeThrowGLException("Failed to copy index range", "glCopyBufferSubData"); // เช็ค error
+                }
+            }
+        } catch (Throwable t) { // ถ้ามี error ให้ลบ buffer ใหม่ แต่ offset ถูกเปลี่ยนไปแล้ว จึงใช้ arena ต่อไม่ได้
+            deleteBuffers(newIds);
+            throw t;
+        }
+        bufferIds[0] = newIds[0];
+        bufferIds[1] = newIds[1];
+        deleteBuffers(oldIds); // ลบ buffer เดิม
+        bindVertexArray(); // ผูก buffer ใหม่เข้ากับ vertex array
+
+        for (int i = 0; i < ordered.size(); ++i) {
+            Entry entry = ordered.get(i);
+            boolean moved = entry.firstVertex != newVertexOffsets[i]; // vertex ถูกย้ายหรือไม่
+            entry.firstVertex = newVertexOffsets[i];
+            entry.firstIndex = newIndexOffsets[i];
+            if (moved) {
+                writeIndices(entry); // เขียน index ใหม่ด้วย offset ใหม่
+            }
+        }
+        entries.clear();
+        entries.addAll(ordered); // ลำดับใหม่ตามกลุ่ม
+        Log.d(TAG, "Rebuilt arena: " + entries.size() + " entries, " + vertexCapacity + " vertices, " + indexCapacity + " indices"); // log ขนาดใหม่
+    }
+
+    private void write(Entry entry, float[] modelMatrix) { // เมธอดเขียน vertex และ index ของ entry
+        writeVertices(entry, modelMatrix);
+        writeIndices(entry);
+    }
+
+    /** Writes the entry's vertices transformed by {@code modelMatrix}, and updates its bounds. */
+    private void writeVertices(Entry entry, float[] modelMatrix) { // เมธอดเขียน vertex ใน world space
+        Frustum.transformBounds(entry.source.bounds, modelMatrix, entry.bounds); // bounds ใน world space
+        ByteBuffer source = entry.source.vertices; // vertex เดิม (อ่านแบบ absolute)
+        int byteCount = entry.getVertexCount() * MeshData.VERTEX_STRIDE; // ขนาดข้อมูล (byte)
+        if (vertexScratch.capacity() < byteCount) {
+            vertexScratch = allocate(byteCount); // ขยาย buffer ชั่วคราว
+        }
+        ByteBuffer out = vertexScratch; // vertex ที่แปลงแล้ว
+        float[] m = modelMatrix;
+        for (int vertex = 0; vertex < byteCount; vertex += MeshData.VERTEX_STRIDE) {
+            int p = vertex + MeshData.POSITION_OFFSET, n = vertex + MeshData.NORMAL_OFFSET, t = vertex + MeshData.TEX_COORD_OFFSET;
+            float x = source.getFloat(p), y = source.getFloat(p + 4), z = source.getFloat(p + 8); // position
+            out.putFloat(p, m[0] * x + m[4] * y + m[8] * z + m[12]);
+            out.putFloat(p + 4, m[1] * x + m[5] * y + m[9] * z + m[13]);
+            out.putFloat(p + 8, m[2] * x + m[6] * y + m[10] * z + m[14]);
+            out.putFloat(t, source.getFloat(t)); // texture coordinate ไม่เปลี่ยน
+            out.putFloat(t + 4, source.getFloat(t + 4));
+            x = source.getFloat(n); y = source.getFloat(n + 4); z = source.getFloat(n + 8); // normal: ใช้ส่วนหมุนของ matrix แล้ว normalize (ถูกต้องเมื่อ scale เท่ากันทุกแกน)
+            float nx = m[0] * x + m[4] * y + m[8] * z, ny = m[1] * x + m[5] * y + m[9] * z, nz = m[2] * x + m[6] * y + m[10] * z;
+            float length = (float) Math.sqrt(nx * nx + ny * ny + nz * nz);
+            float scale = length > 0f ? 1f / length : 0f;
+            out.putFloat(n, nx * scale);
+            out.putFloat(n + 4, ny * scale);
+            out.putFloat(n + 8, nz * scale);
+        }
+        out.position(0).limit(byteCount);
+        GlState.bindBuffer(GLES30.GL_ARRAY_BUFFER, bufferIds[0]); // bind vertex buffer
+        GLError.maybeThrowGLException("Failed to bind vertex buffer", "glBindBuffer"); // เช็ค error
+        GLES30.glBufferSubData(GLES30.GL_ARRAY_BUFFER, entry.firstVertex * MeshData.VERTEX_STRIDE, byteCount, out); // เขียนเฉพาะช่วงของ entry
+        GLError.maybeThrowGLException("Failed to write arena vertices", "glBufferSubData"); // เช็ค error
+    }
+
+    /** Writes the entry's indices offset by its first vertex. */
+    private void writeIndices(Entry entry) { // เมธอดเขียน index ที่เลื่อนแล้ว
+        IntBuffer source = entry.source.indices; // index เดิม (อ่านแบบ absolute)
+        int first = entry.lod.firstIndex, count = entry.getIndexCount(); // ช่วงของระดับที่เก็บ
+        if (indexScratch.capacity() < count) {
+            indexScratch = allocate(count * Integer.BYTES).asIntBuffer(); // ขยาย buffer ชั่วคราว
+        }
+        IntBuffer out = indexScratch; // index ที่เลื่อนแล้ว
+        out.clear();
+        for (int i = 0; i < count; ++i) {
+            out.put(source.get(first + i) + entry.firstVertex); // แทน base vertex
+        }
+        out.flip();
+        GlState.bindVertexArray(0); // unbind VAO ก่อน ไม่ให้ element buffer ของ VAO เปลี่ยน
+        GLError.maybeThrowGLException("Failed to unbind vertex array", "glBindVertexArray"); // เช็ค error
+        GlState.bindBuffer(GLES30.GL_ELEMENT_ARRAY_BUFFER, bufferIds[1]); // bind index buffer
+        GLError.maybeThrowGLException("Failed to bind index buffer", "glBindBuffer"); // เช็ค error
+        GLES30.glBufferSubData(GLES30.GL_ELEMENT_ARRAY_BUFFER, entry.firstIndex * Integer.BYTES, count * Integer.BYTES, out); // เขียนเฉพาะช่วงของ entry
+        GLError.maybeThrowGLException("Failed to write arena indices", "glBufferSubData"); // เช็ค error
+    }
+
+    /** Points the vertex array at the current buffers with the {@link VertexLayout#forMeshData()} layout. */
+    private void bindVertexArray() { // เมธอดผูก buffer เข้ากับ vertex array
+        GlState.bindVertexArray(vertexArrayId[0]); // bind vertex array
+        GLError.maybeThrowGLException("Failed to bind vertex array object", "glBindVertexArray"); // เช็ค error
+        GlState.bindBuffer(GLES30.GL_ELEMENT_ARRAY_BUFFER, bufferIds[1]); // bind index buffer
+        GLError.maybeThrowGLException("Failed to bind index buffer", "glBindBuffer"); // เช็ค error
+        GlState.bindBuffer(GLES30.GL_ARRAY_BUFFER, bufferIds[0]); // bind vertex buffer
+        GLError.maybeThrowGLException("Failed to bind vertex buffer", "glBindBuffer"); // เช็ค error
+        VertexLayout layout = VertexLayout.forMeshData(); // layout ของ vertex แบบ float
+        for (VertexLayout.Attribute attribute : layout.getAttributes()) { // วนลูปทุก attribute
+            GLES30.glVertexAttribPointer(
+                    attribute.location, attribute.numberOfComponents, attribute.componentType.glesEnum,
+                    attribute.normalized, layout.getStride(), attribute.offset); // กำหนด pointer
+            GLError.maybeThrowGLException("Failed to associate vertex buffer with vertex array", "glVertexAttribPointer"); // เช็ค error
+            GLES30.glEnableVertexAttribArray(attribute.location); // เปิดใช้งาน attribute
+            GLError.maybeThrowGLException("Failed to enable vertex buffer", "glEnableVertexAttribArray"); // เช็ค error
+        }
+        GlState.bindVertexArray(0); // unbind vertex array
+        GLError.maybeThrowGLException("Failed to unbind vertex array", "glBindVertexArray"); // เช็ค error
+    }
+
+    /** Creates an empty vertex buffer and index buffer of the given capacities. */
+    private static int[] createBuffers(int vertexCapacity, int indexCapacity) { // เมธอดสร้าง buffer ว่าง
+        int[] ids = {0, 0};
+        GlState.bindVertexArray(0); // unbind VAO ก่อน
+        GLError.maybeThrowGLException("Failed to unbind vertex array", "glBindVertexArray"); // เช็ค error
+        GLES30.glGenBuffers(2, ids, 0); // สร้าง buffer id
+        GLError.maybeThrowGLException("Failed to generate buffers", "glGenBuffers"); // เช็ค error
+        try {
+            GlState.bindBuffer(GLES30.GL_ARRAY_BUFFER, ids[0]); // bind vertex buffer
+            GLError.maybeThrowGLException("Failed to bind vertex buffer", "glBindBuffer"); // เช็ค error
+            GLES30.glBufferData(GLES30.GL_ARRAY_BUFFER, vertexCapacity * MeshData.VERTEX_STRIDE, null, GLES30.GL_STATIC_DRAW); // จอง buffer ว่าง
+            GLError.maybeThrowGLException("Failed to allocate arena vertex buffer", "glBufferData"); // เช็ค error
+            GlState.bindBuffer(GLES30.GL_ELEMENT_ARRAY_BUFFER, ids[1]); // bind index buffer
+            GLError.maybeThrowGLException("Failed to bind index buffer", "glBindBuffer"); // เช็ค error
+            GLES30.glBufferData(GLES30.GL_ELEMENT_ARRAY_BUFFER, indexCapacity * Integer.BYTES, null, GLES30.GL_STATIC_DRAW); // จอง buffer ว่าง
+            GLError.maybeThrowGLException("Failed to allocate arena index buffer", "glBufferData"); // เช็ค error
+        } catch (Throwable t) { // ถ้ามี error ให้ลบ buffer ที่สร้างไว้
+            deleteBuffers(ids);
+            throw t;
+        }
+        return ids; // คืนค่า buffer id
+    }
+
+    private static void deleteBuffers(int[] ids) { // เมธอดลบ buffer
+        if (ids[0] != 0 || ids[1] != 0) {
+            GLES30.glDeleteBuffers(2, ids, 0); // ลบ buffer (id 0 ถูกข้าม)
+            GlState.onBuffersDeleted(ids); // buffer ถูก unbind จากทุก target
+            GLError.maybeLogGLError(Log.WARN, TAG, "Failed to free arena buffers", "glDeleteBuffers"); // log error ถ้ามี
+            ids[0] = 0;
+            ids[1] = 0;
+        }
+    }
+
+    private static ByteBuffer allocate(int bytes) { // เมธอดจอง direct buffer
+        return ByteBuffer.allocateDirect(bytes).order(ByteOrder.nativeOrder());
+    }
+}
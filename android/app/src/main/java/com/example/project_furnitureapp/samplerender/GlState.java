@@ -0,0 +1,282 @@
+package com.example.project_furnitureapp.samplerender; // ประกาศ package ของไฟล์นี้
+
+import android.opengl.GLES30; // import GLES30 สำหรับใช้งาน OpenGL ES 3.0
+import java.util.Arrays; // import Arrays สำหรับเติมค่า UNKNOWN
+
+/**
+ * Cache of the GL state that the renderers change on every draw: the program, buffer, vertex array,
+ * framebuffer and texture bindings, the enabled capabilities, the blend function, the depth mask
+ * and the depth function. A change to the value already current is skipped, so renderers can set
+ * everything they need before a draw without resetting it afterwards.
+ *
+ * <p>Like {@link GLError}, this is static: the app renders with one GL context on one thread. All
+ * calls must be made on that thread. {@link #invalidate} forgets everything and must be called
+ * when a new context is created; {@link #invalidateTextures} must be called after code outside
+ * {@code samplerender}, such as ARCore's camera texture update, binds textures behind its back.
+ *
+ * <p>{@link #beginFrame} closes the counters of the previous frame: {@link #getIssuedCount} changes
+ * reached the driver and {@link #getElidedCount} were skipped.
+ */ // คำอธิบายคลาส: cache ของ GL state เพื่อข้ามการ bind/enable ที่ไม่เปลี่ยนค่า พร้อมตัวนับต่อเฟรม
+public final class GlState { // ประกาศคลาส GlState
+    private static final int UNKNOWN = -1; // ไม่รู้ค่าปัจจุบัน: ต้องส่งคำสั่งเสมอ
+    private static final int MAX_TEXTURE_UNITS = 16; // จำนวน texture unit ที่ติดตาม (ES 3.0 รับประกันอย่างน้อย 16)
+    private static final int GL_TEXTURE_EXTERNAL_OES = 0x8D65; // ค่าคงที่ของ OES texture
+
+    // Tracked targets and capabilities; anything else is passed through uncached.
+    private static final int[] BUFFER_TARGETS = { // buffer target ที่ติดตาม
+        GLES30.GL_ARRAY_BUFFER, GLES30.GL_ELEMENT_ARRAY_BUFFER, GLES30.GL_COPY_READ_BUFFER,
+        GLES30.GL_COPY_WRITE_BUFFER, GLES30.GL_PIXEL_PACK_BUFFER, GLES30.GL_PIXEL_UNPACK_BUFFER,
+        GLES30.GL_UNIFORM_BUFFER
+    };
+    private static final int[] TEXTURE_TARGETS = { // texture target ที่ติดตาม
+        GLES30.GL_TEXTURE_2D, GLES30.GL_TEXTURE_CUBE_MAP, GL_TEXTURE_EXTERNAL_OES
+    };
+    private static final int[] CAPABILITIES = { // capability ที่ติดตาม
+        GLES30.GL_BLEND, GLES30.GL_CULL_FACE, GLES30.GL_DEPTH_TEST, GLES30.GL_SCISSOR_TEST,
+        GLES30.GL_POLYGON_OFFSET_FILL, GLES30.GL_STENCIL_TEST
+    };
+    private static final int ELEMENT_ARRAY_SLOT = 1; // ตำแหน่งของ GL_ELEMENT_ARRAY_BUFFER ใน BUFFER_TARGETS
+
+    private static int program; // program ปัจจุบัน
+    private static int vertexArray; // vertex array ปัจจุบัน
+    private static int framebuffer; // framebuffer ปัจจุบัน
+    private static int activeTextureUnit; // texture unit ที่เลือกอยู่
+    private static final int[] buffers = new int[BUFFER_TARGETS.length]; // buffer ที่ bind ต่อ target
+    private static final int[][] textures = new int[MAX_TEXTURE_UNITS][TEXTURE_TARGETS.length]; // texture ที่ bind ต่อ unit และ target
+    private static final int[] capabilities = new int[CAPABILITIES.length]; // 0 = ปิด, 1 = เปิด, UNKNOWN
+    private static final int[] blendFunc = new int[4]; // srcRGB, dstRGB, srcAlpha, dstAlpha
+    private static int depthMask; // 0 = ปิด, 1 = เปิด, UNKNOWN
+    private static int depthFunc; // ฟังก์ชันเปรียบเทียบ depth ปัจจุบัน หรือ UNKNOWN
+
+    private static int issued; // จำนวนคำสั่งที่ส่งในเฟรมนี้
+    private static int elided; // จำนวนคำสั่งที่ข้ามในเฟรมนี้
+    private static int lastIssued; // จำนวนคำสั่งที่ส่งในเฟรมก่อน
+    private static int lastElided; // จำนวนคำสั่งที่ข้ามในเฟรมก่อน
+
+    static {
+        invalidate(); // เริ่มจากไม่รู้ค่าใดเลย
+    }
+
+    /** Forgets all cached state, so the next change of each kind is issued. */
+    public static void invalidate() { // เมธอดล้าง cache
+        program = UNKNOWN;
+        vertexArray = UNKNOWN;
+        framebuffer = UNKNOWN;
+        Arrays.fill(buffers, UNKNOWN);
+        invalidateTextures();
+        Arrays.fill(capabilities, UNKNOWN);
+        Arrays.fill(blendFunc, UNKNOWN);
+        depthMask = UNKNOWN;
+        depthFunc = UNKNOWN;
+    }
+
+    /**
+     * Forgets the texture bindings only, for code that binds textures itself, such as ARCore's
+     * {@code Session.update} updating the camera texture.
+     */
+    public static void invalidateTextures() { // เมธอดล้าง cache ของ texture
+        activeTextureUnit = UNKNOWN;
+        for (int[] unit : textures) {
+            Arrays.fill(unit, UNKNOWN);
+        }
+    }
+
+    /** Ends the counters of the previous frame and starts new ones. Call once at the start of a frame. */
+    public static void beginFrame() { // เมธอดเริ่มเฟรมใหม่
+        lastIssued = issued;
+        lastElided = elided;
+        issued = 0;
+        elided = 0;
+    }
+
+    /** State changes sent to the driver during the previous frame. */
+    public static int getIssuedCount() { return lastIssued; } // คืนค่าจำนวนคำสั่งที่ส่ง
+
+    /** State changes skipped because they would not have changed anything during the previous frame. */
+    public static int getElidedCount() { return lastElided; } // คืนค่าจำนวนคำสั่งที่ข้าม
+
+    public static void useProgram(int id) { // เมธอดเลือก program
+        if (skip(program == id)) {
+            return;
+        }
+        GLES30.glUseProgram(id);
+        program = id;
+    }
+
+    public static void bindVertexArray(int id) { // เมธอด bind vertex array
+        if (skip(vertexArray == id)) {
+            return;
+        }
+        GLES30.glBindVertexArray(id);
+        vertexArray = id;
+        // The element array binding belongs to the vertex array.
+        buffers[ELEMENT_ARRAY_SLOT] = UNKNOWN;
+    }
+
+    public static void bindBuffer(int target, int id) { // เมธอด bind buffer
+        int slot = indexOf(BUFFER_TARGETS, target);
+        if (slot >= 0 && skip(buffers[slot] == id)) {
+            return;
+        }
+        GLES30.glBindBuffer(target, id);
+        if (slot >= 0) {
+            buffers[slot] = id;
+        } else {
+            ++issued;
+        }
+    }
+
+    public static void bindFramebuffer(int id) { // เมธอด bind framebuffer
+        if (skip(framebuffer == id)) {
+            return;
+        }
+        GLES30.glBindFramebuffer(GLES30.GL_FRAMEBUFFER, id);
+        framebuffer = id;
+    }
+
+    /** Selects texture unit {@code unit} (0 for {@code GL_TEXTURE0}). */
+    public static void activeTexture(int unit) { // เมธอดเลือก texture unit
+        if (skip(activeTextureUnit == unit)) {
+            return;
+        }
+        GLES30.glActiveTexture(GLES30.GL_TEXTURE0 + unit);
+        activeTextureUnit = unit;
+    }
+
+    /** Binds {@code id} to {@code target} of the active texture unit. */
+    public static void bindTexture(int target, int id) { // เมธอด bind texture
+        int slot = indexOf(TEXTURE_TARGETS, target);
+        boolean tracked = slot >= 0 && activeTextureUnit >= 0 && activeTextureUnit < MAX_TEXTURE_UNITS;
+        if (tracked && skip(textures[activeTextureUnit][slot] == id)) {
+            return;
+        }
+        GLES30.glBindTexture(target, id);
+        if (tracked) {
+            textures[activeTextureUnit][slot] = id;
+        } else {
+            ++issued;
+        }
+    }
+
+    /** Enables or disables {@code capability}, such as {@code GL_DEPTH_TEST}. */
+    public static void setEnabled(int capability, boolean enabled) { // เมธอดเปิด/ปิด capability
+        int slot = indexOf(CAPABILITIES, capability);
+        int value = enabled ? 1 : 0;
+        if (slot >= 0 && skip(capabilities[slot] == value)) {
+            return;
+        }
+        if (enabled) {
+            GLES30.glEnable(capability);
+        } else {
+            GLES30.glDisable(capability);
+        }
+        if (slot >= 0) {
+            capabilities[slot] = value;
+        } else {
+            ++issued;
+        }
+    }
+
+    public static void blendFunc(int source, int destination) { // เมธอดตั้ง blend function
+        blendFuncSeparate(source, destination, source, destination);
+    }
+
+    public static void blendFuncSeparate(int sourceRgb, int destinationRgb, int sourceAlpha, int destinationAlpha) { // เมธอดตั้ง blend function แยก RGB/alpha
+        if (skip(blendFunc[0] == sourceRgb && blendFunc[1] == destinationRgb && blendFunc[2] == sourceAlpha && blendFunc[3] == destinationAlpha)) {
+            return;
+        }
+        GLES30.glBlendFuncSeparate(sourceRgb, destinationRgb, sourceAlpha, destinationAlpha);
+        blendFunc[0] = sourceRgb;
+        blendFunc[1] = destinationRgb;
+        blendFunc[2] = sourceAlpha;
+        blendFunc[3] = destinationAlpha;
+    }
+
+    public static void depthMask(boolean enabled) { // เมธอดเปิด/ปิดการเขียน depth
+        int value = enabled ? 1 : 0;
+        if (skip(depthMask == value)) {
+            return;
+        }
+        GLES30.glDepthMask(enabled);
+        depthMask = value;
+    }
+
+    public static void depthFunc(int function) { // เมธอดตั้งฟังก์ชันเปรียบเทียบ depth
+        if (skip(depthFunc == function)) {
+            return;
+        }
+        GLES30.glDepthFunc(function);
+        depthFunc = function;
+    }
+
+    /** Call after deleting a program, whose name may be reused. */
+    public static void onProgramDeleted(int id) { // เมธอดแจ้งว่า program ถูกลบ
+        if (program == id) {
+            program = UNKNOWN;
+        }
+    }
+
+    /** Call after deleting vertex arrays: GL binds 0 in place of a bound one. */
+    public static void onVertexArraysDeleted(int[] ids) { // เมธอดแจ้งว่า vertex array ถูกลบ
+        for (int id : ids) {
+            if (id != 0 && vertexArray == id) {
+                vertexArray = 0;
+                buffers[ELEMENT_ARRAY_SLOT] = UNKNOWN;
+            }
+        }
+    }
+
+    /** Call after deleting buffers: GL unbinds them from every target. */
+    public static void onBuffersDeleted(int[] ids) { // เมธอดแจ้งว่า buffer ถูกลบ
+        for (int id : ids) {
+            for (int slot = 0; slot < buffers.length; ++slot) {
+                if (id != 0 && buffers[slot] == id) {
+                    buffers[slot] = 0;
+                }
+            }
+        }
+    }
+
+    /** Call after deleting framebuffers: GL binds 0 in place of a bound one. */
+    public static void onFramebuffersDeleted(int[] ids) { // เมธอดแจ้งว่า framebuffer ถูกลบ
+        for (int id : ids) {
+            if (id != 0 && framebuffer == id) {
+                framebuffer = 0;
+            }
+        }
+    }
+
+    /** Call after deleting textures: GL unbinds them from every unit. */
+    public static void onTexturesDeleted(int[] ids) { // เมธอดแจ้งว่า texture ถูกลบ
+        for (int id : ids) {
+            for (int[] unit : textures) {
+                for (int slot = 0; slot < unit.length; ++slot) {
+                    if (id != 0 && unit[slot] == id) {
+                        unit[slot] = 0;
+                    }
+                }
+            }
+        }
+    }
+
+    /** Counts a change as elided when {@code unchanged}, as issued otherwise, and returns {@code unchanged}. */
+    private static boolean skip(boolean unchanged) { // เมธอดนับคำสั่งที่ส่ง/ข้าม
+        if (unchanged) {
+            ++elided;
+        } else {
+            ++issued;
+        }
+        return unchanged;
+    }
+
+    private static int indexOf(int[] values, int value) { // เมธอดหาตำแหน่งของค่าใน array
+        for (int i = 0; i < values.length; ++i) {
+            if (values[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private GlState() {} // constructor private เพื่อไม่ให้สร้าง instance
+}
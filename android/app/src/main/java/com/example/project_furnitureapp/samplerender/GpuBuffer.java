@@ -69,14 +69,14 @@ public class GpuBuffer implements Closeable { // ประกาศคลาส
         }
 
         try {
-            GLES30.glBindVertexArray(0); // Good practice before buffer ops // unbind VAO ก่อน
+            GlState.bindVertexArray(0); // Good practice before buffer ops // unbind VAO ก่อน
             GLError.maybeThrowGLException("Failed to unbind vertex array", "glBindVertexArray");
 
             GLES30.glGenBuffers(1, bufferId, 0); // Generate ID into bufferId[0] // สร้าง buffer id
             GLError.maybeThrowGLException("Failed to generate buffer", "glGenBuffers");
             if (bufferId[0] == 0) { throw new RuntimeException("glGenBuffers failed to generate a buffer ID."); }
 
-            GLES30.glBindBuffer(target, bufferId[0]); // Bind the new buffer // bind buffer
+            GlState.bindBuffer(target, bufferId[0]); // Bind the new buffer // bind buffer
             GLError.maybeThrowGLException("Failed to bind buffer object (id=" + bufferId[0] + ")", "glBindBuffer");
 
             // Allocate GPU memory and optionally upload initial data
@@ -136,12 +136,12 @@ public class GpuBuffer implements Closeable { // ประกาศคลาส
         // if (newSize == 0) {
         //     size = 0;
         //     // Optionally call glBufferData with size 0?
-        //     // GLES30.glBindBuffer(target, bufferId[0]);
+        //     // GlState.bindBuffer(target, bufferId[0]);
         //     // GLES30.glBufferData(target, 0, null, GLES30.GL_DYNAMIC_DRAW);
         //     return;
         // }
 
-        GLES30.glBindBuffer(target, bufferId[0]); // bind buffer
+        GlState.bindBuffer(target, bufferId[0]); // bind buffer
         GLError.maybeThrowGLException("Failed to bind buffer object (id=" + bufferId[0] + ") for set", "glBindBuffer");
 
         // Rewind buffer before reading data
@@ -173,6 +173,7 @@ public class GpuBuffer implements Closeable { // ประกาศคลาส
     public void close() {
         if (bufferId[0] != 0) {
             GLES30.glDeleteBuffers(1, bufferId, 0); // Pass array directly // ลบ buffer
+            GlState.onBuffersDeleted(bufferId); // buffer ถูก unbind จากทุก target
             GLError.maybeLogGLError(Log.WARN, TAG, "Failed to free buffer object (id=" + bufferId[0] + ")", "glDeleteBuffers");
             bufferId[0] = 0; // Reset ID in array // เซ็ต id เป็น 0
         }
@@ -187,4 +188,6 @@ public class GpuBuffer implements Closeable { // ประกาศคลาส
     int getSize() { return size; } // คืนค่าขนาด
     /** Returns the size of the data currently in the buffer, in bytes. */ // คืนค่าขนาดข้อมูล (byte)
     int getSizeInBytes() { return size * numberOfBytesPerEntry; } // คืนค่าขนาดข้อมูล (byte)
+    /** Returns the GPU memory allocated for the buffer, in bytes; may exceed {@link #getSizeInBytes}. */ // คืนค่าหน่วยความจำ GPU ที่จองไว้ (byte)
+    int getCapacityInBytes() { return capacity * numberOfBytesPerEntry; } // คืนค่าความจุ (byte)
 }
\ No newline at end of file
@@ -0,0 +1,148 @@
+package com.example.project_furnitureapp.samplerender; // ประกาศ package ของไฟล์นี้
+
+import android.opengl.GLES30; // import GLES30 สำหรับ query object
+import android.util.Log; // import Log สำหรับเขียน log
+import com.example.project_furnitureapp.samplerender.diagnostics.RollingStats; // import RollingStats สำหรับ min/avg/p95
+import com.example.project_furnitureapp.samplerender.diagnostics.TimerQueryRing; // import TimerQueryRing สำหรับวงของ timer query
+import java.io.Closeable; // import Closeable สำหรับปิด resource
+import java.util.Arrays; // import Arrays สำหรับรายการ extension
+import java.util.HashMap; // import HashMap สำหรับผลที่ส่งให้ Flutter
+import java.util.Map; // import Map สำหรับผลที่ส่งให้ Flutter
+
+/**
+ * GPU time of each render pass, measured with {@code GL_EXT_disjoint_timer_query}. Wrap each pass
+ * in {@link #begin} and {@link #end} and call {@link #endFrame} once per frame; results are read
+ * back a few frames later without stalling (see {@link TimerQueryRing}) and kept as rolling
+ * minimum, average and 95th percentile over the last {@link TimerQueryRing#DEFAULT_WINDOW} frames.
+ *
+ * <p>Without the extension every call does nothing and {@link #getTimings} reports the profiler as
+ * unsupported. {@link #getTimings} may be called from any thread, for the Flutter method channel;
+ * everything else must be called on the GL thread.
+ */ // คำอธิบายคลาส: วัดเวลา GPU ของแต่ละ render pass ด้วย timer query
+public final class GpuProfiler implements Closeable { // ประกาศคลาส GpuProfiler
+    private static final String TAG = GpuProfiler.class.getSimpleName(); // ตัวแปร TAG สำหรับ log
+    private static final String TIMER_QUERY_EXTENSION = "GL_EXT_disjoint_timer_query"; // extension ที่ต้องมี
+    private static final int GL_TIME_ELAPSED_EXT = 0x88BF; // target ของ timer query
+    private static final int GL_GPU_DISJOINT_EXT = 0x8FBB; // flag ว่ามี disjoint event
+    private static final int PERCENTILE = 95; // percentile ที่รายงาน
+
+    private final TimerQueryRing ring; // วงของ query (null ถ้าไม่รองรับ)
+
+    /** GL calls of the ring. Reuses one array, so timing a frame allocates nothing. */
+    private static final class GlBinding implements TimerQueryRing.Binding { // ตัวเรียก GL จริง
+        private final int[] result = new int[1]; // ที่รับผลของ query
+
+        @Override
+        public void genQueries(int[] ids) { // สร้าง query
+            GLES30.glGenQueries(ids.length, ids, 0);
+            GLError.maybeThrowGLException("Failed to create timer queries", "glGenQueries");
+        }
+
+        @Override
+        public void deleteQueries(int[] ids) { // ลบ query
+            GLES30.glDeleteQueries(ids.length, ids, 0);
+            GLError.maybeLogGLError(Log.WARN, TAG, "Failed to free timer queries", "glDeleteQueries");
+        }
+
+        @Override
+        public void beginTimeElapsed(int id) { // เริ่มจับเวลา
+            GLES30.glBeginQuery(GL_TIME_ELAPSED_EXT, id);
+            GLError.maybeThrowGLException("Failed to begin timer query", "glBeginQuery");
+        }
+
+        @Override
+        public void endTimeElapsed() { // หยุดจับเวลา
+            GLES30.glEndQuery(GL_TIME_ELAPSED_EXT);
+            GLError.maybeThrowGLException("Failed to end timer query", "glEndQuery");
+        }
+
+        @Override
+        public boolean isResultAvailable(int id) { // ผลพร้อมหรือยัง (ไม่รอ)
+            GLES30.glGetQueryObjectuiv(id, GLES30.GL_QUERY_RESULT_AVAILABLE, result, 0);
+            return result[0] != GLES30.GL_FALSE;
+        }
+
+        @Override
+        public long getResultNanos(int id) { // อ่านผลเป็น nanosecond
+            // Java has no 64-bit query read; 32 bits of nanoseconds cover passes up to 4 seconds.
+            GLES30.glGetQueryObjectuiv(id, GLES30.GL_QUERY_RESULT, result, 0);
+            return result[0] & 0xFFFFFFFFL;
+        }
+
+        @Override
+        public boolean isDisjoint() { // มี disjoint event หรือไม่ (อ่านแล้วถูกล้าง)
+            GLES30.glGetIntegerv(GL_GPU_DISJOINT_EXT, result, 0);
+            return result[0] != 0;
+        }
+    }
+
+    /** Creates the queries for the named passes if the driver supports timer queries; call on the GL thread. */
+    public GpuProfiler(String... passNames) { // constructor รับชื่อ pass
+        String extensions = GLES30.glGetString(GLES30.GL_EXTENSIONS); // extension ของ context ปัจจุบัน
+        if (extensions != null && Arrays.asList(extensions.split(" ")).contains(TIMER_QUERY_EXTENSION)) {
+            ring = new TimerQueryRing(new GlBinding(), passNames, TimerQueryRing.DEFAULT_DEPTH, TimerQueryRing.DEFAULT_WINDOW);
+        } else {
+            Log.i(TAG, TIMER_QUERY_EXTENSION + " is not available; GPU pass times are not measured"); // log
+            ring = null;
+        }
+    }
+
+    /** Returns whether the driver supports timer queries. */
+    public boolean isSupported() { return ring != null; } // รองรับหรือไม่
+
+    /** Starts timing a pass; passes are indices into the names given to the constructor and cannot nest. */
+    public void begin(int pass) { // เมธอดเริ่มจับเวลา pass
+        if (ring != null) {
+            ring.begin(pass);
+        }
+    }
+
+    /** Stops timing the pass. */
+    public void end(int pass) { // เมธอดหยุดจับเวลา pass
+        if (ring != null) {
+            ring.end(pass);
+        }
+    }
+
+    /** Call once at the end of each frame: collects the results the GPU has finished. */
+    public synchronized void endFrame() { // เมธอดอ่านผลที่พร้อม
+        if (ring != null) {
+            ring.endFrame();
+        }
+    }
+
+    /**
+     * Returns the timings for the method channel: {@code supported}, the {@code skipped} and {@code
+     * discarded} counts, and under {@code passes} each pass's {@code minMs}, {@code avgMs}, {@code
+     * p95Ms} and {@code samples}.
+     */
+    public synchronized Map<String, Object> getTimings() { // เมธอดสรุปผลสำหรับ Flutter
+        Map<String, Object> timings = new HashMap<>();
+        timings.put("supported", ring != null);
+        if (ring == null) {
+            return timings;
+        }
+        Map<String, Object> passes = new HashMap<>();
+        for (int pass = 0; pass < ring.getPassCount(); ++pass) {
+            RollingStats stats = ring.getStats(pass);
+            Map<String, Object> passTimings = new HashMap<>();
+            passTimings.put("minMs", stats.getMin() / 1e6);
+            passTimings.put("avgMs", stats.getAverage() / 1e6);
+            passTimings.put("p95Ms", stats.getPercentile(PERCENTILE) / 1e6);
+            passTimings.put("samples", stats.getCount());
+            passes.put(ring.getPassName(pass), passTimings);
+        }
+        timings.put("passes", passes);
+        timings.put("skipped", ring.getBusyCount());
+        timings.put("discarded", ring.getDiscardedCount());
+        return timings;
+    }
+
+    /** Deletes the queries; call on the GL thread. */
+    @Override
+    public synchronized void close() { // เมธอดลบ query
+        if (ring != null) {
+            ring.close();
+        }
+    }
+}
@@ -43,6 +43,12 @@ public class IndexBuffer implements Closeable { // ประกาศคลา
         return buffer.getBufferId(); // คืนค่า buffer id
     }
 
+    /** Returns the GPU memory allocated for the buffer, in bytes. */
+    /* package-private */
+    int getCapacityInBytes() { // เมธอดคืนค่าหน่วยความจำ GPU ที่จองไว้
+        return buffer.getCapacityInBytes(); // คืนค่าความจุ (byte)
+    }
+
     /** Returns the number of indices in the buffer. */
     // **แก้ไข:** เปลี่ยน visibility เป็น public
     public int getSize() { // เมธอดคืนค่าจำนวน index ใน buffer
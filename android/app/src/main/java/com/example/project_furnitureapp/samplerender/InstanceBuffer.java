@@ -0,0 +1,35 @@
+package com.example.project_furnitureapp.samplerender; // ประกาศ package ของไฟล์นี้
+
+import android.opengl.GLES30; // import GLES30 สำหรับใช้งาน OpenGL ES 3.0
+import com.example.project_furnitureapp.samplerender.geometry.InstanceBatcher; // import InstanceBatcher สำหรับรูปแบบข้อมูลของ instance
+import java.io.Closeable; // import Closeable สำหรับปิด resource
+import java.nio.FloatBuffer; // import FloatBuffer สำหรับข้อมูลของ instance
+
+/**
+ * A GPU buffer of per-instance model matrices for {@link SampleRender#drawInstanced}, packed as
+ * described by {@link InstanceBatcher}. One buffer can be refilled for every batch of a frame.
+ */ // คำอธิบายคลาส: buffer ของ model matrix ต่อ instance สำหรับ instanced draw
+public class InstanceBuffer implements Closeable { // ประกาศคลาส InstanceBuffer และ implement Closeable
+    private final GpuBuffer buffer; // ตัวแปรเก็บ GpuBuffer (buffer จริงบน GPU)
+
+    /** Creates an empty buffer; it grows on demand in {@link #set}. */
+    public InstanceBuffer(SampleRender render) { // constructor รับ renderer
+        buffer = new GpuBuffer(GLES30.GL_ARRAY_BUFFER, InstanceBatcher.BYTES_PER_INSTANCE, null); // 1 entry = 1 instance
+    }
+
+    /** Replaces the contents with the matrices between 0 and the limit of {@code matrices}. */
+    public void set(FloatBuffer matrices) { // เมธอดสำหรับเซ็ตข้อมูลใหม่ลง buffer
+        buffer.set(matrices); // ส่งข้อมูลไปยัง GpuBuffer
+    }
+
+    /** Replaces the contents with the instances of {@code batch}. */
+    public void set(InstanceBatcher.Batch<?> batch) { // เมธอดสำหรับเซ็ตข้อมูลจาก batch
+        set(batch.getMatrices()); // ส่งข้อมูลของ batch
+    }
+
+    @Override public void close() { buffer.close(); } // เมธอดปิด resource (เรียก close ของ GpuBuffer)
+    public int getBufferId() { return buffer.getBufferId(); } // คืนค่า buffer id ของ GpuBuffer
+    /* package-private */ int getCapacityInBytes() { return buffer.getCapacityInBytes(); } // คืนค่าหน่วยความจำ GPU ที่จองไว้ (byte)
+    /** Returns the number of instances in the buffer. */ // คืนค่าจำนวน instance
+    public int getInstanceCount() { return buffer.getSize(); } // GpuBuffer นับ 1 entry ต่อ 1 instance
+}
@@ -0,0 +1,38 @@
+package com.example.project_furnitureapp.samplerender; // ประกาศ package ของไฟล์นี้
+
+import android.opengl.GLES30; // import GLES30 สำหรับใช้งาน OpenGL ES 3.0
+import java.io.Closeable; // import Closeable สำหรับปิด resource
+import java.nio.Buffer; // import Buffer สำหรับข้อมูล vertex
+
+/**
+ * A vertex buffer holding all attributes of each vertex next to each other, as described by a
+ * {@link VertexLayout}. Attach it to a {@link Mesh} with the interleaved constructor.
+ */ // คำอธิบายคลาส: vertex buffer ที่เก็บทุก attribute ไว้ใน buffer เดียว
+public class InterleavedVertexBuffer implements Closeable { // ประกาศคลาส InterleavedVertexBuffer และ implement Closeable
+    private final GpuBuffer buffer; // ตัวแปรเก็บ GpuBuffer (buffer จริงบน GPU)
+    private final VertexLayout layout; // layout ของ vertex
+
+    /**
+     * Creates the buffer. {@code entries} is any direct buffer (typically a native-order {@link
+     * java.nio.ByteBuffer}) whose byte size is a multiple of the layout's stride, or null.
+     */
+    public InterleavedVertexBuffer(SampleRender render, VertexLayout layout, Buffer entries) { // constructor รับ renderer, layout และข้อมูล
+        if (layout.getStride() <= 0) { // layout ต้องมี attribute
+            throw new IllegalArgumentException("Vertex layout has no attributes"); // ขว้าง exception
+        }
+        this.layout = layout; // กำหนด layout
+        buffer = new GpuBuffer(GLES30.GL_ARRAY_BUFFER, layout.getStride(), entries); // สร้าง buffer จริงบน GPU (1 entry = 1 vertex)
+    }
+
+    /** Replaces the contents of the buffer. */ // เซ็ตข้อมูลใหม่ลง buffer
+    public void set(Buffer entries) { // เมธอดสำหรับเซ็ตข้อมูลใหม่ลง buffer
+        buffer.set(entries); // ส่งข้อมูลไปยัง GpuBuffer (ตรวจขนาดให้แล้ว)
+    }
+
+    @Override public void close() { buffer.close(); } // เมธอดปิด resource (เรียก close ของ GpuBuffer)
+    public int getBufferId() { return buffer.getBufferId(); } // คืนค่า buffer id ของ GpuBuffer
+    /* package-private */ int getCapacityInBytes() { return buffer.getCapacityInBytes(); } // คืนค่าหน่วยความจำ GPU ที่จองไว้ (byte)
+    public VertexLayout getLayout() { return layout; } // คืนค่า layout
+    /** Returns the total number of vertices in the buffer. */ // คืนค่าจำนวน vertex ทั้งหมด
+    public int getNumberOfVertices() { return buffer.getSize(); } // GpuBuffer นับ 1 entry ต่อ 1 vertex
+}
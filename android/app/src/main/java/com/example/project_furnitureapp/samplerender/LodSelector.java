@@ -0,0 +1,96 @@
+package com.example.project_furnitureapp.samplerender; // ประกาศ package ของไฟล์นี้
+
+import android.opengl.Matrix; // import Matrix สำหรับคูณเมทริกซ์
+
+/**
+ * Picks a {@link Mesh}'s level of detail from its projected size, keeping per-object state so the
+ * level does not flicker.
+ *
+ * <p>Each level's error (the largest distance to the full mesh, in model units) is projected to
+ * pixels at the depth of the mesh's bounding sphere; the coarsest level whose error stays below
+ * {@code maxPixelError} is chosen. A switch to a coarser level needs the error to fall below
+ * {@code maxPixelError * (1 - hysteresis)}, and the current level is kept until its error exceeds
+ * {@code maxPixelError * (1 + hysteresis)}.
+ *
+ * <p>Use one selector per drawn object and call {@link #select} right before drawing, with the
+ * view and projection matrices of the frame (as computed in {@code ArMeasureView.onDrawFrame}).
+ */ // คำอธิบายคลาส: เลือกระดับ LOD จากขนาดบนหน้าจอ พร้อม hysteresis
+public class LodSelector { // ประกาศคลาส LodSelector
+    private static final float DEFAULT_MAX_PIXEL_ERROR = 1.0f; // ค่าคลาดเคลื่อนบนจอที่ยอมได้ (pixel)
+    private static final float DEFAULT_HYSTERESIS = 0.25f; // ช่วง hysteresis (สัดส่วน)
+
+    private final float maxPixelError; // ค่าคลาดเคลื่อนบนจอที่ยอมได้ (pixel)
+    private final float hysteresis; // ช่วง hysteresis (สัดส่วน)
+    private final float[] modelViewMatrix = new float[16]; // เมทริกซ์ model-view (ใช้ซ้ำทุกเฟรม)
+    private final float[] center = new float[4]; // จุดศูนย์กลางของ bounds (model space)
+    private final float[] viewCenter = new float[4]; // จุดศูนย์กลางใน view space
+    private int lod; // ระดับปัจจุบัน
+
+    public LodSelector() { // constructor ค่าเริ่มต้น
+        this(DEFAULT_MAX_PIXEL_ERROR, DEFAULT_HYSTERESIS);
+    }
+
+    public LodSelector(float maxPixelError, float hysteresis) { // constructor
+        if (maxPixelError <= 0f || hysteresis < 0f || hysteresis >= 1f) { // ค่าต้องอยู่ในช่วงที่ใช้ได้
+            throw new IllegalArgumentException("maxPixelError must be positive and hysteresis in [0, 1)"); // ขว้าง exception
+        }
+        this.maxPixelError = maxPixelError; // กำหนดค่าคลาดเคลื่อนที่ยอมได้
+        this.hysteresis = hysteresis; // กำหนด hysteresis
+    }
+
+    /**
+     * Chooses the level for this frame, applies it with {@link Mesh#setLod} and returns it. Meshes
+     * without bounds or with a single level always use level 0.
+     */
+    public int select(Mesh mesh, float[] modelMatrix, float[] viewMatrix, float[] projectionMatrix, int viewportHeight) { // เมธอดเลือกระดับ LOD
+        float[] bounds = mesh.getBounds(); // bounds ของ mesh
+        int count = mesh.getLodCount(); // จำนวนระดับ
+        if (bounds == null || count == 1) { // ไม่มีข้อมูลให้เลือก
+            lod = 0;
+            mesh.setLod(lod);
+            return lod;
+        }
+        lod = Math.min(lod, count - 1); // mesh อาจมีระดับน้อยกว่าครั้งก่อน
+
+        float pixelsPerUnit = pixelsPerModelUnit(bounds, modelMatrix, viewMatrix, projectionMatrix, viewportHeight); // pixel ต่อ 1 หน่วยของ model
+        if (mesh.getLodError(lod) * pixelsPerUnit > maxPixelError * (1f + hysteresis)) { // ระดับปัจจุบันหยาบเกินไป
+            while (lod > 0 && mesh.getLodError(lod) * pixelsPerUnit > maxPixelError) --lod; // ละเอียดขึ้นจนพอ
+        } else { // ลองระดับที่หยาบกว่า
+            for (int level = count - 1; level > lod; --level) {
+                if (mesh.getLodError(level) * pixelsPerUnit <= maxPixelError * (1f - hysteresis)) {
+                    lod = level;
+                    break;
+                }
+            }
+        }
+        mesh.setLod(lod); // ใช้ระดับที่เลือก
+        return lod; // คืนค่าระดับ
+    }
+
+    public int getLod() { return lod; } // คืนค่าระดับปัจจุบัน
+
+    /** Forgets the current level, e.g. when the selector is reused for another object. */ // รีเซ็ตระดับ
+    public void reset() { lod = 0; }
+
+    private float pixelsPerModelUnit(float[] bounds, float[] modelMatrix, float[] viewMatrix, float[] projectionMatrix, int viewportHeight) { // คำนวณ pixel ต่อ 1 หน่วยของ model ที่ระยะของ mesh
+        Matrix.multiplyMM(modelViewMatrix, 0, viewMatrix, 0, modelMatrix, 0); // model -> view
+        float radius = 0f; // รัศมีของทรงกลมที่ครอบ bounds
+        for (int i = 0; i < 3; ++i) {
+            center[i] = (bounds[i] + bounds[i + 3]) * 0.5f;
+            float half = (bounds[i + 3] - bounds[i]) * 0.5f;
+            radius += half * half;
+        }
+        center[3] = 1f;
+        float scale = 0f; // scale มากสุดของ model matrix
+        for (int column = 0; column < 3; ++column) {
+            float x = modelViewMatrix[column * 4], y = modelViewMatrix[column * 4 + 1], z = modelViewMatrix[column * 4 + 2];
+            scale = Math.max(scale, (float) Math.sqrt(x * x + y * y + z * z));
+        }
+        Matrix.multiplyMV(viewCenter, 0, modelViewMatrix, 0, center, 0); // จุดศูนย์กลางใน view space
+        float depth = -viewCenter[2] - (float) Math.sqrt(radius) * scale; // ระยะถึงผิวหน้าของทรงกลม (กล้องมองไปทาง -z)
+        if (depth <= 0f) { // กล้องอยู่ในทรงกลม
+            return Float.POSITIVE_INFINITY;
+        }
+        return scale * projectionMatrix[5] * viewportHeight * 0.5f / depth; // projection[5] = cot(fovY / 2)
+    }
+}
@@ -15,17 +15,27 @@
  */
 package com.example.project_furnitureapp.samplerender; // ประกาศ package ของไฟล์นี้
 
+import android.content.res.AssetFileDescriptor; // import AssetFileDescriptor สำหรับ map ไฟล์ asset
+import android.content.res.AssetManager; // import AssetManager สำหรับเปิดไฟล์ asset
 import android.opengl.GLES30; // import GLES30 สำหรับใช้งาน OpenGL ES 3.0
 import android.util.Log; // import Log สำหรับเขียน log
-import de.javagl.obj.Obj; // import Obj สำหรับอ่านไฟล์ .obj
-import de.javagl.obj.ObjData; // import ObjData สำหรับดึงข้อมูลจาก obj
-import de.javagl.obj.ObjReader; // import ObjReader สำหรับอ่านไฟล์ obj
-import de.javagl.obj.ObjUtils; // import ObjUtils สำหรับแปลง obj
+import com.example.project_furnitureapp.samplerender.geometry.BinaryMeshFormat; // import BinaryMeshFormat สำหรับอ่านไฟล์ .fmesh
+import com.example.project_furnitureapp.samplerender.geometry.InstanceBatcher; // import InstanceBatcher สำหรับ location ของ attribute ต่อ instance
+import com.example.project_furnitureapp.samplerender.geometry.MeshData; // import MeshData สำหรับข้อมูล mesh ฝั่ง CPU
+import com.example.project_furnitureapp.samplerender.geometry.ObjParser; // import ObjParser สำหรับอ่านไฟล์ obj
+import com.example.project_furnitureapp.samplerender.geometry.VertexQuantizer; // import VertexQuantizer สำหรับบีบอัด vertex
+import java.io.ByteArrayOutputStream; // import ByteArrayOutputStream สำหรับอ่าน asset ที่ถูกบีบอัด
 import java.io.Closeable; // import Closeable สำหรับปิด resource
+import java.io.FileInputStream; // import FileInputStream สำหรับเปิด channel ของ asset
+import java.io.FileNotFoundException; // import FileNotFoundException สำหรับ asset ที่ map ไม่ได้
 import java.io.IOException; // import IOException สำหรับจัดการ exception
 import java.io.InputStream; // import InputStream สำหรับอ่านไฟล์
-import java.nio.FloatBuffer; // import FloatBuffer สำหรับเก็บข้อมูล float array
-import java.nio.IntBuffer; // import IntBuffer สำหรับเก็บข้อมูล int array
+import java.nio.ByteBuffer; // import ByteBuffer สำหรับข้อมูลไฟล์ binary
+import java.nio.ByteOrder; // import ByteOrder สำหรับกำหนด endian
+import java.nio.IntBuffer; // import IntBuffer สำหรับข้อมูล index
+import java.nio.MappedByteBuffer; // import MappedByteBuffer สำหรับโหลด page ของไฟล์ที่ map
+import java.nio.channels.FileChannel; // import FileChannel สำหรับ map ไฟล์
+import java.util.Arrays; // import Arrays สำหรับค้นหาชื่อไฟล์ใน asset
 
 /**
  * A collection of vertices, faces, and other attributes that define how to render a 3D object.
@@ -35,6 +45,16 @@ import java.nio.IntBuffer; // import IntBuffer สำหรับเก็บข
 public class Mesh implements Closeable { // ประกาศคลาส Mesh และ implement Closeable
   private static final String TAG = Mesh.class.getSimpleName(); // ตัวแปร TAG สำหรับ log
 
+  /** Shader define that switches the object shaders to {@link VertexQuantizer} attributes. */
+  public static final String QUANTIZED_VERTICES_DEFINE = "USE_QUANTIZED_VERTICES"; // ชื่อ define ใน shader
+
+  /**
+   * Shader define that makes the object shaders read the model matrix from the per-instance
+   * attribute of {@link #lowLevelDrawInstanced} instead of {@code u_Model}. The view and
+   * projection come from the camera block either way (see {@link CameraUniforms}).
+   */
+  public static final String INSTANCING_DEFINE = "USE_INSTANCING"; // ชื่อ define ใน shader
+
   /**
    * The kind of primitive to render.
    *
@@ -59,10 +79,45 @@ public class Mesh implements Closeable { // ประกาศคลาส Mesh
     }
   }
 
+  /** Instance attribute calls of {@link InstanceBatcher}, made on the bound vertex array. */
+  private static final InstanceBatcher.Binding INSTANCE_ATTRIBUTES = new InstanceBatcher.Binding() { // ตัวเรียก GL จริง
+    @Override
+    public void vertexAttribPointer(int location, int stride, int offset) {
+      GLES30.glVertexAttribPointer(location, 4, GLES30.GL_FLOAT, false, stride, offset); // คอลัมน์ของ model matrix
+      GLError.maybeThrowGLException(
+          "Failed to associate instance buffer with vertex array", "glVertexAttribPointer"); // เช็ค error
+    }
+
+    @Override
+    public void enableVertexAttribArray(int location) {
+      GLES30.glEnableVertexAttribArray(location); // เปิดใช้งาน attribute
+      GLError.maybeThrowGLException("Failed to enable instance attribute", "glEnableVertexAttribArray"); // เช็ค error
+    }
+
+    @Override
+    public void disableVertexAttribArray(int location) {
+      GLES30.glDisableVertexAttribArray(location); // ปิด attribute
+      GLError.maybeLogGLError(Log.WARN, TAG, "Failed to disable instance attribute", "glDisableVertexAttribArray"); // log error ถ้ามี
+    }
+
+    @Override
+    public void vertexAttribDivisor(int location, int divisor) {
+      GLES30.glVertexAttribDivisor(location, divisor); // อัตราการเลื่อนของ attribute
+      GLError.maybeThrowGLException("Failed to set instance attribute divisor", "glVertexAttribDivisor"); // เช็ค error
+    }
+  };
+
   private final int[] vertexArrayId = {0}; // ตัวแปรเก็บ id ของ vertex array
   private final PrimitiveMode primitiveMode; // ตัวแปรเก็บ primitive mode
   private final IndexBuffer indexBuffer; // ตัวแปรเก็บ index buffer
-  private final VertexBuffer[] vertexBuffers; // ตัวแปรเก็บ vertex buffer หลายตัว
+  private final VertexBuffer[] vertexBuffers; // ตัวแปรเก็บ vertex buffer หลายตัว (null ถ้าใช้ buffer แบบ interleave)
+  private final InterleavedVertexBuffer interleavedVertexBuffer; // vertex buffer แบบ interleave (null ถ้าใช้หลาย buffer)
+  private float[] positionOffset; // offset สำหรับแปลง position ที่ quantize กลับ (null ถ้าไม่ quantize)
+  private float[] positionScale; // scale สำหรับแปลง position ที่ quantize กลับ (null ถ้าไม่ quantize)
+  private MeshData.Lod[] lods; // ช่วง index ของแต่ละระดับ LOD (null = วาดทุก index)
+  private float[] bounds; // bounds ของ mesh {minX, minY, minZ, maxX, maxY, maxZ} (null ถ้าไม่ทราบ)
+  private int lod; // ระดับ LOD ที่จะวาด
+  private boolean ownsBuffers; // mesh สร้าง buffer เองและต้องลบเมื่อ close
 
   /**
    * Construct a {@link Mesh}.
@@ -88,6 +143,7 @@ public class Mesh implements Closeable { // ประกาศคลาส Mesh
     this.primitiveMode = primitiveMode; // กำหนด primitive mode
     this.indexBuffer = indexBuffer; // กำหนด index buffer
     this.vertexBuffers = vertexBuffers; // กำหนด vertex buffer
+    this.interleavedVertexBuffer = null; // ไม่ใช้ buffer แบบ interleave
 
     try {
       // Create vertex array
@@ -95,19 +151,24 @@ public class Mesh implements Closeable { // ประกาศคลาส Mesh
       GLError.maybeThrowGLException("Failed to generate a vertex array", "glGenVertexArrays"); // เช็ค error
 
       // Bind vertex array
-      GLES30.glBindVertexArray(vertexArrayId[0]); // bind vertex array
+      GlState.bindVertexArray(vertexArrayId[0]); // bind vertex array
       GLError.maybeThrowGLException("Failed to bind vertex array object", "glBindVertexArray"); // เช็ค error
 
       if (indexBuffer != null) { // ถ้ามี index buffer
-        GLES30.glBindBuffer(GLES30.GL_ELEMENT_ARRAY_BUFFER, indexBuffer.getBufferId()); // bind index buffer
+        GlState.bindBuffer(GLES30.GL_ELEMENT_ARRAY_BUFFER, indexBuffer.getBufferId()); // bind index buffer
       }
 
       for (int i = 0; i < vertexBuffers.length; ++i) { // วนลูปทุก vertex buffer
         // Bind each vertex buffer to vertex array
-        GLES30.glBindBuffer(GLES30.GL_ARRAY_BUFFER, vertexBuffers[i].getBufferId()); // bind vertex buffer
+        GlState.bindBuffer(GLES30.GL_ARRAY_BUFFER, vertexBuffers[i].getBufferId()); // bind vertex buffer
         GLError.maybeThrowGLException("Failed to bind vertex buffer", "glBindBuffer"); // เช็ค error
         GLES30.glVertexAttribPointer(
-            i, vertexBuffers[i].getNumberOfEntriesPerVertex(), GLES30.GL_FLOAT, false, 0, 0); // กำหนด pointer สำหรับ attribute
+            i,
+            vertexBuffers[i].getNumberOfEntriesPerVertex(),
+            vertexBuffers[i].getComponentType().glesEnum,
+            vertexBuffers[i].isNormalized(),
+            0,
+            0); // กำหนด pointer สำหรับ attribute ตามชนิดข้อมูลของ buffer
         GLError.maybeThrowGLException(
             "Failed to associate vertex buffer with vertex array", "glVertexAttribPointer"); // เช็ค error
         GLES30.glEnableVertexAttribArray(i); // เปิดใช้งาน attribute
@@ -120,41 +181,318 @@ public class Mesh implements Closeable { // ประกาศคลาส Mesh
     }
   }
 
+  /**
+   * Construct a {@link Mesh} whose attributes all come from one {@link InterleavedVertexBuffer}.
+   *
+   * <p>Each attribute of the buffer's {@link VertexLayout} is bound to its own location with the
+   * layout's stride and offset, so a vertex is fetched from a single, contiguous record.
+   */
+  public Mesh(
+      SampleRender render, // ตัวแปร SampleRender
+      PrimitiveMode primitiveMode, // primitive mode ที่จะใช้วาด
+      IndexBuffer indexBuffer, // index buffer
+      InterleavedVertexBuffer vertexBuffer) { // vertex buffer แบบ interleave
+    if (vertexBuffer == null) { // ถ้าไม่มี vertex buffer
+      throw new IllegalArgumentException("Must pass a vertex buffer"); // ขว้าง exception
+    }
+
+    this.primitiveMode = primitiveMode; // กำหนด primitive mode
+    this.indexBuffer = indexBuffer; // กำหนด index buffer
+    this.vertexBuffers = null; // ไม่ใช้หลาย buffer
+    this.interleavedVertexBuffer = vertexBuffer; // กำหนด vertex buffer
+
+    try {
+      GLES30.glGenVertexArrays(1, vertexArrayId, 0); // สร้าง vertex array
+      GLError.maybeThrowGLException("Failed to generate a vertex array", "glGenVertexArrays"); // เช็ค error
+
+      GlState.bindVertexArray(vertexArrayId[0]); // bind vertex array
+      GLError.maybeThrowGLException("Failed to bind vertex array object", "glBindVertexArray"); // เช็ค error
+
+      if (indexBuffer != null) { // ถ้ามี index buffer
+        GlState.bindBuffer(GLES30.GL_ELEMENT_ARRAY_BUFFER, indexBuffer.getBufferId()); // bind index buffer
+      }
+
+      GlState.bindBuffer(GLES30.GL_ARRAY_BUFFER, vertexBuffer.getBufferId()); // bind vertex buffer ครั้งเดียว
+      GLError.maybeThrowGLException("Failed to bind vertex buffer", "glBindBuffer"); // เช็ค error
+      VertexLayout layout = vertexBuffer.getLayout(); // layout ของ vertex
+      for (VertexLayout.Attribute attribute : layout.getAttributes()) { // วนลูปทุก attribute
+        GLES30.glVertexAttribPointer(
+            attribute.location,
+            attribute.numberOfComponents,
+            attribute.componentType.glesEnum,
+            attribute.normalized,
+            layout.getStride(),
+            attribute.offset); // กำหนด pointer ด้วย stride และ offset ของ layout
+        GLError.maybeThrowGLException(
+            "Failed to associate vertex buffer with vertex array", "glVertexAttribPointer"); // เช็ค error
+        GLES30.glEnableVertexAttribArray(attribute.location); // เปิดใช้งาน attribute
+        GLError.maybeThrowGLException(
+            "Failed to enable vertex buffer", "glEnableVertexAttribArray"); // เช็ค error
+      }
+    } catch (Throwable t) { // ถ้ามี error
+      close(); // ปิด resource
+      throw t; // ขว้าง exception ต่อ
+    }
+  }
+
   /**
    * Constructs a {@link Mesh} from the given Wavefront OBJ file.
    *
    * <p>The {@link Mesh} will be constructed with three attributes, indexed in the order of local
    * coordinates (location 0, vec3), texture coordinates (location 1, vec2), and vertex normals
-   * (location 2, vec3).
+   * (location 2, vec3), interleaved in one vertex buffer ({@link VertexLayout#forMeshData()}).
+   *
+   * <p>If a precompiled {@code .fmesh} asset with the same base name exists next to the OBJ file
+   * (see {@link com.example.project_furnitureapp.samplerender.geometry.MeshConverter}), it is
+   * loaded with {@link #createFromBinaryAsset} instead and the OBJ is never parsed.
    */
   public static Mesh createFromAsset(SampleRender render, String assetFileName) throws IOException { // เมธอด static สำหรับสร้าง mesh จากไฟล์ .obj
-    try (InputStream inputStream = render.getAssets().open(assetFileName)) { // เปิดไฟล์ asset
-      Obj obj = ObjUtils.convertToRenderable(ObjReader.read(inputStream)); // อ่านและแปลง obj
+    return createFromAsset(render, assetFileName, /*quantize=*/ false); // ใช้ vertex แบบ float
+  }
+
+  /**
+   * Like {@link #createFromAsset(SampleRender, String)}, optionally storing the vertices in the
+   * compact {@link VertexQuantizer} layout (16 instead of 32 bytes per vertex).
+   *
+   * <p>A precompiled {@code .fmesh} asset keeps the layout it was converted with. Check {@link
+   * #isQuantized()} to pick the shader variant, and call {@link #applyVertexDequantization} on it.
+   */
+  public static Mesh createFromAsset(SampleRender render, String assetFileName, boolean quantize) throws IOException { // เมธอด static สำหรับสร้าง mesh จากไฟล์ .obj
+    return upload(render, prepareAsset(render.getAssets(), assetFileName, quantize)); // อ่านไฟล์แล้วส่งขึ้น GPU
+  }
+
+  /**
+   * Constructs a {@link Mesh} from a precompiled {@link BinaryMeshFormat} asset.
+   *
+   * <p>The asset is memory-mapped and its interleaved vertex block and index block are uploaded
+   * directly, one buffer each, without any parsing or intermediate copies. Mapping requires the
+   * asset to be stored uncompressed in the APK ({@code noCompress "fmesh"} in the module that ships
+   * it); compressed assets fall back to a single read.
+   * The attribute layout is the same as {@link #createFromAsset}; quantized files produce a
+   * quantized mesh. All levels of detail stored in the file share the index buffer; see {@link
+   * #setLod}.
+   */
+  public static Mesh createFromBinaryAsset(SampleRender render, String assetFileName) throws IOException { // เมธอด static สำหรับสร้าง mesh จากไฟล์ .fmesh
+    return upload(render, prepareBinaryAsset(render.getAssets(), assetFileName)); // map ไฟล์แล้วส่งขึ้น GPU
+  }
+
+  /**
+   * Vertex and index data of a mesh asset, read and laid out on the CPU, ready for {@link #upload}.
+   */
+  public static final class Source { // ข้อมูล mesh ฝั่ง CPU ที่พร้อมส่งขึ้น GPU
+    final VertexLayout layout; // layout ของ vertex
+    final ByteBuffer vertices; // ข้อมูล vertex แบบ interleave
+    final IntBuffer indices; // ข้อมูล index (ทุกระดับ LOD)
+    final MeshData.Lod[] lods; // ช่วง index ของแต่ละระดับ LOD
+    final float[] bounds; // bounds ของ mesh
+    final boolean quantized; // vertex ถูก quantize หรือไม่
+
+    private Source(
+        VertexLayout layout, ByteBuffer vertices, IntBuffer indices, MeshData.Lod[] lods, float[] bounds, boolean quantized) { // constructor
+      this.layout = layout; // กำหนด layout
+      this.vertices = vertices; // กำหนดข้อมูล vertex
+      this.indices = indices; // กำหนดข้อมูล index
+      this.lods = lods; // กำหนดช่วงของ LOD
+      this.bounds = bounds; // กำหนด bounds
+      this.quantized = quantized; // กำหนด flag quantize
+    }
+
+    /** Size of the vertex and index data in bytes. */
+    public int getByteCount() { // คืนค่าขนาดข้อมูล (byte)
+      return vertices.capacity() + indices.capacity() * Integer.BYTES; // ขนาด vertex + index
+    }
+  }
+
+  /**
+   * Reads a mesh asset the way {@link #createFromAsset(SampleRender, String, boolean)} does, but
+   * without touching OpenGL, so it can run on a worker thread (see {@link AssetLoader}). Pages of a
+   * mapped {@code .fmesh} asset are faulted in here rather than during the upload.
+   */
+  public static Source prepareAsset(AssetManager assets, String assetFileName, boolean quantize) throws IOException { // เมธอดอ่าน mesh ฝั่ง CPU
+    String binaryFileName = binaryAssetNameFor(assetFileName); // ชื่อไฟล์ .fmesh ที่คู่กัน
+    if (assetExists(assets, binaryFileName)) { // ถ้ามีไฟล์ที่ precompile ไว้แล้ว
+      return prepareBinaryAsset(assets, binaryFileName); // โหลดจากไฟล์ binary แทน
+    }
+    try (InputStream inputStream = assets.open(assetFileName)) { // เปิดไฟล์ asset
+      MeshData meshData = ObjParser.read(inputStream); // อ่านและแปลง obj แบบ streaming
+      float[] bounds = meshData.computeBounds(); // bounds ของ mesh
+      if (!quantize) { // vertex แบบ float
+        return new Source(
+            VertexLayout.forMeshData(), meshData.createInterleavedBuffer(), meshData.createIndexBuffer(),
+            meshData.lods, bounds, /*quantized=*/ false); // OBJ มีระดับเดียว
+      }
+      return new Source(
+          VertexLayout.forQuantizedMeshData(), VertexQuantizer.createInterleavedBuffer(meshData, bounds),
+          meshData.createIndexBuffer(), meshData.lods, bounds, /*quantized=*/ true); // vertex แบบ quantize
+    }
+  }
+
+  /** Like {@link #prepareAsset}, for a {@link BinaryMeshFormat} asset. */
+  public static Source prepareBinaryAsset(AssetManager assets, String assetFileName) throws IOException { // เมธอด map ไฟล์ .fmesh ฝั่ง CPU
+    ByteBuffer buffer = mapAsset(assets, assetFileName); // map ไฟล์เข้าหน่วยความจำ
+    if (buffer instanceof MappedByteBuffer) { // ไฟล์ที่ map ไว้
+      ((MappedByteBuffer) buffer).load(); // โหลดทุก page ตอนนี้ ไม่ให้ page fault ไปเกิดตอน upload บน GL thread
+    }
+    return prepareBinary(buffer); // ข้อมูลพร้อมส่งขึ้น GPU
+  }
+
+  private static Source prepareBinary(ByteBuffer buffer) throws IOException { // เมธอดสร้าง Source จากข้อมูล .fmesh
+    BinaryMeshFormat.View view = BinaryMeshFormat.read(buffer); // สร้าง view ของแต่ละ block
+    VertexLayout layout = view.isQuantized() ? VertexLayout.forQuantizedMeshData() : VertexLayout.forMeshData(); // layout ตาม flag ของไฟล์
+    return new Source(layout, view.vertices, view.indices, view.lods, view.bounds, view.isQuantized()); // ข้อมูลพร้อมส่งขึ้น GPU
+  }
+
+  /** Uploads prepared data into a new {@link Mesh}. Must be called on the GL thread. */
+  public static Mesh upload(SampleRender render, Source source) { // เมธอดสร้าง mesh จากข้อมูลที่เตรียมไว้
+    IndexBuffer indexBuffer = new IndexBuffer(render, source.indices); // สร้าง index buffer
+    InterleavedVertexBuffer vertexBuffer = new InterleavedVertexBuffer(render, source.layout, source.vertices); // สร้าง vertex buffer เดียว
+    Mesh mesh; // mesh ที่สร้าง
+    try {
+      mesh = new Mesh(render, Mesh.PrimitiveMode.TRIANGLES, indexBuffer, vertexBuffer); // สร้าง mesh
+    } catch (Throwable t) { // ถ้ามี error
+      indexBuffer.close(); // ลบ buffer ที่สร้างไว้แล้ว
+      vertexBuffer.close();
+      throw t; // ขว้าง exception ต่อ
+    }
+    mesh.ownsBuffers = true; // buffer เป็นของ mesh นี้
+    if (source.quantized) { // vertex ที่ quantize
+      mesh.setPositionQuantization(source.bounds); // เก็บค่าที่ใช้แปลงกลับ
+    }
+    mesh.setLevelsOfDetail(source.lods, source.bounds); // ช่วง index ของแต่ละระดับ
+    return mesh; // คืน mesh ที่สร้าง
+  }
+
+  private void setPositionQuantization(float[] bounds) { // เมธอดเก็บค่าสำหรับแปลง position กลับ
+    positionOffset = VertexQuantizer.dequantizeOffset(bounds); // มุม min ของ bounds
+    positionScale = VertexQuantizer.dequantizeScale(bounds); // ขนาดของ bounds
+  }
+
+  private void setLevelsOfDetail(MeshData.Lod[] lods, float[] bounds) { // เมธอดเก็บช่วงของ LOD และ bounds
+    this.lods = lods; // ช่วงของแต่ละระดับ
+    this.bounds = bounds; // bounds ของ mesh
+  }
+
+  /** Returns the number of levels of detail; 1 for meshes built without them. */
+  public int getLodCount() { // คืนค่าจำนวนระดับ LOD
+    return lods == null ? 1 : lods.length; // mesh ที่สร้างเองมีระดับเดียว
+  }
+
+  /**
+   * Returns the largest distance, in model units, between a level of detail and the full mesh
+   * (0 for level 0).
+   */
+  public float getLodError(int level) { // คืนค่าคลาดเคลื่อนของระดับ LOD
+    return lods == null ? 0f : lods[level].error; // ค่าคลาดเคลื่อนที่บันทึกไว้
+  }
+
+  /**
+   * Selects the level of detail drawn by {@link #lowLevelDraw}, 0 being the full mesh. Use a
+   * {@link LodSelector} to pick it from the on-screen size.
+   */
+  public void setLod(int level) { // เมธอดเลือกระดับ LOD
+    if (level < 0 || level >= getLodCount()) { // ระดับต้องมีอยู่จริง
+      throw new IllegalArgumentException("Level of detail " + level + " out of range"); // ขว้าง exception
+    }
+    lod = level; // เก็บระดับ
+  }
+
+  public int getLod() { return lod; } // คืนค่าระดับ LOD ที่เลือก
+
+  /**
+   * Returns the model-space bounds {minX, minY, minZ, maxX, maxY, maxZ}, or null for meshes that
+   * were not loaded from an asset.
+   */
+  public float[] getBounds() { return bounds; } // คืนค่า bounds
+
+  /**
+   * Whether the vertices use the {@link VertexQuantizer} layout. Such meshes must be drawn with
+   * {@link #QUANTIZED_VERTICES_DEFINE} set to 1 in the shader defines.
+   */
+  public boolean isQuantized() { // เมธอดเช็คว่า mesh ถูก quantize หรือไม่
+    return positionOffset != null; // มีค่าที่ใช้แปลงกลับหรือไม่
+  }
 
-      // Obtain the data from the OBJ, as direct buffers:
-      IntBuffer vertexIndices = ObjData.getFaceVertexIndices(obj, /*numVerticesPerFace=*/ 3); // ดึง index ของ vertex
-      FloatBuffer localCoordinates = ObjData.getVertices(obj); // ดึงตำแหน่ง vertex
-      FloatBuffer textureCoordinates = ObjData.getTexCoords(obj, /*dimensions=*/ 2); // ดึง texture coordinate
-      FloatBuffer normals = ObjData.getNormals(obj); // ดึง normal
+  /**
+   * Sets the {@code u_PositionOffset} and {@code u_PositionScale} uniforms that the shader needs to
+   * dequantize this mesh's positions. Does nothing for float meshes.
+   */
+  public void applyVertexDequantization(Shader shader) { // เมธอดส่งค่าแปลง position กลับไปยัง shader
+    if (isQuantized()) { // เฉพาะ mesh ที่ quantize
+      shader.setVec3("u_PositionOffset", positionOffset); // offset ของ position
+      shader.setVec3("u_PositionScale", positionScale); // scale ของ position
+    }
+  }
 
-      VertexBuffer[] vertexBuffers = { // สร้าง vertex buffer สำหรับแต่ละ attribute
-        new VertexBuffer(render, 3, localCoordinates),
-        new VertexBuffer(render, 2, textureCoordinates),
-        new VertexBuffer(render, 3, normals),
-      };
+  private static String binaryAssetNameFor(String assetFileName) { // เมธอดหาชื่อไฟล์ .fmesh ที่คู่กับ .obj
+    int dot = assetFileName.lastIndexOf('.'); // หาตำแหน่งจุดของนามสกุล
+    String baseName = dot < 0 ? assetFileName : assetFileName.substring(0, dot); // ชื่อไฟล์ที่ไม่มีนามสกุล
+    return baseName + BinaryMeshFormat.FILE_EXTENSION; // เติมนามสกุล .fmesh
+  }
 
-      IndexBuffer indexBuffer = new IndexBuffer(render, vertexIndices); // สร้าง index buffer
+  private static boolean assetExists(AssetManager assets, String assetFileName) throws IOException { // เมธอดเช็คว่ามี asset หรือไม่
+    int slash = assetFileName.lastIndexOf('/'); // หาตำแหน่ง / สุดท้าย
+    String directory = slash < 0 ? "" : assetFileName.substring(0, slash); // โฟลเดอร์ของไฟล์
+    String[] names = assets.list(directory); // รายชื่อไฟล์ในโฟลเดอร์
+    return names != null && Arrays.asList(names).contains(assetFileName.substring(slash + 1)); // เช็คว่ามีชื่อไฟล์นี้
+  }
+
+  private static ByteBuffer mapAsset(AssetManager assets, String assetFileName) throws IOException { // เมธอด map ไฟล์ asset เข้าหน่วยความจำ
+    try (AssetFileDescriptor fd = assets.openFd(assetFileName); // เปิด file descriptor ของ asset
+        FileInputStream stream = fd.createInputStream()) { // เปิด stream เพื่อใช้ channel
+      // The mapping stays valid after the channel is closed.
+      return stream.getChannel().map(FileChannel.MapMode.READ_ONLY, fd.getStartOffset(), fd.getLength()); // map เฉพาะช่วงของไฟล์นี้ใน APK
+    } catch (FileNotFoundException e) { // asset ถูกบีบอัด map ไม่ได้
+      Log.w(TAG, "Binary mesh " + assetFileName + " is compressed; reading it instead of mapping"); // log เตือน
+      try (InputStream inputStream = assets.open(assetFileName)) { // เปิด asset แบบ stream
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(); // buffer ชั่วคราว
+        byte[] chunk = new byte[16 * 1024]; // อ่านทีละ 16 KB
+        int amount; // จำนวน byte ที่อ่านได้
+        while ((amount = inputStream.read(chunk)) != -1) { // อ่านจนจบไฟล์
+          bytes.write(chunk, 0, amount);
+        }
+        ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.size()).order(ByteOrder.nativeOrder()); // จอง direct buffer
+        buffer.put(bytes.toByteArray()).rewind(); // คัดลอกข้อมูลและรีเซ็ต pointer
+        return buffer; // คืนค่า buffer
+      }
+    }
+  }
 
-      return new Mesh(render, Mesh.PrimitiveMode.TRIANGLES, indexBuffer, vertexBuffers); // คืน mesh ที่สร้าง
+  /**
+   * Returns the GPU memory used by the mesh's index and vertex buffers, in bytes (their allocated
+   * capacity, which may exceed the data currently stored).
+   */
+  public long getGpuByteCount() { // เมธอดคืนค่าหน่วยความจำ GPU ที่ใช้ (byte)
+    long bytes = indexBuffer == null ? 0 : indexBuffer.getCapacityInBytes(); // index buffer
+    if (interleavedVertexBuffer != null) { // buffer แบบ interleave
+      bytes += interleavedVertexBuffer.getCapacityInBytes();
+    } else { // หลาย buffer
+      for (VertexBuffer vertexBuffer : vertexBuffers) {
+        bytes += vertexBuffer.getCapacityInBytes();
+      }
     }
+    return bytes; // คืนค่าขนาดรวม
   }
 
+  /**
+   * Frees the vertex array. Meshes created from an asset ({@link #createFromAsset}, {@link
+   * #upload}) also free their index and vertex buffers; buffers passed to a constructor stay
+   * owned by the caller.
+   */
   @Override
   public void close() { // เมธอดปิด resource
     if (vertexArrayId[0] != 0) { // ถ้ามี vertex array
       GLES30.glDeleteVertexArrays(1, vertexArrayId, 0); // ลบ vertex array
+      GlState.onVertexArraysDeleted(vertexArrayId); // vertex array 0 ถูก bind แทน
       GLError.maybeLogGLError(
           Log.WARN, TAG, "Failed to free vertex array object", "glDeleteVertexArrays"); // log error ถ้ามี
+      vertexArrayId[0] = 0; // เซ็ต id เป็น 0
+    }
+    if (ownsBuffers) { // buffer ที่ mesh สร้างเอง
+      ownsBuffers = false; // ลบครั้งเดียว
+      if (indexBuffer != null) {
+        indexBuffer.close(); // ลบ index buffer
+      }
+      interleavedVertexBuffer.close(); // ลบ vertex buffer
     }
   }
 
@@ -167,9 +505,12 @@ public class Mesh implements Closeable { // ประกาศคลาส Mesh
       throw new IllegalStateException("Tried to draw a freed Mesh"); // ขว้าง exception
     }
 
-    GLES30.glBindVertexArray(vertexArrayId[0]); // bind vertex array
+    GlState.bindVertexArray(vertexArrayId[0]); // bind vertex array
     GLError.maybeThrowGLException("Failed to bind vertex array object", "glBindVertexArray"); // เช็ค error
-    if (indexBuffer == null) { // ถ้าไม่มี index buffer
+    if (indexBuffer == null && interleavedVertexBuffer != null) { // ไม่มี index buffer และใช้ buffer แบบ interleave
+      GLES30.glDrawArrays(primitiveMode.glesEnum, 0, interleavedVertexBuffer.getNumberOfVertices()); // วาดแบบไม่ใช้ index
+      GLError.maybeThrowGLException("Failed to draw vertex array object", "glDrawArrays"); // เช็ค error
+    } else if (indexBuffer == null) { // ถ้าไม่มี index buffer
       // Sanity check for debugging
       int vertexCount = vertexBuffers[0].getNumberOfVertices(); // จำนวน vertex
       for (int i = 1; i < vertexBuffers.length; ++i) { // เช็คทุก vertex buffer
@@ -184,6 +525,11 @@ public class Mesh implements Closeable { // ประกาศคลาส Mesh
       }
       GLES30.glDrawArrays(primitiveMode.glesEnum, 0, vertexCount); // วาดแบบไม่ใช้ index
       GLError.maybeThrowGLException("Failed to draw vertex array object", "glDrawArrays"); // เช็ค error
+    } else if (lods != null) { // mesh ที่มี LOD: วาดเฉพาะช่วงของระดับที่เลือก
+      GLES30.glDrawElements(
+          primitiveMode.glesEnum, lods[lod].indexCount, GLES30.GL_UNSIGNED_INT, lods[lod].firstIndex * Integer.BYTES); // วาดช่วง index ของระดับนี้
+      GLError.maybeThrowGLException(
+          "Failed to draw vertex array object with indices", "glDrawElements"); // เช็ค error
     } else { // ถ้ามี index buffer
       GLES30.glDrawElements(
           primitiveMode.glesEnum, indexBuffer.getSize(), GLES30.GL_UNSIGNED_INT, 0); // วาดแบบใช้ index
@@ -191,4 +537,47 @@ public class Mesh implements Closeable { // ประกาศคลาส Mesh
           "Failed to draw vertex array object with indices", "glDrawElements"); // เช็ค error
     }
   }
-}
\ No newline at end of file
+
+  /**
+   * Draws one copy of the mesh per model matrix in {@code instances} with a single draw call. The
+   * shader must be compiled with {@link #INSTANCING_DEFINE} set to 1. The instance attributes are
+   * disabled again afterwards, so {@link #lowLevelDraw} of the same mesh is unaffected. Don't call
+   * this directly unless you are doing low level OpenGL code; instead, prefer {@link
+   * SampleRender#drawInstanced}.
+   */
+  public void lowLevelDrawInstanced(InstanceBuffer instances) { // เมธอดวาด mesh หลาย instance (ระดับ low-level)
+    if (vertexArrayId[0] == 0) { // ถ้า vertex array ถูกลบแล้ว
+      throw new IllegalStateException("Tried to draw a freed Mesh"); // ขว้าง exception
+    }
+    int instanceCount = instances.getInstanceCount(); // จำนวน instance
+    if (instanceCount == 0) { // ไม่มีอะไรให้วาด
+      return;
+    }
+
+    GlState.bindVertexArray(vertexArrayId[0]); // bind vertex array
+    GLError.maybeThrowGLException("Failed to bind vertex array object", "glBindVertexArray"); // เช็ค error
+    // The instance buffer may change between draws, so its attributes are specified every time.
+    GlState.bindBuffer(GLES30.GL_ARRAY_BUFFER, instances.getBufferId()); // bind instance buffer
+    GLError.maybeThrowGLException("Failed to bind instance buffer", "glBindBuffer"); // เช็ค error
+    try {
+      InstanceBatcher.enableInstanceAttributes(INSTANCE_ATTRIBUTES); // ผูก instance buffer กับ location ของ model matrix
+      if (indexBuffer == null) { // ถ้าไม่มี index buffer
+        int vertexCount =
+            interleavedVertexBuffer != null
+                ? interleavedVertexBuffer.getNumberOfVertices()
+                : vertexBuffers[0].getNumberOfVertices(); // จำนวน vertex
+        GLES30.glDrawArraysInstanced(primitiveMode.glesEnum, 0, vertexCount, instanceCount); // วาดแบบไม่ใช้ index
+        GLError.maybeThrowGLException("Failed to draw instanced vertex array object", "glDrawArraysInstanced"); // เช็ค error
+      } else { // ถ้ามี index buffer
+        int firstIndex = lods != null ? lods[lod].firstIndex : 0; // index แรกของระดับที่เลือก
+        int indexCount = lods != null ? lods[lod].indexCount : indexBuffer.getSize(); // จำนวน index ของระดับที่เลือก
+        GLES30.glDrawElementsInstanced(
+            primitiveMode.glesEnum, indexCount, GLES30.GL_UNSIGNED_INT, firstIndex * Integer.BYTES, instanceCount); // วาดทุก instance ในครั้งเดียว
+        GLError.maybeThrowGLException(
+            "Failed to draw instanced vertex array object with indices", "glDrawElementsInstanced"); // เช็ค error
+      }
+    } finally {
+      InstanceBatcher.disableInstanceAttributes(INSTANCE_ATTRIBUTES); // vertex array ของ mesh ใช้วาดแบบปกติต่อได้
+    }
+  }
+}
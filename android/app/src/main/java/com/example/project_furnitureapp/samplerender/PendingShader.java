@@ -0,0 +1,77 @@
+package com.example.project_furnitureapp.samplerender; // ประกาศ package ของไฟล์นี้
+
+import java.io.Closeable; // import Closeable สำหรับปิด resource
+import java.util.concurrent.Future; // import Future สำหรับงานบน thread compile
+
+/**
+ * A {@link Shader} that {@link AsyncShaderCompiler} is still compiling. {@link #get} returns null
+ * until the program has linked, so a renderer keeps drawing with a placeholder (another shader, or
+ * nothing) and picks the real one up on a later frame; {@link #await} blocks instead, for shaders
+ * that the very first frame needs.
+ *
+ * <p>All calls must be made on the GL thread. Closing a pending shader that is not ready yet
+ * deletes its program once the driver is done with it.
+ */ // คำอธิบายคลาส: shader ที่ยัง compile ไม่เสร็จ คืนค่า null จนกว่าจะ link เสร็จ
+public final class PendingShader implements Closeable { // ประกาศคลาส PendingShader
+    final AsyncShaderCompiler compiler; // ตัว compile ที่ดูแล shader นี้
+    final String name; // ชื่อ asset สำหรับ log
+    final String vertexSource; // source สุดท้ายของ vertex shader
+    final String fragmentSource; // source สุดท้ายของ fragment shader
+    final long submitNanos; // เวลาที่เริ่ม compile
+    int programId; // program ที่กำลัง link (parallel compile หรือโหลดจาก binary)
+    int vertexShaderId; // vertex shader ที่กำลัง compile (parallel compile)
+    int fragmentShaderId; // fragment shader ที่กำลัง compile (parallel compile)
+    Future<Integer> linked; // program ที่ thread compile link ให้ (fallback)
+    private Shader shader; // shader ที่พร้อมใช้ (null จนกว่าจะ link เสร็จ)
+    private RuntimeException failure; // error ถ้า compile หรือ link ไม่ผ่าน
+    boolean closed; // ถูกปิดแล้วหรือยัง
+
+    PendingShader(AsyncShaderCompiler compiler, String name, String vertexSource, String fragmentSource) { // constructor
+        this.compiler = compiler;
+        this.name = name;
+        this.vertexSource = vertexSource;
+        this.fragmentSource = fragmentSource;
+        this.submitNanos = System.nanoTime();
+    }
+
+    /** Returns the linked shader, or null while it is still compiling or if it failed. Never blocks. */
+    public Shader get() { return shader; } // คืนค่า shader ถ้าพร้อม
+
+    /** Returns whether {@link #get} returns the shader. */
+    public boolean isReady() { return shader != null; } // พร้อมใช้หรือยัง
+
+    /** Returns whether the program failed to compile or link; the error has been logged. */
+    public boolean isFailed() { return failure != null; } // compile ไม่ผ่านหรือไม่
+
+    /**
+     * Returns the linked shader, waiting for the driver if it is still compiling. Throws the
+     * compile or link error, like the {@link Shader} constructor.
+     */
+    public Shader await() { // เมธอดรอจน shader พร้อม
+        if (shader == null && failure == null) {
+            compiler.await(this); // รอบน GL thread
+        }
+        if (failure != null) {
+            throw failure; // ขว้าง exception
+        }
+        return shader;
+    }
+
+    void complete(Shader shader) { this.shader = shader; } // เมธอดบันทึก shader ที่ link เสร็จ
+
+    void fail(RuntimeException failure) { this.failure = failure; } // เมธอดบันทึก error
+
+    @Override
+    public void close() { // เมธอดปิด resource
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (shader != null) {
+            shader.close(); // ลบ program
+            shader = null;
+        } else {
+            compiler.cancel(this); // ลบ program เมื่อ driver ทำเสร็จ
+        }
+    }
+}
@@ -1,7 +1,6 @@
 package com.example.project_furnitureapp.samplerender; // ประกาศ package ของไฟล์นี้
 
 import android.opengl.GLES30; // import GLES30 สำหรับใช้งาน OpenGL ES 3.0
-import android.opengl.Matrix; // import Matrix สำหรับคำนวณเมทริกซ์
 import com.google.ar.core.Anchor; // import Anchor สำหรับจุดยึด AR
 import com.google.ar.core.Pose; // import Pose สำหรับตำแหน่งและทิศทาง
 import com.google.ar.core.TrackingState; // import TrackingState สำหรับสถานะการติดตาม
@@ -25,11 +24,12 @@ public class PointRenderer implements Closeable { // ประกาศคลา
     private static final int BYTES_PER_FLOAT = Float.BYTES; // ขนาด 1 float (byte)
     private static final int VERTEX_STRIDE = COORDS_PER_VERTEX * BYTES_PER_FLOAT; // ขนาด stride ของ 1 vertex
 
+    private final SampleRender render; // สำหรับ bind framebuffer และอ่านขนาด viewport
     private final Shader shader; // ตัวแปรเก็บ shader
     private final VertexBuffer vertexBuffer; // ตัวแปรเก็บ vertex buffer
 
     private int positionHandle = -1; // ตัวแปรเก็บ location ของ attribute a_Position
-    private int mvpMatrixHandle = -1; // ตัวแปรเก็บ location ของ uniform u_ModelViewProjection
+    private int modelMatrixHandle = -1; // ตัวแปรเก็บ location ของ uniform u_Model
     private int colorHandle = -1; // ตัวแปรเก็บ location ของ uniform u_Color
     private int pointSizeHandle = -1; // ตัวแปรเก็บ location ของ uniform u_PointSize
 
@@ -37,8 +37,10 @@ public class PointRenderer implements Closeable { // ประกาศคลา
     private float pointSize = 25.0f; // ขนาดของจุด
 
     private final FloatBuffer singlePointBuffer; // buffer สำหรับเก็บข้อมูลจุดเดียว
+    private final float[] modelMatrix = new float[16]; // เมทริกซ์ model (ใช้ซ้ำ)
 
     public PointRenderer(SampleRender render) throws IOException { // constructor รับ SampleRender
+        this.render = render;
         singlePointBuffer = ByteBuffer.allocateDirect(1 * COORDS_PER_VERTEX * BYTES_PER_FLOAT).order(ByteOrder.nativeOrder()).asFloatBuffer(); // สร้าง buffer สำหรับ 1 จุด
         vertexBuffer = new VertexBuffer(render, COORDS_PER_VERTEX, null); // สร้าง vertex buffer
 
@@ -50,13 +52,12 @@ public class PointRenderer implements Closeable { // ประกาศคลา
 
             createdShader.lowLevelUse(); // ใช้งาน shader
             positionHandle = createdShader.getAttributeLocation("a_Position"); // หา location ของ a_Position
-            mvpMatrixHandle = createdShader.getUniformLocation("u_ModelViewProjection"); // หา location ของ u_ModelViewProjection
+            modelMatrixHandle = createdShader.getUniformLocation("u_Model"); // หา location ของ u_Model
             colorHandle = createdShader.getUniformLocation("u_Color"); // หา location ของ u_Color
             pointSizeHandle = createdShader.getUniformLocation("u_PointSize"); // หา location ของ u_PointSize
-            GLES30.glUseProgram(0); // ยกเลิกการใช้ shader
 
-            Log.d(TAG, "Shader Handles: Position=" + positionHandle + ", MVP=" + mvpMatrixHandle + ", Color=" + colorHandle + ", Size=" + pointSizeHandle); // log ค่า handle
-            if (positionHandle == -1 || mvpMatrixHandle == -1 || colorHandle == -1 || pointSizeHandle == -1) {
+            Log.d(TAG, "Shader Handles: Position=" + positionHandle + ", Model=" + modelMatrixHandle + ", Color=" + colorHandle + ", Size=" + pointSizeHandle); // log ค่า handle
+            if (positionHandle == -1 || modelMatrixHandle == -1 || colorHandle == -1 || pointSizeHandle == -1) {
                  Log.e(TAG, "Essential shader locations not found!"); // log error ถ้าไม่เจอ handle
             }
             this.shader = createdShader; // กำหนด shader
@@ -66,34 +67,46 @@ public class PointRenderer implements Closeable { // ประกาศคลา
     public void setColor(float[] rgba) { this.color = rgba.clone(); } // เมธอดตั้งค่าสี
     public void setPointSize(float size) { this.pointSize = size; } // เมธอดตั้งค่าขนาดจุด
 
-    public void drawPoints(List<Anchor> anchors, float[] viewMatrix, float[] projectionMatrix) { // เมธอดวาดจุด
-        if (anchors == null || anchors.isEmpty() || shader == null || positionHandle == -1 || mvpMatrixHandle == -1 || colorHandle == -1 || pointSizeHandle == -1) {
+    /** Draws a point at each tracked anchor with the camera of {@link CameraUniforms}. */
+    public void drawPoints(List<Anchor> anchors) { // เมธอดวาดจุด
+        drawPoints(anchors, /*framebuffer=*/ null); // วาดลงหน้าจอ
+    }
+
+    /**
+     * Like {@link #drawPoints(List)}, to {@code framebuffer}, or the screen if it is null. Into a
+     * framebuffer the points are still drawn over everything, but write their depth so that they
+     * can be occluded, and are scaled to keep their size on screen.
+     */
+    public void drawPoints(List<Anchor> anchors, Framebuffer framebuffer) { // เมธอดวาดจุดลง framebuffer
+        if (anchors == null || anchors.isEmpty() || shader == null || positionHandle == -1 || modelMatrixHandle == -1 || colorHandle == -1 || pointSizeHandle == -1) {
             return; // ถ้าไม่มี anchor หรือ shader ไม่พร้อม ให้ return
         }
 
+        boolean offscreen = framebuffer != null;
+        if (offscreen) {
+            render.useFramebuffer(framebuffer); // bind framebuffer และตั้ง viewport
+        }
+        shader.setDepthTest(offscreen).setDepthWrite(offscreen); // depth write ต้องเปิด depth test ด้วย
         shader.lowLevelUse(); // ใช้งาน shader
+        if (offscreen) {
+            GlState.depthFunc(GLES30.GL_ALWAYS); // จุดอยู่บนสุดเหมือนตอนวาดลงหน้าจอ แต่ยังเขียน depth
+        }
+        float scale = offscreen ? (float) framebuffer.getWidth() / render.getViewportWidth() : 1f; // framebuffer อาจเล็กกว่าหน้าจอ
 
         GLES30.glUniform4fv(colorHandle, 1, color, 0); // ส่งค่าสีไปยัง shader
-        GLES30.glUniform1f(pointSizeHandle, pointSize); // ส่งขนาดจุดไปยัง shader
+        GLES30.glUniform1f(pointSizeHandle, pointSize * scale); // ส่งขนาดจุดไปยัง shader
         GLError.maybeLogGLError(Log.ERROR, TAG, "PointRenderer: Set uniforms", "glUniform"); // log error ถ้ามี
 
-        GLES30.glBindBuffer(GLES30.GL_ARRAY_BUFFER, vertexBuffer.getBufferId()); // bind vertex buffer
+        GlState.bindVertexArray(0); // ใช้ vertex array 0 ไม่ให้ไปแก้ vertex array ของ mesh ที่ bind ค้างไว้
+        GlState.bindBuffer(GLES30.GL_ARRAY_BUFFER, vertexBuffer.getBufferId()); // bind vertex buffer
         GLES30.glVertexAttribPointer(positionHandle, COORDS_PER_VERTEX, GLES30.GL_FLOAT, false, VERTEX_STRIDE, 0); // กำหนด pointer สำหรับ attribute
         GLES30.glEnableVertexAttribArray(positionHandle); // เปิดใช้งาน attribute
         GLError.maybeLogGLError(Log.ERROR, TAG, "PointRenderer: Enable vertex attrib", "glVertexAttribPointer/glEnable"); // log error ถ้ามี
 
-        float[] modelMatrix = new float[16]; // เมทริกซ์ model
-        float[] mvpMatrix = new float[16]; // เมทริกซ์ MVP
-
         for (Anchor anchor : anchors) { // วนลูปทุก anchor
             if (anchor.getTrackingState() == TrackingState.TRACKING) { // ถ้า anchor กำลังถูก track
                 anchor.getPose().toMatrix(modelMatrix, 0); // แปลง pose เป็นเมทริกซ์ model
-
-                float[] tempViewProduct = new float[16]; // เมทริกซ์ชั่วคราว
-                Matrix.multiplyMM(tempViewProduct, 0, viewMatrix, 0, modelMatrix, 0); // คูณ view * model
-                Matrix.multiplyMM(mvpMatrix, 0, projectionMatrix, 0, tempViewProduct, 0); // คูณ projection * (view * model)
-
-                GLES30.glUniformMatrix4fv(mvpMatrixHandle, 1, false, mvpMatrix, 0); // ส่งเมทริกซ์ MVP ไปยัง shader
+                GLES30.glUniformMatrix4fv(modelMatrixHandle, 1, false, modelMatrix, 0); // ส่งเมทริกซ์ model ไปยัง shader (view-projection มาจาก camera block)
 
                 singlePointBuffer.clear(); // ล้าง buffer
                 // **** แก้ไข: ส่ง 0,0,0 สำหรับ a_Position เพราะตำแหน่งจริงถูกจัดการด้วย Model Matrix ใน MVP แล้ว ****
@@ -102,16 +115,17 @@ public class PointRenderer implements Closeable { // ประกาศคลา
                 vertexBuffer.set(singlePointBuffer); // ส่ง buffer ไปยัง vertexBuffer
 
                 if (vertexBuffer.getNumberOfVertices() > 0) { // ถ้ามี vertex
-                    Log.d(POINT_DEBUG_TAG, "Drawing point for anchor: " + anchor.getPose().toString() + " with MVP: " + Arrays.toString(mvpMatrix)); // log ข้อมูล anchor และ mvp
+                    Log.d(POINT_DEBUG_TAG, "Drawing point for anchor: " + anchor.getPose().toString() + " with model: " + Arrays.toString(modelMatrix)); // log ข้อมูล anchor และ mvp
                     GLES30.glDrawArrays(GLES30.GL_POINTS, 0, 1); // วาดจุด
                     GLError.maybeLogGLError(Log.ERROR, TAG, "PointRenderer: After glDrawArrays (Point)", "glDrawArrays"); // log error ถ้ามี
                 }
             }
         }
 
-        GLES30.glDisableVertexAttribArray(positionHandle); // ปิดใช้งาน attribute
-        GLES30.glBindBuffer(GLES30.GL_ARRAY_BUFFER, 0); // unbind buffer
-        GLES30.glUseProgram(0); // ยกเลิกการใช้ shader
+        GLES30.glDisableVertexAttribArray(positionHandle); // ปิดใช้งาน attribute (buffer และ shader ไม่ต้อง unbind: GlState ข้ามการ bind ซ้ำให้)
+        if (offscreen) {
+            GlState.depthFunc(GLES30.GL_LESS); // คืนค่าเริ่มต้นที่ renderer อื่นคาดไว้
+        }
     }
 
     @Override
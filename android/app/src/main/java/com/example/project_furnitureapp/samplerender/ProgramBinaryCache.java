@@ -0,0 +1,134 @@
+package com.example.project_furnitureapp.samplerender; // ประกาศ package ของไฟล์นี้
+
+import android.opengl.GLES30; // import GLES30 สำหรับใช้งาน OpenGL ES 3.0
+import android.util.Log; // import Log สำหรับเขียน log
+import com.example.project_furnitureapp.samplerender.gl.ProgramBinaryStore; // import ProgramBinaryStore สำหรับเก็บ binary ลงดิสก์
+import java.io.File; // import File สำหรับโฟลเดอร์ cache
+import java.io.IOException; // import IOException สำหรับจัดการ exception
+import java.nio.ByteBuffer; // import ByteBuffer สำหรับข้อมูล binary
+
+/**
+ * Cache of linked programs on disk, so that reopening the AR screen loads each program with {@code
+ * glProgramBinary} instead of compiling and linking it.
+ *
+ * <p>{@link Shader} asks {@link #load} before compiling and hands every program it links to {@link
+ * #store}. Binaries are keyed by the final vertex and fragment sources and by the driver strings
+ * (see {@link ProgramBinaryStore}); a binary the driver rejects is deleted and the program is
+ * compiled again. If the driver supports no binary format, the cache does nothing.
+ *
+ * <p>All calls must be made on the GL thread. {@link #getHitCount}, {@link #getMissCount} and
+ * {@link #getRejectedCount} tell cold runs from warm ones; {@link #getNanos} is the time spent
+ * creating programs through the cache either way.
+ */ // คำอธิบายคลาส: cache ของ program ที่ link แล้วบนดิสก์ ใช้ glProgramBinary แทนการ compile ใหม่
+public class ProgramBinaryCache { // ประกาศคลาส ProgramBinaryCache
+    private static final String TAG = ProgramBinaryCache.class.getSimpleName(); // ตัวแปร TAG สำหรับ log
+
+    private final ProgramBinaryStore store; // ไฟล์ binary บนดิสก์
+    private String driver; // vendor, renderer และ version ของ driver (อ่านครั้งแรกที่ใช้)
+    private boolean supported; // driver รองรับ program binary หรือไม่
+    private int hits; // จำนวน program ที่โหลดจาก binary
+    private int misses; // จำนวน program ที่ต้อง compile
+    private int rejected; // จำนวน binary ที่ driver ไม่ยอมรับ
+    private long nanos; // เวลารวมในการสร้าง program
+
+    public ProgramBinaryCache(File directory) throws IOException { // constructor รับโฟลเดอร์ cache
+        store = new ProgramBinaryStore(directory);
+    }
+
+    /**
+     * Returns a linked program created from the binary of these sources, or 0 if there is none or
+     * the driver rejected it; the caller then compiles and calls {@link #store}.
+     */
+    public int load(String vertexShaderCode, String fragmentShaderCode) { // เมธอดโหลด program จาก binary
+        if (!isSupported()) {
+            ++misses;
+            return 0;
+        }
+        String key = key(vertexShaderCode, fragmentShaderCode);
+        ProgramBinaryStore.Entry entry = store.read(key);
+        if (entry == null) {
+            ++misses;
+            return 0; // ยังไม่เคย link บนเครื่องนี้
+        }
+        int programId = GLES30.glCreateProgram();
+        GLError.maybeThrowGLException("Program creation failed", "glCreateProgram");
+        GLError.clearErrors(); // error เก่าที่ไม่ได้ตรวจ (โหมด PER_FRAME หรือ OFF) ต้องไม่ถูกนับว่า binary ถูกปฏิเสธ
+        GLES30.glProgramBinary(programId, entry.format, entry.binary, entry.binary.remaining());
+        int[] linkStatus = new int[1];
+        GLES30.glGetProgramiv(programId, GLES30.GL_LINK_STATUS, linkStatus, 0);
+        // A rejected binary sets GL_INVALID_ENUM or a failed link status; either way compile again.
+        if (GLES30.glGetError() != GLES30.GL_NO_ERROR || linkStatus[0] == GLES30.GL_FALSE) {
+            GLES30.glDeleteProgram(programId);
+            GLError.maybeLogGLError(Log.WARN, TAG, "Failed to free rejected program", "glDeleteProgram");
+            store.delete(key);
+            ++rejected;
+            ++misses;
+            Log.i(TAG, "Driver rejected a cached program binary; compiling instead."); // log
+            return 0;
+        }
+        ++hits;
+        return programId;
+    }
+
+    /**
+     * Saves the binary of {@code programId}, which was linked from these sources with {@code
+     * GL_PROGRAM_BINARY_RETRIEVABLE_HINT} set. Failures are logged: the cache is only an optimization.
+     */
+    public void store(String vertexShaderCode, String fragmentShaderCode, int programId) { // เมธอดบันทึก binary ของ program
+        if (!isSupported()) {
+            return;
+        }
+        int[] length = new int[1];
+        GLES30.glGetProgramiv(programId, GLES30.GL_PROGRAM_BINARY_LENGTH, length, 0);
+        if (length[0] <= 0) {
+            return; // driver ไม่ให้ binary ของ program นี้
+        }
+        ByteBuffer binary = ByteBuffer.allocateDirect(length[0]);
+        int[] format = new int[1];
+        GLError.clearErrors(); // ดูเฉพาะ error ของ glGetProgramBinary
+        GLES30.glGetProgramBinary(programId, length[0], length, 0, format, 0, binary);
+        if (GLES30.glGetError() != GLES30.GL_NO_ERROR) {
+            Log.w(TAG, "Failed to read program binary"); // log
+            return;
+        }
+        binary.limit(length[0]);
+        try {
+            store.write(key(vertexShaderCode, fragmentShaderCode), format[0], binary);
+        } catch (IOException e) {
+            Log.w(TAG, "Failed to save program binary", e); // log
+        }
+    }
+
+    /** Adds the time of one program creation through this cache, hit or miss. */
+    void addNanos(long elapsed) { nanos += elapsed; } // เมธอดบวกเวลาสร้าง program
+
+    public int getHitCount() { return hits; } // คืนค่าจำนวน program ที่โหลดจาก binary
+
+    public int getMissCount() { return misses; } // คืนค่าจำนวน program ที่ compile
+
+    public int getRejectedCount() { return rejected; } // คืนค่าจำนวน binary ที่ถูกปฏิเสธ
+
+    /** Total time spent creating programs, compiled or loaded, in nanoseconds. */
+    public long getNanos() { return nanos; } // คืนค่าเวลารวม
+
+    /** Deletes every stored binary, for example to measure a cold start. */
+    public void clear() { store.clear(); } // เมธอดลบ binary ทั้งหมด
+
+    private boolean isSupported() { // เมธอดตรวจว่า driver รองรับ program binary
+        if (driver == null) { // อ่านครั้งแรกบน GL thread
+            driver = GLES30.glGetString(GLES30.GL_VENDOR) + "|" + GLES30.glGetString(GLES30.GL_RENDERER) + "|" + GLES30.glGetString(GLES30.GL_VERSION);
+            int[] formats = new int[1];
+            GLError.clearErrors(); // ดูเฉพาะ error ของ glGetIntegerv
+            GLES30.glGetIntegerv(GLES30.GL_NUM_PROGRAM_BINARY_FORMATS, formats, 0);
+            supported = GLES30.glGetError() == GLES30.GL_NO_ERROR && formats[0] > 0;
+            if (!supported) {
+                Log.i(TAG, "No program binary formats; programs are always compiled."); // log
+            }
+        }
+        return supported;
+    }
+
+    private String key(String vertexShaderCode, String fragmentShaderCode) { // เมธอดสร้าง key ของ program
+        return ProgramBinaryStore.key(vertexShaderCode, fragmentShaderCode, driver);
+    }
+}
@@ -0,0 +1,223 @@
+package com.example.project_furnitureapp.samplerender; // ประกาศ package ของไฟล์นี้
+
+import android.util.Log; // import Log สำหรับเขียน log
+import java.io.Closeable; // import Closeable สำหรับปิด resource
+import java.io.IOException; // import IOException สำหรับจัดการ exception
+import java.util.ArrayList; // import ArrayList สำหรับเก็บ entry ที่จะลบ
+import java.util.Iterator; // import Iterator สำหรับวนลูปและลบ entry
+import java.util.LinkedHashMap; // import LinkedHashMap สำหรับเรียงลำดับตามการใช้งาน (LRU)
+import java.util.List; // import List สำหรับเก็บ entry ที่จะลบ
+import java.util.function.Supplier; // import Supplier สำหรับเริ่มโหลดเมื่อไม่มีใน cache
+import java.util.function.ToLongFunction; // import ToLongFunction สำหรับวัดขนาดของ resource
+
+/**
+ * Shares meshes and textures between users by asset path and keeps GPU memory within a budget.
+ *
+ * <p>{@link #acquireMesh} and {@link #acquireTexture} return a reference-counted {@link Ref}.
+ * The first acquisition of an asset starts an {@link AssetLoader} load, and later ones share that
+ * load or its result. Closing a {@code Ref} releases it. An unreferenced resource stays cached so
+ * that going back to a product is free, until it is the least recently used one and the cache is
+ * over its budget.
+ *
+ * <p>GPU memory is counted exactly per GL object ({@link Mesh#getGpuByteCount}, {@link
+ * Texture#getGpuByteCount}) once the upload has finished. Call {@link #trim} once per frame after
+ * {@link AssetLoader#drainUploads}. Referenced resources are never evicted, so the cache only goes
+ * over budget when the resources in use need more than that. All methods must be called on the GL
+ * thread.
+ */ // คำอธิบายคลาส: cache ของ mesh และ texture แบบนับ reference และจำกัดหน่วยความจำ GPU ด้วย LRU
+public class ResourceCache implements Closeable { // ประกาศคลาส ResourceCache
+    private static final String TAG = ResourceCache.class.getSimpleName(); // ตัวแปร TAG สำหรับ log
+
+    /** Default GPU memory budget for cached resources. */
+    public static final long DEFAULT_BUDGET_BYTES = 64L * 1024 * 1024; // งบหน่วยความจำ GPU เริ่มต้น (64 MB)
+
+    /**
+     * A counted reference to a cached resource. {@link #get} returns null until the resource is
+     * uploaded. Close the reference when done instead of closing the resource.
+     */
+    public static final class Ref<T extends Closeable> implements Closeable { // reference ที่นับจำนวนไปยัง resource ใน cache
+        private final ResourceCache cache; // cache ที่เป็นเจ้าของ
+        private Entry<T> entry; // entry ของ resource (null เมื่อ release แล้ว)
+
+        private Ref(ResourceCache cache, Entry<T> entry) { // constructor
+            this.cache = cache; // กำหนด cache
+            this.entry = entry; // กำหนด entry
+        }
+
+        /** Returns the resource, or null while it is still loading or if the load failed. */
+        public T get() { // เมธอดคืนค่า resource
+            if (entry == null) { // release แล้ว
+                throw new IllegalStateException("Tried to use a released resource reference"); // ขว้าง exception
+            }
+            return entry.handle.get(); // resource ที่ upload แล้ว
+        }
+
+        /** Returns why the load failed, or null. */
+        public Throwable getError() { // เมธอดคืนค่า error
+            return entry == null ? null : entry.handle.getError(); // error ของการโหลด
+        }
+
+        @Override
+        public void close() { // เมธอด release reference
+            if (entry != null) { // release ครั้งเดียว
+                cache.release(entry); // ลดจำนวน reference
+                entry = null;
+            }
+        }
+    }
+
+    private static final class Entry<T extends Closeable> { // ข้อมูลของ resource หนึ่งตัวใน cache
+        final String key; // key ของ asset
+        final AssetLoader.Handle<T> handle; // การโหลดของ resource
+        final ToLongFunction<T> sizer; // ฟังก์ชันวัดขนาดบน GPU
+        int references; // จำนวน reference ที่ยังใช้อยู่
+        long bytes = -1; // ขนาดบน GPU (byte), -1 ถ้ายังโหลดไม่เสร็จ
+
+        Entry(String key, AssetLoader.Handle<T> handle, ToLongFunction<T> sizer) { // constructor
+            this.key = key; // กำหนด key
+            this.handle = handle; // กำหนดการโหลด
+            this.sizer = sizer; // กำหนดฟังก์ชันวัดขนาด
+        }
+
+        /** Counts the resource once it has been uploaded; returns the bytes added. */
+        long account() { // เมธอดนับขนาดเมื่อ upload เสร็จ
+            T resource = handle.get(); // resource ที่ upload แล้ว
+            if (bytes >= 0 || resource == null) { // นับแล้วหรือยังไม่เสร็จ
+                return 0;
+            }
+            bytes = sizer.applyAsLong(resource); // วัดขนาด
+            return bytes;
+        }
+
+        void free() { // เมธอดลบ resource
+            handle.cancel(); // หยุดโหลดถ้ายังไม่เสร็จ
+            T resource = handle.get(); // resource ที่ upload แล้ว
+            if (resource != null) {
+                try {
+                    resource.close(); // ลบ resource บน GPU
+                } catch (IOException e) {
+                    Log.w(TAG, "Failed to free " + key, e); // log เตือน
+                }
+            }
+        }
+    }
+
+    private final AssetLoader loader; // ตัวโหลด asset
+    private final LinkedHashMap<String, Entry<?>> entries = new LinkedHashMap<>(16, 0.75f, /*accessOrder=*/ true); // entry เรียงจากใช้ล่าสุดน้อยสุด
+    private long budgetBytes; // งบหน่วยความจำ GPU (byte)
+    private long usedBytes; // หน่วยความจำ GPU ที่ใช้อยู่ (byte)
+    private boolean overBudgetLogged; // log เตือนเกินงบไปแล้วหรือไม่
+
+    public ResourceCache(AssetLoader loader) { // constructor ค่าเริ่มต้น
+        this(loader, DEFAULT_BUDGET_BYTES);
+    }
+
+    public ResourceCache(AssetLoader loader, long budgetBytes) { // constructor
+        this.loader = loader; // กำหนดตัวโหลด
+        setBudgetBytes(budgetBytes); // กำหนดงบ
+    }
+
+    /** Acquires the mesh of an asset as {@link AssetLoader#loadMesh} loads it. */
+    public Ref<Mesh> acquireMesh(String assetFileName, boolean quantize) { // เมธอดขอ mesh จาก cache
+        return acquire(
+                "mesh:" + assetFileName + (quantize ? ":quantized" : ""),
+                () -> loader.loadMesh(assetFileName, quantize),
+                Mesh::getGpuByteCount); // key แยกตาม layout ของ vertex
+    }
+
+    /** Acquires a texture as {@link AssetLoader#loadTexture} loads it. */
+    public Ref<Texture> acquireTexture(String assetFileName, Texture.WrapMode wrapMode, Texture.ColorFormat colorFormat) { // เมธอดขอ texture จาก cache
+        return acquire(
+                "texture:" + assetFileName + ":" + wrapMode + ":" + colorFormat,
+                () -> loader.loadTexture(assetFileName, wrapMode, colorFormat),
+                Texture::getGpuByteCount); // key แยกตามการตั้งค่าของ texture
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T extends Closeable> Ref<T> acquire(String key, Supplier<AssetLoader.Handle<T>> load, ToLongFunction<T> sizer) { // เมธอดขอ resource จาก cache
+        Entry<T> entry = (Entry<T>) entries.get(key); // ค้นหาใน cache (ย้ายไปท้าย LRU)
+        if (entry != null && entry.handle.getError() != null && entry.references == 0) { // โหลดล้มเหลวและไม่มีใครใช้
+            entries.remove(key); // ลองโหลดใหม่
+            entry = null;
+        }
+        if (entry == null) { // ไม่มีใน cache
+            entry = new Entry<>(key, load.get(), sizer); // เริ่มโหลด
+            entries.put(key, entry); // เพิ่มเข้า cache
+        }
+        ++entry.references; // เพิ่มจำนวน reference
+        return new Ref<>(this, entry); // คืน reference
+    }
+
+    private void release(Entry<?> entry) { // เมธอดลดจำนวน reference
+        --entry.references; // ลดจำนวน reference
+        if (entry.references == 0 && usedBytes > budgetBytes) { // ว่างแล้วและเกินงบ
+            trim(); // ลบ resource ที่ไม่ได้ใช้
+        }
+    }
+
+    /**
+     * Counts resources whose upload has finished, drops failed loads nobody references, and
+     * evicts unreferenced resources, least recently acquired first, while over budget.
+     */
+    public void trim() { // เมธอดนับขนาดและลบ resource ตามงบ
+        for (Iterator<Entry<?>> it = entries.values().iterator(); it.hasNext(); ) { // วนลูปทุก entry
+            Entry<?> entry = it.next();
+            usedBytes += entry.account(); // นับขนาดของ resource ที่ upload เสร็จแล้ว
+            if (entry.references == 0 && entry.handle.getError() != null) { // โหลดล้มเหลวและไม่มีใครใช้
+                it.remove(); // ลบออกจาก cache
+            }
+        }
+        if (usedBytes <= budgetBytes) { // อยู่ในงบ
+            overBudgetLogged = false;
+            return;
+        }
+
+        List<Entry<?>> evicted = new ArrayList<>(); // entry ที่จะลบ
+        for (Iterator<Entry<?>> it = entries.values().iterator(); it.hasNext() && usedBytes > budgetBytes; ) { // วนจากใช้ล่าสุดน้อยสุด
+            Entry<?> entry = it.next();
+            if (entry.references > 0) { // ยังมีคนใช้
+                continue;
+            }
+            it.remove(); // ลบออกจาก cache
+            usedBytes -= Math.max(0, entry.bytes); // คืนหน่วยความจำ
+            evicted.add(entry);
+        }
+        for (Entry<?> entry : evicted) {
+            entry.free(); // ลบ resource บน GPU
+        }
+        if (!evicted.isEmpty()) {
+            Log.d(TAG, "Evicted " + evicted.size() + " resources; " + usedBytes + " of " + budgetBytes + " bytes in use"); // log
+        }
+        if (usedBytes > budgetBytes && !overBudgetLogged) { // resource ที่ใช้อยู่เกินงบ
+            Log.w(TAG, "Resources in use need " + usedBytes + " bytes, over the budget of " + budgetBytes); // log เตือนครั้งเดียว
+            overBudgetLogged = true;
+        }
+    }
+
+    /** Sets the GPU memory budget and evicts down to it. */
+    public void setBudgetBytes(long budgetBytes) { // เมธอดกำหนดงบหน่วยความจำ
+        if (budgetBytes < 0) { // ต้องไม่ติดลบ
+            throw new IllegalArgumentException("budgetBytes must not be negative"); // ขว้าง exception
+        }
+        this.budgetBytes = budgetBytes; // กำหนดงบ
+        trim(); // ลบให้อยู่ในงบใหม่
+    }
+
+    public long getBudgetBytes() { return budgetBytes; } // คืนค่างบหน่วยความจำ
+
+    /** GPU memory of the uploaded resources in the cache, referenced or not. */
+    public long getUsedBytes() { return usedBytes; } // คืนค่าหน่วยความจำที่ใช้อยู่
+
+    /** Number of cached assets, including those still loading. */
+    public int size() { return entries.size(); } // คืนค่าจำนวน entry
+
+    /** Frees every cached resource. References still held become invalid. */
+    @Override
+    public void close() { // เมธอดปิด resource
+        for (Entry<?> entry : entries.values()) {
+            entry.free(); // ลบ resource บน GPU
+        }
+        entries.clear(); // ล้าง cache
+        usedBytes = 0; // รีเซ็ตหน่วยความจำที่ใช้
+    }
+}
@@ -19,6 +19,8 @@ import android.content.res.AssetManager; // import AssetManager สำหรั
 import android.opengl.GLES30; // import GLES30 สำหรับใช้งาน OpenGL ES 3.0
 import android.opengl.GLSurfaceView; // import GLSurfaceView สำหรับแสดงผล OpenGL
 import android.util.Log; // import Log สำหรับเขียน log
+import com.example.project_furnitureapp.samplerender.geometry.StaticBatcher; // import StaticBatcher สำหรับวาดช่วง index ที่รวมแล้ว
+import com.example.project_furnitureapp.samplerender.gl.VariantRegistry; // import VariantRegistry สำหรับเก็บ shader variant ที่ compile แล้ว
 
 import javax.microedition.khronos.egl.EGLConfig; // import EGLConfig (อาจจะไม่ได้ใช้แล้ว)
 import javax.microedition.khronos.opengles.GL10; // import GL10 (อาจจะไม่ได้ใช้แล้ว)
@@ -36,12 +38,16 @@ public class SampleRender { // ประกาศคลาส SampleRender
     // แต่การตั้งค่า viewport หลักๆ จะทำใน ArMeasureView.onSurfaceChanged
     private int viewportWidth = 1; // ตัวแปรเก็บความกว้าง viewport เริ่มต้น 1
     private int viewportHeight = 1; // ตัวแปรเก็บความสูง viewport เริ่มต้น 1
+    private ProgramBinaryCache programBinaryCache; // cache ของ program binary (null = compile ทุกครั้ง)
+    private final AsyncShaderCompiler shaderCompiler; // compile shader โดยไม่หยุดเฟรม
+    private final VariantRegistry<PendingShader> shaderVariants; // shader variant ที่ใช้ร่วมกัน
 
     /**
      * Constructs a SampleRender object.
      * Note: This version assumes the calling class (e.g., ArMeasureView)
      * is responsible for setting up the GLSurfaceView and its Renderer.
-     * This constructor mainly stores the AssetManager.
+     * This constructor mainly stores the AssetManager. Call it on the GL thread: it creates the
+     * {@link AsyncShaderCompiler}, which asks the context for its extensions.
      *
      * @param glSurfaceView Android GLSurfaceView (อาจจะไม่จำเป็นต้องใช้โดยตรงใน constructor นี้แล้ว)
      * @param renderer Renderer implementation (อาจจะไม่จำเป็นต้องใช้โดยตรงใน constructor นี้แล้ว)
@@ -50,6 +56,8 @@ public class SampleRender { // ประกาศคลาส SampleRender
     public SampleRender(GLSurfaceView glSurfaceView, Renderer renderer, AssetManager assetManager) { // constructor รับ GLSurfaceView, Renderer, AssetManager
         // **** เก็บเฉพาะ AssetManager ****
         this.assetManager = assetManager; // กำหนดค่า AssetManager
+        this.shaderCompiler = new AsyncShaderCompiler(this); // ถาม extension ของ context (อยู่บน GL thread)
+        this.shaderVariants = new VariantRegistry<>(shaderCompiler::compile); // variant ถูก compile โดยไม่หยุดเฟรม
         Log.d(TAG, "SampleRender created. AssetManager stored."); // log ว่าสร้าง SampleRender แล้ว
 
         // **** ลบ/คอมเมนต์ ส่วนที่ตั้งค่า GLSurfaceView ซ้ำซ้อนออกทั้งหมด ****
@@ -113,13 +121,44 @@ public class SampleRender { // ประกาศคลาส SampleRender
         mesh.lowLevelDraw();       // Draw the mesh
     }
 
+    /**
+     * Draw one copy of a {@link Mesh} per model matrix in {@code instances} with a single draw call.
+     * Uses default framebuffer. The shader must be compiled with {@link Mesh#INSTANCING_DEFINE}.
+     */ // คำอธิบายเมธอด: วาด Mesh หลาย instance ด้วย draw call เดียว
+    public void drawInstanced(Mesh mesh, Shader shader, InstanceBuffer instances) { // เมธอดวาด mesh หลาย instance
+        drawInstanced(mesh, shader, instances, /*framebuffer=*/ null); // ใช้ framebuffer หลัก
+    }
+
+    /** Like {@link #drawInstanced(Mesh, Shader, InstanceBuffer)}, to the given {@link Framebuffer}. */ // วาดหลาย instance ไปยัง framebuffer ที่กำหนด
+    public void drawInstanced(Mesh mesh, Shader shader, InstanceBuffer instances, Framebuffer framebuffer) { // เมธอดวาด mesh หลาย instance ไปยัง framebuffer
+        useFramebuffer(framebuffer); // bind framebuffer
+        shader.lowLevelUse(); // ใช้ shader
+        mesh.lowLevelDrawInstanced(instances); // วาดทุก instance
+    }
+
+    /**
+     * Draw the merged index ranges of {@code batch} from a {@link GeometryArena}, one draw call per
+     * range. Uses default framebuffer. The arena's vertices are in world space, so the shader's model
+     * matrix should be the identity.
+     */ // คำอธิบายเมธอด: วาดช่วง index ที่รวมแล้วจาก GeometryArena
+    public void draw(GeometryArena arena, StaticBatcher.Batch<?> batch, Shader shader) { // เมธอดวาด batch จาก arena
+        draw(arena, batch, shader, /*framebuffer=*/ null); // ใช้ framebuffer หลัก
+    }
+
+    /** Like {@link #draw(GeometryArena, StaticBatcher.Batch, Shader)}, to the given {@link Framebuffer}. */ // วาด batch จาก arena ไปยัง framebuffer ที่กำหนด
+    public void draw(GeometryArena arena, StaticBatcher.Batch<?> batch, Shader shader, Framebuffer framebuffer) { // เมธอดวาด batch จาก arena ไปยัง framebuffer
+        useFramebuffer(framebuffer); // bind framebuffer
+        shader.lowLevelUse(); // ใช้ shader
+        arena.lowLevelDraw(batch); // วาดทุกช่วงของ batch
+    }
+
     /** Clear the given framebuffer. */ // คำอธิบายเมธอด: ล้าง framebuffer ที่กำหนด
     public void clear(Framebuffer framebuffer, float r, float g, float b, float a) { // เมธอดล้าง framebuffer
         // This method likely still works
         useFramebuffer(framebuffer); // bind framebuffer
         GLES30.glClearColor(r, g, b, a); // ตั้งค่าสีที่ใช้ล้าง
         GLError.maybeThrowGLException("Failed to set clear color", "glClearColor"); // เช็ค error
-        GLES30.glDepthMask(true); // Ensure depth writing is enabled for clear
+        GlState.depthMask(true); // Ensure depth writing is enabled for clear
         GLError.maybeThrowGLException("Failed to set depth write mask", "glDepthMask"); // เช็ค error
         GLES30.glClear(GLES30.GL_COLOR_BUFFER_BIT | GLES30.GL_DEPTH_BUFFER_BIT); // ล้างทั้งสีและ depth
         GLError.maybeThrowGLException("Failed to clear framebuffer", "glClear"); // เช็ค error
@@ -135,6 +174,24 @@ public class SampleRender { // ประกาศคลาส SampleRender
         public void onDrawFrame(SampleRender render); // callback เมื่อวาด frame
     }
 
+    /** Makes every {@link Shader} created from now on go through {@code cache}; null compiles every program. */
+    public void setProgramBinaryCache(ProgramBinaryCache cache) { // เมธอดตั้ง cache ของ program binary
+        programBinaryCache = cache;
+    }
+
+    public ProgramBinaryCache getProgramBinaryCache() { return programBinaryCache; } // คืนค่า cache ของ program binary
+
+    /**
+     * Shader variants shared by the renderers of this context. Renderers that switch between
+     * variants get them here instead of compiling, and never close them; they live as long as the
+     * context. Variants are compiled by {@link #getShaderCompiler}, so a new one may still be
+     * pending.
+     */
+    public VariantRegistry<PendingShader> getShaderVariants() { return shaderVariants; } // คืนค่า registry ของ shader variant
+
+    /** Compiles shaders off the frame; call its {@link AsyncShaderCompiler#poll} once per frame. */
+    public AsyncShaderCompiler getShaderCompiler() { return shaderCompiler; } // คืนค่าตัว compile shader
+
     /** Provides access to the AssetManager passed during construction. */ // คำอธิบายเมธอด: คืนค่า AssetManager
     /* package-private */ // Keep package-private or make public if needed elsewhere
     public AssetManager getAssets() { // Made public for easier access from renderers
@@ -142,7 +199,7 @@ public class SampleRender { // ประกาศคลาส SampleRender
     }
 
     /** Binds the specified framebuffer and sets the viewport. */ // คำอธิบายเมธอด: bind framebuffer และตั้งค่า viewport
-    private void useFramebuffer(Framebuffer framebuffer) { // เมธอด bind framebuffer
+    /* package-private */ void useFramebuffer(Framebuffer framebuffer) { // เมธอด bind framebuffer
         int framebufferId; // ตัวแปรเก็บ id ของ framebuffer
         int viewportWidth; // ตัวแปรเก็บความกว้าง viewport
         int viewportHeight; // ตัวแปรเก็บความสูง viewport
@@ -156,7 +213,7 @@ public class SampleRender { // ประกาศคลาส SampleRender
             viewportWidth = framebuffer.getWidth(); // ดึงความกว้าง
             viewportHeight = framebuffer.getHeight(); // ดึงความสูง
         }
-        GLES30.glBindFramebuffer(GLES30.GL_FRAMEBUFFER, framebufferId); // bind framebuffer
+        GlState.bindFramebuffer(framebufferId); // bind framebuffer
         GLError.maybeThrowGLException("Failed to bind framebuffer", "glBindFramebuffer"); // เช็ค error
         GLES30.glViewport(0, 0, viewportWidth, viewportHeight); // ตั้งค่า viewport
         GLError.maybeThrowGLException("Failed to set viewport dimensions", "glViewport"); // เช็ค error
@@ -176,4 +233,7 @@ public class SampleRender { // ประกาศคลาส SampleRender
           this.viewportHeight = height; // กำหนดความสูงใหม่
           Log.d(TAG, "Viewport updated in SampleRender: " + width + "x" + height); // log ขนาดใหม่
      }
+
+     public int getViewportWidth() { return viewportWidth; } // คืนค่าความกว้าง viewport
+     public int getViewportHeight() { return viewportHeight; } // คืนค่าความสูง viewport
 }
@@ -14,13 +14,21 @@ import java.io.Closeable; // import สำหรับปิด resource
 import java.io.IOException; // import สำหรับ exception
 import java.io.InputStream; // import สำหรับอ่านไฟล์
 import java.io.InputStreamReader; // import สำหรับอ่านไฟล์
-import java.util.ArrayList; // import สำหรับ list
+import com.example.project_furnitureapp.samplerender.gl.CameraBlock; // import สำหรับ block ข้อมูลกล้อง
+import com.example.project_furnitureapp.samplerender.gl.UniformStore; // import สำหรับเก็บค่า uniform
+import java.util.Arrays; // import สำหรับขยาย array
 import java.util.HashMap; // import สำหรับ map
 import java.util.Map; // import สำหรับ map
 import java.util.regex.Matcher; // import สำหรับ regex
 
 /**
  * Represents a GPU shader, the state of its associated uniforms, and some additional draw state.
+ *
+ * <p>Every shader is compiled with the {@link CameraBlock} declaration after its defines, and the
+ * block is bound to {@link CameraBlock#BINDING}, so any shader can read the per-frame camera data
+ * that {@link CameraUniforms} uploads. When the {@link SampleRender} has a {@link
+ * ProgramBinaryCache}, a program linked before on this device is loaded from its binary instead of
+ * being compiled.
  */ // คำอธิบายคลาส: แทน shader ที่รันบน GPU พร้อมสถานะของ uniforms และ draw state
 public class Shader implements Closeable { // ประกาศคลาส Shader และ implement Closeable
     private static final String TAG = Shader.class.getSimpleName(); // ตัวแปร TAG สำหรับ log
@@ -39,12 +47,14 @@ public class Shader implements Closeable { // ประกาศคลาส Sha
     }
 
     private int programId = 0; // id ของ shader program
-    private final Map<Integer, Uniform> uniforms = new HashMap<>(); // map สำหรับ uniforms
-    private int maxTextureUnit = 0; // ตัวนับ texture unit
+    private final UniformStore uniformStore = new UniformStore(); // ค่าของ uniform พร้อม dirty bit
+    private final Map<String, UniformStore.Handle> handlesByName = new HashMap<>(); // handle ตามชื่อ สำหรับ setter ที่รับชื่อ
+    private final UniformStore.Uploader uploader = this::uploadUniform; // สร้างครั้งเดียว ไม่ต้องจองทุกเฟรม
+    private Texture[] textureUnits = new Texture[4]; // texture ของแต่ละ unit
+    private int textureUnitCount = 0; // ตัวนับ texture unit
 
     // Cache for uniform/attribute locations
     private final Map<String, Integer> uniformLocations = new HashMap<>(); // cache สำหรับ uniform location
-    private final Map<Integer, String> uniformNames = new HashMap<>(); // cache สำหรับชื่อ uniform
     // **** เพิ่ม Cache สำหรับ Attribute Location ****
     private final Map<String, Integer> attributeLocations = new HashMap<>(); // cache สำหรับ attribute location
 
@@ -63,35 +73,51 @@ public class Shader implements Closeable { // ประกาศคลาส Sha
             String vertexShaderCode,
             String fragmentShaderCode,
             Map<String, String> defines) {
-        // ... (โค้ดสร้าง shader program เหมือนเดิม) ...
-        int vertexShaderId = 0; int fragmentShaderId = 0; // id ของ shader
-        String definesCode = createShaderDefinesCode(defines); // สร้าง define code
+        String vertexSource = finalSource(vertexShaderCode, defines); // source สุดท้ายของ vertex shader
+        String fragmentSource = finalSource(fragmentShaderCode, defines); // source สุดท้ายของ fragment shader
+        ProgramBinaryCache binaryCache = render.getProgramBinaryCache(); // cache ของ program binary (ถ้ามี)
+        long start = System.nanoTime(); // เวลาเริ่มสร้าง program
         try {
-            vertexShaderId = createShader(GLES30.GL_VERTEX_SHADER, insertShaderDefinesCode(vertexShaderCode, definesCode)); // สร้าง vertex shader
-            fragmentShaderId = createShader(GLES30.GL_FRAGMENT_SHADER, insertShaderDefinesCode(fragmentShaderCode, definesCode)); // สร้าง fragment shader
-            programId = GLES30.glCreateProgram(); GLError.maybeThrowGLException("Shader program creation failed", "glCreateProgram"); // สร้าง program
-            GLES30.glAttachShader(programId, vertexShaderId); GLError.maybeThrowGLException("Failed to attach vertex shader", "glAttachShader"); // attach vertex
-            GLES30.glAttachShader(programId, fragmentShaderId); GLError.maybeThrowGLException("Failed to attach fragment shader", "glAttachShader"); // attach fragment
-            GLES30.glLinkProgram(programId); GLError.maybeThrowGLException("Failed to link shader program", "glLinkProgram"); // link program
-            final int[] linkStatus = new int[1]; GLES30.glGetProgramiv(programId, GLES30.GL_LINK_STATUS, linkStatus, 0); // ตรวจสอบสถานะ
-            if (linkStatus[0] == GLES30.GL_FALSE) { String infoLog = GLES30.glGetProgramInfoLog(programId); GLError.maybeLogGLError(Log.WARN, TAG, "Failed shader info log", "glGetProgramInfoLog"); throw new GLException(0, "Shader link failed: " + infoLog); }
+            if (binaryCache != null) { programId = binaryCache.load(vertexSource, fragmentSource); } // ลองโหลดจาก binary ก่อน
+            if (programId == 0) { // ไม่มี binary: compile และ link
+                programId = linkProgram(vertexSource, fragmentSource, binaryCache != null);
+                if (binaryCache != null) { binaryCache.store(vertexSource, fragmentSource, programId); } // บันทึก binary สำหรับครั้งหน้า
+            }
+            bindCameraBlock(programId); // ทั้ง program ที่ link ใหม่และที่โหลดจาก binary
         } catch (Throwable t) { close(); throw t; } // ถ้า error ให้ปิด resource
         finally {
-            if (vertexShaderId != 0) { GLES30.glDeleteShader(vertexShaderId); GLError.maybeLogGLError(Log.WARN, TAG, "Failed free vertex shader", "glDeleteShader"); } // ลบ vertex shader
-            if (fragmentShaderId != 0) { GLES30.glDeleteShader(fragmentShaderId); GLError.maybeLogGLError(Log.WARN, TAG, "Failed free fragment shader", "glDeleteShader"); } // ลบ fragment shader
+            if (binaryCache != null) { binaryCache.addNanos(System.nanoTime() - start); } // เวลาสร้าง program (cold หรือ warm)
         }
     }
 
+    /**
+     * Wraps a program that {@link AsyncShaderCompiler} has already linked, from {@link #finalSource}
+     * sources, and binds its camera block. The shader owns the program from now on.
+     */
+    /* package-private */
+    Shader(int linkedProgramId) {
+        programId = linkedProgramId;
+        try {
+            bindCameraBlock(programId);
+        } catch (Throwable t) { close(); throw t; } // ถ้า error ให้ปิด resource
+    }
+
     /** createFromAssets (เหมือนเดิม) */
     public static Shader createFromAssets(
             SampleRender render, String vertexShaderFileName, String fragmentShaderFileName, Map<String, String> defines)
             throws IOException {
         AssetManager assets = render.getAssets(); // ดึง asset manager
-        return new Shader(render, inputStreamToString(assets.open(vertexShaderFileName)), inputStreamToString(assets.open(fragmentShaderFileName)), defines); // สร้าง Shader จากไฟล์
+        return new Shader(render, readSourceAsset(assets, vertexShaderFileName), readSourceAsset(assets, fragmentShaderFileName), defines); // สร้าง Shader จากไฟล์
+    }
+
+    /** Reads a shader source asset. Does not touch OpenGL, so {@link AssetLoader} calls it on a worker thread. */
+    /* package-private */
+    static String readSourceAsset(AssetManager assets, String fileName) throws IOException { // อ่าน source ของ shader จาก asset
+        try (InputStream stream = assets.open(fileName)) { return inputStreamToString(stream); } // ปิด stream เสมอ
     }
 
     @Override public void close() { /* ... เหมือนเดิม ... */
-        if (programId != 0) { GLES30.glDeleteProgram(programId); programId = 0; } // ลบ program
+        if (programId != 0) { GLES30.glDeleteProgram(programId); GlState.onProgramDeleted(programId); programId = 0; } // ลบ program
     }
 
     // --- Setters for draw state (เหมือนเดิม) ---
@@ -105,75 +131,102 @@ public class Shader implements Closeable { // ประกาศคลาส Sha
         this.sourceRgbBlend = sourceRgbBlend; this.destRgbBlend = destRgbBlend; this.sourceAlphaBlend = sourceAlphaBlend; this.destAlphaBlend = destAlphaBlend; return this;
     }
 
-    // --- Setters for uniforms (เหมือนเดิม) ---
-    public Shader setTexture(String name, Texture texture) { /* ... เหมือนเดิม ... */
-        int location = getUniformLocation(name); Uniform uniform = uniforms.get(location); int textureUnit;
-        if (!(uniform instanceof UniformTexture)) { textureUnit = maxTextureUnit++; } else { textureUnit = ((UniformTexture) uniform).getTextureUnit(); }
-        uniforms.put(location, new UniformTexture(textureUnit, texture)); return this;
-    }
-    public Shader setBool(String name, boolean v0) { int[] v={v0?1:0}; uniforms.put(getUniformLocation(name), new UniformInt(v)); return this; }
-    public Shader setInt(String name, int v0) { int[] v={v0}; uniforms.put(getUniformLocation(name), new UniformInt(v)); return this; }
-    public Shader setFloat(String name, float v0) { float[] v={v0}; uniforms.put(getUniformLocation(name), new Uniform1f(v)); return this; }
-    public Shader setVec2(String name, float[] v) { if(v.length!=2) throw new IAEx("len!=2"); uniforms.put(getUniformLocation(name), new Uniform2f(v.clone())); return this; }
-    public Shader setVec3(String name, float[] v) { if(v.length!=3) throw new IAEx("len!=3"); uniforms.put(getUniformLocation(name), new Uniform3f(v.clone())); return this; }
-    public Shader setVec4(String name, float[] v) { if(v.length!=4) throw new IAEx("len!=4"); uniforms.put(getUniformLocation(name), new Uniform4f(v.clone())); return this; }
-    public Shader setMat2(String name, float[] v) { if(v.length!=4) throw new IAEx("len!=4"); uniforms.put(getUniformLocation(name), new UniformMatrix2f(v.clone())); return this; }
-    public Shader setMat3(String name, float[] v) { if(v.length!=9) throw new IAEx("len!=9"); uniforms.put(getUniformLocation(name), new UniformMatrix3f(v.clone())); return this; }
-    public Shader setMat4(String name, float[] v) { if(v.length!=16) throw new IAEx("len!=16"); uniforms.put(getUniformLocation(name), new UniformMatrix4f(v.clone())); return this; }
-    // Array setters... (เหมือนเดิม)
-    public Shader setBoolArray(String name, boolean[] v) { int[] iv=new int[v.length]; for(int i=0;i<v.length;++i)iv[i]=v[i]?1:0; uniforms.put(getUniformLocation(name), new UniformInt(iv)); return this; }
-    public Shader setIntArray(String name, int[] v) { uniforms.put(getUniformLocation(name), new UniformInt(v.clone())); return this; }
-    public Shader setFloatArray(String name, float[] v) { uniforms.put(getUniformLocation(name), new Uniform1f(v.clone())); return this; }
-    public Shader setVec2Array(String name, float[] v) { if(v.length%2!=0) throw new IAEx("len%2!=0"); uniforms.put(getUniformLocation(name), new Uniform2f(v.clone())); return this; }
-    public Shader setVec3Array(String name, float[] v) { if(v.length%3!=0) throw new IAEx("len%3!=0"); uniforms.put(getUniformLocation(name), new Uniform3f(v.clone())); return this; }
-    public Shader setVec4Array(String name, float[] v) { if(v.length%4!=0) throw new IAEx("len%4!=0"); uniforms.put(getUniformLocation(name), new Uniform4f(v.clone())); return this; }
-    public Shader setMat2Array(String name, float[] v) { if(v.length%4!=0) throw new IAEx("len%4!=0"); uniforms.put(getUniformLocation(name), new UniformMatrix2f(v.clone())); return this; }
-    public Shader setMat3Array(String name, float[] v) { if(v.length%9!=0) throw new IAEx("len%9!=0"); uniforms.put(getUniformLocation(name), new UniformMatrix3f(v.clone())); return this; }
-    public Shader setMat4Array(String name, float[] v) { if(v.length%16!=0) throw new IAEx("len%16!=0"); uniforms.put(getUniformLocation(name), new UniformMatrix4f(v.clone())); return this; }
-
-    /** lowLevelUse (เหมือนเดิม) */
+    // --- Uniforms ---
+
+    /**
+     * Resolves a uniform once into a handle for the typed setters below, which neither look up a
+     * name nor allocate. {@code count} is the array length, 1 for a plain uniform. A sampler
+     * handle is given its own texture unit.
+     */
+    public UniformStore.Handle getUniform(String name, UniformStore.Type type, int count) { // เมธอดหา handle ของ uniform
+        UniformStore.Handle handle = handlesByName.get(name);
+        if (handle != null && handle.getType() == type && handle.getCount() == count) {
+            return handle; // ใช้ handle เดิม
+        }
+        handle = uniformStore.add(name, getUniformLocation(name), type, count); // จองที่เก็บค่า
+        if (type == UniformStore.Type.SAMPLER) {
+            if (textureUnitCount == textureUnits.length) {
+                textureUnits = Arrays.copyOf(textureUnits, textureUnits.length * 2);
+            }
+            uniformStore.setInt(handle, textureUnitCount++); // unit ของ sampler นี้
+        }
+        handlesByName.put(name, handle);
+        return handle;
+    }
+
+    public UniformStore.Handle getUniform(String name, UniformStore.Type type) { return getUniform(name, type, 1); } // uniform ที่ไม่ใช่ array
+
+    public Shader setTexture(UniformStore.Handle handle, Texture texture) { // ตั้งค่า texture ของ sampler
+        if (handle.getType() != UniformStore.Type.SAMPLER) throw new IAEx("Uniform " + handle.getName() + " is not a sampler");
+        textureUnits[uniformStore.getInt(handle)] = texture; return this;
+    }
+    public Shader setInt(UniformStore.Handle handle, int v) { uniformStore.setInt(handle, v); return this; } // ตั้งค่า int
+    public Shader setFloat(UniformStore.Handle handle, float v) { uniformStore.setFloat(handle, v); return this; } // ตั้งค่า float
+    /** Sets a vector, matrix or array uniform; {@code v} must hold exactly all of its floats. */
+    public Shader setFloats(UniformStore.Handle handle, float[] v) { uniformStore.setFloats(handle, v); return this; } // ตั้งค่า float หลายค่า
+    public Shader setInts(UniformStore.Handle handle, int[] v) { uniformStore.setInts(handle, v); return this; } // ตั้งค่า int หลายค่า
+
+    // Name-based setters: one hash lookup per call, then as above.
+    public Shader setTexture(String name, Texture texture) { return setTexture(getUniform(name, UniformStore.Type.SAMPLER), texture); }
+    public Shader setBool(String name, boolean v0) { return setInt(getUniform(name, UniformStore.Type.INT), v0 ? 1 : 0); }
+    public Shader setInt(String name, int v0) { return setInt(getUniform(name, UniformStore.Type.INT), v0); }
+    public Shader setFloat(String name, float v0) { return setFloat(getUniform(name, UniformStore.Type.FLOAT), v0); }
+    public Shader setVec2(String name, float[] v) { if(v.length!=2) throw new IAEx("len!=2"); return setFloats(getUniform(name, UniformStore.Type.VEC2), v); }
+    public Shader setVec3(String name, float[] v) { if(v.length!=3) throw new IAEx("len!=3"); return setFloats(getUniform(name, UniformStore.Type.VEC3), v); }
+    public Shader setVec4(String name, float[] v) { if(v.length!=4) throw new IAEx("len!=4"); return setFloats(getUniform(name, UniformStore.Type.VEC4), v); }
+    public Shader setMat2(String name, float[] v) { if(v.length!=4) throw new IAEx("len!=4"); return setFloats(getUniform(name, UniformStore.Type.MAT2), v); }
+    public Shader setMat3(String name, float[] v) { if(v.length!=9) throw new IAEx("len!=9"); return setFloats(getUniform(name, UniformStore.Type.MAT3), v); }
+    public Shader setMat4(String name, float[] v) { if(v.length!=16) throw new IAEx("len!=16"); return setFloats(getUniform(name, UniformStore.Type.MAT4), v); }
+    public Shader setBoolArray(String name, boolean[] v) { int[] iv=new int[v.length]; for(int i=0;i<v.length;++i)iv[i]=v[i]?1:0; return setIntArray(name, iv); }
+    public Shader setIntArray(String name, int[] v) { return setInts(getUniform(name, UniformStore.Type.INT, v.length), v); }
+    public Shader setFloatArray(String name, float[] v) { return setFloats(getUniform(name, UniformStore.Type.FLOAT, v.length), v); }
+    public Shader setVec2Array(String name, float[] v) { if(v.length%2!=0) throw new IAEx("len%2!=0"); return setFloats(getUniform(name, UniformStore.Type.VEC2, v.length/2), v); }
+    public Shader setVec3Array(String name, float[] v) { if(v.length%3!=0) throw new IAEx("len%3!=0"); return setFloats(getUniform(name, UniformStore.Type.VEC3, v.length/3), v); }
+    public Shader setVec4Array(String name, float[] v) { if(v.length%4!=0) throw new IAEx("len%4!=0"); return setFloats(getUniform(name, UniformStore.Type.VEC4, v.length/4), v); }
+    public Shader setMat2Array(String name, float[] v) { if(v.length%4!=0) throw new IAEx("len%4!=0"); return setFloats(getUniform(name, UniformStore.Type.MAT2, v.length/4), v); }
+    public Shader setMat3Array(String name, float[] v) { if(v.length%9!=0) throw new IAEx("len%9!=0"); return setFloats(getUniform(name, UniformStore.Type.MAT3, v.length/9), v); }
+    public Shader setMat4Array(String name, float[] v) { if(v.length%16!=0) throw new IAEx("len%16!=0"); return setFloats(getUniform(name, UniformStore.Type.MAT4, v.length/16), v); }
+
+    /**
+     * Makes this the current program and applies its draw state, its textures and the uniforms
+     * that changed since the last call; unchanged GL state is skipped by {@link GlState}.
+     */
     public void lowLevelUse() {
         if (programId == 0) throw new IllegalStateException("Freed shader"); // ถ้า shader ถูกลบแล้ว
-        GLES30.glUseProgram(programId); GLError.maybeThrowGLException("Failed use program", "glUseProgram"); // ใช้งาน program
-        GLES30.glBlendFuncSeparate(sourceRgbBlend.glesEnum, destRgbBlend.glesEnum, sourceAlphaBlend.glesEnum, destAlphaBlend.glesEnum); GLError.maybeThrowGLException("Failed set blend", "glBlendFuncSeparate"); // ตั้งค่า blend
-        GLES30.glDepthMask(depthWrite); GLError.maybeThrowGLException("Failed set depth mask", "glDepthMask"); // ตั้งค่า depth mask
-        if (depthTest) { GLES30.glEnable(GLES30.GL_DEPTH_TEST); GLError.maybeThrowGLException("Failed enable depth test", "glEnable"); }
-        else { GLES30.glDisable(GLES30.GL_DEPTH_TEST); GLError.maybeThrowGLException("Failed disable depth test", "glDisable"); }
-        if (cullFace) { GLES30.glEnable(GLES30.GL_CULL_FACE); GLError.maybeThrowGLException("Failed enable cull face", "glEnable"); }
-        else { GLES30.glDisable(GLES30.GL_CULL_FACE); GLError.maybeThrowGLException("Failed disable cull face", "glDisable"); }
+        GlState.useProgram(programId); GLError.maybeThrowGLException("Failed use program", "glUseProgram"); // ใช้งาน program
+        GlState.blendFuncSeparate(sourceRgbBlend.glesEnum, destRgbBlend.glesEnum, sourceAlphaBlend.glesEnum, destAlphaBlend.glesEnum); GLError.maybeThrowGLException("Failed set blend", "glBlendFuncSeparate"); // ตั้งค่า blend
+        GlState.depthMask(depthWrite); GLError.maybeThrowGLException("Failed set depth mask", "glDepthMask"); // ตั้งค่า depth mask
+        GlState.setEnabled(GLES30.GL_DEPTH_TEST, depthTest); GLError.maybeThrowGLException("Failed set depth test", "glEnable/glDisable"); // เปิด/ปิด depth test
+        GlState.setEnabled(GLES30.GL_CULL_FACE, cullFace); GLError.maybeThrowGLException("Failed set cull face", "glEnable/glDisable"); // เปิด/ปิด cull face
         try {
-            ArrayList<Integer> obsoleteEntries = new ArrayList<>(uniforms.size()); // รายการ uniform ที่จะลบ
-            for (Map.Entry<Integer, Uniform> entry : uniforms.entrySet()) {
-                try { entry.getValue().use(entry.getKey()); if (!(entry.getValue() instanceof UniformTexture)) obsoleteEntries.add(entry.getKey()); }
-                catch (GLException e) { String name = uniformNames.get(entry.getKey()); throw new IllegalArgumentException("Error setting uniform `" + name + "'", e); }
+            for (int unit = 0; unit < textureUnitCount; ++unit) { // texture ถูก bind ทุกครั้ง (GlState ข้ามถ้า bind อยู่แล้ว)
+                Texture texture = textureUnits[unit];
+                if (texture == null) continue; // sampler ที่ยังไม่ได้ตั้ง texture
+                if (texture.getTextureId() == 0) throw new IllegalStateException("Freed texture"); // ถ้า texture ถูกลบแล้ว
+                int targetEnum = (texture.getTarget() == Texture.Target.TEXTURE_EXTERNAL_OES) ? GLES11Ext.GL_TEXTURE_EXTERNAL_OES : texture.getTarget().glesEnum; // เลือก target
+                GlState.activeTexture(unit); GLError.maybeThrowGLException("Failed set active texture", "glActiveTexture"); // เลือก texture unit
+                GlState.bindTexture(targetEnum, texture.getTextureId()); GLError.maybeThrowGLException("Failed bind texture", "glBindTexture"); // bind texture
             }
-            uniforms.keySet().removeAll(obsoleteEntries); // ลบ uniform ที่ไม่ใช่ texture
-        } finally { GLES30.glActiveTexture(GLES30.GL_TEXTURE0); GLError.maybeLogGLError(Log.WARN, TAG, "Failed set active texture", "glActiveTexture"); }
-    }
-
-    // --- Uniform Inner Classes (เหมือนเดิม) ---
-    private static interface Uniform { void use(int location); } // interface สำหรับ uniform
-    private static class UniformTexture implements Uniform { // class สำหรับ texture uniform
-        private final int textureUnit; private final Texture texture; // texture unit และ texture
-        public UniformTexture(int u, Texture t) {this.textureUnit=u; this.texture=t;} // constructor
-        public int getTextureUnit() {return textureUnit;} // getter
-        @Override public void use(int loc) {
-            if(texture.getTextureId()==0) throw new IllegalStateException("Freed texture"); // ถ้า texture ถูกลบแล้ว
-            GLES30.glActiveTexture(GLES30.GL_TEXTURE0+textureUnit); GLError.maybeThrowGLException("Failed set active texture", "glActiveTexture"); // เลือก texture unit
-            // **** แก้ไข: ใช้ค่าคงที่ GLES11Ext แทน .glesEnum ****
-            int targetEnum = (texture.getTarget() == Texture.Target.TEXTURE_EXTERNAL_OES) ? GLES11Ext.GL_TEXTURE_EXTERNAL_OES : texture.getTarget().glesEnum; // เลือก target
-            GLES30.glBindTexture(targetEnum, texture.getTextureId()); GLError.maybeThrowGLException("Failed bind texture", "glBindTexture"); // bind texture
-            GLES30.glUniform1i(loc, textureUnit); GLError.maybeThrowGLException("Failed set uniform1i", "glUniform1i"); // set uniform
-        }
+            uniformStore.flush(uploader); // upload เฉพาะ uniform ที่เปลี่ยน
+        } finally { GlState.activeTexture(0); GLError.maybeLogGLError(Log.WARN, TAG, "Failed set active texture", "glActiveTexture"); }
+    }
+
+    /** Uploads one dirty uniform from the store; the program is current. */
+    private void uploadUniform(UniformStore.Handle handle, float[] f, int[] i, int offset) { // เมธอด upload uniform
+        int l = handle.getLocation(), n = handle.getCount();
+        try {
+            switch (handle.getType()) {
+                case INT: case SAMPLER: GLES30.glUniform1iv(l, n, i, offset); GLError.maybeThrowGLException("Failed set uniform1iv", "glUniform1iv"); break;
+                case FLOAT: GLES30.glUniform1fv(l, n, f, offset); GLError.maybeThrowGLException("Failed set uniform1fv", "glUniform1fv"); break;
+                case VEC2: GLES30.glUniform2fv(l, n, f, offset); GLError.maybeThrowGLException("Failed set uniform2fv", "glUniform2fv"); break;
+                case VEC3: GLES30.glUniform3fv(l, n, f, offset); GLError.maybeThrowGLException("Failed set uniform3fv", "glUniform3fv"); break;
+                case VEC4: GLES30.glUniform4fv(l, n, f, offset); GLError.maybeThrowGLException("Failed set uniform4fv", "glUniform4fv"); break;
+                case MAT2: GLES30.glUniformMatrix2fv(l, n, false, f, offset); GLError.maybeThrowGLException("Failed set uniformMatrix2fv", "glUniformMatrix2fv"); break;
+                case MAT3: GLES30.glUniformMatrix3fv(l, n, false, f, offset); GLError.maybeThrowGLException("Failed set uniformMatrix3fv", "glUniformMatrix3fv"); break;
+                case MAT4: GLES30.glUniformMatrix4fv(l, n, false, f, offset); GLError.maybeThrowGLException("Failed set uniformMatrix4fv", "glUniformMatrix4fv"); break;
+            }
+        } catch (GLException e) { throw new IllegalArgumentException("Error setting uniform `" + handle.getName() + "'", e); }
     }
-    private static class UniformInt implements Uniform { final int[] v; public UniformInt(int[]v){this.v=v;} @Override public void use(int l){GLES30.glUniform1iv(l,v.length,v,0);GLError.maybeThrowGLException("Failed set uniform1iv","glUniform1iv");}}
-    private static class Uniform1f implements Uniform { final float[] v; public Uniform1f(float[]v){this.v=v;} @Override public void use(int l){GLES30.glUniform1fv(l,v.length,v,0);GLError.maybeThrowGLException("Failed set uniform1fv","glUniform1fv");}}
-    private static class Uniform2f implements Uniform { final float[] v; public Uniform2f(float[]v){this.v=v;} @Override public void use(int l){GLES30.glUniform2fv(l,v.length/2,v,0);GLError.maybeThrowGLException("Failed set uniform2fv","glUniform2fv");}}
-    private static class Uniform3f implements Uniform { final float[] v; public Uniform3f(float[]v){this.v=v;} @Override public void use(int l){GLES30.glUniform3fv(l,v.length/3,v,0);GLError.maybeThrowGLException("Failed set uniform3fv","glUniform3fv");}}
-    private static class Uniform4f implements Uniform { final float[] v; public Uniform4f(float[]v){this.v=v;} @Override public void use(int l){GLES30.glUniform4fv(l,v.length/4,v,0);GLError.maybeThrowGLException("Failed set uniform4fv","glUniform4fv");}}
-    private static class UniformMatrix2f implements Uniform { final float[] v; public UniformMatrix2f(float[]v){this.v=v;} @Override public void use(int l){GLES30.glUniformMatrix2fv(l,v.length/4,false,v,0);GLError.maybeThrowGLException("Failed set uniformMatrix2fv","glUniformMatrix2fv");}}
-    private static class UniformMatrix3f implements Uniform { final float[] v; public UniformMatrix3f(float[]v){this.v=v;} @Override public void use(int l){GLES30.glUniformMatrix3fv(l,v.length/9,false,v,0);GLError.maybeThrowGLException("Failed set uniformMatrix3fv","glUniformMatrix3fv");}}
-    private static class UniformMatrix4f implements Uniform { final float[] v; public UniformMatrix4f(float[]v){this.v=v;} @Override public void use(int l){GLES30.glUniformMatrix4fv(l,v.length/16,false,v,0);GLError.maybeThrowGLException("Failed set uniformMatrix4fv","glUniformMatrix4fv");}}
 
     /**
      * Returns the location of a uniform variable. Caches results.
@@ -192,9 +245,6 @@ public class Shader implements Closeable { // ประกาศคลาส Sha
         //     Log.w(TAG, "Shader uniform not found: " + name); // Log warning instead of throwing
         // }
         uniformLocations.put(name, Integer.valueOf(location)); // cache ค่า
-        if (location != -1) { // Only cache name if found
-             uniformNames.put(Integer.valueOf(location), name);
-        }
         return location;
     }
 
@@ -218,15 +268,87 @@ public class Shader implements Closeable { // ประกาศคลาส Sha
         return location;
     }
 
-    // --- Private static helper methods (เหมือนเดิม) ---
-    private static int createShader(int type, String code) { /* ... */
+    // --- Program creation, shared with AsyncShaderCompiler ---
+
+    /** Returns the source that is compiled for {@code code}: its defines and the camera block after {@code #version}. */
+    /* package-private */
+    static String finalSource(String code, Map<String, String> defines) { // source สุดท้ายที่ส่งให้ driver
+        return insertShaderDefinesCode(code, createShaderDefinesCode(defines) + CameraBlock.GLSL); // define และ block ข้อมูลกล้องที่ทุก shader อ่านได้
+    }
+
+    /**
+     * Compiles and links a program from final sources, blocking until the driver is done, and
+     * returns it; throws {@link GLException} with the info log if either step fails. Only needs a
+     * current context, so the compile thread of {@link AsyncShaderCompiler} calls it too.
+     */
+    /* package-private */
+    static int linkProgram(String vertexSource, String fragmentSource, boolean retrievable) { // เมธอด compile และ link program
+        int vertexShaderId = 0; int fragmentShaderId = 0; int programId = 0; // id ของ shader และ program
+        try {
+            vertexShaderId = createShader(GLES30.GL_VERTEX_SHADER, vertexSource); // สร้าง vertex shader
+            checkCompileStatus(vertexShaderId);
+            fragmentShaderId = createShader(GLES30.GL_FRAGMENT_SHADER, fragmentSource); // สร้าง fragment shader
+            checkCompileStatus(fragmentShaderId);
+            programId = createProgram(vertexShaderId, fragmentShaderId, retrievable); // สร้างและ link program
+            checkLinkStatus(programId);
+            int linked = programId; programId = 0; // ไม่ต้องลบใน finally
+            return linked;
+        } finally {
+            if (programId != 0) { GLES30.glDeleteProgram(programId); GLError.maybeLogGLError(Log.WARN, TAG, "Failed free program", "glDeleteProgram"); } // ลบ program ที่ link ไม่ผ่าน
+            deleteShader(vertexShaderId); deleteShader(fragmentShaderId); // shader ที่ attach อยู่จะถูกลบพร้อม program
+        }
+    }
+
+    /** Creates a shader and starts compiling it, without waiting for the result. */
+    /* package-private */
+    static int createShader(int type, String code) { // เมธอดสร้าง shader
         int shaderId = GLES30.glCreateShader(type); GLError.maybeThrowGLException("Shader creation failed", "glCreateShader");
         GLES30.glShaderSource(shaderId, code); GLError.maybeThrowGLException("Shader source failed", "glShaderSource");
         GLES30.glCompileShader(shaderId); GLError.maybeThrowGLException("Shader compilation failed", "glCompileShader");
-        final int[] compileStatus = new int[1]; GLES30.glGetShaderiv(shaderId, GLES30.GL_COMPILE_STATUS, compileStatus, 0);
-        if (compileStatus[0] == GLES30.GL_FALSE) { String infoLog = GLES30.glGetShaderInfoLog(shaderId); GLError.maybeLogGLError(Log.WARN, TAG, "Failed shader info log", "glGetShaderInfoLog"); GLES30.glDeleteShader(shaderId); GLError.maybeLogGLError(Log.WARN, TAG, "Failed free shader", "glDeleteShader"); throw new GLException(0, "Shader compilation failed: " + infoLog); }
         return shaderId;
     }
+
+    /** Creates a program from two shaders and starts linking it, without waiting for the result. */
+    /* package-private */
+    static int createProgram(int vertexShaderId, int fragmentShaderId, boolean retrievable) { // เมธอดสร้าง program
+        int programId = GLES30.glCreateProgram(); GLError.maybeThrowGLException("Shader program creation failed", "glCreateProgram"); // สร้าง program
+        try {
+            GLES30.glAttachShader(programId, vertexShaderId); GLError.maybeThrowGLException("Failed to attach vertex shader", "glAttachShader"); // attach vertex
+            GLES30.glAttachShader(programId, fragmentShaderId); GLError.maybeThrowGLException("Failed to attach fragment shader", "glAttachShader"); // attach fragment
+            if (retrievable) { GLES30.glProgramParameteri(programId, GLES30.GL_PROGRAM_BINARY_RETRIEVABLE_HINT, GLES30.GL_TRUE); GLError.maybeThrowGLException("Failed to request program binary", "glProgramParameteri"); } // ขอให้เก็บ binary ได้
+            GLES30.glLinkProgram(programId); GLError.maybeThrowGLException("Failed to link shader program", "glLinkProgram"); // link program
+            return programId;
+        } catch (Throwable t) { GLES30.glDeleteProgram(programId); GLError.maybeLogGLError(Log.WARN, TAG, "Failed free program", "glDeleteProgram"); throw t; }
+    }
+
+    /** Throws with the info log if the shader did not compile; waits for the compiler if it is still running. */
+    /* package-private */
+    static void checkCompileStatus(int shaderId) { // เมธอดตรวจผลการ compile
+        final int[] compileStatus = new int[1]; GLES30.glGetShaderiv(shaderId, GLES30.GL_COMPILE_STATUS, compileStatus, 0);
+        if (compileStatus[0] == GLES30.GL_FALSE) { String infoLog = GLES30.glGetShaderInfoLog(shaderId); GLError.maybeLogGLError(Log.WARN, TAG, "Failed shader info log", "glGetShaderInfoLog"); throw new GLException(0, "Shader compilation failed: " + infoLog); }
+    }
+
+    /** Throws with the info log if the program did not link; waits for the linker if it is still running. */
+    /* package-private */
+    static void checkLinkStatus(int programId) { // เมธอดตรวจผลการ link
+        final int[] linkStatus = new int[1]; GLES30.glGetProgramiv(programId, GLES30.GL_LINK_STATUS, linkStatus, 0); // ตรวจสอบสถานะ
+        if (linkStatus[0] == GLES30.GL_FALSE) { String infoLog = GLES30.glGetProgramInfoLog(programId); GLError.maybeLogGLError(Log.WARN, TAG, "Failed shader info log", "glGetProgramInfoLog"); throw new GLException(0, "Shader link failed: " + infoLog); }
+    }
+
+    /** Deletes a shader object, if any; one still attached to a program goes with the program. */
+    /* package-private */
+    static void deleteShader(int shaderId) { // เมธอดลบ shader
+        if (shaderId != 0) { GLES30.glDeleteShader(shaderId); GLError.maybeLogGLError(Log.WARN, TAG, "Failed free shader", "glDeleteShader"); }
+    }
+
+    // GLSL ES 3.00 has no layout(binding): attach the camera block to its binding point here.
+    // A program loaded from a binary starts with default block bindings, so this runs for both.
+    private static void bindCameraBlock(int programId) { // เมธอดผูก block ข้อมูลกล้อง
+        int cameraBlock = GLES30.glGetUniformBlockIndex(programId, CameraBlock.NAME); // index ของ block (ไม่มีถ้า shader ไม่ได้ใช้)
+        if (cameraBlock != GLES30.GL_INVALID_INDEX) { GLES30.glUniformBlockBinding(programId, cameraBlock, CameraBlock.BINDING); GLError.maybeThrowGLException("Failed to bind camera uniform block", "glUniformBlockBinding"); } // ผูก block กับ binding point
+    }
+
+    // --- Private static helper methods (เหมือนเดิม) ---
     private static String createShaderDefinesCode(Map<String, String> defines) { /* ... */
         if (defines == null) return ""; StringBuilder b = new StringBuilder();
         for (Map.Entry<String, String> e : defines.entrySet()) { b.append("#define " + e.getKey() + " " + e.getValue() + "\n"); } return b.toString();
@@ -15,6 +15,7 @@
  */
 package com.example.project_furnitureapp.samplerender; // ประกาศ package ของไฟล์นี้
 
+import android.content.res.AssetManager; // import AssetManager สำหรับเปิดไฟล์ asset
 import android.graphics.Bitmap; // import Bitmap สำหรับจัดการรูปภาพ
 import android.graphics.BitmapFactory; // import BitmapFactory สำหรับ decode รูปภาพ
 import android.opengl.GLES11Ext; // import GLES11Ext สำหรับใช้งาน OpenGL extension
@@ -22,6 +23,7 @@ import android.opengl.GLES30; // import GLES30 สำหรับใช้งา
 import android.util.Log; // import Log สำหรับเขียน log
 import java.io.Closeable; // import Closeable สำหรับปิด resource
 import java.io.IOException; // import IOException สำหรับจัดการ exception
+import java.io.InputStream; // import InputStream สำหรับอ่านไฟล์
 import java.nio.ByteBuffer; // import ByteBuffer สำหรับเก็บข้อมูล byte
 
 /** A GPU-side texture. */ // คำอธิบายคลาส: texture ที่อยู่บน GPU
@@ -30,6 +32,7 @@ public class Texture implements Closeable { // ประกาศคลาส Te
 
   private final int[] textureId = {0}; // ตัวแปรเก็บ texture id ของ OpenGL
   private final Target target; // ตัวแปรเก็บประเภท target ของ texture
+  private long gpuByteCount; // หน่วยความจำ GPU ของข้อมูล texture (byte)
 
   /**
    * Describes the way the texture's edges are rendered.
@@ -105,7 +108,7 @@ public class Texture implements Closeable { // ประกาศคลาส Te
     int minFilter = useMipmaps ? GLES30.GL_LINEAR_MIPMAP_LINEAR : GLES30.GL_LINEAR; // เลือก filter ตามว่าใช้ mipmaps หรือไม่
 
     try {
-      GLES30.glBindTexture(target.glesEnum, textureId[0]); // bind texture
+      GlState.bindTexture(target.glesEnum, textureId[0]); // bind texture
       GLError.maybeThrowGLException("Failed to bind texture", "glBindTexture"); // เช็ค error
       GLES30.glTexParameteri(target.glesEnum, GLES30.GL_TEXTURE_MIN_FILTER, minFilter); // ตั้งค่า min filter
       GLError.maybeThrowGLException("Failed to set texture parameter", "glTexParameteri"); // เช็ค error
@@ -122,49 +125,88 @@ public class Texture implements Closeable { // ประกาศคลาส Te
     }
   }
 
+  /**
+   * Pixels of an image decoded on the CPU, ready for {@link #createFromPixels}. Decoding does not
+   * touch OpenGL, so it can run on a worker thread (see {@link AssetLoader}).
+   */
+  public static final class Pixels { // ข้อมูล pixel ที่ decode แล้ว (ฝั่ง CPU)
+    final int width; // ความกว้าง (pixel)
+    final int height; // ความสูง (pixel)
+    final ByteBuffer data; // ข้อมูล RGBA 8 bit ต่อ channel
+
+    private Pixels(int width, int height, ByteBuffer data) { // constructor
+      this.width = width; // กำหนดความกว้าง
+      this.height = height; // กำหนดความสูง
+      this.data = data; // กำหนดข้อมูล
+    }
+
+    /** Size of the pixel data in bytes. */
+    public int getByteCount() { // คืนค่าขนาดข้อมูล (byte)
+      return data.capacity(); // ขนาดของ buffer
+    }
+  }
+
   /** Create a texture from the given asset file name. */ // คำอธิบายเมธอด: สร้าง texture จาก asset
   public static Texture createFromAsset(
       SampleRender render, String assetFileName, WrapMode wrapMode, ColorFormat colorFormat)
       throws IOException { // เมธอด static สำหรับสร้าง texture จาก asset
-    Texture texture = new Texture(render, Target.TEXTURE_2D, wrapMode); // สร้าง texture ว่าง
-    Bitmap bitmap = null; // ตัวแปรเก็บ bitmap
+    return createFromPixels(render, decodeAsset(render.getAssets(), assetFileName), wrapMode, colorFormat); // decode แล้วส่งขึ้น GPU
+  }
+
+  /**
+   * Decodes an image asset into RGBA pixels. Safe to call from any thread.
+   *
+   * @throws IOException if the asset cannot be opened or is not a supported image
+   */
+  public static Pixels decodeAsset(AssetManager assets, String assetFileName) throws IOException { // เมธอด decode รูปภาพจาก asset
+    // The following lines up to glTexImage2D could technically be replaced with
+    // GLUtils.texImage2d, but this method does not allow for loading sRGB images.
+
+    // Load and convert the bitmap and copy its contents to a direct ByteBuffer. Despite its name,
+    // the ARGB_8888 config is actually stored in RGBA order.
+    Bitmap decoded; // bitmap ที่ decode ได้
+    try (InputStream inputStream = assets.open(assetFileName)) { // เปิดไฟล์ asset
+      decoded = BitmapFactory.decodeStream(inputStream); // decode รูปภาพ
+    }
+    if (decoded == null) { // decode ไม่ได้
+      throw new IOException("Failed to decode image asset " + assetFileName); // ขว้าง exception
+    }
+    Bitmap bitmap = convertBitmapToConfig(decoded, Bitmap.Config.ARGB_8888); // แปลง bitmap เป็น ARGB_8888
     try {
-      // The following lines up to glTexImage2D could technically be replaced with
-      // GLUtils.texImage2d, but this method does not allow for loading sRGB images.
-
-      // Load and convert the bitmap and copy its contents to a direct ByteBuffer. Despite its name,
-      // the ARGB_8888 config is actually stored in RGBA order.
-      bitmap =
-          convertBitmapToConfig(
-              BitmapFactory.decodeStream(render.getAssets().open(assetFileName)),
-              Bitmap.Config.ARGB_8888); // โหลดและแปลง bitmap เป็น ARGB_8888
       ByteBuffer buffer = ByteBuffer.allocateDirect(bitmap.getByteCount()); // สร้าง buffer สำหรับเก็บข้อมูล bitmap
       bitmap.copyPixelsToBuffer(buffer); // คัดลอก pixel ลง buffer
       buffer.rewind(); // รีเซ็ต pointer ของ buffer
+      return new Pixels(bitmap.getWidth(), bitmap.getHeight(), buffer); // คืนค่า pixel
+    } finally {
+      bitmap.recycle(); // คืน memory ของ bitmap
+    }
+  }
 
-      GLES30.glBindTexture(GLES30.GL_TEXTURE_2D, texture.getTextureId()); // bind texture
+  /** Uploads decoded pixels into a new mipmapped 2D texture. Must be called on the GL thread. */
+  public static Texture createFromPixels(
+      SampleRender render, Pixels pixels, WrapMode wrapMode, ColorFormat colorFormat) { // เมธอด static สำหรับสร้าง texture จาก pixel
+    Texture texture = new Texture(render, Target.TEXTURE_2D, wrapMode); // สร้าง texture ว่าง
+    try {
+      GlState.bindTexture(GLES30.GL_TEXTURE_2D, texture.getTextureId()); // bind texture
       GLError.maybeThrowGLException("Failed to bind texture", "glBindTexture"); // เช็ค error
       GLES30.glTexImage2D(
           GLES30.GL_TEXTURE_2D,
           /*level=*/ 0,
           colorFormat.glesEnum,
-          bitmap.getWidth(),
-          bitmap.getHeight(),
+          pixels.width,
+          pixels.height,
           /*border=*/ 0,
           GLES30.GL_RGBA,
           GLES30.GL_UNSIGNED_BYTE,
-          buffer); // ส่งข้อมูล texture ไปยัง GPU
+          pixels.data); // ส่งข้อมูล texture ไปยัง GPU
       GLError.maybeThrowGLException("Failed to populate texture data", "glTexImage2D"); // เช็ค error
       GLES30.glGenerateMipmap(GLES30.GL_TEXTURE_2D); // สร้าง mipmaps
       GLError.maybeThrowGLException("Failed to generate mipmaps", "glGenerateMipmap"); // เช็ค error
     } catch (Throwable t) {
       texture.close(); // ถ้ามี error ให้ปิด resource
       throw t; // ขว้าง exception ต่อ
-    } finally {
-      if (bitmap != null) {
-        bitmap.recycle(); // คืน memory ของ bitmap
-      }
     }
+    texture.gpuByteCount = mipmappedByteCount(pixels.width, pixels.height); // ขนาดรวมทุกระดับ mipmap
     return texture; // คืนค่า texture ที่สร้าง
   }
 
@@ -172,11 +214,32 @@ public class Texture implements Closeable { // ประกาศคลาส Te
   public void close() { // เมธอดปิด resource
     if (textureId[0] != 0) { // ถ้ามี texture id
       GLES30.glDeleteTextures(1, textureId, 0); // ลบ texture ออกจาก GPU
+      GlState.onTexturesDeleted(textureId); // texture ถูก unbind จากทุก unit
       GLError.maybeLogGLError(Log.WARN, TAG, "Failed to free texture", "glDeleteTextures"); // log ถ้ามี error
       textureId[0] = 0; // เซ็ต id เป็น 0
     }
   }
 
+  /**
+   * Returns the GPU memory of the texture's data in bytes, including its mipmap chain, or 0 for
+   * textures whose data is not uploaded through this class (e.g. the camera texture).
+   */
+  public long getGpuByteCount() { // เมธอดคืนค่าหน่วยความจำ GPU ที่ใช้ (byte)
+    return textureId[0] == 0 ? 0 : gpuByteCount; // texture ที่ลบแล้วไม่ใช้หน่วยความจำ
+  }
+
+  private static long mipmappedByteCount(int width, int height) { // เมธอดคำนวณขนาดของทุกระดับ mipmap (RGBA8)
+    long bytes = 0; // ขนาดรวม
+    while (true) {
+      bytes += 4L * width * height; // 4 byte ต่อ pixel
+      if (width == 1 && height == 1) {
+        return bytes; // ระดับสุดท้าย
+      }
+      width = Math.max(1, width / 2); // ขนาดของระดับถัดไป
+      height = Math.max(1, height / 2);
+    }
+  }
+
   /** Retrieve the native texture ID. */ // คำอธิบายเมธอด: คืนค่า texture id
   public int getTextureId() {
     return textureId[0]; // คืนค่า texture id
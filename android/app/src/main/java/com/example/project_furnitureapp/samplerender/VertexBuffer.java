@@ -2,35 +2,80 @@ package com.example.project_furnitureapp.samplerender; // ประกาศ pac
 
 import android.opengl.GLES30; // import GLES30 สำหรับใช้งาน OpenGL ES 3.0
 import java.io.Closeable; // import Closeable สำหรับปิด resource
+import java.nio.Buffer; // import Buffer สำหรับข้อมูลทุกชนิด
+import java.nio.ByteBuffer; // import ByteBuffer สำหรับข้อมูลที่ไม่ใช่ float
 import java.nio.FloatBuffer; // import FloatBuffer สำหรับเก็บข้อมูล float array
+import java.nio.IntBuffer; // import IntBuffer สำหรับคำนวณขนาดข้อมูล
+import java.nio.ShortBuffer; // import ShortBuffer สำหรับคำนวณขนาดข้อมูล
 import android.util.Log; // import Log สำหรับเขียน log
 
 public class VertexBuffer implements Closeable { // ประกาศคลาส VertexBuffer และ implement Closeable
     private static final String TAG = "VertexBuffer"; // ตัวแปร TAG สำหรับ log
+
+    /**
+     * The data type of each component of a vertex attribute.
+     *
+     * <p>Integer types are converted to floats by the GPU; with {@code normalized} set they map to
+     * [0, 1] (unsigned) or [-1, 1] (signed), otherwise they keep their integer value.
+     */
+    public enum ComponentType { // enum สำหรับชนิดข้อมูลของแต่ละ component
+        FLOAT(GLES30.GL_FLOAT, 4), // float 32 bit
+        HALF_FLOAT(GLES30.GL_HALF_FLOAT, 2), // float 16 bit
+        SHORT(GLES30.GL_SHORT, 2), // int 16 bit มีเครื่องหมาย
+        UNSIGNED_SHORT(GLES30.GL_UNSIGNED_SHORT, 2), // int 16 bit ไม่มีเครื่องหมาย
+        BYTE(GLES30.GL_BYTE, 1), // int 8 bit มีเครื่องหมาย
+        UNSIGNED_BYTE(GLES30.GL_UNSIGNED_BYTE, 1); // int 8 bit ไม่มีเครื่องหมาย
+
+        /* package-private */
+        final int glesEnum; // ค่า enum ของ OpenGL
+        /* package-private */
+        final int sizeInBytes; // ขนาดของหนึ่ง component (byte)
+
+        private ComponentType(int glesEnum, int sizeInBytes) { // constructor ของ enum
+            this.glesEnum = glesEnum; // กำหนดค่า
+            this.sizeInBytes = sizeInBytes; // กำหนดขนาด
+        }
+    }
+
     private final GpuBuffer buffer; // ตัวแปรเก็บ GpuBuffer (buffer จริงบน GPU)
-    private final int numberOfEntriesPerVertex; // จำนวน float ต่อ 1 vertex
+    private final int numberOfEntriesPerVertex; // จำนวน component ต่อ 1 vertex
+    private final ComponentType componentType; // ชนิดข้อมูลของแต่ละ component
+    private final boolean normalized; // แปลงค่า integer เป็นช่วง [0, 1] / [-1, 1] หรือไม่
 
     public VertexBuffer(SampleRender render, int numberOfEntriesPerVertex, FloatBuffer entries) { // constructor รับ renderer, จำนวน float ต่อ vertex, และข้อมูล
-        if (numberOfEntriesPerVertex <= 0) { // ถ้าจำนวน float ต่อ vertex <= 0
+        this(render, numberOfEntriesPerVertex, ComponentType.FLOAT, /*normalized=*/ false, entries); // ใช้ชนิด float
+    }
+
+    /**
+     * Creates a vertex buffer whose components have the given type. {@code entries} may be of any
+     * direct buffer type (typically a {@link ByteBuffer} in native order); only its byte size has to
+     * be a multiple of the vertex size.
+     */
+    public VertexBuffer(SampleRender render, int numberOfEntriesPerVertex, ComponentType componentType, boolean normalized, Buffer entries) { // constructor รับชนิดข้อมูล
+        if (numberOfEntriesPerVertex <= 0) { // ถ้าจำนวน component ต่อ vertex <= 0
             throw new IllegalArgumentException("Number of entries per vertex must be positive."); // ขว้าง exception
         }
-        if (entries != null && entries.limit() % numberOfEntriesPerVertex != 0) { // ถ้า buffer ไม่หารลงตัวกับจำนวน float ต่อ vertex
+        int bytesPerVertex = numberOfEntriesPerVertex * componentType.sizeInBytes; // ขนาดของ 1 vertex (byte)
+        if (entries != null && sizeInBytes(entries) % bytesPerVertex != 0) { // ถ้า buffer ไม่หารลงตัวกับขนาด vertex
             throw new IllegalArgumentException("Buffer size mismatch"); // ขว้าง exception
         }
         this.numberOfEntriesPerVertex = numberOfEntriesPerVertex; // กำหนดค่าให้ field
+        this.componentType = componentType; // กำหนดชนิดข้อมูล
+        this.normalized = normalized; // กำหนด normalized
         // สร้าง GpuBuffer โดยบอกขนาดเป็น byte ของ 1 vertex เต็มๆ
-        buffer = new GpuBuffer(GLES30.GL_ARRAY_BUFFER, numberOfEntriesPerVertex * GpuBuffer.FLOAT_SIZE, entries); // สร้าง buffer จริงบน GPU
+        buffer = new GpuBuffer(GLES30.GL_ARRAY_BUFFER, bytesPerVertex, entries); // สร้าง buffer จริงบน GPU
     }
 
-    public void set(FloatBuffer entries) { // เมธอดสำหรับเซ็ตข้อมูลใหม่ลง buffer
+    public void set(Buffer entries) { // เมธอดสำหรับเซ็ตข้อมูลใหม่ลง buffer
         int newVertexCount = 0; // ตัวแปรเก็บจำนวน vertex ใหม่
-        if (entries != null && numberOfEntriesPerVertex > 0) { // ถ้ามีข้อมูลและจำนวน float ต่อ vertex > 0
-            if (entries.limit() % numberOfEntriesPerVertex != 0) { // ถ้า buffer ไม่หารลงตัว
-                Log.e(TAG, "set() - Buffer size mismatch! Limit=" + entries.limit() + ", EntriesPerVertex=" + numberOfEntriesPerVertex); // log error
+        int bytesPerVertex = numberOfEntriesPerVertex * componentType.sizeInBytes; // ขนาดของ 1 vertex (byte)
+        if (entries != null && numberOfEntriesPerVertex > 0) { // ถ้ามีข้อมูลและจำนวน component ต่อ vertex > 0
+            if (sizeInBytes(entries) % bytesPerVertex != 0) { // ถ้า buffer ไม่หารลงตัว
+                Log.e(TAG, "set() - Buffer size mismatch! Limit=" + entries.limit() + ", EntriesPerVertex=" + numberOfEntriesPerVertex + ", Type=" + componentType); // log error
                 buffer.set(null); // Clear buffer on mismatch
                 return; // ออก
             }
-            newVertexCount = entries.limit() / numberOfEntriesPerVertex; // คำนวณจำนวน vertex ใหม่
+            newVertexCount = sizeInBytes(entries) / bytesPerVertex; // คำนวณจำนวน vertex ใหม่
         }
         Log.d(TAG, "set() called. entries limit: " + (entries != null ? entries.limit() : "null") + ", newVertexCount: " + newVertexCount); // log
         buffer.set(entries); // Pass buffer to GpuBuffer
@@ -39,7 +84,17 @@ public class VertexBuffer implements Closeable { // ประกาศคลา
 
     @Override public void close() { buffer.close(); } // เมธอดปิด resource (เรียก close ของ GpuBuffer)
     public int getBufferId() { return buffer.getBufferId(); } // คืนค่า buffer id ของ GpuBuffer
-    public int getNumberOfEntriesPerVertex() { return numberOfEntriesPerVertex; } // คืนค่าจำนวน float ต่อ vertex
+    /* package-private */ int getCapacityInBytes() { return buffer.getCapacityInBytes(); } // คืนค่าหน่วยความจำ GPU ที่จองไว้ (byte)
+    public int getNumberOfEntriesPerVertex() { return numberOfEntriesPerVertex; } // คืนค่าจำนวน component ต่อ vertex
+    public ComponentType getComponentType() { return componentType; } // คืนค่าชนิดข้อมูลของ component
+    public boolean isNormalized() { return normalized; } // คืนค่าว่า normalized หรือไม่
+
+    private static int sizeInBytes(Buffer entries) { // เมธอดคำนวณขนาดข้อมูล (byte)
+        if (entries instanceof FloatBuffer || entries instanceof IntBuffer) return entries.limit() * 4; // 4 byte ต่อ element
+        if (entries instanceof ShortBuffer) return entries.limit() * 2; // 2 byte ต่อ element
+        if (entries instanceof ByteBuffer) return entries.limit(); // 1 byte ต่อ element
+        throw new IllegalArgumentException("Unsupported buffer type: " + entries.getClass().getName()); // ถ้าไม่รู้จัก type
+    }
 
     /** Returns the total number of vertices in the buffer. */ // คำอธิบายเมธอด
     public int getNumberOfVertices() { // เมธอดคืนค่าจำนวน vertex ทั้งหมด
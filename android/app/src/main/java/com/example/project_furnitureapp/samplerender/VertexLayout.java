@@ -0,0 +1,87 @@
+package com.example.project_furnitureapp.samplerender; // ประกาศ package ของไฟล์นี้
+
+import com.example.project_furnitureapp.samplerender.geometry.MeshData; // import MeshData สำหรับ layout แบบ float
+import com.example.project_furnitureapp.samplerender.geometry.VertexQuantizer; // import VertexQuantizer สำหรับ layout แบบ quantize
+import java.util.ArrayList; // import ArrayList สำหรับเก็บ attribute
+import java.util.Collections; // import Collections สำหรับคืน list แบบอ่านอย่างเดียว
+import java.util.List; // import List สำหรับเก็บ attribute
+
+/**
+ * Describes how the attributes of an {@link InterleavedVertexBuffer} are laid out: for each
+ * attribute its shader location, component count and type, and byte offset within a vertex, plus
+ * the stride between consecutive vertices.
+ *
+ * <p>Attributes are appended with {@link #add}; offsets are assigned in order, padded to 4 bytes.
+ */ // คำอธิบายคลาส: ตัวอธิบาย layout ของ vertex แบบ interleave
+public class VertexLayout { // ประกาศคลาส VertexLayout
+    private static final int ATTRIBUTE_ALIGNMENT = 4; // ทุก attribute เริ่มที่ขอบ 4 byte
+
+    /** A single vertex attribute within the layout. */ // คำอธิบายคลาส: attribute หนึ่งตัวใน layout
+    public static class Attribute { // ประกาศคลาส Attribute
+        public final int location; // location ใน shader
+        public final int numberOfComponents; // จำนวน component
+        public final VertexBuffer.ComponentType componentType; // ชนิดข้อมูลของ component
+        public final boolean normalized; // normalized หรือไม่
+        public final int offset; // offset ภายใน vertex (byte)
+
+        private Attribute(int location, int numberOfComponents, VertexBuffer.ComponentType componentType, boolean normalized, int offset) { // constructor
+            this.location = location; // กำหนด location
+            this.numberOfComponents = numberOfComponents; // กำหนดจำนวน component
+            this.componentType = componentType; // กำหนดชนิดข้อมูล
+            this.normalized = normalized; // กำหนด normalized
+            this.offset = offset; // กำหนด offset
+        }
+    }
+
+    private final List<Attribute> attributes = new ArrayList<>(); // รายการ attribute
+    private int stride; // ขนาดของ 1 vertex (byte)
+
+    /** Appends an attribute after the previous one. */ // เพิ่ม attribute ต่อท้าย
+    public VertexLayout add(int location, int numberOfComponents, VertexBuffer.ComponentType componentType, boolean normalized) { // เมธอดเพิ่ม attribute
+        return add(location, numberOfComponents, componentType, normalized, stride); // ใช้ offset ถัดจาก attribute ก่อนหน้า
+    }
+
+    /** Adds an attribute at an explicit byte offset; the stride grows to cover it. */ // เพิ่ม attribute ที่ offset ที่กำหนด
+    public VertexLayout add(int location, int numberOfComponents, VertexBuffer.ComponentType componentType, boolean normalized, int offset) { // เมธอดเพิ่ม attribute
+        if (numberOfComponents < 1 || numberOfComponents > 4) { // GL รองรับ 1-4 component
+            throw new IllegalArgumentException("Number of components must be between 1 and 4"); // ขว้าง exception
+        }
+        if (offset < 0 || offset % ATTRIBUTE_ALIGNMENT != 0) { // offset ต้องตรงขอบ 4 byte
+            throw new IllegalArgumentException("Attribute offset must be a non-negative multiple of " + ATTRIBUTE_ALIGNMENT); // ขว้าง exception
+        }
+        for (Attribute attribute : attributes) { // ห้ามใช้ location ซ้ำ
+            if (attribute.location == location) {
+                throw new IllegalArgumentException("Attribute location " + location + " is already used"); // ขว้าง exception
+            }
+        }
+        attributes.add(new Attribute(location, numberOfComponents, componentType, normalized, offset)); // เพิ่ม attribute
+        int end = offset + numberOfComponents * componentType.sizeInBytes; // จุดสิ้นสุดของ attribute
+        stride = Math.max(stride, (end + ATTRIBUTE_ALIGNMENT - 1) / ATTRIBUTE_ALIGNMENT * ATTRIBUTE_ALIGNMENT); // ขยาย stride (ปัดขึ้นเป็นพหุคูณของ 4)
+        return this; // คืนค่า this เพื่อเรียกต่อกันได้
+    }
+
+    public List<Attribute> getAttributes() { return Collections.unmodifiableList(attributes); } // คืนค่ารายการ attribute
+    public int getStride() { return stride; } // คืนค่า stride (byte)
+
+    /**
+     * The float layout of {@link MeshData#createInterleavedBuffer}: position (location 0, vec3),
+     * texture coordinate (location 1, vec2) and normal (location 2, vec3), 32 bytes per vertex.
+     */
+    public static VertexLayout forMeshData() { // เมธอดสร้าง layout แบบ float
+        return new VertexLayout()
+            .add(0, MeshData.POSITION_COMPONENTS, VertexBuffer.ComponentType.FLOAT, false, MeshData.POSITION_OFFSET)
+            .add(1, MeshData.TEX_COORD_COMPONENTS, VertexBuffer.ComponentType.FLOAT, false, MeshData.TEX_COORD_OFFSET)
+            .add(2, MeshData.NORMAL_COMPONENTS, VertexBuffer.ComponentType.FLOAT, false, MeshData.NORMAL_OFFSET);
+    }
+
+    /**
+     * The 16-byte {@link VertexQuantizer} layout: unorm16 position (location 0), half-float texture
+     * coordinate (location 1) and octahedral snorm16 normal (location 2).
+     */
+    public static VertexLayout forQuantizedMeshData() { // เมธอดสร้าง layout แบบ quantize
+        return new VertexLayout()
+            .add(0, VertexQuantizer.POSITION_COMPONENTS, VertexBuffer.ComponentType.UNSIGNED_SHORT, true, VertexQuantizer.POSITION_OFFSET)
+            .add(1, VertexQuantizer.TEX_COORD_COMPONENTS, VertexBuffer.ComponentType.HALF_FLOAT, false, VertexQuantizer.TEX_COORD_OFFSET)
+            .add(2, VertexQuantizer.NORMAL_COMPONENTS, VertexBuffer.ComponentType.SHORT, true, VertexQuantizer.NORMAL_OFFSET);
+    }
+}
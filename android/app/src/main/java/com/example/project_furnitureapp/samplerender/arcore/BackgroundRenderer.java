@@ -8,30 +8,56 @@ package com.example.project_furnitureapp.samplerender.arcore; // ประกา
 // Correct the imports to use the local samplerender package
 import com.example.project_furnitureapp.samplerender.Framebuffer; // import Framebuffer สำหรับจัดการ framebuffer
 import com.example.project_furnitureapp.samplerender.Mesh; // import Mesh สำหรับวาด geometry
+import com.example.project_furnitureapp.samplerender.PendingShader; // import PendingShader สำหรับ shader ที่ยัง compile ไม่เสร็จ
+import com.example.project_furnitureapp.samplerender.ResourceCache; // import ResourceCache สำหรับ texture ที่ใช้ร่วมกัน
 import com.example.project_furnitureapp.samplerender.SampleRender; // import SampleRender สำหรับวาดบนหน้าจอ
 import com.example.project_furnitureapp.samplerender.Shader; // import Shader สำหรับจัดการ shader
 import com.example.project_furnitureapp.samplerender.Texture; // import Texture สำหรับจัดการ texture
 import com.example.project_furnitureapp.samplerender.VertexBuffer; // import VertexBuffer สำหรับเก็บ vertex
 import com.example.project_furnitureapp.samplerender.GLError; // import GLError สำหรับเช็ค error
+import com.example.project_furnitureapp.samplerender.GlState; // import GlState สำหรับตั้งค่า GL state ผ่าน cache
+import com.example.project_furnitureapp.samplerender.gl.VariantRegistry; // import VariantRegistry สำหรับ shader variant ที่ใช้ร่วมกัน
 
 import com.google.ar.core.Coordinates2d; // import Coordinates2d สำหรับแปลงพิกัด
 import com.google.ar.core.Frame; // import Frame สำหรับข้อมูลกล้อง
-// import android.media.Image;
 import android.opengl.GLES30; // import GLES30 สำหรับใช้งาน OpenGL ES 3.0
 import java.io.IOException; // import IOException สำหรับจัดการ exception
 import java.nio.ByteBuffer; // import ByteBuffer สำหรับ buffer แบบ byte
 import java.nio.ByteOrder; // import ByteOrder สำหรับกำหนด endian
 import java.nio.FloatBuffer; // import FloatBuffer สำหรับ buffer แบบ float
-import java.util.HashMap; // import HashMap สำหรับเก็บข้อมูลแบบ key-value
+import java.util.Collections; // import Collections สำหรับ define ของ variant
+import java.util.Map; // import Map สำหรับ define ของ variant
 import android.util.Log; // import Log สำหรับเขียน log
 
 /**
  * Renders the AR camera background and optionally composited virtual scene.
  * This version draws the background manually using OpenGL calls.
+ *
+ * <p>All shader variants (camera or depth visualization background, occlusion on or off) are
+ * started once in the constructor through {@link SampleRender#getShaderVariants()}, so {@link
+ * #setUseDepthVisualization} and {@link #setUseOcclusion} only switch between them. The constructor
+ * waits for the default variants, which the first frame draws; the others link in the background,
+ * and until they do the default variant is drawn in their place. The depth visualization also
+ * waits for its color palette, which {@link ResourceCache} loads in the background when it is
+ * first turned on.
+ *
+ * <p>With occlusion on, {@link #updateCameraDepthTexture} uploads ARCore's depth image each frame
+ * through a {@link DepthUploader} and {@link #drawVirtualScene} hides the virtual pixels that are
+ * behind it. Until the first depth image arrives the virtual scene is drawn without occlusion.
  */ // คำอธิบายคลาส: สำหรับวาดกล้อง AR และฉากเสมือน
 public class BackgroundRenderer { // ประกาศคลาส BackgroundRenderer
     private static final String TAG = BackgroundRenderer.class.getSimpleName(); // ตัวแปร TAG สำหรับ log
 
+    private static final String CAMERA_VERTEX_SHADER_NAME = "shaders/background_show_camera.vert"; // shader ของภาพกล้อง
+    private static final String CAMERA_FRAGMENT_SHADER_NAME = "shaders/background_show_camera.frag";
+    private static final String DEPTH_VERTEX_SHADER_NAME = "shaders/background_show_depth_color_visualization.vert"; // shader ของภาพ depth
+    private static final String DEPTH_FRAGMENT_SHADER_NAME = "shaders/background_show_depth_color_visualization.frag";
+    private static final String OCCLUSION_VERTEX_SHADER_NAME = "shaders/occlusion.vert"; // shader ของ occlusion
+    private static final String OCCLUSION_FRAGMENT_SHADER_NAME = "shaders/occlusion.frag";
+    private static final Map<String, String> OCCLUSION_ON = Collections.singletonMap("USE_OCCLUSION", "1"); // define ของ variant ที่เปิด occlusion
+    private static final Map<String, String> OCCLUSION_OFF = Collections.singletonMap("USE_OCCLUSION", "0"); // define ของ variant ที่ปิด occlusion
+    private static final String DEPTH_PALETTE_TEXTURE_NAME = "texture/depth_color_palette.png"; // texture ของ color palette
+
     // Constants for quad coordinates
     private static final int COORDS_BUFFER_SIZE = 2 * 4 * 4; // 2 floats/vertex * 4 vertices * sizeof(float)
 
@@ -60,25 +86,34 @@ public class BackgroundRenderer { // ประกาศคลาส BackgroundRe
     // private final VertexBuffer virtualSceneTexCoordsVertexBuffer; // ไม่ได้ใช้โดยตรงใน draw() แบบ manual
     private final Mesh mesh; // Mesh สำหรับวาด virtual scene
 
-    private Shader backgroundShader; // Shader สำหรับวาด background
-    private Shader occlusionShader; // Shader สำหรับวาด occlusion
-    private final Texture cameraDepthTexture; // Texture สำหรับ depth ของกล้อง
+    private PendingShader cameraVariant; // variant ภาพกล้อง (ค่าเริ่มต้น)
+    private PendingShader depthVariant; // variant ภาพ depth
+    private PendingShader occlusionOffVariant; // variant ที่ปิด occlusion (ค่าเริ่มต้น)
+    private PendingShader occlusionOnVariant; // variant ที่เปิด occlusion
+    private Shader backgroundShader; // Shader สำหรับวาด background (variant ของ SampleRender ห้าม close)
+    private Shader occlusionShader; // Shader สำหรับวาด occlusion (variant ของ SampleRender ห้าม close)
+    private Texture cameraDepthTexture; // Texture สำหรับ depth ของกล้อง (ของ depthUploader: เปลี่ยนเมื่อขนาดภาพเปลี่ยน)
+    private final DepthUploader depthUploader; // upload ภาพ depth ผ่านวงของ pixel buffer
     private final Texture cameraColorTexture; // External OES // Texture สำหรับภาพกล้อง
-    private Texture depthColorPaletteTexture; // Texture สำหรับ color palette ของ depth
+    private final ResourceCache resourceCache; // cache ของ texture ที่ใช้ร่วมกัน
+    private ResourceCache.Ref<Texture> depthColorPaletteRef; // reference ไปยัง color palette ของ depth (null จนกว่าจะเปิดครั้งแรก)
 
     // State flags
     private boolean useDepthVisualization = false; // flag สำหรับเปิด/ปิด depth visualization
     private boolean useOcclusion = false; // flag สำหรับเปิด/ปิด occlusion
+    private boolean hasCameraDepth = false; // cameraDepthTexture มีภาพ depth แล้วหรือยัง
     private float aspectRatio = 1.0f; // อัตราส่วนภาพ
 
     // Reference to SampleRender
     private final SampleRender render; // ตัวแปร SampleRender
 
-    public BackgroundRenderer(SampleRender render) throws IOException { // constructor รับ SampleRender
+    public BackgroundRenderer(SampleRender render, ResourceCache resourceCache) throws IOException { // constructor รับ SampleRender และ ResourceCache
         this.render = render; // กำหนด render
+        this.resourceCache = resourceCache; // กำหนด cache
         try {
             cameraColorTexture = new Texture(render, Texture.Target.TEXTURE_EXTERNAL_OES, Texture.WrapMode.CLAMP_TO_EDGE, false); // สร้าง texture สำหรับกล้อง
             cameraDepthTexture = new Texture(render, Texture.Target.TEXTURE_2D, Texture.WrapMode.CLAMP_TO_EDGE, false); // สร้าง texture สำหรับ depth
+            depthUploader = new DepthUploader(render, cameraDepthTexture); // storage ของ texture จองตอนได้ภาพแรก
 
             // **** สร้างและเก็บ Vertex Buffers ที่จำเป็น ****
             this.screenCoordsVertexBuffer = new VertexBuffer(render, 2, NDC_QUAD_COORDS_BUFFER); // VertexBuffer สำหรับตำแหน่ง NDC
@@ -89,9 +124,17 @@ public class BackgroundRenderer { // ประกาศคลาส BackgroundRe
             VertexBuffer[] vertexBuffers = { this.screenCoordsVertexBuffer, this.cameraTexCoordsVertexBuffer, virtualSceneTexCoordsVertexBuffer }; // รวม VertexBuffer
             mesh = new Mesh(render, Mesh.PrimitiveMode.TRIANGLE_STRIP, null, vertexBuffers); // สร้าง mesh
 
-            // Initialize shaders
-            setUseDepthVisualization(false); // ตั้งค่า depth visualization
-            setUseOcclusion(false); // ตั้งค่า occlusion
+            // Start every variant now, so that toggling later never compiles; only the defaults are waited for.
+            VariantRegistry<PendingShader> variants = render.getShaderVariants();
+            cameraVariant = variants.get(CAMERA_VERTEX_SHADER_NAME, CAMERA_FRAGMENT_SHADER_NAME, null); // variant ภาพกล้อง
+            depthVariant = variants.get(DEPTH_VERTEX_SHADER_NAME, DEPTH_FRAGMENT_SHADER_NAME, null); // variant ภาพ depth
+            occlusionOffVariant = variants.get(OCCLUSION_VERTEX_SHADER_NAME, OCCLUSION_FRAGMENT_SHADER_NAME, OCCLUSION_OFF); // variant ที่ปิด occlusion
+            occlusionOnVariant = variants.get(OCCLUSION_VERTEX_SHADER_NAME, OCCLUSION_FRAGMENT_SHADER_NAME, OCCLUSION_ON); // variant ที่เปิด occlusion
+            backgroundShader = cameraVariant.await()
+                    .setTexture("u_CameraColorTexture", cameraColorTexture)
+                    .setDepthTest(false).setDepthWrite(false); // เฟรมแรกต้องใช้ภาพกล้อง
+            occlusionShader = occlusionOffVariant.await()
+                    .setDepthTest(false).setDepthWrite(false).setBlend(Shader.BlendFactor.ONE, Shader.BlendFactor.ONE_MINUS_SRC_ALPHA); // occlusion ปิดเป็นค่าเริ่มต้น (สีของฉากเสมือนคูณ alpha แล้ว)
 
         } catch (IOException e) { Log.e(TAG, "Failed init", e); close(); throw e; } // ถ้า error ให้ปิด resource
           catch (Throwable t) { Log.e(TAG, "Failed init", t); close(); throw new RuntimeException(t); }
@@ -99,34 +142,46 @@ public class BackgroundRenderer { // ประกาศคลาส BackgroundRe
 
 
     public void setUseDepthVisualization(boolean useDepthVisualization) throws IOException { // เมธอดตั้งค่า depth visualization
-        // ... (โค้ด setUseDepthVisualization เหมือนเดิม) ...
-        if (backgroundShader != null && this.useDepthVisualization == useDepthVisualization) return; // ถ้า state เดิมเหมือนเดิม ไม่ต้องทำอะไร
-        if (backgroundShader != null) { backgroundShader.close(); backgroundShader = null; } // ปิด shader เดิม
+        if (this.useDepthVisualization == useDepthVisualization) return; // ถ้า state เดิมเหมือนเดิม ไม่ต้องทำอะไร
         this.useDepthVisualization = useDepthVisualization; // ตั้งค่า flag
-        if (useDepthVisualization) {
-            if (depthColorPaletteTexture == null) { depthColorPaletteTexture = Texture.createFromAsset(render, "models/depth_color_palette.png", Texture.WrapMode.CLAMP_TO_EDGE, Texture.ColorFormat.LINEAR); } // โหลด palette
-            backgroundShader = Shader.createFromAssets(render, "shaders/background_show_depth_color_visualization.vert", "shaders/background_show_depth_color_visualization.frag", null)
-                    .setTexture("u_CameraDepthTexture", cameraDepthTexture).setTexture("u_ColorMap", depthColorPaletteTexture)
-                    .setDepthTest(false).setDepthWrite(false); // สร้าง shader สำหรับ depth
-        } else {
-            backgroundShader = Shader.createFromAssets(render, "shaders/background_show_camera.vert", "shaders/background_show_camera.frag", null)
-                    .setTexture("u_CameraColorTexture", cameraColorTexture)
-                    .setDepthTest(false).setDepthWrite(false); // สร้าง shader สำหรับกล้อง
-        }
+        if (useDepthVisualization && depthColorPaletteRef == null) { depthColorPaletteRef = resourceCache.acquireTexture(DEPTH_PALETTE_TEXTURE_NAME, Texture.WrapMode.CLAMP_TO_EDGE, Texture.ColorFormat.LINEAR); } // ขอ palette จาก cache (โหลดแบบ background)
+        updateShaders(); // สลับไปใช้ variant ที่ compile ไว้แล้ว (หรือค่าเริ่มต้นถ้ายังไม่เสร็จ)
         GLError.maybeLogGLError(Log.DEBUG, TAG, "After setUseDepthVisualization", "Set depth vis: " + useDepthVisualization); // log
     }
 
     public void setUseOcclusion(boolean useOcclusion) throws IOException { // เมธอดตั้งค่า occlusion
-         if (occlusionShader != null && this.useOcclusion == useOcclusion) return; // ถ้า state เดิมเหมือนเดิม ไม่ต้องทำอะไร
-         if (occlusionShader != null) { occlusionShader.close(); occlusionShader = null; } // ปิด shader เดิม
+         if (this.useOcclusion == useOcclusion) return; // ถ้า state เดิมเหมือนเดิม ไม่ต้องทำอะไร
          this.useOcclusion = useOcclusion; // ตั้งค่า flag
-         HashMap<String, String> defines = new HashMap<>(); defines.put("USE_OCCLUSION", useOcclusion ? "1" : "0"); // ใส่ define
-         occlusionShader = Shader.createFromAssets(render, "shaders/occlusion.vert", "shaders/occlusion.frag", defines)
-                 .setDepthTest(false).setDepthWrite(false).setBlend(Shader.BlendFactor.SRC_ALPHA, Shader.BlendFactor.ONE_MINUS_SRC_ALPHA); // สร้าง shader
-         if (useOcclusion) { occlusionShader.setTexture("u_CameraDepthTexture", cameraDepthTexture).setFloat("u_DepthAspectRatio", aspectRatio); } // ตั้งค่า texture และ aspect ratio
+         if (!useOcclusion) hasCameraDepth = false; // เปิดใหม่แล้วต้องรอภาพ depth ใหม่ ไม่ใช้ภาพเก่า
+         updateShaders(); // สลับไปใช้ variant ที่ compile ไว้แล้ว (หรือค่าเริ่มต้นถ้ายังไม่เสร็จ)
          GLError.maybeLogGLError(Log.DEBUG, TAG, "After setUseOcclusion", "Set occlusion: " + useOcclusion); // log
     }
 
+    /**
+     * Picks the variants for the current flags. A variant that is still compiling, or whose
+     * texture is still loading, is replaced by the default one until it is ready, so the draw
+     * methods call this every frame.
+     */
+    private void updateShaders() { // เมธอดเลือก shader ตาม flag
+        Texture palette = depthColorPaletteRef != null ? depthColorPaletteRef.get() : null; // null จนกว่าจะ upload เสร็จ
+        Shader background = useDepthVisualization && depthVariant.isReady() && palette != null ? depthVariant.get() : cameraVariant.get();
+        if (background != backgroundShader) {
+            if (background == depthVariant.get()) {
+                background.setTexture("u_CameraDepthTexture", cameraDepthTexture).setTexture("u_ColorMap", palette)
+                        .setDepthTest(false).setDepthWrite(false); // ตั้งค่า variant ภาพ depth ครั้งแรกที่ใช้
+            }
+            backgroundShader = background;
+        }
+        Shader occlusion = useOcclusion && hasCameraDepth && occlusionOnVariant.isReady() ? occlusionOnVariant.get() : occlusionOffVariant.get();
+        if (occlusion != occlusionShader) {
+            if (occlusion == occlusionOnVariant.get()) {
+                occlusion.setDepthTest(false).setDepthWrite(false).setBlend(Shader.BlendFactor.ONE, Shader.BlendFactor.ONE_MINUS_SRC_ALPHA)
+                        .setTexture("u_CameraDepthTexture", cameraDepthTexture).setFloat("u_DepthAspectRatio", aspectRatio); // ตั้งค่า variant occlusion ครั้งแรกที่ใช้
+            }
+            occlusionShader = occlusion;
+        }
+    }
+
     public void updateDisplayGeometry(Frame frame) { // เมธอดอัปเดต geometry ของกล้อง
         // คำนวณ UV ที่ถูกต้องลงใน cameraTexCoords (FloatBuffer)
         // แล้วอัปเดต cameraTexCoordsVertexBuffer
@@ -137,12 +192,31 @@ public class BackgroundRenderer { // ประกาศคลาส BackgroundRe
         }
     }
 
-    // Optional: updateCameraDepthTexture
+    /**
+     * Uploads the frame's depth image to the camera depth texture, for occlusion, unless it is the
+     * image already there. Keeps the previous image while ARCore has none for this frame. Call only
+     * with a depth mode configured on the session.
+     */
+    public void updateCameraDepthTexture(Frame frame) { // เมธอด upload ภาพ depth ของกล้อง
+        if (!depthUploader.update(frame)) {
+            return; // ภาพเดิม ยังไม่มีภาพ หรือ buffer ยังไม่ว่าง: ใช้ภาพเดิม
+        }
+        Texture uploaded = depthUploader.getTexture();
+        if (uploaded != cameraDepthTexture) { // ขนาดภาพเปลี่ยน: texture ใหม่
+            cameraDepthTexture = uploaded;
+            if (depthVariant.isReady()) {
+                depthVariant.get().setTexture("u_CameraDepthTexture", cameraDepthTexture); // variant occlusion ตั้งใหม่ทุกเฟรมอยู่แล้ว
+            }
+        }
+        aspectRatio = (float) depthUploader.getWidth() / depthUploader.getHeight(); // อัตราส่วนของภาพ depth สำหรับ blur
+        hasCameraDepth = true;
+    }
 
     // **** แก้ไข: เมธอด draw() ให้วาดโดยตรง ****
     /** Draws the camera image or depth visualization background manually. */
     public void draw(Frame frame) { // เมธอดวาด background ของกล้อง
         updateDisplayGeometry(frame); // คำนวณ/อัปเดต UV ลง cameraTexCoordsVertexBuffer
+        updateShaders(); // variant ที่เพิ่ง link เสร็จจะถูกใช้ตั้งแต่เฟรมนี้
 
         Shader shaderToUse = backgroundShader; // ควรจะเป็น background_show_camera โดย default
         if (shaderToUse == null) {
@@ -156,17 +230,14 @@ public class BackgroundRenderer { // ประกาศคลาส BackgroundRe
 
         // --- วาด Background ด้วยตัวเอง ไม่ผ่าน Mesh ---
         shaderToUse.lowLevelUse(); // Activate the shader program
-        GLError.maybeLogGLError(Log.ERROR, TAG, "After lowLevelUse", "GL Error?");
-
-        GLES30.glDisable(GLES30.GL_DEPTH_TEST); // ปิด depth test
-        GLES30.glDepthMask(false); // ปิด depth write
+        GLError.maybeLogGLError(Log.ERROR, TAG, "After lowLevelUse", "GL Error?"); // depth test/write ถูกปิดตามค่าของ shader
 
         // 1. ตั้งค่า Texture
-        GLES30.glActiveTexture(GLES30.GL_TEXTURE0); // เลือก texture unit 0
+        GlState.activeTexture(0); // เลือก texture unit 0
         GLError.maybeLogGLError(Log.ERROR, TAG, "After glActiveTexture", "GL Error?");
         // ใช้ cameraColorTexture ที่เป็น field ของคลาสนี้
         // **** ใช้ค่าคงที่ GLES11Ext.GL_TEXTURE_EXTERNAL_OES แทน .glesEnum ****
-        GLES30.glBindTexture(GLES11Ext.GL_TEXTURE_EXTERNAL_OES, cameraColorTexture.getTextureId()); // bind texture กล้อง
+        GlState.bindTexture(GLES11Ext.GL_TEXTURE_EXTERNAL_OES, cameraColorTexture.getTextureId()); // bind texture กล้อง
         GLError.maybeLogGLError(Log.ERROR, TAG, "After glBindTexture", "GL Error?");
         // ใช้ชื่อ uniform ที่ถูกต้องจาก shader ("u_CameraColorTexture")
         int textureUniformLocation = shaderToUse.getUniformLocation("u_CameraColorTexture"); // หาตำแหน่ง uniform
@@ -178,10 +249,11 @@ public class BackgroundRenderer { // ประกาศคลาส BackgroundRe
         }
 
         // 2. ตั้งค่า Vertex Attributes
+        GlState.bindVertexArray(0); // ใช้ vertex array 0 ไม่ให้ไปแก้ vertex array ของ mesh ที่ bind ค้างไว้
         // Attribute Location 0: a_Position (ใช้ screenCoordsVertexBuffer)
         int positionAttributeLocation = shaderToUse.getAttributeLocation("a_Position"); // หาตำแหน่ง attribute
         if (positionAttributeLocation != -1) {
-             GLES30.glBindBuffer(GLES30.GL_ARRAY_BUFFER, screenCoordsVertexBuffer.getBufferId()); // bind buffer
+             GlState.bindBuffer(GLES30.GL_ARRAY_BUFFER, screenCoordsVertexBuffer.getBufferId()); // bind buffer
              // numberOfEntriesPerVertex คือ 2 (x, y) สำหรับ screen coords
              GLES30.glVertexAttribPointer(positionAttributeLocation, screenCoordsVertexBuffer.getNumberOfEntriesPerVertex(), GLES30.GL_FLOAT, false, 0, 0); // กำหนด pointer
              GLES30.glEnableVertexAttribArray(positionAttributeLocation); // เปิดใช้งาน attribute
@@ -191,7 +263,7 @@ public class BackgroundRenderer { // ประกาศคลาส BackgroundRe
         // Attribute Location 1: a_CameraTexCoord (ใช้ cameraTexCoordsVertexBuffer ที่ update แล้ว)
         int texCoordAttributeLocation = shaderToUse.getAttributeLocation("a_CameraTexCoord"); // หาตำแหน่ง attribute
         if (texCoordAttributeLocation != -1) {
-             GLES30.glBindBuffer(GLES30.GL_ARRAY_BUFFER, cameraTexCoordsVertexBuffer.getBufferId()); // bind buffer
+             GlState.bindBuffer(GLES30.GL_ARRAY_BUFFER, cameraTexCoordsVertexBuffer.getBufferId()); // bind buffer
              // numberOfEntriesPerVertex คือ 2 (u, v) สำหรับ camera tex coords
              GLES30.glVertexAttribPointer(texCoordAttributeLocation, cameraTexCoordsVertexBuffer.getNumberOfEntriesPerVertex(), GLES30.GL_FLOAT, false, 0, 0); // กำหนด pointer
              GLES30.glEnableVertexAttribArray(texCoordAttributeLocation); // เปิดใช้งาน attribute
@@ -203,36 +275,35 @@ public class BackgroundRenderer { // ประกาศคลาส BackgroundRe
         GLError.maybeLogGLError(Log.ERROR, TAG, "After glDrawArrays (Manual Background)", "GL Error?");
 
         // 4. Cleanup State
+        // Bindings, program and depth state are left as they are: GlState skips them when the next
+        // draw sets the same values, and every draw sets what it needs.
         if (positionAttributeLocation != -1) GLES30.glDisableVertexAttribArray(positionAttributeLocation); // ปิด attribute
         if (texCoordAttributeLocation != -1) GLES30.glDisableVertexAttribArray(texCoordAttributeLocation); // ปิด attribute
-        GLES30.glBindBuffer(GLES30.GL_ARRAY_BUFFER, 0); // Unbind buffer
-        GLES30.glBindTexture(GLES11Ext.GL_TEXTURE_EXTERNAL_OES, 0); // Unbind texture
-        GLES30.glUseProgram(0); // Unbind shader program
-
-        // Restore depth state
-        GLES30.glDepthMask(true); // เปิด depth write กลับ
-        GLES30.glEnable(GLES30.GL_DEPTH_TEST); // เปิด depth test กลับ
         // --- สิ้นสุดการวาด Background ด้วยตัวเอง ---
 
         // GLError.maybeLogGLError(Log.DEBUG, TAG, "After drawBackground (Manual)", "Finished drawing background manually");
     }
 
 
-    /** Draws the virtual scene composited over the background */
+    /**
+     * Draws the virtual scene composited over the background. The framebuffer's color is
+     * premultiplied by alpha and may be smaller than the screen; {@code zNear} and {@code zFar} are
+     * the planes of the projection it was drawn with, to compare its depth with the camera's.
+     */
     public void drawVirtualScene(Framebuffer virtualSceneFramebuffer, float zNear, float zFar) { // เมธอดวาดฉากเสมือนทับ background
         // เมธอดนี้ยังคงใช้ render.draw(mesh, ...) เพราะซับซ้อนกว่า
         // ถ้า draw() แบบ manual ด้านบนทำงานได้ เมธอดนี้ก็น่าจะยังทำงานได้
+        updateShaders(); // variant ที่เพิ่ง link เสร็จจะถูกใช้ตั้งแต่เฟรมนี้
         Shader shaderToUse = occlusionShader; // เลือก shader สำหรับ occlusion
         if (shaderToUse == null) { Log.e(TAG, "Occlusion shader null"); return; } // ถ้าไม่มี shader ให้ return
         shaderToUse.setTexture("u_VirtualSceneColorTexture", virtualSceneFramebuffer.getColorTexture()); // ตั้งค่า texture สี
-        if (useOcclusion) {
+        if (shaderToUse == occlusionOnVariant.get()) { // occlusion เปิดและ variant link เสร็จแล้ว
             shaderToUse.setTexture("u_VirtualSceneDepthTexture", virtualSceneFramebuffer.getDepthTexture())
                   .setTexture("u_CameraDepthTexture", cameraDepthTexture)
                   .setFloat("u_ZNear", zNear).setFloat("u_ZFar", zFar).setFloat("u_DepthAspectRatio", aspectRatio); // ตั้งค่า uniform สำหรับ occlusion
         }
-        GLES30.glDisable(GLES30.GL_DEPTH_TEST); GLES30.glDepthMask(false); GLES30.glEnable(GLES30.GL_BLEND); // ตั้งค่า GL state
+        GlState.setEnabled(GLES30.GL_BLEND, true); // depth test/write ถูกปิดตามค่าของ shader; blend เปิดไว้ตามค่าเริ่มต้นของ ArMeasureView
         render.draw(mesh, shaderToUse); // ยังคงใช้ render.draw สำหรับส่วนนี้
-        GLES30.glDisable(GLES30.GL_BLEND); GLES30.glDepthMask(true); GLES30.glEnable(GLES30.GL_DEPTH_TEST); // คืนค่า GL state
         GLError.maybeLogGLError(Log.DEBUG, TAG, "After drawVirtualScene", ""); // log
     }
 
@@ -242,12 +313,14 @@ public class BackgroundRenderer { // ประกาศคลาส BackgroundRe
     }
     public Texture getCameraColorTexture() { return cameraColorTexture; } // คืนค่า texture ของกล้อง
     public Texture getCameraDepthTexture() { return cameraDepthTexture; } // คืนค่า texture ของ depth
+    public DepthUploader getDepthUploader() { return depthUploader; } // คืนค่าตัว upload ภาพ depth (จำนวน upload และ byte)
 
     public void close() { // เมธอดปิด resource
         Log.d(TAG, "Closing BackgroundRenderer resources."); // log
-        if (backgroundShader != null) { backgroundShader.close(); backgroundShader = null; } // ปิด shader
-        if (occlusionShader != null) { occlusionShader.close(); occlusionShader = null; } // ปิด shader
-        if (depthColorPaletteTexture != null) { depthColorPaletteTexture.close(); depthColorPaletteTexture = null; } // ปิด texture
+        backgroundShader = null; // shader เป็นของ SampleRender.getShaderVariants() จึงไม่ close ที่นี่
+        occlusionShader = null;
+        if (depthColorPaletteRef != null) { depthColorPaletteRef.close(); depthColorPaletteRef = null; } // คืน palette ให้ cache (cache เป็นผู้ลบ)
+        if (depthUploader != null) depthUploader.close(); // ลบ pixel buffer และ texture ของ depth
         // Textures, Mesh, VertexBuffers ถูกจัดการโดย SampleRender/Texture/Mesh/VertexBuffer classes
     }
 
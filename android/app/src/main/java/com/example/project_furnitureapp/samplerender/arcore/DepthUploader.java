@@ -0,0 +1,173 @@
+package com.example.project_furnitureapp.samplerender.arcore; // ประกาศ package ของไฟล์นี้
+
+import android.media.Image; // import Image สำหรับภาพ depth ของ ARCore
+import android.opengl.GLES30; // import GLES30 สำหรับ pixel buffer และ fence
+import android.util.Log; // import Log สำหรับเขียน log
+import com.example.project_furnitureapp.samplerender.GLError; // import GLError สำหรับเช็ค error
+import com.example.project_furnitureapp.samplerender.GlState; // import GlState สำหรับ bind ผ่าน cache
+import com.example.project_furnitureapp.samplerender.SampleRender; // import SampleRender สำหรับสร้าง texture ใหม่
+import com.example.project_furnitureapp.samplerender.Texture; // import Texture สำหรับ texture ของ depth
+import com.example.project_furnitureapp.samplerender.gl.DepthUploadRing; // import DepthUploadRing สำหรับวงของ pixel buffer
+import com.google.ar.core.Frame; // import Frame สำหรับภาพ depth ของเฟรม
+import com.google.ar.core.exceptions.NotYetAvailableException; // import NotYetAvailableException เมื่อยังไม่มีภาพ depth
+import java.io.Closeable; // import Closeable สำหรับปิด resource
+import java.nio.ByteBuffer; // import ByteBuffer สำหรับ buffer ที่ map
+import java.util.HashMap; // import HashMap สำหรับผลที่ส่งให้ Flutter
+import java.util.Map; // import Map สำหรับผลที่ส่งให้ Flutter
+
+/**
+ * Uploads ARCore's 16-bit depth images to an RG8 texture, whose two bytes the occlusion and depth
+ * visualization shaders unpack to millimeters. The upload goes through a ring of pixel buffer
+ * objects into storage allocated once with {@code glTexStorage2D}, so it neither copies on the CPU
+ * while the GPU waits nor waits for the GPU (see {@link DepthUploadRing}); an image whose timestamp
+ * has already been uploaded is skipped.
+ *
+ * <p>Immutable storage cannot be resized: if the image size changes, the texture is replaced, so
+ * read {@link #getTexture} after each upload. {@link #getMetrics} may be called from any thread,
+ * for the Flutter method channel; everything else must be called on the GL thread.
+ */ // คำอธิบายคลาส: upload ภาพ depth ผ่านวงของ pixel buffer โดยไม่หยุดรอ
+public final class DepthUploader implements Closeable { // ประกาศคลาส DepthUploader
+    private static final String TAG = DepthUploader.class.getSimpleName(); // ตัวแปร TAG สำหรับ log
+
+    private final SampleRender render; // สำหรับสร้าง texture ใหม่เมื่อขนาดเปลี่ยน
+    private final DepthUploadRing ring; // วงของ pixel buffer
+    private Texture texture; // texture ที่รับภาพ depth
+    private boolean allocated; // texture มี storage แล้ว (จองซ้ำไม่ได้)
+    private long notYetAvailable; // จำนวนเฟรมที่ ARCore ยังไม่มีภาพ depth
+
+    /** GL calls of the ring, on the pixel unpack buffer target, which is left unbound after each. */
+    private final class GlBinding implements DepthUploadRing.Binding { // ตัวเรียก GL จริง
+        @Override
+        public void genBuffers(int[] ids) { // สร้าง buffer
+            GLES30.glGenBuffers(ids.length, ids, 0);
+            GLError.maybeThrowGLException("Failed to create depth upload buffers", "glGenBuffers");
+        }
+
+        @Override
+        public void deleteBuffers(int[] ids) { // ลบ buffer
+            GLES30.glDeleteBuffers(ids.length, ids, 0);
+            GlState.onBuffersDeleted(ids);
+            GLError.maybeLogGLError(Log.WARN, TAG, "Failed to free depth upload buffers", "glDeleteBuffers");
+        }
+
+        @Override
+        public void allocateTexture(int width, int height) { // จอง storage ของ texture ครั้งเดียว
+            if (allocated) {
+                Texture previous = texture; // storage จองซ้ำไม่ได้: ใช้ texture ใหม่
+                texture = new Texture(render, Texture.Target.TEXTURE_2D, Texture.WrapMode.CLAMP_TO_EDGE, /*useMipmaps=*/ false);
+                previous.close();
+            }
+            GlState.bindTexture(GLES30.GL_TEXTURE_2D, texture.getTextureId());
+            GLES30.glTexStorage2D(GLES30.GL_TEXTURE_2D, 1, GLES30.GL_RG8, width, height);
+            GLError.maybeThrowGLException("Failed to allocate depth texture", "glTexStorage2D");
+            allocated = true;
+        }
+
+        @Override
+        public void allocateBuffer(int id, int bytes) { // จองพื้นที่ของ buffer
+            GlState.bindBuffer(GLES30.GL_PIXEL_UNPACK_BUFFER, id);
+            GLES30.glBufferData(GLES30.GL_PIXEL_UNPACK_BUFFER, bytes, null, GLES30.GL_STREAM_DRAW);
+            GlState.bindBuffer(GLES30.GL_PIXEL_UNPACK_BUFFER, 0); // upload อื่นอ่านจากหน่วยความจำของ CPU
+            GLError.maybeThrowGLException("Failed to allocate depth upload buffer", "glBufferData");
+        }
+
+        @Override
+        public ByteBuffer map(int id, int bytes) { // map buffer สำหรับเขียน (GPU อ่านเสร็จแล้วตาม fence)
+            GlState.bindBuffer(GLES30.GL_PIXEL_UNPACK_BUFFER, id);
+            ByteBuffer mapped = (ByteBuffer) GLES30.glMapBufferRange(GLES30.GL_PIXEL_UNPACK_BUFFER, 0, bytes,
+                    GLES30.GL_MAP_WRITE_BIT | GLES30.GL_MAP_INVALIDATE_BUFFER_BIT);
+            GlState.bindBuffer(GLES30.GL_PIXEL_UNPACK_BUFFER, 0);
+            GLError.maybeLogGLError(Log.WARN, TAG, "Failed to map depth upload buffer", "glMapBufferRange");
+            return mapped;
+        }
+
+        @Override
+        public boolean unmap(int id) { // unmap buffer
+            GlState.bindBuffer(GLES30.GL_PIXEL_UNPACK_BUFFER, id);
+            boolean intact = GLES30.glUnmapBuffer(GLES30.GL_PIXEL_UNPACK_BUFFER);
+            GlState.bindBuffer(GLES30.GL_PIXEL_UNPACK_BUFFER, 0);
+            return intact;
+        }
+
+        @Override
+        public void texSubImage(int id, int width, int height) { // copy จาก buffer ไป texture บน GPU
+            GlState.bindTexture(GLES30.GL_TEXTURE_2D, texture.getTextureId());
+            GlState.bindBuffer(GLES30.GL_PIXEL_UNPACK_BUFFER, id);
+            GLES30.glPixelStorei(GLES30.GL_UNPACK_ALIGNMENT, DepthUploadRing.BYTES_PER_TEXEL); // แถวใน buffer ไม่มี padding
+            // Java has no offset form of glTexSubImage2D; with a buffer bound, null is offset 0.
+            GLES30.glTexSubImage2D(GLES30.GL_TEXTURE_2D, 0, 0, 0, width, height, GLES30.GL_RG, GLES30.GL_UNSIGNED_BYTE, /*pixels=*/ null);
+            GLES30.glPixelStorei(GLES30.GL_UNPACK_ALIGNMENT, 4); // คืนค่าเริ่มต้น
+            GlState.bindBuffer(GLES30.GL_PIXEL_UNPACK_BUFFER, 0);
+            GLError.maybeThrowGLException("Failed to upload depth image", "glTexSubImage2D");
+        }
+
+        @Override
+        public long fence() { return GLES30.glFenceSync(GLES30.GL_SYNC_GPU_COMMANDS_COMPLETE, 0); } // fence หลังคำสั่ง copy
+
+        @Override
+        public boolean isSignaled(long fence) { // ตรวจ fence โดยไม่รอ
+            int status = GLES30.glClientWaitSync(fence, 0, /*timeout=*/ 0);
+            return status == GLES30.GL_ALREADY_SIGNALED || status == GLES30.GL_CONDITION_SATISFIED;
+        }
+
+        @Override
+        public void deleteFence(long fence) { GLES30.glDeleteSync(fence); } // ลบ fence
+    }
+
+    /** Creates the buffers and takes over {@code texture}, which must have no storage yet; call on the GL thread. */
+    public DepthUploader(SampleRender render, Texture texture) { // constructor รับ texture ที่จะรับภาพ depth
+        this.render = render;
+        this.texture = texture;
+        ring = new DepthUploadRing(new GlBinding(), DepthUploadRing.DEFAULT_DEPTH);
+    }
+
+    /**
+     * Uploads the frame's depth image unless the texture already holds it, ARCore has none yet or
+     * the next buffer is still in use. Returns whether the texture now holds this frame's image.
+     */
+    public synchronized boolean update(Frame frame) { // เมธอด upload ภาพ depth ของเฟรม
+        try (Image depthImage = frame.acquireDepthImage16Bits()) {
+            Image.Plane plane = depthImage.getPlanes()[0];
+            return ring.upload(depthImage.getTimestamp(), depthImage.getWidth(), depthImage.getHeight(), plane.getBuffer(), plane.getRowStride());
+        } catch (NotYetAvailableException e) {
+            ++notYetAvailable; // เช่นช่วงแรกหลังเปิด depth
+            return false;
+        }
+    }
+
+    /** The texture holding the last image; replaced when the image size changes. */
+    public synchronized Texture getTexture() { return texture; } // คืนค่า texture
+
+    /** Width of the depth image in texels, 0 before the first. */
+    public synchronized int getWidth() { return ring.getWidth(); } // คืนค่าความกว้าง
+
+    /** Height of the depth image in texels, 0 before the first. */
+    public synchronized int getHeight() { return ring.getHeight(); } // คืนค่าความสูง
+
+    /**
+     * Returns the counts for the method channel: {@code uploads} and {@code uploadedBytes}, images
+     * skipped as {@code unchanged}, {@code busy} or {@code failed}, frames without an image as
+     * {@code notYetAvailable}, {@code allocations} of storage and the image {@code width} and
+     * {@code height}.
+     */
+    public synchronized Map<String, Object> getMetrics() { // เมธอดสรุปผลสำหรับ Flutter
+        Map<String, Object> metrics = new HashMap<>();
+        metrics.put("uploads", ring.getUploadCount());
+        metrics.put("uploadedBytes", ring.getUploadedBytes());
+        metrics.put("unchanged", ring.getUnchangedCount());
+        metrics.put("busy", ring.getBusyCount());
+        metrics.put("failed", ring.getFailedCount());
+        metrics.put("notYetAvailable", notYetAvailable);
+        metrics.put("allocations", ring.getAllocationCount());
+        metrics.put("width", ring.getWidth());
+        metrics.put("height", ring.getHeight());
+        return metrics;
+    }
+
+    /** Deletes the buffers, fences and texture; call on the GL thread. */
+    @Override
+    public synchronized void close() { // เมธอดลบ resource
+        ring.close();
+        texture.close();
+    }
+}
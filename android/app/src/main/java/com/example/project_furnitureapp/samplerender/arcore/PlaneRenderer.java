@@ -1,19 +1,24 @@
 package com.example.project_furnitureapp.samplerender.arcore; // ประกาศ package ของไฟล์นี้
 
 // --- Imports --- (เหมือนเดิม)
+import com.example.project_furnitureapp.samplerender.CameraUniforms; // import CameraUniforms สำหรับข้อมูลกล้องต่อเฟรม
+import com.example.project_furnitureapp.samplerender.Framebuffer; // import Framebuffer สำหรับวาดลง framebuffer ของฉากเสมือน
 import com.example.project_furnitureapp.samplerender.IndexBuffer; // import IndexBuffer สำหรับเก็บ index ของ mesh
 import com.example.project_furnitureapp.samplerender.Mesh; // import Mesh สำหรับวาด geometry
+import com.example.project_furnitureapp.samplerender.PendingShader; // import PendingShader สำหรับ shader ที่ยัง compile ไม่เสร็จ
+import com.example.project_furnitureapp.samplerender.ResourceCache; // import ResourceCache สำหรับ texture ที่ใช้ร่วมกัน
 import com.example.project_furnitureapp.samplerender.SampleRender; // import SampleRender สำหรับวาดบนหน้าจอ
 import com.example.project_furnitureapp.samplerender.Shader; // import Shader สำหรับจัดการ shader
 import com.example.project_furnitureapp.samplerender.Texture; // import Texture สำหรับจัดการ texture
 import com.example.project_furnitureapp.samplerender.VertexBuffer; // import VertexBuffer สำหรับเก็บ vertex
 import com.example.project_furnitureapp.samplerender.GLError; // import GLError สำหรับเช็ค error
+import com.example.project_furnitureapp.samplerender.geometry.Frustum; // import Frustum สำหรับตัด plane ที่มองไม่เห็น
+import com.example.project_furnitureapp.samplerender.gl.UniformStore; // import UniformStore สำหรับ handle ของ uniform
 import com.google.ar.core.Camera; // import Camera ของ ARCore
 import com.google.ar.core.Plane; // import Plane ของ ARCore
 import com.google.ar.core.Pose; // import Pose ของ ARCore
 import com.google.ar.core.TrackingState; // import TrackingState ของ ARCore
 import com.google.ar.core.Trackable; // import Trackable ของ ARCore
-import android.opengl.Matrix; // import Matrix สำหรับคำนวณเมทริกซ์
 import java.nio.FloatBuffer; // import FloatBuffer สำหรับเก็บข้อมูล float
 import java.util.Collection; // import Collection สำหรับเก็บ plane หลายตัว
 import java.nio.ByteBuffer; // import ByteBuffer สำหรับสร้าง buffer
@@ -37,7 +42,6 @@ public class PlaneRenderer { // ประกาศคลาส PlaneRenderer
     // Uniform names
     private static final String TEXTURE_UNIFORM_NAME = "u_Texture"; // ชื่อ uniform สำหรับ texture
     private static final String MODEL_MATRIX_UNIFORM_NAME = "u_Model"; // ชื่อ uniform สำหรับ model matrix
-    private static final String MODEL_VIEW_PROJECTION_MATRIX_UNIFORM_NAME = "u_ModelViewProjection"; // ชื่อ uniform สำหรับ mvp matrix
     private static final String NORMAL_UNIFORM_NAME = "u_Normal"; // **** เปลี่ยนชื่อให้ตรง Shader ****
     private static final String GRID_CONTROL_UNIFORM_NAME = "u_GridControl"; // ชื่อ uniform สำหรับ grid control
     private static final String PLANE_UVS_UNIFORM_NAME = "u_PlaneUvMatrix"; // **** เปลี่ยนชื่อให้ตรง Shader ****
@@ -58,37 +62,44 @@ public class PlaneRenderer { // ประกาศคลาส PlaneRenderer
     // Shader control
     private static final float[] GRID_CONTROL = {0.2f, 0.4f, 2.0f, 1.5f}; // ค่าควบคุม grid
     private static final float FADE_RADIUS_M = 0.25f; // รัศมีที่ alpha เริ่ม fade
+    private static final float MIN_SCREEN_SIZE_PIXELS = 2.0f; // plane ที่เล็กกว่านี้บนจอจะไม่ถูกวาด
 
     // OpenGL resources
     private final Mesh mesh; // mesh สำหรับวาด plane
     private final IndexBuffer indexBufferObject; // index buffer สำหรับ mesh
     private final VertexBuffer vertexBufferObject; // vertex buffer สำหรับ mesh
-    private final Shader shader; // shader สำหรับวาด plane
-    private final Texture texture; // texture สำหรับ grid
+    private final PendingShader pendingShader; // shader ที่กำลัง compile
+    private Shader shader; // shader สำหรับวาด plane (null จนกว่าจะ link เสร็จ)
+    private UniformStore.Handle textureUniform; // handle ของ u_Texture
+    private UniformStore.Handle modelUniform; // handle ของ u_Model
+    private UniformStore.Handle normalUniform; // handle ของ u_Normal
+    private UniformStore.Handle planeUvUniform; // handle ของ u_PlaneUvMatrix
+    private final ResourceCache.Ref<Texture> textureRef; // reference ไปยัง texture ใน cache
+    private Texture texture; // texture สำหรับ grid (null จนกว่าจะโหลดเสร็จ)
     private final SampleRender render; // ตัวแปร SampleRender
 
     // Reusable Buffers and Matrices
     private FloatBuffer vertexBuffer = allocateFloatBuffer(INITIAL_VERTEX_BUFFER_SIZE_BYTES); // buffer สำหรับ vertex
     private IntBuffer indexBuffer = allocateIntBuffer(INITIAL_INDEX_BUFFER_SIZE_BYTES); // buffer สำหรับ index
-    private final float[] viewMatrix = new float[16]; // เมทริกซ์ view
     private final float[] modelMatrix = new float[16]; // เมทริกซ์ model
-    private final float[] modelViewMatrix = new float[16]; // เมทริกซ์ model-view
-    private final float[] modelViewProjectionMatrix = new float[16]; // เมทริกซ์ mvp
     // **** เพิ่ม Matrix สำหรับ UV ****
     private final float[] planeAngleUvMatrix = new float[4]; // 2x2 rotation matrix สำหรับ UV
     // **** เพิ่ม Vector สำหรับ Normal ****
     private final float[] planeNormal = new float[3]; // เวกเตอร์ normal ของ plane
+    private final float[] planeBounds = new float[6]; // bounds ของ polygon ใน local frame ของ plane
 
 
-    public PlaneRenderer(SampleRender render) throws IOException { // constructor รับ SampleRender
+    /**
+     * Creates the renderer. The grid texture comes from {@code resourceCache}, which decodes it in
+     * the background and counts it against the GPU memory budget, and the shader is compiled by the
+     * {@link SampleRender#getShaderCompiler() shader compiler}; planes are not drawn until both are
+     * ready. ARCore takes longer than that to find a plane.
+     */
+    public PlaneRenderer(SampleRender render, ResourceCache resourceCache) throws IOException { // constructor รับ SampleRender และ ResourceCache
         this.render = render; // กำหนด render
+        textureRef = resourceCache.acquireTexture(TEXTURE_NAME, Texture.WrapMode.REPEAT, Texture.ColorFormat.LINEAR); // ขอ texture จาก cache (โหลดแบบ background ถ้ายังไม่มี)
         try {
-            texture = Texture.createFromAsset(render, TEXTURE_NAME, Texture.WrapMode.REPEAT, Texture.ColorFormat.LINEAR); // โหลด texture
-            shader = Shader.createFromAssets(render, VERTEX_SHADER_NAME, FRAGMENT_SHADER_NAME, null)
-                        .setBlend(Shader.BlendFactor.SRC_ALPHA, Shader.BlendFactor.ONE_MINUS_SRC_ALPHA) // ตั้งค่า blend
-                        .setDepthWrite(false) // ปิด depth write
-                        .setTexture(TEXTURE_UNIFORM_NAME, texture); // ตั้งค่า texture uniform
-
+            pendingShader = render.getShaderCompiler().compile(VERTEX_SHADER_NAME, FRAGMENT_SHADER_NAME, null); // เริ่ม compile โดยไม่รอ
             indexBufferObject = new IndexBuffer(render, null); // สร้าง index buffer
             // **** สำคัญ: สร้าง VertexBuffer ให้มี 3 components ต่อ vertex ****
             vertexBufferObject = new VertexBuffer(render, COORDS_PER_VERTEX, null); // สร้าง vertex buffer
@@ -99,12 +110,24 @@ public class PlaneRenderer { // ประกาศคลาส PlaneRenderer
           catch (Throwable t) { Log.e(TAG,"Failed init", t); close(); throw new RuntimeException(t); }
     }
 
+    /** Sets up the shader once it has linked: draw state, uniform handles and the grid control, which never changes. */
+    private void setUpShader(Shader linked) { // เมธอดตั้งค่า shader ที่ link เสร็จแล้ว
+        linked.setBlend(Shader.BlendFactor.SRC_ALPHA, Shader.BlendFactor.ONE_MINUS_SRC_ALPHA,
+                        Shader.BlendFactor.ONE, Shader.BlendFactor.ONE_MINUS_SRC_ALPHA) // ตั้งค่า blend (alpha คือความทึบรวม สำหรับ framebuffer ของฉากเสมือน)
+              .setDepthWrite(false); // ปิด depth write
+        textureUniform = linked.getUniform(TEXTURE_UNIFORM_NAME, UniformStore.Type.SAMPLER);
+        modelUniform = linked.getUniform(MODEL_MATRIX_UNIFORM_NAME, UniformStore.Type.MAT4);
+        normalUniform = linked.getUniform(NORMAL_UNIFORM_NAME, UniformStore.Type.VEC3);
+        planeUvUniform = linked.getUniform(PLANE_UVS_UNIFORM_NAME, UniformStore.Type.MAT2);
+        linked.setFloats(linked.getUniform(GRID_CONTROL_UNIFORM_NAME, UniformStore.Type.VEC4), GRID_CONTROL); // ตั้งค่า grid control ครั้งเดียว
+        shader = linked;
+    }
+
     private static FloatBuffer allocateFloatBuffer(int capacityInBytes) { return ByteBuffer.allocateDirect(capacityInBytes).order(ByteOrder.nativeOrder()).asFloatBuffer(); } // สร้าง FloatBuffer
     private static IntBuffer allocateIntBuffer(int capacityInBytes) { return ByteBuffer.allocateDirect(capacityInBytes).order(ByteOrder.nativeOrder()).asIntBuffer(); } // สร้าง IntBuffer
 
     /** Updates vertex and index buffers based on the plane's polygon. */ // เมธอดอัปเดต vertex/index buffer ตาม polygon ของ plane
-    private void updatePlaneParameters(Plane plane) {
-        FloatBuffer polygon = plane.getPolygon(); // (x,z) pairs ใน local frame
+    private void updatePlaneParameters(FloatBuffer polygon) { // polygon = (x,z) pairs ใน local frame
         if (polygon == null || polygon.limit() < 6) { // ต้องมีอย่างน้อย 3 จุด
             vertexBufferObject.set(null); indexBufferObject.set(null); return; // ถ้าไม่พอให้ clear buffer
         }
@@ -129,7 +152,6 @@ public class PlaneRenderer { // ประกาศคลาส PlaneRenderer
 
         // --- **** แก้ไข: สร้าง Vertex Data (x, z, alpha) **** ---
         // Calculate alpha based on distance to center (simple fade)
-        Pose centerPose = plane.getCenterPose(); // จุดศูนย์กลางของ plane
 
         for (int i = 0; i < numBoundaryVertices; ++i) {
             float x = polygon.get(); // อ่านค่า x
@@ -155,10 +177,40 @@ public class PlaneRenderer { // ประกาศคลาส PlaneRenderer
     }
 
 
-    /** Renders the detected planes. */ // เมธอดวาด plane ทั้งหมด
-    public void drawPlanes(Collection<Plane> allPlanes, Pose cameraPose, float[] cameraProjection) {
-        cameraPose.inverse().toMatrix(viewMatrix, 0); // คำนวณ view matrix
+    /** Renders the detected planes with the camera of {@link CameraUniforms}. */ // เมธอดวาด plane ทั้งหมด
+    public void drawPlanes(Collection<Plane> allPlanes) {
+        drawPlanes(allPlanes, /*frustum=*/ null); // ไม่ตัด plane
+    }
 
+    /**
+     * Renders the detected planes that intersect {@code frustum} and are at least a couple of
+     * pixels tall on screen; the others are neither re-triangulated nor drawn. A null frustum
+     * draws every plane.
+     */
+    public void drawPlanes(Collection<Plane> allPlanes, Frustum frustum) { // เมธอดวาด plane ที่มองเห็น
+        drawPlanes(allPlanes, frustum, /*framebuffer=*/ null); // วาดลงหน้าจอ
+    }
+
+    /**
+     * Like {@link #drawPlanes(Collection, Frustum)}, to {@code framebuffer}, or the screen if it is
+     * null. Into a framebuffer the planes also write depth, so that they can be occluded.
+     */
+    public void drawPlanes(Collection<Plane> allPlanes, Frustum frustum, Framebuffer framebuffer) { // เมธอดวาด plane ลง framebuffer
+        if (shader == null) { // shader ยัง compile ไม่เสร็จ
+            Shader linked = pendingShader.get(); // ไม่รอ
+            if (linked == null) {
+                return; // ข้ามการวาดในเฟรมนี้
+            }
+            setUpShader(linked);
+        }
+        if (texture == null) { // texture ยังโหลดไม่เสร็จ
+            texture = textureRef.get(); // ตรวจว่า upload แล้วหรือยัง
+            if (texture == null) {
+                return; // ข้ามการวาดในเฟรมนี้
+            }
+            shader.setTexture(textureUniform, texture); // ตั้งค่า texture uniform
+        }
+        shader.setDepthWrite(framebuffer != null); // depth ของ plane ใช้ตัดส่วนที่ถูกบัง
         shader.lowLevelUse(); // เปิดใช้งาน shader
 
         for (Plane plane : allPlanes) { // วนลูปทุก plane
@@ -166,33 +218,29 @@ public class PlaneRenderer { // ประกาศคลาส PlaneRenderer
                 continue; // ข้าม plane ที่ไม่ได้ track หรือถูก subsume
             }
 
+            FloatBuffer polygon = plane.getPolygon(); // (x,z) pairs ใน local frame
+            plane.getCenterPose().toMatrix(modelMatrix, 0); // คำนวณ model matrix
+            if (frustum != null
+                    && (!Frustum.polygonBounds(polygon, planeBounds) || !frustum.isVisible(planeBounds, modelMatrix, MIN_SCREEN_SIZE_PIXELS))) {
+                continue; // ข้าม plane ที่อยู่นอกจอหรือเล็กเกินไป
+            }
+
             try {
-                updatePlaneParameters(plane); // อัปเดต buffer สำหรับ plane นี้
+                updatePlaneParameters(polygon); // อัปเดต buffer สำหรับ plane นี้
             } catch (Exception e) { Log.e(TAG, "Error updating plane params", e); continue; }
 
             if (vertexBufferObject.getNumberOfVertices() == 0 || indexBufferObject.getSize() == 0) {
                 continue; // ข้ามถ้า buffer ว่าง
             }
 
-            // --- Calculate Matrices ---
-            plane.getCenterPose().toMatrix(modelMatrix, 0); // คำนวณ model matrix
-            Matrix.multiplyMM(modelViewMatrix, 0, viewMatrix, 0, modelMatrix, 0); // คำนวณ model-view
-            Matrix.multiplyMM(modelViewProjectionMatrix, 0, cameraProjection, 0, modelViewMatrix, 0); // คำนวณ mvp
-
             // --- **** เพิ่ม: Calculate and Set Uniforms **** ---
-            // Set Model Matrix (ใช้ใน vertex shader)
-            shader.setMat4(MODEL_MATRIX_UNIFORM_NAME, modelMatrix);
-
-            // Set ModelViewProjection Matrix
-            shader.setMat4(MODEL_VIEW_PROJECTION_MATRIX_UNIFORM_NAME, modelViewProjectionMatrix);
-
-            // Set Grid Control Uniform
-            shader.setVec4(GRID_CONTROL_UNIFORM_NAME, GRID_CONTROL);
+            // Set Model Matrix (view-projection มาจาก camera block)
+            shader.setFloats(modelUniform, modelMatrix);
 
             // Calculate and Set Normal Vector Uniform (u_Normal)
             // Get the normal ใน world coordinates (แกน Y ของ plane)
             plane.getCenterPose().getTransformedAxis(1, 1.0f, planeNormal, 0); // ดึง normal
-            shader.setVec3(NORMAL_UNIFORM_NAME, planeNormal);
+            shader.setFloats(normalUniform, planeNormal);
 
             // Calculate and Set Plane UV Matrix Uniform (u_PlaneUvMatrix)
             // หมุน UV ตาม orientation ของ plane รอบแกน Y
@@ -203,11 +251,11 @@ public class PlaneRenderer { // ประกาศคลาส PlaneRenderer
             // สร้าง 2x2 rotation matrix (column-major สำหรับ OpenGL)
             planeAngleUvMatrix[0] = cosAngle;  planeAngleUvMatrix[1] = sinAngle;
             planeAngleUvMatrix[2] = -sinAngle; planeAngleUvMatrix[3] = cosAngle;
-            shader.setMat2(PLANE_UVS_UNIFORM_NAME, planeAngleUvMatrix); // ส่ง matrix ไป shader
+            shader.setFloats(planeUvUniform, planeAngleUvMatrix); // ส่ง matrix ไป shader
             // --- **** สิ้นสุดการตั้งค่า Uniforms **** ---
 
             // --- Draw the mesh ---
-            this.render.draw(mesh, shader); // วาด mesh ด้วย shader
+            this.render.draw(mesh, shader, framebuffer); // วาด mesh ด้วย shader
             // GLError.maybeLogGLError(Log.DEBUG, TAG, "After drawing plane", ""); // log error (ถ้าต้องการ)
 
         } // End loop through planes
@@ -225,6 +273,8 @@ public class PlaneRenderer { // ประกาศคลาส PlaneRenderer
     /** Releases OpenGL resources */ // เมธอดปิด resource
     public void close() {
         Log.d(TAG, "Closing PlaneRenderer resources."); // log
-        if (shader != null) { shader.close(); } // ปิด shader (texture ถูกปิดโดย shader)
+        if (pendingShader != null) { pendingShader.close(); } // ปิด shader (หรือยกเลิกถ้ายัง compile ไม่เสร็จ)
+        textureRef.close(); // คืน texture ให้ cache (cache เป็นผู้ลบ)
+        texture = null;
     }
 }
@@ -12,6 +12,7 @@ import android.util.Log; // import Log สำหรับเขียน log
 
 import com.example.project_furnitureapp.samplerender.Framebuffer; // import Framebuffer
 import com.example.project_furnitureapp.samplerender.GLError; // import GLError
+import com.example.project_furnitureapp.samplerender.GlState; // import GlState
 import com.example.project_furnitureapp.samplerender.Mesh; // import Mesh
 import com.example.project_furnitureapp.samplerender.SampleRender; // import SampleRender
 import com.example.project_furnitureapp.samplerender.Shader; // import Shader
@@ -131,6 +132,7 @@ public class SpecularCubemapFilter implements Closeable { // ประกาศ
             for (int level = 0; level < framebuffers.length; ++level) {
                 if (framebuffers[level] != null && framebuffers[level].length > 0) {
                     GLES30.glDeleteFramebuffers(framebuffers[level].length, framebuffers[level], 0); // ลบ framebuffer
+                    GlState.onFramebuffersDeleted(framebuffers[level]); // framebuffer 0 ถูก bind แทน
                 }
             }
             framebuffers = null; // เซ็ตเป็น null
@@ -152,7 +154,7 @@ public class SpecularCubemapFilter implements Closeable { // ประกาศ
 
         try {
             // --- 1. Update Radiance Cubemap ---
-            GLES30.glBindTexture(GLES30.GL_TEXTURE_CUBE_MAP, radianceCubemap.getTextureId()); // bind radiance cubemap
+            GlState.bindTexture(GLES30.GL_TEXTURE_CUBE_MAP, radianceCubemap.getTextureId()); // bind radiance cubemap
             GLError.maybeThrowGLException("Failed to bind radiance cubemap texture", "glBindTexture"); // เช็ค error
 
             if (images == null || images.length != NUMBER_OF_CUBE_FACES) { /* ... error handling ... */
@@ -187,8 +189,8 @@ public class SpecularCubemapFilter implements Closeable { // ประกาศ
 
 
             // --- 2. Filter into LD Cubemap ---
-            GLES30.glDisable(GLES30.GL_DEPTH_TEST); // ปิด depth test
-            GLES30.glDepthMask(false); // ปิด depth write
+            GlState.setEnabled(GLES30.GL_DEPTH_TEST, false); // ปิด depth test
+            GlState.depthMask(false); // ปิด depth write
             GLError.maybeLogGLError(Log.DEBUG, TAG, "Setup before filtering loop", "glDepthMask"); // log
 
             ChunkIterable chunks = new ChunkIterable(getMaxColorAttachments()); // สร้าง chunks
@@ -207,7 +209,7 @@ public class SpecularCubemapFilter implements Closeable { // ประกาศ
                          continue; // Skip this chunk if FBO doesn't exist
                     }
                     int fbo = framebuffers[level][chunk.chunkIndex]; // ดึง framebuffer id
-                    GLES30.glBindFramebuffer(GLES30.GL_FRAMEBUFFER, fbo); // bind framebuffer
+                    GlState.bindFramebuffer(fbo); // bind framebuffer
                     GLError.maybeLogGLError(Log.DEBUG, TAG, "Bound FBO " + fbo + " for level " + level + ", chunk " + chunk.chunkIndex, "glBindFramebuffer"); // log
 
                     Shader shader = shaders[chunk.chunkIndex]; // ดึง shader
@@ -231,9 +233,9 @@ public class SpecularCubemapFilter implements Closeable { // ประกาศ
 
             // Restore state
             // Note: Viewport should be reset by the calling renderer (e.g., ArMeasureView.onSurfaceChanged)
-            GLES30.glDepthMask(true); // เปิด depth write กลับ
-            GLES30.glEnable(GLES30.GL_DEPTH_TEST); // เปิด depth test กลับ
-            GLES30.glBindFramebuffer(GLES30.GL_FRAMEBUFFER, 0); // bind framebuffer หลัก
+            GlState.depthMask(true); // เปิด depth write กลับ
+            GlState.setEnabled(GLES30.GL_DEPTH_TEST, true); // เปิด depth test กลับ
+            GlState.bindFramebuffer(0); // bind framebuffer หลัก
             GLError.maybeLogGLError(Log.DEBUG, TAG, "Restored GL state after filtering", "glBindFramebuffer"); // log
 
         } catch (Throwable t) {
@@ -255,7 +257,7 @@ public class SpecularCubemapFilter implements Closeable { // ประกาศ
     // --- Private Helper Methods ---
 
     private void initializeLdCubemap() { /* ... as before, ensure parameters set ... */
-        GLES30.glBindTexture(GLES30.GL_TEXTURE_CUBE_MAP, ldCubemap.getTextureId()); // bind ld cubemap
+        GlState.bindTexture(GLES30.GL_TEXTURE_CUBE_MAP, ldCubemap.getTextureId()); // bind ld cubemap
         GLError.maybeThrowGLException("Could not bind LD cubemap texture", "glBindTexture"); // เช็ค error
         for (int level = 0; level < numberOfMipmapLevels; ++level) { // วนลูปทุก mipmap level
             int mipmapResolution = resolution >> level; // คำนวณขนาด
@@ -319,7 +321,7 @@ public class SpecularCubemapFilter implements Closeable { // ประกาศ
                 GLError.maybeThrowGLException("Could not create framebuffers level " + level, "glGenFramebuffers"); // เช็ค error
                 for (Chunk chunk : chunks) { // วนลูปทุก chunk
                     int fbo = createdFramebuffers[level][chunk.chunkIndex]; // ดึง framebuffer id
-                    GLES30.glBindFramebuffer(GLES30.GL_FRAMEBUFFER, fbo); // bind framebuffer
+                    GlState.bindFramebuffer(fbo); // bind framebuffer
                     GLError.maybeThrowGLException("Could not bind FBO " + fbo, "glBindFramebuffer"); // เช็ค error
                     if (chunk.chunkSize > 1) { /* set glDrawBuffers */
                         int[] drawBuffers = new int[chunk.chunkSize]; // สร้าง array สำหรับ draw buffer
@@ -343,12 +345,13 @@ public class SpecularCubemapFilter implements Closeable { // ประกาศ
                  for(int lvl=0; lvl<createdFramebuffers.length; ++lvl) {
                      if (createdFramebuffers[lvl] != null && createdFramebuffers[lvl].length > 0) {
                          GLES30.glDeleteFramebuffers(createdFramebuffers[lvl].length, createdFramebuffers[lvl], 0); // ลบ framebuffer
+                         GlState.onFramebuffersDeleted(createdFramebuffers[lvl]); // framebuffer 0 ถูก bind แทน
                      }
                  }
              }
              throw e; // Re-throw
         } finally {
-            GLES30.glBindFramebuffer(GLES30.GL_FRAMEBUFFER, 0); // bind framebuffer หลัก
+            GlState.bindFramebuffer(0); // bind framebuffer หลัก
         }
         return createdFramebuffers; // คืนค่า framebuffer
     }
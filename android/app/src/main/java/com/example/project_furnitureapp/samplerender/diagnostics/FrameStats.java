@@ -0,0 +1,182 @@
+package com.example.project_furnitureapp.samplerender.diagnostics; // ประกาศ package ของไฟล์นี้
+
+import java.util.HashMap; // import HashMap สำหรับ snapshot
+import java.util.Map; // import Map สำหรับ snapshot
+
+/**
+ * CPU time of each phase of the frame loop, in a {@link LogHistogram} per phase, plus the whole
+ * frame, the frame rate, frames that came late and frames that threw, by exception type.
+ *
+ * <p>The frame loop calls {@link #beginFrame}, then {@link #mark} as each phase ends (the time
+ * since the previous mark is that phase's), {@link #fail} if the frame threw, and {@link #endFrame}.
+ * Phases a frame did not reach are not recorded for it. A frame is dropped when it started more
+ * than the budget after the previous one; {@link #pause} keeps the gap of a pause from counting.
+ *
+ * <p>Recording allocates nothing: the histograms are made up front and at most {@link
+ * #MAX_ERROR_TYPES} exception types are counted by name, the rest together. {@link #beginFrame},
+ * {@link #mark} and {@link #fail} must be called on the frame loop's thread; {@link #endFrame}
+ * commits under a lock, so {@link #snapshot} may be called from any thread.
+ *
+ * <p>This class does not use OpenGL, so it is checked on the JVM by {@code FrameStatsCheck}.
+ */ // คำอธิบายคลาส: เวลา CPU ของแต่ละช่วงของเฟรม อัตราเฟรม และจำนวนเฟรมที่ช้าหรือ error
+public final class FrameStats { // ประกาศคลาส FrameStats
+    /** Exception types counted separately; more are counted as {@code other}. */
+    public static final int MAX_ERROR_TYPES = 8; // จำนวนชนิด exception ที่นับแยก
+    private static final String OTHER_ERRORS = "other"; // ชื่อของ exception ที่เกินจำนวน
+
+    private final String[] phaseNames; // ชื่อของแต่ละช่วง
+    private final long budgetNanos; // ระยะห่างของเฟรมที่ยังไม่ถือว่าช้า
+    private final LogHistogram[] phases; // เวลาของแต่ละช่วง
+    private final LogHistogram frameTimes = new LogHistogram(); // เวลาทั้งเฟรม
+    private final LogHistogram intervals = new LogHistogram(); // ระยะห่างระหว่างจุดเริ่มของเฟรม
+    private final long[] spans; // เวลาของแต่ละช่วงในเฟรมนี้ (-1 = ยังไม่ถึง)
+    private final Class<?>[] errorTypes = new Class<?>[MAX_ERROR_TYPES]; // ชนิด exception ที่นับ
+    private final long[] errorCounts = new long[MAX_ERROR_TYPES]; // จำนวนของแต่ละชนิด
+    private long otherErrors; // จำนวน exception ชนิดอื่น
+    private long frameStart; // เวลาเริ่มเฟรมนี้
+    private long lastMark; // เวลาของ mark ล่าสุด
+    private Class<?> frameError; // exception ของเฟรมนี้ (null = ไม่มี)
+    private long previousStart = -1; // เวลาเริ่มเฟรมก่อน (-1 = ไม่มี)
+    private long frames; // จำนวนเฟรม
+    private long dropped; // จำนวนเฟรมที่ช้า
+    private long failed; // จำนวนเฟรมที่ error
+
+    public FrameStats(long budgetNanos, String... phaseNames) { // constructor รับงบเวลาและชื่อช่วง
+        this.budgetNanos = budgetNanos;
+        this.phaseNames = phaseNames.clone();
+        phases = new LogHistogram[phaseNames.length];
+        for (int i = 0; i < phases.length; ++i) {
+            phases[i] = new LogHistogram();
+        }
+        spans = new long[phaseNames.length];
+    }
+
+    /** Starts a frame at {@code now} ({@code System.nanoTime}). */
+    public void beginFrame(long now) { // เมธอดเริ่มเฟรม
+        frameStart = now;
+        lastMark = now;
+        frameError = null;
+        for (int i = 0; i < spans.length; ++i) {
+            spans[i] = -1;
+        }
+    }
+
+    /** Ends a phase at {@code now}: it took the time since the previous mark, or since the frame began. */
+    public void mark(int phase, long now) { // เมธอดจบช่วง
+        spans[phase] = Math.max(spans[phase], 0) + now - lastMark; // ช่วงเดียวกันซ้ำในเฟรม: รวมเวลา
+        lastMark = now;
+    }
+
+    /** Records that this frame threw; counted when the frame ends. */
+    public void fail(Throwable error) { frameError = error.getClass(); } // เมธอดบันทึก exception ของเฟรม
+
+    /** Ends the frame at {@code now} and commits its times. */
+    public synchronized void endFrame(long now) { // เมธอดจบเฟรม
+        for (int i = 0; i < spans.length; ++i) {
+            if (spans[i] >= 0) {
+                phases[i].record(spans[i]);
+            }
+        }
+        frameTimes.record(now - frameStart);
+        if (previousStart >= 0) {
+            long interval = frameStart - previousStart;
+            intervals.record(interval);
+            if (interval > budgetNanos) {
+                ++dropped;
+            }
+        }
+        previousStart = frameStart;
+        ++frames;
+        if (frameError != null) {
+            ++failed;
+            countError(frameError);
+        }
+    }
+
+    /** Call when the frame loop pauses: the gap until the next frame is not an interval. */
+    public synchronized void pause() { previousStart = -1; } // เมธอดหยุดนับระยะห่างของเฟรม
+
+    /** Forgets every frame. */
+    public synchronized void reset() { // เมธอดล้างค่า
+        for (LogHistogram phase : phases) {
+            phase.clear();
+        }
+        frameTimes.clear();
+        intervals.clear();
+        for (int i = 0; i < MAX_ERROR_TYPES; ++i) {
+            errorTypes[i] = null;
+            errorCounts[i] = 0;
+        }
+        otherErrors = 0;
+        previousStart = -1;
+        frames = 0;
+        dropped = 0;
+        failed = 0;
+    }
+
+    /** Number of frames ended. */
+    public synchronized long getFrameCount() { return frames; } // คืนค่าจำนวนเฟรม
+
+    /** Number of frames that started later than the budget after the previous one. */
+    public synchronized long getDroppedCount() { return dropped; } // คืนค่าจำนวนเฟรมที่ช้า
+
+    /** Number of frames that threw. */
+    public synchronized long getFailedCount() { return failed; } // คืนค่าจำนวนเฟรมที่ error
+
+    /** Frames per second over the recorded intervals, or 0 before the second frame. */
+    public synchronized double getFrameRate() { // คืนค่าอัตราเฟรม
+        return intervals.getTotal() > 0 ? intervals.getCount() * 1e9 / intervals.getTotal() : 0;
+    }
+
+    /**
+     * Returns the stats as plain maps, for the Flutter method channel: {@code frames}, {@code fps},
+     * {@code dropped}, {@code failed}, {@code errors} (count per exception type), {@code frame}
+     * and each phase under {@code phases}, as {@code p50Ms}, {@code p95Ms}, {@code p99Ms}, {@code
+     * maxMs} and {@code samples}.
+     */
+    public synchronized Map<String, Object> snapshot() { // เมธอดสรุปผล
+        Map<String, Object> snapshot = new HashMap<>();
+        snapshot.put("frames", frames);
+        snapshot.put("fps", getFrameRate());
+        snapshot.put("dropped", dropped);
+        snapshot.put("failed", failed);
+        Map<String, Object> errors = new HashMap<>();
+        for (int i = 0; i < MAX_ERROR_TYPES && errorTypes[i] != null; ++i) {
+            errors.put(errorTypes[i].getSimpleName(), errorCounts[i]);
+        }
+        if (otherErrors > 0) {
+            errors.put(OTHER_ERRORS, otherErrors);
+        }
+        snapshot.put("errors", errors);
+        snapshot.put("frame", summarize(frameTimes));
+        Map<String, Object> phaseSummaries = new HashMap<>();
+        for (int i = 0; i < phases.length; ++i) {
+            phaseSummaries.put(phaseNames[i], summarize(phases[i]));
+        }
+        snapshot.put("phases", phaseSummaries);
+        return snapshot;
+    }
+
+    private void countError(Class<?> type) { // เมธอดนับ exception ตามชนิด
+        for (int i = 0; i < MAX_ERROR_TYPES; ++i) {
+            if (errorTypes[i] == null) {
+                errorTypes[i] = type; // ชนิดใหม่
+            }
+            if (errorTypes[i] == type) {
+                ++errorCounts[i];
+                return;
+            }
+        }
+        ++otherErrors;
+    }
+
+    private static Map<String, Object> summarize(LogHistogram histogram) { // เมธอดสรุป histogram
+        Map<String, Object> summary = new HashMap<>();
+        summary.put("p50Ms", histogram.getPercentile(50) / 1e6);
+        summary.put("p95Ms", histogram.getPercentile(95) / 1e6);
+        summary.put("p99Ms", histogram.getPercentile(99) / 1e6);
+        summary.put("maxMs", histogram.getMax() / 1e6);
+        summary.put("samples", histogram.getCount());
+        return summary;
+    }
+}
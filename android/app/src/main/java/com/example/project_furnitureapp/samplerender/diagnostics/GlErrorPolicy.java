@@ -0,0 +1,103 @@
+package com.example.project_furnitureapp.samplerender.diagnostics; // ประกาศ package ของไฟล์นี้
+
+import java.util.Arrays; // import Arrays สำหรับตัด array ของ error code
+import java.util.concurrent.atomic.AtomicLong; // import AtomicLong สำหรับนับ error จากหลาย thread
+
+/**
+ * When to ask the driver for errors. {@code glGetError} is a sync point on many drivers, so
+ * asking after every GL call, as the renderers do through {@code GLError}, costs frame time even
+ * when nothing is wrong.
+ *
+ * <ul>
+ *   <li>{@link Mode#OFF}: never ask; for release builds.
+ *   <li>{@link Mode#PER_FRAME}: ask once, at {@link #endFrame}; an error is reported for the frame,
+ *       not for the call that caused it.
+ *   <li>{@link Mode#FULL}: ask after every call; errors throw or log where they happen.
+ *   <li>{@link Mode#DEBUG_OUTPUT}: never ask; the driver reports errors itself through {@code
+ *       KHR_debug}, and {@link #isReported} picks the messages worth logging.
+ * </ul>
+ *
+ * <p>{@link #check} allocates nothing and, outside {@link Mode#FULL}, does not touch GL. The
+ * calls may come from any thread with a current context; the mode is shared by all of them.
+ *
+ * <p>The GL binding is an interface, so this class is checked on the JVM against a fake binding
+ * by {@code GlErrorPolicyCheck}.
+ */ // คำอธิบายคลาส: นโยบายว่าจะถาม glGetError เมื่อไร
+public final class GlErrorPolicy { // ประกาศคลาส GlErrorPolicy
+    /** {@code GL_NO_ERROR}. */
+    public static final int NO_ERROR = 0; // ไม่มี error
+    /** {@code GL_DEBUG_TYPE_ERROR_KHR}. */
+    public static final int DEBUG_TYPE_ERROR = 0x824C; // ข้อความประเภท error
+    /** {@code GL_DEBUG_SEVERITY_HIGH_KHR}. */
+    public static final int DEBUG_SEVERITY_HIGH = 0x9146; // ความรุนแรงสูง
+    /** {@code GL_DEBUG_SEVERITY_MEDIUM_KHR}. */
+    public static final int DEBUG_SEVERITY_MEDIUM = 0x9147; // ความรุนแรงปานกลาง
+    private static final int MAX_ERRORS = 16; // driver มี error flag ไม่กี่ตัว; กันวนไม่จบถ้าไม่มี context
+
+    /** When errors are checked; see the class comment. */
+    public enum Mode { OFF, PER_FRAME, FULL, DEBUG_OUTPUT } // โหมดการตรวจ error
+
+    /** The one GL call this class makes. */
+    public interface Binding { // interface สำหรับเรียก glGetError
+        int glGetError(); // คืนค่า error ถัดไป หรือ NO_ERROR
+    }
+
+    private final Binding binding; // ตัวเรียก glGetError
+    private volatile Mode mode; // โหมดปัจจุบัน
+    private final AtomicLong errorCount = new AtomicLong(); // จำนวน error ที่พบทั้งหมด
+
+    public GlErrorPolicy(Binding binding, Mode mode) { // constructor รับ binding และโหมดเริ่มต้น
+        this.binding = binding;
+        this.mode = mode;
+    }
+
+    public void setMode(Mode mode) { this.mode = mode; } // เมธอดตั้งโหมด
+
+    public Mode getMode() { return mode; } // คืนค่าโหมด
+
+    /**
+     * Call after a GL call. Returns its first error, or {@link #NO_ERROR} if there is none or this
+     * mode does not check each call; pass an error to {@link #drain} for the rest.
+     */
+    public int check() { // เมธอดตรวจ error หลังการเรียก GL
+        return mode == Mode.FULL ? binding.glGetError() : NO_ERROR;
+    }
+
+    /**
+     * Call once at the end of each frame. In {@link Mode#PER_FRAME} returns the errors the frame
+     * raised, or null if there were none; in the other modes returns null without touching GL.
+     */
+    public int[] endFrame() { // เมธอดตรวจ error ครั้งเดียวต่อเฟรม
+        if (mode != Mode.PER_FRAME) {
+            return null;
+        }
+        int first = binding.glGetError();
+        return first == NO_ERROR ? null : drain(first);
+    }
+
+    /** Returns {@code first} and every error still queued behind it, and counts them. Only runs when something failed, so it may allocate. */
+    public int[] drain(int first) { // เมธอดดึง error ที่เหลือทั้งหมด
+        int[] errors = new int[MAX_ERRORS];
+        int count = 0;
+        for (int error = first; error != NO_ERROR && count < MAX_ERRORS; error = binding.glGetError()) {
+            errors[count++] = error;
+        }
+        errorCount.addAndGet(count);
+        return Arrays.copyOf(errors, count);
+    }
+
+    /**
+     * Returns whether a {@code KHR_debug} message should be logged: errors and high or medium
+     * severity messages are, notifications and low severity hints are not. Counts the errors.
+     */
+    public boolean isReported(int type, int severity) { // เมธอดเลือกข้อความ debug ที่ควร log
+        if (type == DEBUG_TYPE_ERROR) {
+            errorCount.incrementAndGet();
+            return true;
+        }
+        return severity == DEBUG_SEVERITY_HIGH || severity == DEBUG_SEVERITY_MEDIUM;
+    }
+
+    /** Number of errors found so far, in any mode. */
+    public long getErrorCount() { return errorCount.get(); } // คืนค่าจำนวน error ทั้งหมด
+}
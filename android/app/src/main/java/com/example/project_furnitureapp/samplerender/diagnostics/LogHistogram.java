@@ -0,0 +1,93 @@
+package com.example.project_furnitureapp.samplerender.diagnostics; // ประกาศ package ของไฟล์นี้
+
+import java.util.Arrays; // import Arrays สำหรับล้าง bucket
+
+/**
+ * Histogram of durations in nanoseconds with logarithmic buckets: each power of two from 1 µs to
+ * about 17 s is split into eight buckets, so a percentile is within 12.5% of the true value at any
+ * scale. Shorter durations share the first bucket and longer ones the last.
+ *
+ * <p>All buckets are allocated up front; {@link #record} is a few shifts and an increment and
+ * allocates nothing. Not thread safe.
+ */ // คำอธิบายคลาส: histogram ของเวลาแบบ bucket ลอการิทึม
+public final class LogHistogram { // ประกาศคลาส LogHistogram
+    private static final int SUB_BUCKET_BITS = 3; // 8 bucket ต่อหนึ่งเท่าตัว
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MIN_SHIFT = 10; // bucket แรกคือต่ำกว่า 1024 ns
+    private static final int MAX_SHIFT = 34; // ตั้งแต่ 2^34 ns (~17 วินาที) อยู่ bucket สุดท้าย
+    private static final int BUCKETS = 1 + (MAX_SHIFT - MIN_SHIFT) * SUB_BUCKETS; // จำนวน bucket ทั้งหมด
+
+    private final long[] counts = new long[BUCKETS]; // จำนวนค่าในแต่ละ bucket
+    private long count; // จำนวนค่าทั้งหมด
+    private long total; // ผลรวมของค่า
+    private long max; // ค่ามากสุด
+
+    /** Records a duration; negative durations count as zero. */
+    public void record(long nanos) { // เมธอดบันทึกค่า
+        long value = Math.max(nanos, 0);
+        ++counts[index(value)];
+        ++count;
+        total += value;
+        max = Math.max(max, value);
+    }
+
+    /** Forgets every value. */
+    public void clear() { // เมธอดล้างค่า
+        Arrays.fill(counts, 0);
+        count = 0;
+        total = 0;
+        max = 0;
+    }
+
+    /** Number of values recorded. */
+    public long getCount() { return count; } // คืนค่าจำนวนค่า
+
+    /** Sum of the values recorded, in nanoseconds. */
+    public long getTotal() { return total; } // คืนค่าผลรวม
+
+    /** Largest value recorded, or 0 if there are none. */
+    public long getMax() { return max; } // คืนค่ามากสุด
+
+    /**
+     * Returns the upper bound of the bucket holding the nearest-rank percentile, capped at the
+     * largest value; 0 if there are no values.
+     */
+    public long getPercentile(double percent) { // คืนค่า percentile
+        if (percent < 0 || percent > 100) {
+            throw new IllegalArgumentException("Percent out of range: " + percent); // ขว้าง exception
+        }
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percent / 100 * count)); // อันดับแบบ nearest-rank
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; ++i) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return i == BUCKETS - 1 ? max : Math.min(upperBound(i), max); // bucket สุดท้ายไม่มีขอบบน
+            }
+        }
+        return max;
+    }
+
+    private static int index(long value) { // เมธอดหา bucket ของค่า
+        if (value < (1L << MIN_SHIFT)) {
+            return 0;
+        }
+        int msb = 63 - Long.numberOfLeadingZeros(value); // ตำแหน่ง bit สูงสุด
+        if (msb >= MAX_SHIFT) {
+            return BUCKETS - 1;
+        }
+        int sub = (int) (value >>> (msb - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1); // 3 bit ถัดจาก bit สูงสุด
+        return 1 + (msb - MIN_SHIFT) * SUB_BUCKETS + sub;
+    }
+
+    private static long upperBound(int index) { // เมธอดหาค่าสูงสุดของ bucket
+        if (index == 0) {
+            return (1L << MIN_SHIFT) - 1;
+        }
+        int msb = MIN_SHIFT + (index - 1) / SUB_BUCKETS;
+        int sub = (index - 1) % SUB_BUCKETS;
+        return ((long) (SUB_BUCKETS + sub + 1) << (msb - SUB_BUCKET_BITS)) - 1;
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.project_furnitureapp.samplerender.diagnostics; // ประกาศ package ของไฟล์นี้
+
+import java.util.Arrays; // import Arrays สำหรับเรียงค่าเพื่อหา percentile
+
+/**
+ * Minimum, average and percentiles of the last {@code window} samples, such as the GPU time of a
+ * render pass over the last few seconds of frames. Older samples fall out as new ones arrive.
+ *
+ * <p>Neither {@link #add} nor the getters allocate: percentiles sort a copy into a scratch array
+ * made up front. Not thread safe.
+ */ // คำอธิบายคลาส: สถิติของค่าล่าสุดตามจำนวนที่กำหนด (min/avg/percentile)
+public final class RollingStats { // ประกาศคลาส RollingStats
+    private final long[] samples; // ค่าล่าสุด เป็นวง
+    private final long[] scratch; // ที่เรียงค่าตอนหา percentile
+    private int next; // ตำแหน่งที่จะเขียนค่าถัดไป
+    private int count; // จำนวนค่าที่มีอยู่
+    private long sum; // ผลรวมของค่าที่มีอยู่
+
+    public RollingStats(int window) { // constructor รับจำนวนค่าที่เก็บ
+        if (window <= 0) {
+            throw new IllegalArgumentException("Window must be positive: " + window); // ขว้าง exception
+        }
+        samples = new long[window];
+        scratch = new long[window];
+    }
+
+    /** Adds a sample, dropping the oldest one if the window is full. */
+    public void add(long sample) { // เมธอดเพิ่มค่า
+        if (count == samples.length) {
+            sum -= samples[next]; // ค่าเก่าสุดหลุดออก
+        } else {
+            ++count;
+        }
+        samples[next] = sample;
+        sum += sample;
+        next = (next + 1) % samples.length;
+    }
+
+    /** Forgets every sample. */
+    public void clear() { // เมธอดล้างค่า
+        next = 0;
+        count = 0;
+        sum = 0;
+    }
+
+    /** Number of samples in the window. */
+    public int getCount() { return count; } // คืนค่าจำนวนค่า
+
+    /** Smallest sample, or 0 if there are none. */
+    public long getMin() { // คืนค่าน้อยสุด
+        long min = count > 0 ? Long.MAX_VALUE : 0;
+        for (int i = 0; i < count; ++i) {
+            min = Math.min(min, samples[i]);
+        }
+        return min;
+    }
+
+    /** Average of the samples, rounded down, or 0 if there are none. */
+    public long getAverage() { return count > 0 ? sum / count : 0; } // คืนค่าเฉลี่ย
+
+    /**
+     * Returns the nearest-rank percentile: the smallest sample that at least {@code percent} percent
+     * of the samples are at or below; 0 if there are none.
+     */
+    public long getPercentile(int percent) { // คืนค่า percentile
+        if (percent < 0 || percent > 100) {
+            throw new IllegalArgumentException("Percent out of range: " + percent); // ขว้าง exception
+        }
+        if (count == 0) {
+            return 0;
+        }
+        System.arraycopy(samples, 0, scratch, 0, count);
+        Arrays.sort(scratch, 0, count);
+        int rank = (int) Math.ceil(percent / 100.0 * count); // อันดับแบบ nearest-rank
+        return scratch[Math.max(rank, 1) - 1];
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.project_furnitureapp.samplerender.diagnostics; // ประกาศ package ของไฟล์นี้
+
+/**
+ * GPU time of each render pass from {@code GL_TIME_ELAPSED_EXT} queries, read back without
+ * stalling. Each pass has {@code depth} queries, one per frame in flight: a frame times its passes
+ * with its own slot, and {@link #endFrame} reads only the queries whose results are available, so
+ * a result normally arrives one or two frames after its pass. If a pass comes round to a query
+ * that is still busy, that frame of the pass is not timed ({@link #getBusyCount}) rather than
+ * waiting for the GPU.
+ *
+ * <p>When the driver reports a disjoint event (a frequency change or a context switch), every
+ * query in flight is read and thrown away ({@link #getDiscardedCount}), as their times are
+ * meaningless. Kept results go into a {@link RollingStats} per pass.
+ *
+ * <p>Timer queries cannot nest, so passes must be timed one after the other. All calls must be
+ * made on the GL thread; not thread safe. The GL calls go through {@link Binding}, so this class is
+ * checked on the JVM against a fake GPU by {@code TimerQueryRingCheck}.
+ */ // คำอธิบายคลาส: วงของ timer query ต่อ pass อ่านผลย้อนหลังโดยไม่รอ GPU
+public final class TimerQueryRing { // ประกาศคลาส TimerQueryRing
+    /** Frames in flight: results are read back up to this many frames later. */
+    public static final int DEFAULT_DEPTH = 4; // จำนวนเฟรมที่ query ค้างได้
+    /** Frames of results kept per pass. */
+    public static final int DEFAULT_WINDOW = 120; // จำนวนผลที่เก็บต่อ pass
+
+    /** The GL calls this class makes. */
+    public interface Binding { // interface สำหรับเรียก query ของ GL
+        void genQueries(int[] ids); // สร้าง query
+        void deleteQueries(int[] ids); // ลบ query
+        void beginTimeElapsed(int id); // glBeginQuery(GL_TIME_ELAPSED_EXT, id)
+        void endTimeElapsed(); // glEndQuery(GL_TIME_ELAPSED_EXT)
+        boolean isResultAvailable(int id); // GL_QUERY_RESULT_AVAILABLE
+        long getResultNanos(int id); // GL_QUERY_RESULT: เวลาเป็น nanosecond
+        boolean isDisjoint(); // GL_GPU_DISJOINT_EXT: อ่านแล้วถูกล้าง
+    }
+
+    private final Binding binding; // ตัวเรียก GL
+    private final String[] passNames; // ชื่อของแต่ละ pass
+    private final int depth; // จำนวนเฟรมที่ค้างได้
+    private final int[] ids; // query ของทุก slot: ids[slot * passes + pass]
+    private final boolean[] pending; // query รอผลอยู่
+    private final boolean[] discard; // ผลของ query นี้ต้องทิ้ง (disjoint)
+    private final RollingStats[] stats; // สถิติของแต่ละ pass
+    private int slot; // slot ของเฟรมนี้
+    private int activePass = -1; // pass ที่กำลังจับเวลา
+    private boolean activeTimed; // pass ที่กำลังจับเวลามี query หรือไม่
+    private long busy; // จำนวนครั้งที่ไม่ได้จับเวลาเพราะ query ยังไม่ว่าง
+    private long discarded; // จำนวนผลที่ทิ้งเพราะ disjoint
+    private boolean closed; // ปิดแล้วหรือยัง
+
+    /** Creates the queries; call on the GL thread with a context current. */
+    public TimerQueryRing(Binding binding, String[] passNames, int depth, int window) { // constructor
+        if (passNames.length == 0 || depth <= 0) {
+            throw new IllegalArgumentException("Need at least one pass and one frame in flight"); // ขว้าง exception
+        }
+        this.binding = binding;
+        this.passNames = passNames.clone();
+        this.depth = depth;
+        ids = new int[passNames.length * depth];
+        pending = new boolean[ids.length];
+        discard = new boolean[ids.length];
+        stats = new RollingStats[passNames.length];
+        for (int i = 0; i < stats.length; ++i) {
+            stats[i] = new RollingStats(window);
+        }
+        binding.genQueries(ids); // สร้าง query ทั้งหมดครั้งเดียว
+    }
+
+    /** Starts timing a pass in this frame. Throws if another pass is still being timed. */
+    public void begin(int pass) { // เมธอดเริ่มจับเวลา pass
+        if (activePass != -1) {
+            throw new IllegalStateException("Pass " + passNames[activePass] + " is still being timed"); // ขว้าง exception
+        }
+        activePass = pass;
+        int query = slot * passNames.length + pass;
+        activeTimed = !closed && !pending[query]; // query ยังไม่ว่าง: ข้ามเฟรมนี้แทนการรอ
+        if (activeTimed) {
+            binding.beginTimeElapsed(ids[query]);
+            pending[query] = true;
+        } else if (!closed) {
+            ++busy;
+        }
+    }
+
+    /** Stops timing the pass started by {@link #begin}. */
+    public void end(int pass) { // เมธอดหยุดจับเวลา pass
+        if (activePass != pass) {
+            throw new IllegalStateException("Pass " + passNames[pass] + " is not being timed"); // ขว้าง exception
+        }
+        if (activeTimed) {
+            binding.endTimeElapsed();
+        }
+        activePass = -1;
+    }
+
+    /**
+     * Call once at the end of each frame: ends a pass left open by an exception, collects the
+     * results that are ready and moves to the next slot.
+     */
+    public void endFrame() { // เมธอดอ่านผลที่พร้อมและเลื่อน slot
+        if (activePass != -1) {
+            end(activePass); // pass ที่ถูก exception ขัดจังหวะ
+        }
+        if (closed) {
+            return;
+        }
+        if (binding.isDisjoint()) { // เวลาของ query ที่ค้างอยู่เชื่อไม่ได้
+            for (int i = 0; i < ids.length; ++i) {
+                discard[i] |= pending[i];
+            }
+        }
+        for (int i = 0; i < ids.length; ++i) {
+            if (!pending[i] || !binding.isResultAvailable(ids[i])) {
+                continue;
+            }
+            long nanos = binding.getResultNanos(ids[i]); // ผลพร้อมแล้ว ไม่ต้องรอ
+            if (discard[i]) {
+                ++discarded;
+            } else {
+                stats[i % passNames.length].add(nanos);
+            }
+            pending[i] = false;
+            discard[i] = false;
+        }
+        slot = (slot + 1) % depth;
+    }
+
+    /** Number of passes. */
+    public int getPassCount() { return passNames.length; } // คืนค่าจำนวน pass
+
+    /** Name of a pass. */
+    public String getPassName(int pass) { return passNames[pass]; } // คืนค่าชื่อ pass
+
+    /** GPU times of a pass in nanoseconds, over the last results. */
+    public RollingStats getStats(int pass) { return stats[pass]; } // คืนค่าสถิติของ pass
+
+    /** Number of pass timings skipped because their query was still busy. */
+    public long getBusyCount() { return busy; } // คืนค่าจำนวนครั้งที่ query ไม่ว่าง
+
+    /** Number of results thrown away after a disjoint event. */
+    public long getDiscardedCount() { return discarded; } // คืนค่าจำนวนผลที่ทิ้ง
+
+    /** Deletes the queries; later calls do nothing. */
+    public void close() { // เมธอดลบ query
+        if (closed) {
+            return;
+        }
+        closed = true;
+        binding.deleteQueries(ids);
+    }
+}
@@ -0,0 +1,213 @@
+package com.example.project_furnitureapp.samplerender.geometry; // ประกาศ package ของไฟล์นี้
+
+import java.io.IOException; // import IOException สำหรับจัดการ exception
+import java.io.OutputStream; // import OutputStream สำหรับเขียนไฟล์
+import java.nio.ByteBuffer; // import ByteBuffer สำหรับอ่าน/เขียนข้อมูลแบบ byte
+import java.nio.ByteOrder; // import ByteOrder สำหรับกำหนด endian
+import java.nio.IntBuffer; // import IntBuffer สำหรับ view ของ index
+
+/**
+ * Precompiled binary mesh format (".fmesh") that can be memory-mapped and handed to the GPU
+ * without parsing.
+ *
+ * <p>Layout (little-endian, which is the native order of every Android ABI):
+ *
+ * <pre>
+ *   0  int    magic "FMSH"
+ *   4  int    format version
+ *   8  int    flags ({@link #FLAG_QUANTIZED})
+ *  12  int    vertex count
+ *  16  int    index count
+ *  20  float  bounds min x, y, z, max x, y, z
+ *  44  int    byte offset of the vertex block (interleaved, one stride per vertex)
+ *  48  int    vertex stride in bytes
+ *  52  int    byte offset of the index block  (uint32 per index)
+ *  56  int    level of detail count
+ *  60  int    byte offset of the LOD table    (first index, index count, float error per level)
+ * </pre>
+ *
+ * Every block starts on a {@link #BLOCK_ALIGNMENT}-byte boundary. The vertex block uses the
+ * interleaved float layout of {@link MeshData}, or the {@link VertexQuantizer} layout with {@link
+ * #FLAG_QUANTIZED}, so it can be uploaded to a single vertex buffer. The index block holds every
+ * level of detail back to back (see {@link MeshData#lods}).
+ */ // คำอธิบายคลาส: รูปแบบไฟล์ mesh แบบ binary ที่ map เข้าหน่วยความจำได้ทันที
+public final class BinaryMeshFormat { // ประกาศคลาส BinaryMeshFormat
+    public static final String FILE_EXTENSION = ".fmesh"; // นามสกุลไฟล์
+    public static final int MAGIC = 0x48534D46; // "FMSH" แบบ little-endian
+    public static final int VERSION = 4; // เวอร์ชันของ format
+    public static final int FLAG_QUANTIZED = 1; // vertex ถูก quantize ด้วย VertexQuantizer
+    public static final int HEADER_SIZE = 64; // ขนาด header (byte)
+    public static final int BLOCK_ALIGNMENT = 16; // ทุก block เริ่มที่ขอบ 16 byte
+
+    private static final int OFFSET_FLAGS = 8; // ตำแหน่งของ flag ใน header
+    private static final int OFFSET_VERTEX_COUNT = 12; // ตำแหน่งของจำนวน vertex ใน header
+    private static final int OFFSET_INDEX_COUNT = 16; // ตำแหน่งของจำนวน index ใน header
+    private static final int OFFSET_BOUNDS = 20; // ตำแหน่งของ bounds ใน header
+    private static final int OFFSET_VERTEX_BLOCK = 44; // ตำแหน่งของ offset ของ block vertex
+    private static final int OFFSET_VERTEX_STRIDE = 48; // ตำแหน่งของ stride ของ vertex
+    private static final int OFFSET_INDEX_BLOCK = 52; // ตำแหน่งของ offset ของ block index
+    private static final int OFFSET_LOD_COUNT = 56; // ตำแหน่งของจำนวน LOD
+    private static final int OFFSET_LOD_TABLE = 60; // ตำแหน่งของ offset ของตาราง LOD
+    private static final int LOD_ENTRY_SIZE = 12; // ขนาดของข้อมูล LOD หนึ่งระดับ (byte)
+
+    /**
+     * Zero-copy views into an encoded mesh. The vertex block is raw little-endian bytes whose
+     * layout depends on {@link #isQuantized()}.
+     */ // คำอธิบายคลาส: view ของข้อมูลใน buffer โดยไม่คัดลอก
+    public static final class View { // ประกาศคลาส View
+        public final int flags; // flag ของไฟล์
+        public final int vertexCount; // จำนวน vertex
+        public final int indexCount; // จำนวน index
+        public final float[] bounds; // bounds {minX, minY, minZ, maxX, maxY, maxZ}
+        public final int vertexStride; // ขนาดของ 1 vertex (byte)
+        public final ByteBuffer vertices; // view ของ vertex แบบ interleave
+        public final IntBuffer indices; // view ของ index (ทุกระดับ LOD)
+        public final MeshData.Lod[] lods; // ช่วง index ของแต่ละระดับ LOD
+
+        private View(int flags, int vertexCount, int indexCount, float[] bounds, int vertexStride, ByteBuffer vertices, IntBuffer indices, MeshData.Lod[] lods) { // constructor
+            this.flags = flags; // กำหนด flag
+            this.vertexCount = vertexCount; // กำหนดจำนวน vertex
+            this.indexCount = indexCount; // กำหนดจำนวน index
+            this.bounds = bounds; // กำหนด bounds
+            this.vertexStride = vertexStride; // กำหนด stride
+            this.vertices = vertices; // กำหนด view ของ vertex
+            this.indices = indices; // กำหนด view ของ index
+            this.lods = lods; // กำหนด LOD
+        }
+
+        /** Whether the vertex block uses the {@link VertexQuantizer} layout. */ // เช็คว่า vertex ถูก quantize หรือไม่
+        public boolean isQuantized() {
+            return (flags & FLAG_QUANTIZED) != 0; // เช็ค flag
+        }
+    }
+
+    /** Encodes the mesh with float vertex attributes. */ // เข้ารหัส mesh แบบ float
+    public static ByteBuffer encode(MeshData mesh) { // เมธอดเข้ารหัส mesh
+        return encode(mesh, /*quantized=*/ false); // ไม่ quantize
+    }
+
+    /**
+     * Encodes the mesh into a new heap buffer laid out as described in the class comment,
+     * optionally with {@link VertexQuantizer} vertex attributes.
+     */ // เข้ารหัส mesh เป็น buffer
+    public static ByteBuffer encode(MeshData mesh, boolean quantized) { // เมธอดเข้ารหัส mesh
+        int vertexCount = mesh.getVertexCount(); // จำนวน vertex
+        int indexCount = mesh.getIndexCount(); // จำนวน index
+        float[] bounds = mesh.computeBounds(); // bounds ของ mesh
+        int vertexStride = quantized ? VertexQuantizer.VERTEX_STRIDE : MeshData.VERTEX_STRIDE; // ขนาดของ 1 vertex
+        int verticesOffset = HEADER_SIZE; // block vertex เริ่มหลัง header
+        int indicesOffset = align(verticesOffset + vertexCount * vertexStride); // block index
+        int lodTableOffset = align(indicesOffset + indexCount * Integer.BYTES); // ตาราง LOD
+        int totalSize = align(lodTableOffset + mesh.lods.length * LOD_ENTRY_SIZE); // ขนาดไฟล์ทั้งหมด
+
+        ByteBuffer buffer = ByteBuffer.allocate(totalSize).order(ByteOrder.LITTLE_ENDIAN); // จอง buffer
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(quantized ? FLAG_QUANTIZED : 0); // magic, version, flags
+        buffer.putInt(vertexCount).putInt(indexCount); // จำนวน vertex และ index
+        for (float b : bounds) { // เขียน bounds
+            buffer.putFloat(b);
+        }
+        buffer.putInt(verticesOffset).putInt(vertexStride).putInt(indicesOffset); // ตาราง offset ของ block
+        buffer.putInt(mesh.lods.length).putInt(lodTableOffset); // จำนวนและตำแหน่งของตาราง LOD
+
+        if (quantized) { // เขียน vertex แบบ quantize
+            VertexQuantizer.putInterleaved(buffer, verticesOffset, mesh, bounds);
+        } else { // เขียน vertex แบบ float
+            mesh.putInterleaved(buffer, verticesOffset);
+        }
+        buffer.position(indicesOffset); // ไปยัง block index
+        buffer.asIntBuffer().put(mesh.indices); // เขียน index
+        buffer.position(lodTableOffset); // ไปยังตาราง LOD
+        for (MeshData.Lod lod : mesh.lods) { // เขียนแต่ละระดับ
+            buffer.putInt(lod.firstIndex).putInt(lod.indexCount).putFloat(lod.error);
+        }
+        buffer.rewind(); // รีเซ็ต pointer
+        return buffer; // คืนค่า buffer
+    }
+
+    /** Encodes the mesh and writes it to the given stream. */ // เข้ารหัสและเขียนลง stream
+    public static void write(MeshData mesh, boolean quantized, OutputStream outputStream) throws IOException { // เมธอดเขียน mesh
+        ByteBuffer buffer = encode(mesh, quantized); // เข้ารหัส mesh
+        outputStream.write(buffer.array(), buffer.arrayOffset(), buffer.limit()); // เขียนลง stream
+    }
+
+    /**
+     * Wraps an encoded mesh without copying.
+     *
+     * <p>When {@code buffer} is direct (for example a {@link java.nio.MappedByteBuffer}), the
+     * returned views are direct too and can be passed straight to the GPU buffer classes.
+     */
+    public static View read(ByteBuffer buffer) throws IOException { // เมธอดอ่าน mesh จาก buffer
+        ByteBuffer data = buffer.duplicate().order(ByteOrder.LITTLE_ENDIAN); // สำเนา pointer (ไม่คัดลอกข้อมูล)
+        if (data.remaining() < HEADER_SIZE || data.getInt(0) != MAGIC) { // ถ้า header ไม่ถูกต้อง
+            throw new IOException("Not a binary mesh file"); // ขว้าง exception
+        }
+        int version = data.getInt(4); // เวอร์ชันของไฟล์
+        if (version != VERSION) { // ถ้าเวอร์ชันไม่ตรง
+            throw new IOException("Unsupported binary mesh version " + version); // ขว้าง exception
+        }
+        int flags = data.getInt(OFFSET_FLAGS); // flag ของไฟล์
+        int vertexCount = data.getInt(OFFSET_VERTEX_COUNT); // จำนวน vertex
+        int indexCount = data.getInt(OFFSET_INDEX_COUNT); // จำนวน index
+        float[] bounds = new float[6]; // bounds
+        for (int i = 0; i < 6; ++i) { // อ่าน bounds
+            bounds[i] = data.getFloat(OFFSET_BOUNDS + i * Float.BYTES);
+        }
+        int verticesOffset = data.getInt(OFFSET_VERTEX_BLOCK); // offset ของ block vertex
+        int vertexStride = data.getInt(OFFSET_VERTEX_STRIDE); // ขนาดของ 1 vertex
+        int indicesOffset = data.getInt(OFFSET_INDEX_BLOCK); // offset ของ block index
+        int lodCount = data.getInt(OFFSET_LOD_COUNT); // จำนวน LOD
+        int lodTableOffset = data.getInt(OFFSET_LOD_TABLE); // offset ของตาราง LOD
+        int expectedStride = (flags & FLAG_QUANTIZED) != 0 ? VertexQuantizer.VERTEX_STRIDE : MeshData.VERTEX_STRIDE; // stride ที่ควรเป็น
+        if (vertexStride != expectedStride) { // ถ้า stride ไม่ตรงกับ layout
+            throw new IOException("Unexpected binary mesh vertex stride " + vertexStride); // ขว้าง exception
+        }
+        if (lodCount < 1) { // ต้องมีอย่างน้อย 1 ระดับ
+            throw new IOException("Binary mesh has no levels of detail"); // ขว้าง exception
+        }
+        ByteBuffer lodTable = slice(data, lodTableOffset, lodCount * LOD_ENTRY_SIZE); // view ของตาราง LOD
+        MeshData.Lod[] lods = new MeshData.Lod[lodCount]; // ช่วงของแต่ละระดับ
+        for (int i = 0; i < lodCount; ++i) { // อ่านแต่ละระดับ
+            int firstIndex = lodTable.getInt(i * LOD_ENTRY_SIZE);
+            int lodIndexCount = lodTable.getInt(i * LOD_ENTRY_SIZE + 4);
+            if (firstIndex < 0 || lodIndexCount < 0 || firstIndex + lodIndexCount > indexCount) { // ช่วงอยู่นอก block index
+                throw new IOException("Binary mesh level of detail out of range"); // ขว้าง exception
+            }
+            lods[i] = new MeshData.Lod(firstIndex, lodIndexCount, lodTable.getFloat(i * LOD_ENTRY_SIZE + 8));
+        }
+
+        return new View(
+                flags,
+                vertexCount,
+                indexCount,
+                bounds,
+                vertexStride,
+                slice(data, verticesOffset, vertexCount * vertexStride), // view ของ vertex
+                slice(data, indicesOffset, indexCount * Integer.BYTES).asIntBuffer(), // view ของ index
+                lods);
+    }
+
+    /** Copies an encoded mesh back into a {@link MeshData}, dequantizing if necessary. */ // แปลง view กลับเป็น MeshData (คัดลอก)
+    public static MeshData toMeshData(View view) { // เมธอดแปลง view เป็น MeshData
+        int[] indices = new int[view.indices.remaining()]; // array ของ index
+        view.indices.duplicate().get(indices); // คัดลอก index
+        MeshData mesh = view.isQuantized()
+                ? VertexQuantizer.getInterleaved(view.vertices, 0, view.vertexCount, view.bounds, indices) // แปลง vertex กลับ
+                : MeshData.fromInterleaved(view.vertices, 0, view.vertexCount, indices); // คัดลอก vertex
+        return new MeshData(mesh.positions, mesh.texCoords, mesh.normals, indices, view.lods); // ใส่ช่วงของ LOD
+    }
+
+    private static ByteBuffer slice(ByteBuffer data, int offset, int length) throws IOException { // เมธอดตัด buffer ย่อย
+        if (offset < HEADER_SIZE || length < 0 || offset + length > data.limit()) { // ถ้า block อยู่นอกไฟล์
+            throw new IOException("Binary mesh block out of range"); // ขว้าง exception
+        }
+        ByteBuffer view = data.duplicate(); // สำเนา pointer
+        view.position(offset).limit(offset + length); // กำหนดช่วงของ block
+        return view.slice().order(ByteOrder.LITTLE_ENDIAN); // คืนค่า buffer ย่อย
+    }
+
+    private static int align(int offset) { // เมธอดปัด offset ขึ้นให้ตรง alignment
+        return (offset + BLOCK_ALIGNMENT - 1) & ~(BLOCK_ALIGNMENT - 1); // ปัดขึ้นเป็นพหุคูณของ 16
+    }
+
+    private BinaryMeshFormat() {} // constructor private เพื่อไม่ให้สร้าง instance
+}
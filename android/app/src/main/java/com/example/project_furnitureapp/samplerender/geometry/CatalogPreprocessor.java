@@ -0,0 +1,259 @@
+package com.example.project_furnitureapp.samplerender.geometry; // ประกาศ package ของไฟล์นี้
+
+import java.io.BufferedReader; // import BufferedReader สำหรับอ่านไฟล์ขนาดสินค้า
+import java.io.ByteArrayOutputStream; // import ByteArrayOutputStream สำหรับเข้ารหัสในหน่วยความจำ
+import java.io.File; // import File สำหรับจัดการไฟล์
+import java.io.FileOutputStream; // import FileOutputStream สำหรับเขียนไฟล์
+import java.io.IOException; // import IOException สำหรับจัดการ exception
+import java.io.OutputStream; // import OutputStream สำหรับเขียนไฟล์
+import java.io.UncheckedIOException; // import UncheckedIOException สำหรับส่ง IOException ออกจาก task
+import java.nio.charset.StandardCharsets; // import StandardCharsets สำหรับอ่านไฟล์ UTF-8
+import java.nio.file.Files; // import Files สำหรับเปิดไฟล์
+import java.util.ArrayList; // import ArrayList สำหรับรายการผลลัพธ์
+import java.util.Collections; // import Collections สำหรับ map ว่าง
+import java.util.HashMap; // import HashMap สำหรับขนาดสินค้า
+import java.util.List; // import List สำหรับรายการไฟล์และผลลัพธ์
+import java.util.Locale; // import Locale สำหรับเทียบชื่อ model
+import java.util.Map; // import Map สำหรับขนาดสินค้า
+import java.util.concurrent.ForkJoinPool; // import ForkJoinPool สำหรับประมวลผลแบบขนาน
+import java.util.concurrent.RecursiveTask; // import RecursiveTask สำหรับแบ่งงานแบบ fork/join
+
+/**
+ * Prepares every model of the catalogue ahead of time, in parallel on a {@link ForkJoinPool}.
+ *
+ * <p>Each model goes through the stages of {@link MeshConverter#convert}, plus normalization:
+ * import ({@link ObjParser}), normalization to the product's real-world {@code width}/{@code
+ * height}/{@code depth} ({@link MeshData#fitToDimensions}), bounds, levels of detail and cache
+ * optimization ({@link MeshSimplifier}, {@link VertexCacheOptimizer}), and binary encoding
+ * ({@link BinaryMeshFormat}). Models are independent, so the list is split recursively into one
+ * task per model and idle workers steal the remaining ones. Runs on a plain JVM (see the {@code
+ * convertModels} Gradle task):
+ *
+ * <pre>
+ *   CatalogPreprocessor [--quantize] [--dimensions &lt;csv&gt;] [--threads &lt;n&gt;] &lt;input dir&gt; &lt;output dir&gt;
+ * </pre>
+ *
+ * The dimensions file has a {@code model,width,height,depth} header and one line per product, in
+ * metres, with {@code model} matching the OBJ file name with or without its extension. Models
+ * without a line keep their authored size. {@code CatalogPreprocessBenchmark} measures how the
+ * pipeline scales with the number of threads.
+ */ // คำอธิบายคลาส: เตรียม model ทั้งแคตตาล็อกล่วงหน้าแบบขนานด้วย ForkJoinPool
+public final class CatalogPreprocessor { // ประกาศคลาส CatalogPreprocessor
+
+    /** What one model went through, with the time of each stage. */
+    public static final class Result { // ประกาศคลาส Result
+        public final String name; // ชื่อไฟล์ model
+        public final MeshData mesh; // mesh ที่เตรียมเสร็จแล้ว
+        public final float[] bounds; // bounds หลัง normalize
+        public final boolean normalized; // ถูกปรับขนาดตามสินค้าหรือไม่
+        public final int byteCount; // ขนาดไฟล์ .fmesh (byte)
+        public final long importNanos, normalizeNanos, optimizeNanos, encodeNanos; // เวลาของแต่ละขั้น
+
+        private Result(String name, MeshData mesh, float[] bounds, boolean normalized, int byteCount,
+                long importNanos, long normalizeNanos, long optimizeNanos, long encodeNanos) { // constructor
+            this.name = name;
+            this.mesh = mesh;
+            this.bounds = bounds;
+            this.normalized = normalized;
+            this.byteCount = byteCount;
+            this.importNanos = importNanos;
+            this.normalizeNanos = normalizeNanos;
+            this.optimizeNanos = optimizeNanos;
+            this.encodeNanos = encodeNanos;
+        }
+    }
+
+    private final ForkJoinPool pool; // pool ที่ใช้ประมวลผล
+    private final Map<String, float[]> dimensions; // ขนาดสินค้าตามชื่อ model (ไม่มีนามสกุล, ตัวพิมพ์เล็ก)
+    private final boolean quantize; // quantize vertex หรือไม่
+
+    /** {@code dimensions} maps model names, as returned by {@link #readDimensions}, to {width, height, depth}. */
+    public CatalogPreprocessor(ForkJoinPool pool, Map<String, float[]> dimensions, boolean quantize) { // constructor
+        this.pool = pool; // กำหนด pool
+        this.dimensions = dimensions; // กำหนดขนาดสินค้า
+        this.quantize = quantize; // กำหนด flag quantize
+    }
+
+    /**
+     * Prepares {@code objFiles} and writes their {@code .fmesh} files to {@code outputDir}, or only
+     * encodes them in memory when it is null. Results are in the order of {@code objFiles}.
+     */
+    public List<Result> run(List<File> objFiles, File outputDir) throws IOException { // เมธอดประมวลผลทั้งแคตตาล็อก
+        try {
+            return pool.invoke(new CatalogTask(this, objFiles, 0, objFiles.size(), outputDir)); // แบ่งงานและรอผล
+        } catch (UncheckedIOException e) { // ส่ง IOException ของ task ต่อ
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Splits a range of the catalogue in halves until one model is left, then prepares it. Tasks
+     * are never serialized; the UID only keeps {@link RecursiveTask}'s {@code Serializable} quiet.
+     */
+    private static final class CatalogTask extends RecursiveTask<List<Result>> { // ประกาศคลาส CatalogTask
+        private static final long serialVersionUID = 1L; // RecursiveTask เป็น Serializable
+
+        private final CatalogPreprocessor preprocessor; // ตัวเตรียม model ที่สร้าง task
+        private final List<File> files; // ไฟล์ทั้งหมด
+        private final int start, end; // ช่วงที่ task นี้รับผิดชอบ
+        private final File outputDir; // โฟลเดอร์ปลายทาง (null = ในหน่วยความจำ)
+
+        CatalogTask(CatalogPreprocessor preprocessor, List<File> files, int start, int end, File outputDir) { // constructor
+            this.preprocessor = preprocessor;
+            this.files = files;
+            this.start = start;
+            this.end = end;
+            this.outputDir = outputDir;
+        }
+
+        @Override
+        protected List<Result> compute() { // เมธอดทำงานของ task
+            if (end - start <= 1) { // เหลือ model เดียว (หรือไม่มีเลย): ทำเลย
+                List<Result> results = new ArrayList<>(1);
+                try {
+                    for (int i = start; i < end; ++i) {
+                        results.add(preprocessor.prepare(files.get(i), outputDir));
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e); // RecursiveTask ขว้าง checked exception ไม่ได้
+                }
+                return results;
+            }
+            int middle = (start + end) >>> 1; // แบ่งครึ่ง
+            CatalogTask left = new CatalogTask(preprocessor, files, start, middle, outputDir);
+            CatalogTask right = new CatalogTask(preprocessor, files, middle, end, outputDir);
+            left.fork(); // ให้ worker อื่นขโมยไปทำได้
+            List<Result> results = new ArrayList<>(end - start);
+            List<Result> rightResults = right.compute(); // ทำครึ่งขวาเองใน thread นี้
+            results.addAll(left.join()); // รอครึ่งซ้าย
+            results.addAll(rightResults);
+            return results;
+        }
+    }
+
+    /** Runs every stage for one model. */
+    private Result prepare(File objFile, File outputDir) throws IOException { // เมธอดเตรียม model หนึ่งไฟล์
+        long t0 = System.nanoTime();
+        MeshData mesh = MeshConverter.readObj(objFile); // import
+        long t1 = System.nanoTime();
+        float[] size = dimensions.get(modelName(objFile.getName())); // ขนาดจริงของสินค้า
+        if (size != null) {
+            mesh = mesh.fitToDimensions(size[0], size[1], size[2]); // normalize ตามขนาดสินค้า
+        }
+        float[] bounds = mesh.computeBounds(); // bounds
+        long t2 = System.nanoTime();
+        mesh = VertexCacheOptimizer.optimize(MeshSimplifier.generateLods(mesh)); // LOD และ cache optimization
+        long t3 = System.nanoTime();
+        ByteArrayOutputStream encoded = new ByteArrayOutputStream(); // เข้ารหัสในหน่วยความจำก่อน
+        BinaryMeshFormat.write(mesh, quantize, encoded);
+        if (outputDir != null) {
+            try (OutputStream out = new FileOutputStream(new File(outputDir, MeshConverter.binaryFileName(objFile.getName())))) {
+                encoded.writeTo(out); // เขียนไฟล์ .fmesh
+            }
+        }
+        long t4 = System.nanoTime();
+        return new Result(objFile.getName(), mesh, bounds, size != null, encoded.size(), t1 - t0, t2 - t1, t3 - t2, t4 - t3);
+    }
+
+    /**
+     * Reads a {@code model,width,height,depth} file (metres). Blank lines and lines starting with
+     * {@code #} are skipped; model names are matched without extension or directory, ignoring case.
+     */
+    public static Map<String, float[]> readDimensions(File csvFile) throws IOException { // เมธอดอ่านไฟล์ขนาดสินค้า
+        Map<String, float[]> dimensions = new HashMap<>(); // ผลลัพธ์
+        try (BufferedReader reader = Files.newBufferedReader(csvFile.toPath(), StandardCharsets.UTF_8)) {
+            String line;
+            int lineNumber = 0;
+            boolean header = true; // บรรทัดแรกที่มีข้อมูลคือหัวตาราง
+            while ((line = reader.readLine()) != null) {
+                ++lineNumber;
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue; // ข้ามบรรทัดว่างและ comment
+                }
+                String[] fields = line.split("\\s*,\\s*");
+                if (header) {
+                    if (fields.length != 4 || !fields[0].equals("model") || !fields[1].equals("width")
+                            || !fields[2].equals("height") || !fields[3].equals("depth")) {
+                        throw new IOException(csvFile + ": expected header model,width,height,depth"); // หัวตารางไม่ถูกต้อง
+                    }
+                    header = false;
+                    continue;
+                }
+                if (fields.length != 4) {
+                    throw new IOException(csvFile + ":" + lineNumber + ": expected 4 fields"); // จำนวนช่องไม่ถูกต้อง
+                }
+                try {
+                    dimensions.put(modelName(fields[0]), new float[] {
+                        Float.parseFloat(fields[1]), Float.parseFloat(fields[2]), Float.parseFloat(fields[3])});
+                } catch (NumberFormatException e) {
+                    throw new IOException(csvFile + ":" + lineNumber + ": " + e.getMessage(), e); // ตัวเลขไม่ถูกต้อง
+                }
+            }
+        }
+        return dimensions; // คืนค่าขนาดสินค้า
+    }
+
+    /** The key of a model in the dimensions map: file name without directory or extension, lower case. */
+    static String modelName(String fileName) { // เมธอดคืนชื่อ model
+        String name = fileName.substring(fileName.lastIndexOf('/') + 1); // ตัด directory
+        int dot = name.lastIndexOf('.');
+        return (dot < 0 ? name : name.substring(0, dot)).toLowerCase(Locale.ROOT); // ตัดนามสกุล
+    }
+
+    public static void main(String[] args) throws IOException { // จุดเริ่มต้นของโปรแกรม
+        boolean quantize = false; // quantize vertex หรือไม่
+        File dimensionsFile = null; // ไฟล์ขนาดสินค้า
+        int threads = Runtime.getRuntime().availableProcessors(); // จำนวน thread
+        int arg = 0;
+        try {
+            for (; arg < args.length && args[arg].startsWith("--"); ++arg) { // อ่าน option
+                if (args[arg].equals("--quantize")) {
+                    quantize = true;
+                } else if (args[arg].equals("--dimensions") && arg + 1 < args.length) {
+                    dimensionsFile = new File(args[++arg]);
+                } else if (args[arg].equals("--threads") && arg + 1 < args.length) {
+                    threads = Integer.parseInt(args[++arg]);
+                } else {
+                    arg = -1; // option ไม่ถูกต้อง
+                    break;
+                }
+            }
+        } catch (NumberFormatException e) {
+            arg = -1;
+        }
+        if (arg < 0 || args.length - arg != 2 || threads < 1) { // ถ้า argument ไม่ถูกต้อง
+            System.err.println("Usage: CatalogPreprocessor [--quantize] [--dimensions <csv>] [--threads <n>] <input dir> <output dir>"); // แสดงวิธีใช้
+            System.exit(2); // ออกจากโปรแกรม
+        }
+        File outputDir = new File(args[arg + 1]); // โฟลเดอร์ปลายทาง
+        if (!outputDir.isDirectory() && !outputDir.mkdirs()) { // ถ้าสร้างโฟลเดอร์ไม่ได้
+            throw new IOException("Cannot create output directory " + outputDir); // ขว้าง exception
+        }
+        Map<String, float[]> dimensions = dimensionsFile == null ? Collections.emptyMap() : readDimensions(dimensionsFile); // ขนาดสินค้า
+        List<File> objFiles = MeshConverter.listObjFiles(new File(args[arg])); // model ทั้งหมด
+        ForkJoinPool pool = new ForkJoinPool(threads); // pool ตามจำนวน thread
+        long start = System.nanoTime();
+        List<Result> results;
+        try {
+            results = new CatalogPreprocessor(pool, dimensions, quantize).run(objFiles, outputDir); // ประมวลผลทั้งแคตตาล็อก
+        } finally {
+            pool.shutdown();
+        }
+        double wallMs = (System.nanoTime() - start) / 1e6; // เวลารวมจริง
+
+        System.out.printf("%-14s %8s %9s %-22s %8s %8s %8s %8s %9s%n",
+                "model", "vertices", "triangles", "size (m)", "import", "normal", "lod+opt", "encode", "bytes"); // หัวตาราง
+        double stageMs = 0; // เวลารวมของทุกขั้น (ทุก thread)
+        for (Result r : results) {
+            String size = String.format(Locale.ROOT, "%.2f x %.2f x %.2f%s",
+                    r.bounds[3] - r.bounds[0], r.bounds[4] - r.bounds[1], r.bounds[5] - r.bounds[2], r.normalized || dimensions.isEmpty() ? "" : "*");
+            System.out.printf("%-14s %8d %9d %-22s %8.1f %8.1f %8.1f %8.1f %9d%n",
+                    r.name, r.mesh.getVertexCount(), r.mesh.lods[0].indexCount / 3, size,
+                    r.importNanos / 1e6, r.normalizeNanos / 1e6, r.optimizeNanos / 1e6, r.encodeNanos / 1e6, r.byteCount); // แสดงผล (ms)
+            stageMs += (r.importNanos + r.normalizeNanos + r.optimizeNanos + r.encodeNanos) / 1e6;
+        }
+        System.out.printf("%d models in %.0f ms on %d threads (%.0f ms of work)%s%n",
+                results.size(), wallMs, threads, stageMs, dimensions.isEmpty() ? "" : "; * = no product dimensions, authored size kept"); // สรุป
+    }
+}
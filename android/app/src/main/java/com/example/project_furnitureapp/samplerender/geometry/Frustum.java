@@ -0,0 +1,165 @@
+package com.example.project_furnitureapp.samplerender.geometry; // ประกาศ package ของไฟล์นี้
+
+import java.nio.FloatBuffer; // import FloatBuffer สำหรับ polygon ของ plane
+
+/**
+ * The view frustum of one frame, for culling bounding volumes before they reach OpenGL.
+ *
+ * <p>{@link #update} takes the column-major view and projection matrices (as ARCore's {@code
+ * Camera.getViewMatrix} and {@code getProjectionMatrix} return them) and extracts the six planes of
+ * {@code projection * view}. A volume is culled when it lies entirely behind one plane, or when its
+ * projected size is below a number of pixels. Both tests are conservative: a culled volume is
+ * never visible, though a volume near a frustum corner may be kept although it is outside.
+ *
+ * <p>Bounds are {minX, minY, minZ, maxX, maxY, maxZ} arrays as produced by {@link
+ * MeshData#computeBounds} and {@link #polygonBounds}. This class does not use Android, so it is
+ * checked on the JVM by {@code CullingCheck}.
+ */ // คำอธิบายคลาส: frustum ของกล้องสำหรับตัด object และ plane ที่มองไม่เห็นออกก่อนวาด
+public final class Frustum { // ประกาศคลาส Frustum
+    private static final int PLANE_COUNT = 6; // จำนวนระนาบของ frustum
+
+    private final float[] planes = new float[PLANE_COUNT * 4]; // ระนาบ (a, b, c, d) โดย a*x + b*y + c*z + d >= 0 คือด้านใน
+    private final float[] viewProjection = new float[16]; // projection * view
+    private float pixelsPerUnitAtUnitDepth; // pixel ต่อ 1 หน่วยที่ระยะ 1 (projection[5] * ความสูง / 2)
+    private final float[] worldBounds = new float[6]; // bounds ใน world space (ใช้ซ้ำ)
+
+    /** Recomputes the planes for a frame. */
+    public void update(float[] viewMatrix, float[] projectionMatrix, int viewportHeight) { // เมธอดอัปเดต frustum ของเฟรม
+        multiply(projectionMatrix, viewMatrix, viewProjection); // projection * view
+        float[] m = viewProjection;
+        for (int i = 0; i < 3; ++i) { // ระนาบซ้าย/ขวา, ล่าง/บน, ใกล้/ไกล จากแถวของ matrix
+            for (int side = 0; side < 2; ++side) {
+                float sign = side == 0 ? 1f : -1f; // row3 + row_i และ row3 - row_i
+                int p = (i * 2 + side) * 4;
+                planes[p] = m[3] + sign * m[i];
+                planes[p + 1] = m[7] + sign * m[4 + i];
+                planes[p + 2] = m[11] + sign * m[8 + i];
+                planes[p + 3] = m[15] + sign * m[12 + i];
+                float length = (float) Math.sqrt(planes[p] * planes[p] + planes[p + 1] * planes[p + 1] + planes[p + 2] * planes[p + 2]);
+                for (int c = 0; c < 4; ++c) {
+                    planes[p + c] /= length; // ทำให้ normal ยาว 1 เพื่อใช้วัดระยะได้
+                }
+            }
+        }
+        pixelsPerUnitAtUnitDepth = projectionMatrix[5] * viewportHeight * 0.5f; // projection[5] = cot(fovY / 2)
+    }
+
+    /** Whether the sphere may be visible. */
+    public boolean intersectsSphere(float centerX, float centerY, float centerZ, float radius) { // เมธอดทดสอบทรงกลม
+        for (int p = 0; p < planes.length; p += 4) {
+            if (planes[p] * centerX + planes[p + 1] * centerY + planes[p + 2] * centerZ + planes[p + 3] < -radius) {
+                return false; // อยู่หลังระนาบนี้ทั้งลูก
+            }
+        }
+        return true;
+    }
+
+    /** Whether the world-space box may be visible. */
+    public boolean intersectsBox(float[] bounds) { // เมธอดทดสอบกล่อง (world space)
+        for (int p = 0; p < planes.length; p += 4) {
+            float a = planes[p], b = planes[p + 1], c = planes[p + 2];
+            // The corner furthest along the plane normal; if it is behind, the whole box is.
+            float x = a >= 0 ? bounds[3] : bounds[0];
+            float y = b >= 0 ? bounds[4] : bounds[1];
+            float z = c >= 0 ? bounds[5] : bounds[2];
+            if (a * x + b * y + c * z + planes[p + 3] < 0) {
+                return false; // อยู่หลังระนาบนี้ทั้งกล่อง
+            }
+        }
+        return true;
+    }
+
+    /** Whether the model-space box, placed by the column-major {@code modelMatrix}, may be visible. */
+    public boolean intersectsBox(float[] bounds, float[] modelMatrix) { // เมธอดทดสอบกล่อง (model space)
+        transformBounds(bounds, modelMatrix, worldBounds); // แปลงเป็น bounds ใน world space
+        return intersectsBox(worldBounds);
+    }
+
+    /**
+     * Approximate height in pixels of the sphere's projection; infinite when the camera is inside
+     * or behind the front of the sphere.
+     */
+    public float projectedSizePixels(float centerX, float centerY, float centerZ, float radius) { // เมธอดคำนวณขนาดบนจอ
+        float[] m = viewProjection;
+        float depth = m[3] * centerX + m[7] * centerY + m[11] * centerZ + m[15] - radius; // clip w = ระยะตามแนวกล้อง ถึงผิวหน้าทรงกลม
+        if (depth <= 0f) { // กล้องอยู่ในหรือหลังผิวหน้าทรงกลม
+            return Float.POSITIVE_INFINITY;
+        }
+        return 2f * radius * pixelsPerUnitAtUnitDepth / depth; // เส้นผ่านศูนย์กลางบนจอ
+    }
+
+    /**
+     * Whether the world-space box is in the frustum and at least {@code minPixels} tall on screen
+     * (measured on its bounding sphere).
+     */
+    public boolean isVisible(float[] bounds, float minPixels) { // เมธอดทดสอบทั้ง frustum และขนาดบนจอ
+        if (!intersectsBox(bounds)) {
+            return false; // อยู่นอก frustum
+        }
+        float dx = bounds[3] - bounds[0], dy = bounds[4] - bounds[1], dz = bounds[5] - bounds[2];
+        float radius = 0.5f * (float) Math.sqrt(dx * dx + dy * dy + dz * dz); // รัศมีของทรงกลมที่ครอบกล่อง
+        return projectedSizePixels(
+                (bounds[0] + bounds[3]) * 0.5f, (bounds[1] + bounds[4]) * 0.5f, (bounds[2] + bounds[5]) * 0.5f, radius) >= minPixels;
+    }
+
+    /** Like {@link #isVisible(float[], float)} for a model-space box placed by {@code modelMatrix}. */
+    public boolean isVisible(float[] bounds, float[] modelMatrix, float minPixels) { // เมธอดทดสอบกล่อง (model space)
+        transformBounds(bounds, modelMatrix, worldBounds); // แปลงเป็น bounds ใน world space
+        return isVisible(worldBounds, minPixels);
+    }
+
+    /**
+     * Writes the axis-aligned box enclosing {@code bounds} transformed by the column-major {@code
+     * matrix} into {@code out} (which may be {@code bounds}).
+     */
+    public static void transformBounds(float[] bounds, float[] matrix, float[] out) { // เมธอดแปลง bounds ด้วย matrix
+        float minX = matrix[12], minY = matrix[13], minZ = matrix[14]; // เริ่มจาก translation
+        float maxX = minX, maxY = minY, maxZ = minZ;
+        for (int column = 0; column < 3; ++column) { // แต่ละแกนของกล่องเดิม
+            float low = bounds[column], high = bounds[column + 3];
+            for (int row = 0; row < 3; ++row) {
+                float a = matrix[column * 4 + row] * low, b = matrix[column * 4 + row] * high;
+                float smaller = Math.min(a, b), larger = Math.max(a, b);
+                if (row == 0) { minX += smaller; maxX += larger; }
+                else if (row == 1) { minY += smaller; maxY += larger; }
+                else { minZ += smaller; maxZ += larger; }
+            }
+        }
+        out[0] = minX; out[1] = minY; out[2] = minZ;
+        out[3] = maxX; out[4] = maxY; out[5] = maxZ;
+    }
+
+    /**
+     * Writes the bounds of an ARCore plane polygon ({@code x, z} pairs in the plane's local frame,
+     * {@code y = 0}) into {@code out}; returns false when the polygon has fewer than three points.
+     */
+    public static boolean polygonBounds(FloatBuffer polygon, float[] out) { // เมธอดคำนวณ bounds ของ polygon ของ plane
+        int count = polygon.limit() / 2; // จำนวนจุด
+        if (count < 3) {
+            return false; // polygon ไม่สมบูรณ์
+        }
+        float minX = Float.POSITIVE_INFINITY, minZ = Float.POSITIVE_INFINITY;
+        float maxX = Float.NEGATIVE_INFINITY, maxZ = Float.NEGATIVE_INFINITY;
+        for (int i = 0; i < count; ++i) {
+            float x = polygon.get(i * 2), z = polygon.get(i * 2 + 1); // อ่านแบบ absolute ไม่ขยับ position
+            minX = Math.min(minX, x); maxX = Math.max(maxX, x);
+            minZ = Math.min(minZ, z); maxZ = Math.max(maxZ, z);
+        }
+        out[0] = minX; out[1] = 0f; out[2] = minZ;
+        out[3] = maxX; out[4] = 0f; out[5] = maxZ;
+        return true;
+    }
+
+    /** Column-major {@code out = a * b}. */
+    public static void multiply(float[] a, float[] b, float[] out) { // เมธอดคูณ matrix 4x4
+        for (int column = 0; column < 4; ++column) {
+            for (int row = 0; row < 4; ++row) {
+                float sum = 0f;
+                for (int k = 0; k < 4; ++k) {
+                    sum += a[k * 4 + row] * b[column * 4 + k];
+                }
+                out[column * 4 + row] = sum;
+            }
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.project_furnitureapp.samplerender.geometry; // ประกาศ package ของไฟล์นี้
+
+import java.nio.ByteBuffer; // import ByteBuffer สำหรับจอง direct buffer
+import java.nio.ByteOrder; // import ByteOrder สำหรับกำหนด endian
+import java.nio.FloatBuffer; // import FloatBuffer สำหรับข้อมูลของ instance
+import java.util.ArrayList; // import ArrayList สำหรับรายการ batch
+import java.util.LinkedHashMap; // import LinkedHashMap สำหรับจัดกลุ่มตาม key โดยคงลำดับ
+import java.util.List; // import List สำหรับรายการ batch
+import java.util.Map; // import Map สำหรับจัดกลุ่มตาม key
+
+/**
+ * Groups the objects of a frame by what they draw (usually their mesh) and packs each group's
+ * model matrices for one instanced draw call.
+ *
+ * <p>Each instance is one column-major 4x4 model matrix, 16 floats ({@link #BYTES_PER_INSTANCE}
+ * bytes), in the order {@code android.opengl.Matrix} produces. The shader reads it as a {@code
+ * mat4} attribute at {@link #FIRST_LOCATION}, one column per location. Batches and their buffers
+ * are reused across frames: call {@link #clear} at the start of a frame, {@link #add} for every
+ * object, then draw each of {@link #getBatches}.
+ *
+ * <p>The instance attributes live in the mesh's own vertex array, so {@link
+ * #enableInstanceAttributes} and {@link #disableInstanceAttributes} bracket every instanced draw:
+ * a later non-instanced draw of the same mesh must not read stale per-instance attributes.
+ *
+ * <p>This class does not use OpenGL, so it also runs in the JVM check {@code InstancingCheck}.
+ */ // คำอธิบายคลาส: จัดกลุ่ม object ตาม mesh และ pack model matrix สำหรับ instanced draw
+public final class InstanceBatcher<K> { // ประกาศคลาส InstanceBatcher
+    public static final int FLOATS_PER_INSTANCE = 16; // จำนวน float ต่อ instance (mat4)
+    public static final int BYTES_PER_INSTANCE = FLOATS_PER_INSTANCE * Float.BYTES; // ขนาดต่อ instance (byte)
+    public static final int FIRST_LOCATION = 3; // attribute location ของคอลัมน์แรก (0-2 เป็นของ vertex)
+    public static final int LOCATIONS_PER_INSTANCE = 4; // mat4 ใช้ 4 location (1 คอลัมน์ต่อ location)
+    private static final int INITIAL_CAPACITY = 8; // จำนวน instance เริ่มต้นต่อ batch
+
+    /** The GL calls that attach an instance buffer to the bound vertex array. */
+    public interface Binding { // interface สำหรับเรียก GL
+        void vertexAttribPointer(int location, int stride, int offset); // glVertexAttribPointer(location, 4, GL_FLOAT, false, stride, offset) จาก GL_ARRAY_BUFFER
+        void enableVertexAttribArray(int location); // glEnableVertexAttribArray
+        void disableVertexAttribArray(int location); // glDisableVertexAttribArray
+        void vertexAttribDivisor(int location, int divisor); // glVertexAttribDivisor
+    }
+
+    /** The instances of one key, packed for upload. */
+    public static final class Batch<K> { // ประกาศคลาส Batch
+        private final K key; // key ของ batch
+        private FloatBuffer matrices = allocate(INITIAL_CAPACITY); // model matrix ของทุก instance
+        private int count; // จำนวน instance
+
+        private Batch(K key) { // constructor
+            this.key = key; // กำหนด key
+        }
+
+        public K getKey() { return key; } // คืนค่า key
+
+        public int getInstanceCount() { return count; } // คืนค่าจำนวน instance
+
+        /** The packed matrices, positioned at 0 with the limit at the last instance. */
+        public FloatBuffer getMatrices() { // เมธอดคืนค่า buffer ที่พร้อม upload
+            matrices.position(0).limit(count * FLOATS_PER_INSTANCE); // เฉพาะ instance ที่ใช้
+            return matrices; // คืนค่า buffer
+        }
+
+        private void add(float[] modelMatrix, int offset) { // เมธอดเพิ่ม instance
+            if ((count + 1) * FLOATS_PER_INSTANCE > matrices.capacity()) { // buffer เต็ม
+                FloatBuffer grown = allocate(matrices.capacity() / FLOATS_PER_INSTANCE * 2); // ขยายสองเท่า
+                matrices.position(0).limit(count * FLOATS_PER_INSTANCE);
+                grown.put(matrices); // คัดลอกข้อมูลเดิม
+                matrices = grown;
+            }
+            matrices.limit(matrices.capacity()).position(count * FLOATS_PER_INSTANCE); // ตำแหน่งของ instance ใหม่
+            matrices.put(modelMatrix, offset, FLOATS_PER_INSTANCE); // คัดลอก matrix (column-major อยู่แล้ว)
+            ++count;
+        }
+    }
+
+    private final Map<K, Batch<K>> batches = new LinkedHashMap<>(); // batch ตาม key (คงลำดับที่เพิ่ม)
+    private final List<Batch<K>> nonEmpty = new ArrayList<>(); // batch ที่มี instance ในเฟรมนี้
+
+    /** Empties every batch, keeping the buffers for the next frame. */
+    public void clear() { // เมธอดล้าง batch
+        for (Batch<K> batch : nonEmpty) {
+            batch.count = 0; // รีเซ็ตจำนวน instance
+        }
+        nonEmpty.clear();
+    }
+
+    /** Adds one instance of {@code key}; {@code modelMatrix} is a column-major 4x4 matrix. */
+    public void add(K key, float[] modelMatrix) { // เมธอดเพิ่ม instance
+        add(key, modelMatrix, 0);
+    }
+
+    /** Like {@link #add(Object, float[])}, reading the matrix at {@code offset}. */
+    public void add(K key, float[] modelMatrix, int offset) { // เมธอดเพิ่ม instance จาก offset
+        if (offset < 0 || offset + FLOATS_PER_INSTANCE > modelMatrix.length) { // matrix ต้องมี 16 ค่า
+            throw new IllegalArgumentException("Model matrix needs 16 floats from offset " + offset); // ขว้าง exception
+        }
+        Batch<K> batch = batches.get(key); // batch ของ key นี้
+        if (batch == null) { // ยังไม่มี batch
+            batch = new Batch<>(key);
+            batches.put(key, batch);
+        }
+        if (batch.count == 0) { // instance แรกของเฟรม
+            nonEmpty.add(batch);
+        }
+        batch.add(modelMatrix, offset); // เพิ่ม instance
+    }
+
+    /** Batches with at least one instance this frame, in the order their first instance was added. */
+    public List<Batch<K>> getBatches() { // เมธอดคืนค่า batch ที่ต้องวาด
+        return nonEmpty; // หนึ่ง batch = หนึ่ง draw call
+    }
+
+    /** Forgets the batch of {@code key}, e.g. after its mesh was released. */
+    public void remove(K key) { // เมธอดลบ batch
+        Batch<K> batch = batches.remove(key);
+        if (batch != null) {
+            nonEmpty.remove(batch);
+        }
+    }
+
+    /**
+     * Points the instance locations of the bound vertex array at the instance buffer bound to
+     * {@code GL_ARRAY_BUFFER}, one matrix column per location, advancing once per instance.
+     */
+    public static void enableInstanceAttributes(Binding gl) { // เมธอดผูก instance buffer กับ vertex array
+        for (int column = 0; column < LOCATIONS_PER_INSTANCE; ++column) { // 1 location ต่อ 1 คอลัมน์ของ mat4
+            int location = FIRST_LOCATION + column; // location ของคอลัมน์นี้
+            gl.vertexAttribPointer(location, BYTES_PER_INSTANCE, column * 4 * Float.BYTES); // คอลัมน์ของ model matrix
+            gl.enableVertexAttribArray(location); // เปิดใช้งาน attribute
+            gl.vertexAttribDivisor(location, 1); // เลื่อนทีละ instance ไม่ใช่ทีละ vertex
+        }
+    }
+
+    /** Undoes {@link #enableInstanceAttributes}, leaving the instance locations as a new vertex array has them. */
+    public static void disableInstanceAttributes(Binding gl) { // เมธอดคืน state ของ vertex array
+        for (int column = 0; column < LOCATIONS_PER_INSTANCE; ++column) {
+            int location = FIRST_LOCATION + column;
+            gl.vertexAttribDivisor(location, 0); // ค่าเริ่มต้น: ทีละ vertex
+            gl.disableVertexAttribArray(location); // ปิด attribute
+        }
+    }
+
+    /** Allocates a direct, native-order buffer for {@code instances} matrices. */
+    public static FloatBuffer allocate(int instances) { // เมธอดจอง buffer สำหรับ instance
+        return ByteBuffer.allocateDirect(instances * BYTES_PER_INSTANCE).order(ByteOrder.nativeOrder()).asFloatBuffer(); // direct buffer สำหรับ OpenGL
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.project_furnitureapp.samplerender.geometry; // ประกาศ package ของไฟล์นี้
+
+import java.io.File; // import File สำหรับจัดการไฟล์
+import java.io.FileInputStream; // import FileInputStream สำหรับอ่านไฟล์
+import java.io.FileOutputStream; // import FileOutputStream สำหรับเขียนไฟล์
+import java.io.IOException; // import IOException สำหรับจัดการ exception
+import java.io.InputStream; // import InputStream สำหรับอ่านไฟล์
+import java.io.OutputStream; // import OutputStream สำหรับเขียนไฟล์
+import java.util.ArrayList; // import ArrayList สำหรับเก็บรายการไฟล์
+import java.util.Arrays; // import Arrays สำหรับเรียงลำดับไฟล์
+import java.util.List; // import List สำหรับเก็บรายการไฟล์
+
+/**
+ * Converts every Wavefront OBJ file in a directory into the {@link BinaryMeshFormat}.
+ *
+ * <p>Runs on a plain JVM, one model after another ({@link CatalogPreprocessor}, which the {@code
+ * convertModels} Gradle task runs, does the same for the whole catalogue in parallel):
+ *
+ * <pre>
+ *   MeshConverter [--quantize] &lt;input dir with .obj files&gt; &lt;output dir&gt;
+ * </pre>
+ *
+ * Every mesh gets its levels of detail from {@link MeshSimplifier} and is reordered by {@link
+ * VertexCacheOptimizer} before it is written. The triangle count and error of each level and the
+ * ACMR/ATVR of the full level before and after reordering are printed per model. With {@code --quantize} the
+ * vertex attributes are stored in the compact {@link VertexQuantizer} encoding.
+ */ // คำอธิบายคลาส: แปลงไฟล์ .obj ทั้งโฟลเดอร์เป็น .fmesh
+public final class MeshConverter { // ประกาศคลาส MeshConverter
+
+    public static void main(String[] args) throws IOException { // จุดเริ่มต้นของโปรแกรม
+        boolean quantize = args.length > 0 && args[0].equals("--quantize"); // quantize vertex หรือไม่
+        if (quantize) { // ตัด option ออกจาก argument
+            args = Arrays.copyOfRange(args, 1, args.length);
+        }
+        if (args.length != 2) { // ถ้า argument ไม่ครบ
+            System.err.println("Usage: MeshConverter [--quantize] <input dir> <output dir>"); // แสดงวิธีใช้
+            System.exit(2); // ออกจากโปรแกรม
+        }
+        File outputDir = new File(args[1]); // โฟลเดอร์ปลายทาง
+        if (!outputDir.isDirectory() && !outputDir.mkdirs()) { // ถ้าสร้างโฟลเดอร์ไม่ได้
+            throw new IOException("Cannot create output directory " + outputDir); // ขว้าง exception
+        }
+        System.out.printf("%-14s %8s %-30s %15s %15s%n", "model", "vertices", "LOD triangles (error)",
+                "ACMR(" + VertexCacheOptimizer.REPORT_CACHE_SIZE + ")", "ATVR(" + VertexCacheOptimizer.REPORT_CACHE_SIZE + ")"); // หัวตาราง
+        for (File objFile : listObjFiles(new File(args[0]))) { // วนลูปทุกไฟล์ .obj
+            File outputFile = new File(outputDir, binaryFileName(objFile.getName())); // ไฟล์ปลายทาง
+            MeshData imported = readObj(objFile); // อ่าน mesh ตามลำดับที่ export มา
+            MeshData mesh = VertexCacheOptimizer.optimize(MeshSimplifier.generateLods(imported)); // สร้าง LOD และจัดลำดับสำหรับ vertex cache
+            writeBinary(mesh, outputFile, quantize); // เขียนไฟล์ .fmesh
+            VertexCacheOptimizer.Statistics before = VertexCacheOptimizer.analyze(
+                    imported.indices, imported.getVertexCount(), VertexCacheOptimizer.REPORT_CACHE_SIZE); // ผลก่อนจัดลำดับ
+            VertexCacheOptimizer.Statistics after = VertexCacheOptimizer.analyze(
+                    mesh.getLodIndices(0), mesh.getVertexCount(), VertexCacheOptimizer.REPORT_CACHE_SIZE); // ผลหลังจัดลำดับ (ระดับละเอียดสุด)
+            StringBuilder lods = new StringBuilder(); // จำนวนสามเหลี่ยมและค่าคลาดเคลื่อนของแต่ละระดับ
+            for (MeshData.Lod lod : mesh.lods) {
+                lods.append(lods.length() == 0 ? "" : " ").append(lod.indexCount / 3);
+                if (lod.error > 0f) lods.append(String.format("(%.3g)", lod.error));
+            }
+            System.out.printf("%-14s %8d %-30s %6.3f -> %5.3f %6.3f -> %5.3f  %s (%d bytes)%n",
+                    objFile.getName(), mesh.getVertexCount(), lods,
+                    before.acmr, after.acmr, before.atvr, after.atvr,
+                    outputFile.getName(), outputFile.length()); // แสดงผลการแปลง
+        }
+    }
+
+    /** Like {@link #convert(File, File, boolean)} with float vertex attributes. */ // แปลงไฟล์ .obj หนึ่งไฟล์
+    public static MeshData convert(File objFile, File outputFile) throws IOException { // เมธอดแปลงไฟล์
+        return convert(objFile, outputFile, /*quantize=*/ false); // ไม่ quantize
+    }
+
+    /**
+     * Reads one OBJ file, adds levels of detail with {@link MeshSimplifier}, optimizes it with
+     * {@link VertexCacheOptimizer} and writes its binary encoding, returning the optimized mesh.
+     */ // แปลงไฟล์ .obj หนึ่งไฟล์
+    public static MeshData convert(File objFile, File outputFile, boolean quantize) throws IOException { // เมธอดแปลงไฟล์
+        MeshData mesh = VertexCacheOptimizer.optimize(MeshSimplifier.generateLods(readObj(objFile))); // อ่าน สร้าง LOD และจัดลำดับ mesh
+        writeBinary(mesh, outputFile, quantize); // เขียน mesh แบบ binary
+        return mesh; // คืนค่า mesh
+    }
+
+    /** Parses one OBJ file without reordering it. */ // อ่านไฟล์ .obj
+    static MeshData readObj(File objFile) throws IOException { // เมธอดอ่านไฟล์ .obj
+        try (InputStream in = new FileInputStream(objFile)) { // เปิดไฟล์ .obj (ObjParser มี buffer ของตัวเอง)
+            return ObjParser.read(in); // อ่าน mesh
+        }
+    }
+
+    private static void writeBinary(MeshData mesh, File outputFile, boolean quantize) throws IOException { // เมธอดเขียนไฟล์ .fmesh
+        try (OutputStream out = new FileOutputStream(outputFile)) { // เปิดไฟล์ปลายทาง
+            BinaryMeshFormat.write(mesh, quantize, out); // เขียน mesh แบบ binary
+        }
+    }
+
+    /** Returns the .fmesh name that corresponds to an .obj file name. */ // คืนชื่อไฟล์ .fmesh ที่คู่กับ .obj
+    public static String binaryFileName(String objFileName) { // เมธอดแปลงชื่อไฟล์
+        int dot = objFileName.lastIndexOf('.'); // หาตำแหน่งจุดของนามสกุล
+        String baseName = dot < 0 ? objFileName : objFileName.substring(0, dot); // ชื่อไฟล์ที่ไม่มีนามสกุล
+        return baseName + BinaryMeshFormat.FILE_EXTENSION; // เติมนามสกุล .fmesh
+    }
+
+    /** Lists the .obj files of a directory in name order. */ // คืนรายการไฟล์ .obj ในโฟลเดอร์
+    static List<File> listObjFiles(File inputDir) throws IOException { // เมธอดหาไฟล์ .obj
+        File[] files = inputDir.listFiles((dir, name) -> name.endsWith(".obj")); // กรองเฉพาะ .obj
+        if (files == null) { // ถ้าอ่านโฟลเดอร์ไม่ได้
+            throw new IOException("Cannot list " + inputDir); // ขว้าง exception
+        }
+        Arrays.sort(files); // เรียงตามชื่อ
+        return new ArrayList<>(Arrays.asList(files)); // คืนค่ารายการไฟล์
+    }
+
+    private MeshConverter() {} // constructor private เพื่อไม่ให้สร้าง instance
+}
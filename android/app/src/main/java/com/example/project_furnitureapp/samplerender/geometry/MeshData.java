@@ -0,0 +1,234 @@
+package com.example.project_furnitureapp.samplerender.geometry; // ประกาศ package ของไฟล์นี้
+
+import java.nio.ByteBuffer; // import ByteBuffer สำหรับสร้าง direct buffer
+import java.nio.ByteOrder; // import ByteOrder สำหรับกำหนด endian
+import java.nio.FloatBuffer; // import FloatBuffer สำหรับเก็บข้อมูล float
+import java.nio.IntBuffer; // import IntBuffer สำหรับเก็บ index
+import java.util.Arrays; // import Arrays สำหรับคัดลอกช่วงของ index
+
+/**
+ * CPU-side triangle mesh with one position, texture coordinate and normal per vertex.
+ *
+ * <p>The interleaved float layout used for GPU upload is {@link #VERTEX_STRIDE} (32) bytes per
+ * vertex: position at 0, texture coordinate at 12, normal at 20.
+ *
+ * <p>{@link #indices} may hold several levels of detail back to back, all referencing the same
+ * vertices; {@link #lods} lists their ranges, finest first. Meshes built without LODs have one
+ * level covering every index.
+ *
+ * <p>This class has no Android dependencies so the import pipeline (OBJ parsing, binary encoding)
+ * can run on a plain JVM as well as on the device.
+ */ // คำอธิบายคลาส: ข้อมูล mesh ฝั่ง CPU (ไม่พึ่ง Android)
+public final class MeshData { // ประกาศคลาส MeshData
+    public static final int POSITION_COMPONENTS = 3; // จำนวน float ต่อ position (x, y, z)
+    public static final int TEX_COORD_COMPONENTS = 2; // จำนวน float ต่อ texture coordinate (u, v)
+    public static final int NORMAL_COMPONENTS = 3; // จำนวน float ต่อ normal (x, y, z)
+    public static final int POSITION_OFFSET = 0; // offset ของ position ใน vertex แบบ interleave (byte)
+    public static final int TEX_COORD_OFFSET = 12; // offset ของ texture coordinate ใน vertex แบบ interleave (byte)
+    public static final int NORMAL_OFFSET = 20; // offset ของ normal ใน vertex แบบ interleave (byte)
+    public static final int VERTEX_STRIDE = 32; // ขนาดของ 1 vertex แบบ interleave (byte)
+
+    public final float[] positions; // ตำแหน่ง vertex (x, y, z)
+    public final float[] texCoords; // texture coordinate (u, v)
+    public final float[] normals; // normal ของ vertex (x, y, z)
+    public final int[] indices; // index ของสามเหลี่ยม (3 ตัวต่อสามเหลี่ยม)
+    public final Lod[] lods; // ช่วง index ของแต่ละระดับ LOD (ละเอียดสุดก่อน)
+
+    /** One level of detail: a range of {@link #indices} and its simplification error. */ // คำอธิบายคลาส: LOD หนึ่งระดับ
+    public static final class Lod { // ประกาศคลาส Lod
+        public final int firstIndex; // index แรกของระดับนี้
+        public final int indexCount; // จำนวน index ของระดับนี้
+        public final float error; // ระยะคลาดเคลื่อนสูงสุดจาก mesh เดิม (หน่วยเดียวกับ position)
+
+        public Lod(int firstIndex, int indexCount, float error) { // constructor
+            this.firstIndex = firstIndex; // กำหนด index แรก
+            this.indexCount = indexCount; // กำหนดจำนวน index
+            this.error = error; // กำหนดค่าคลาดเคลื่อน
+        }
+    }
+
+    /** Creates a mesh with a single level of detail covering all indices. */ // สร้าง mesh ที่มี LOD เดียว
+    public MeshData(float[] positions, float[] texCoords, float[] normals, int[] indices) { // constructor รับข้อมูลทุก attribute
+        this(positions, texCoords, normals, indices, new Lod[] {new Lod(0, indices.length, 0f)}); // LOD เดียวครอบคลุมทุก index
+    }
+
+    public MeshData(float[] positions, float[] texCoords, float[] normals, int[] indices, Lod[] lods) { // constructor รับข้อมูลทุก attribute และ LOD
+        if (positions.length % POSITION_COMPONENTS != 0) { // ถ้าจำนวน float ไม่หารลงตัว
+            throw new IllegalArgumentException("Position array length must be a multiple of 3"); // ขว้าง exception
+        }
+        int vertexCount = positions.length / POSITION_COMPONENTS; // จำนวน vertex
+        if (texCoords.length != vertexCount * TEX_COORD_COMPONENTS || normals.length != vertexCount * NORMAL_COMPONENTS) { // ถ้าจำนวน attribute ไม่ตรงกัน
+            throw new IllegalArgumentException("Attribute arrays have mismatching vertex counts"); // ขว้าง exception
+        }
+        if (indices.length % 3 != 0) { // ถ้า index ไม่ครบสามเหลี่ยม
+            throw new IllegalArgumentException("Index array length must be a multiple of 3"); // ขว้าง exception
+        }
+        if (lods.length == 0) { // ต้องมีอย่างน้อย 1 ระดับ
+            throw new IllegalArgumentException("A mesh needs at least one level of detail"); // ขว้าง exception
+        }
+        for (Lod lod : lods) { // ช่วงของทุกระดับต้องอยู่ใน index และครบสามเหลี่ยม
+            if (lod.firstIndex < 0 || lod.indexCount < 0 || lod.firstIndex % 3 != 0 || lod.indexCount % 3 != 0
+                    || lod.firstIndex + lod.indexCount > indices.length) {
+                throw new IllegalArgumentException("Level of detail range is outside the index array"); // ขว้าง exception
+            }
+        }
+        this.positions = positions; // กำหนดตำแหน่ง
+        this.texCoords = texCoords; // กำหนด texture coordinate
+        this.normals = normals; // กำหนด normal
+        this.indices = indices; // กำหนด index
+        this.lods = lods; // กำหนด LOD
+    }
+
+    /** Returns the number of vertices. */ // คืนค่าจำนวน vertex
+    public int getVertexCount() {
+        return positions.length / POSITION_COMPONENTS; // จำนวน vertex
+    }
+
+    /** Returns the number of indices (three per triangle). */ // คืนค่าจำนวน index
+    public int getIndexCount() {
+        return indices.length; // จำนวน index
+    }
+
+    /** Copies the indices of one level of detail. */ // คัดลอก index ของ LOD หนึ่งระดับ
+    public int[] getLodIndices(int level) {
+        Lod lod = lods[level]; // ระดับที่ต้องการ
+        return Arrays.copyOfRange(indices, lod.firstIndex, lod.firstIndex + lod.indexCount); // คัดลอกช่วงของระดับนี้
+    }
+
+    /** Computes the axis-aligned bounds as {minX, minY, minZ, maxX, maxY, maxZ}. */ // คำนวณกล่องขอบเขต (AABB)
+    public float[] computeBounds() {
+        float[] bounds = new float[6]; // ผลลัพธ์ min xyz + max xyz
+        if (positions.length == 0) { // ถ้าไม่มี vertex
+            return bounds; // คืนค่า 0 ทั้งหมด
+        }
+        for (int c = 0; c < 3; ++c) { // ตั้งค่าเริ่มต้นจาก vertex แรก
+            bounds[c] = positions[c]; // ค่า min
+            bounds[c + 3] = positions[c]; // ค่า max
+        }
+        for (int i = 0; i < positions.length; i += 3) { // วนลูปทุก vertex
+            for (int c = 0; c < 3; ++c) { // วนลูปทุกแกน
+                float v = positions[i + c]; // ค่าของแกนนี้
+                if (v < bounds[c]) bounds[c] = v; // อัปเดต min
+                if (v > bounds[c + 3]) bounds[c + 3] = v; // อัปเดต max
+            }
+        }
+        return bounds; // คืนค่า bounds
+    }
+
+    /**
+     * Returns a copy scaled per axis so that its bounds are {@code width} (x) by {@code height} (y)
+     * by {@code depth} (z), standing on {@code y = 0} and centred on the y axis, with normals
+     * transformed to match. An axis whose target is not positive, or whose extent is zero, is
+     * scaled like the smallest of the other axes so the model keeps its proportions there.
+     */ // ปรับขนาด mesh ให้ตรงกับขนาดจริงของสินค้า
+    public MeshData fitToDimensions(float width, float height, float depth) {
+        float[] bounds = computeBounds(); // bounds เดิม
+        float[] targets = {width, height, depth}; // ขนาดที่ต้องการ (x, y, z)
+        float[] scale = new float[3]; // อัตราส่วนต่อแกน
+        float fallback = Float.POSITIVE_INFINITY; // อัตราส่วนของแกนที่ไม่มีขนาดเป้าหมาย
+        for (int c = 0; c < 3; ++c) {
+            float extent = bounds[c + 3] - bounds[c]; // ขนาดเดิมของแกนนี้
+            scale[c] = targets[c] > 0f && extent > 0f ? targets[c] / extent : 0f;
+            if (scale[c] > 0f) fallback = Math.min(fallback, scale[c]);
+        }
+        for (int c = 0; c < 3; ++c) {
+            if (scale[c] == 0f) scale[c] = fallback == Float.POSITIVE_INFINITY ? 1f : fallback; // ไม่มีแกนใดใช้ได้: ไม่ปรับขนาด
+        }
+        float[] offset = { // วางกึ่งกลาง x/z ที่ 0 และฐานที่ y = 0
+            -(bounds[0] + bounds[3]) * 0.5f * scale[0], -bounds[1] * scale[1], -(bounds[2] + bounds[5]) * 0.5f * scale[2]};
+        float[] newPositions = new float[positions.length]; // ตำแหน่งใหม่
+        float[] newNormals = new float[normals.length]; // normal ใหม่
+        for (int i = 0; i < positions.length; i += 3) {
+            float length = 0f;
+            for (int c = 0; c < 3; ++c) {
+                newPositions[i + c] = positions[i + c] * scale[c] + offset[c];
+                newNormals[i + c] = normals[i + c] / scale[c]; // normal ใช้ inverse-transpose ของ scale
+                length += newNormals[i + c] * newNormals[i + c];
+            }
+            float inverse = length > 0f ? 1f / (float) Math.sqrt(length) : 0f;
+            for (int c = 0; c < 3; ++c) {
+                newNormals[i + c] *= inverse; // normalize ใหม่
+            }
+        }
+        float maxScale = Math.max(scale[0], Math.max(scale[1], scale[2])); // ค่าคลาดเคลื่อนของ LOD ขยายได้ไม่เกินนี้
+        Lod[] newLods = new Lod[lods.length];
+        for (int i = 0; i < lods.length; ++i) {
+            newLods[i] = new Lod(lods[i].firstIndex, lods[i].indexCount, lods[i].error * maxScale);
+        }
+        return new MeshData(newPositions, texCoords, newNormals, indices, newLods); // คืนค่า mesh ใหม่
+    }
+
+    /** Copies the positions into a new direct buffer suitable for a vertex buffer. */ // สร้าง direct buffer ของ position
+    public FloatBuffer createPositionBuffer() {
+        return createDirectFloatBuffer(positions); // คัดลอกลง direct buffer
+    }
+
+    /** Copies the texture coordinates into a new direct buffer suitable for a vertex buffer. */ // สร้าง direct buffer ของ texture coordinate
+    public FloatBuffer createTexCoordBuffer() {
+        return createDirectFloatBuffer(texCoords); // คัดลอกลง direct buffer
+    }
+
+    /** Copies the normals into a new direct buffer suitable for a vertex buffer. */ // สร้าง direct buffer ของ normal
+    public FloatBuffer createNormalBuffer() {
+        return createDirectFloatBuffer(normals); // คัดลอกลง direct buffer
+    }
+
+    /** Interleaves all attributes into a new direct buffer in native order. */ // สร้าง direct buffer ของ vertex แบบ interleave
+    public ByteBuffer createInterleavedBuffer() {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(getVertexCount() * VERTEX_STRIDE).order(ByteOrder.nativeOrder()); // จอง direct buffer
+        putInterleaved(buffer, 0); // เขียนข้อมูล
+        return buffer; // คืนค่า buffer
+    }
+
+    /** Writes the interleaved vertices starting at byte {@code base}, in the buffer's order. */ // เขียน vertex แบบ interleave
+    public void putInterleaved(ByteBuffer out, int base) {
+        for (int v = 0; v < getVertexCount(); ++v) { // วนลูปทุก vertex
+            int vertex = base + v * VERTEX_STRIDE; // offset ของ vertex นี้
+            for (int c = 0; c < POSITION_COMPONENTS; ++c) { // position
+                out.putFloat(vertex + POSITION_OFFSET + c * Float.BYTES, positions[v * POSITION_COMPONENTS + c]);
+            }
+            for (int c = 0; c < TEX_COORD_COMPONENTS; ++c) { // texture coordinate
+                out.putFloat(vertex + TEX_COORD_OFFSET + c * Float.BYTES, texCoords[v * TEX_COORD_COMPONENTS + c]);
+            }
+            for (int c = 0; c < NORMAL_COMPONENTS; ++c) { // normal
+                out.putFloat(vertex + NORMAL_OFFSET + c * Float.BYTES, normals[v * NORMAL_COMPONENTS + c]);
+            }
+        }
+    }
+
+    /**
+     * Reads {@code vertexCount} vertices written by {@link #putInterleaved}, starting at byte
+     * {@code base}, and pairs them with {@code indices}.
+     */ // แปลง vertex แบบ interleave กลับเป็น MeshData
+    public static MeshData fromInterleaved(ByteBuffer in, int base, int vertexCount, int[] indices) {
+        float[] positions = new float[vertexCount * POSITION_COMPONENTS]; // position
+        float[] texCoords = new float[vertexCount * TEX_COORD_COMPONENTS]; // texture coordinate
+        float[] normals = new float[vertexCount * NORMAL_COMPONENTS]; // normal
+        for (int v = 0; v < vertexCount; ++v) { // วนลูปทุก vertex
+            int vertex = base + v * VERTEX_STRIDE; // offset ของ vertex นี้
+            for (int c = 0; c < POSITION_COMPONENTS; ++c) {
+                positions[v * POSITION_COMPONENTS + c] = in.getFloat(vertex + POSITION_OFFSET + c * Float.BYTES);
+            }
+            for (int c = 0; c < TEX_COORD_COMPONENTS; ++c) {
+                texCoords[v * TEX_COORD_COMPONENTS + c] = in.getFloat(vertex + TEX_COORD_OFFSET + c * Float.BYTES);
+            }
+            for (int c = 0; c < NORMAL_COMPONENTS; ++c) {
+                normals[v * NORMAL_COMPONENTS + c] = in.getFloat(vertex + NORMAL_OFFSET + c * Float.BYTES);
+            }
+        }
+        return new MeshData(positions, texCoords, normals, indices); // คืนค่า MeshData
+    }
+
+    /** Copies the indices into a new direct buffer suitable for an index buffer. */ // สร้าง direct buffer ของ index
+    public IntBuffer createIndexBuffer() {
+        IntBuffer buffer = ByteBuffer.allocateDirect(indices.length * Integer.BYTES).order(ByteOrder.nativeOrder()).asIntBuffer(); // จอง direct buffer
+        buffer.put(indices).rewind(); // ใส่ข้อมูลและรีเซ็ต pointer
+        return buffer; // คืนค่า buffer
+    }
+
+    private static FloatBuffer createDirectFloatBuffer(float[] values) { // เมธอดช่วยสร้าง direct FloatBuffer
+        FloatBuffer buffer = ByteBuffer.allocateDirect(values.length * Float.BYTES).order(ByteOrder.nativeOrder()).asFloatBuffer(); // จอง direct buffer
+        buffer.put(values).rewind(); // ใส่ข้อมูลและรีเซ็ต pointer
+        return buffer; // คืนค่า buffer
+    }
+}
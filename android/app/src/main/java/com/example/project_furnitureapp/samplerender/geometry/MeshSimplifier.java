@@ -0,0 +1,413 @@
+package com.example.project_furnitureapp.samplerender.geometry; // ประกาศ package ของไฟล์นี้
+
+import java.util.Arrays; // import Arrays สำหรับเรียงลำดับและเติมค่า
+import java.util.HashSet; // import HashSet สำหรับหาขอบที่เป็นขอบเปิด
+import java.util.Set; // import Set สำหรับหาขอบที่เป็นขอบเปิด
+
+/**
+ * Quadric error metric (Garland-Heckbert) simplification that keeps the original vertices, so that
+ * every level of detail is just another index range over the same vertex buffer.
+ *
+ * <p>Vertices that share a position (split by texture or normal seams) are welded for the
+ * topology and collapse together; each corner then moves to the wedge of the target position with
+ * the closest normal and texture coordinate. Plane quadrics are unweighted, so the quadric error
+ * bounds the squared distance to every original plane around a vertex rather than averaging it.
+ * Open borders get an extra perpendicular plane so silhouettes hold, and collapses that would flip
+ * a triangle are rejected. Collapses are applied
+ * in passes, cheapest first, with the neighbourhood of each collapse locked for the rest of the
+ * pass.
+ *
+ * <p>{@link #generateLods} builds the levels stored by {@link BinaryMeshFormat}; each level's
+ * {@link MeshData.Lod#error} is the measured deviation from the full mesh (see {@link
+ * #surfaceDeviation}), in model units.
+ */ // คำอธิบายคลาส: ลดจำนวนสามเหลี่ยมด้วย quadric error metric เพื่อสร้าง LOD
+public final class MeshSimplifier { // ประกาศคลาส MeshSimplifier
+    /** Triangle budget of each generated level, relative to the full mesh. */ // งบจำนวนสามเหลี่ยมของแต่ละระดับ
+    static final float[] LOD_TRIANGLE_RATIOS = {0.5f, 0.25f};
+    /** Largest error of each generated level, relative to the bounds diagonal. */ // ค่าคลาดเคลื่อนสูงสุดของแต่ละระดับ
+    static final float[] LOD_MAX_ERRORS = {0.01f, 0.03f};
+    /** A level is kept only if it has at most this fraction of the previous level's triangles. */ // ระดับที่ลดได้น้อยกว่านี้จะถูกตัดทิ้ง
+    static final float MIN_REDUCTION = 0.8f;
+
+    private static final int QUADRIC_SIZE = 10; // a2 ab ac ad b2 bc bd c2 cd d2
+    private static final float ATTRIBUTE_WEIGHT = 0.01f; // ราคาของ normal/UV ที่เปลี่ยน เทียบกับเส้นทแยงของ bounds
+    private static final int MAX_PASSES = 64; // จำนวนรอบสูงสุด
+
+    /** Indices of a simplified level and its estimated error. */ // คำอธิบายคลาส: ผลการลดสามเหลี่ยม
+    public static final class Result { // ประกาศคลาส Result
+        public final int[] indices; // index ของระดับที่ลดแล้ว (อ้างอิง vertex เดิม)
+        public final float error; // ค่าคลาดเคลื่อนโดยประมาณจาก quadric (หน่วยเดียวกับ position)
+
+        private Result(int[] indices, float error) { // constructor
+            this.indices = indices; // กำหนด index
+            this.error = error; // กำหนดค่าคลาดเคลื่อน
+        }
+    }
+
+    private final MeshData mesh; // mesh ต้นฉบับ
+    private final int[] positionOf; // ตำแหน่ง (หลัง weld) ของแต่ละ vertex
+    private final int positionCount; // จำนวนตำแหน่งหลัง weld
+    private final int[] wedgeOffsets; // จุดเริ่มของ vertex ในแต่ละตำแหน่ง (CSR)
+    private final int[] wedges; // vertex ของแต่ละตำแหน่ง
+    private final double[] quadrics; // quadric ของแต่ละตำแหน่ง
+    private final float attributeScale; // ค่าคูณของราคา attribute (หน่วยระยะกำลังสอง)
+
+    /**
+     * Returns a copy of {@code mesh} whose indices hold the full mesh followed by up to {@code
+     * LOD_TRIANGLE_RATIOS.length} simplified levels. The vertices are shared and unchanged.
+     */ // สร้าง LOD ทุกระดับ
+    public static MeshData generateLods(MeshData mesh) { // เมธอดสร้าง LOD
+        float diagonal = diagonal(mesh.computeBounds()); // เส้นทแยงของ bounds
+        int[][] levels = new int[LOD_TRIANGLE_RATIOS.length + 1][]; // index ของแต่ละระดับ
+        float[] errors = new float[levels.length]; // ค่าคลาดเคลื่อนของแต่ละระดับ
+        levels[0] = mesh.getLodIndices(0); // ระดับละเอียดสุดคือ mesh เดิม
+        int levelCount = 1; // จำนวนระดับที่เก็บไว้
+        int total = levels[0].length; // จำนวน index รวม
+        for (int i = 0; i < LOD_TRIANGLE_RATIOS.length; ++i) { // สร้างแต่ละระดับจาก mesh เดิม
+            int target = (int) (levels[0].length / 3 * LOD_TRIANGLE_RATIOS[i]) * 3; // งบ index
+            Result result = simplify(mesh, target, LOD_MAX_ERRORS[i] * diagonal); // ลดสามเหลี่ยม
+            if (result.indices.length > levels[levelCount - 1].length * MIN_REDUCTION) { // ลดได้ไม่พอ
+                break;
+            }
+            levels[levelCount] = result.indices;
+            errors[levelCount] = Math.max(result.error, surfaceDeviation(mesh, result.indices)); // ใช้ค่าที่วัดจริงถ้ามากกว่า
+            total += result.indices.length;
+            ++levelCount;
+        }
+
+        int[] indices = new int[total]; // index ของทุกระดับต่อกัน
+        MeshData.Lod[] lods = new MeshData.Lod[levelCount]; // ช่วงของแต่ละระดับ
+        int offset = 0;
+        for (int i = 0; i < levelCount; ++i) {
+            System.arraycopy(levels[i], 0, indices, offset, levels[i].length);
+            lods[i] = new MeshData.Lod(offset, levels[i].length, errors[i]);
+            offset += levels[i].length;
+        }
+        return new MeshData(mesh.positions, mesh.texCoords, mesh.normals, indices, lods); // คืน mesh ที่มีหลายระดับ
+    }
+
+    /**
+     * Simplifies the finest level of {@code mesh} until it has at most {@code targetIndexCount}
+     * indices or no collapse below {@code targetError} (model units) remains.
+     */ // ลดจำนวนสามเหลี่ยม
+    public static Result simplify(MeshData mesh, int targetIndexCount, float targetError) { // เมธอดลดจำนวนสามเหลี่ยม
+        return new MeshSimplifier(mesh).run(mesh.getLodIndices(0), targetIndexCount, targetError); // สร้างสถานะและลด
+    }
+
+    /**
+     * Largest distance from a vertex or triangle centroid of the full mesh to the nearest triangle
+     * of {@code lodIndices}. The simplified vertices are original vertices, so this covers the
+     * other direction of the Hausdorff distance up to the sampling.
+     */ // วัดระยะคลาดเคลื่อนจริงของ LOD
+    public static float surfaceDeviation(MeshData mesh, int[] lodIndices) { // เมธอดวัดระยะคลาดเคลื่อน
+        int[] full = mesh.getLodIndices(0); // สามเหลี่ยมของ mesh เดิม
+        float[] point = new float[3]; // จุดที่วัด
+        float worst = 0f; // ระยะมากสุด
+        for (int i = 0; i < mesh.getVertexCount() + full.length / 3; ++i) { // วัดทุก vertex และจุดกึ่งกลางสามเหลี่ยม
+            if (i < mesh.getVertexCount()) {
+                System.arraycopy(mesh.positions, i * 3, point, 0, 3);
+            } else {
+                int t = (i - mesh.getVertexCount()) * 3;
+                for (int c = 0; c < 3; ++c) {
+                    point[c] = (mesh.positions[full[t] * 3 + c] + mesh.positions[full[t + 1] * 3 + c] + mesh.positions[full[t + 2] * 3 + c]) / 3f;
+                }
+            }
+            float nearest = Float.MAX_VALUE; // ระยะกำลังสองที่ใกล้สุด
+            for (int t = 0; t < lodIndices.length && nearest > worst * worst; t += 3) { // หยุดเมื่อใกล้กว่าค่ามากสุดที่พบแล้ว
+                nearest = Math.min(nearest, pointTriangleDistanceSquared(point, mesh.positions, lodIndices[t], lodIndices[t + 1], lodIndices[t + 2]));
+            }
+            if (lodIndices.length > 0) worst = Math.max(worst, (float) Math.sqrt(nearest));
+        }
+        return worst; // คืนระยะมากสุด
+    }
+
+    private MeshSimplifier(MeshData mesh) { // constructor: weld ตำแหน่งและสร้าง quadric
+        this.mesh = mesh; // เก็บ mesh
+        int vertexCount = mesh.getVertexCount(); // จำนวน vertex
+
+        // Weld vertices with bit-identical positions (open addressing, like ObjParser's tuple table).
+        positionOf = new int[vertexCount];
+        int[] table = new int[Integer.highestOneBit(Math.max(1, vertexCount) * 2) * 2]; // hash table ของ vertex ตัวแทน (+1)
+        int[] representative = new int[vertexCount]; // vertex ตัวแทนของแต่ละตำแหน่ง
+        int count = 0;
+        for (int v = 0; v < vertexCount; ++v) {
+            int hash = Float.floatToIntBits(mesh.positions[v * 3]) * 73856093
+                    ^ Float.floatToIntBits(mesh.positions[v * 3 + 1]) * 19349663
+                    ^ Float.floatToIntBits(mesh.positions[v * 3 + 2]) * 83492791;
+            int slot = (hash ^ (hash >>> 16)) & (table.length - 1);
+            while (table[slot] != 0 && !samePosition(representative[table[slot] - 1], v)) {
+                slot = (slot + 1) & (table.length - 1); // linear probing
+            }
+            if (table[slot] == 0) { // ตำแหน่งใหม่
+                representative[count] = v;
+                table[slot] = ++count;
+            }
+            positionOf[v] = table[slot] - 1;
+        }
+        positionCount = count;
+
+        wedgeOffsets = new int[positionCount + 1]; // vertex ของแต่ละตำแหน่ง (CSR)
+        for (int v = 0; v < vertexCount; ++v) ++wedgeOffsets[positionOf[v] + 1];
+        for (int p = 0; p < positionCount; ++p) wedgeOffsets[p + 1] += wedgeOffsets[p];
+        wedges = new int[vertexCount];
+        int[] fill = Arrays.copyOf(wedgeOffsets, positionCount);
+        for (int v = 0; v < vertexCount; ++v) wedges[fill[positionOf[v]]++] = v;
+
+        quadrics = new double[positionCount * QUADRIC_SIZE]; // quadric ของแต่ละตำแหน่ง
+        int[] indices = mesh.getLodIndices(0);
+        Set<Long> directedEdges = new HashSet<>(); // ขอบแบบมีทิศของทุกสามเหลี่ยม
+        for (int t = 0; t < indices.length; t += 3) {
+            for (int c = 0; c < 3; ++c) {
+                directedEdges.add(edgeKey(positionOf[indices[t + c]], positionOf[indices[t + (c + 1) % 3]]));
+            }
+        }
+        float[] normal = new float[3];
+        for (int t = 0; t < indices.length; t += 3) {
+            int a = indices[t], b = indices[t + 1], c = indices[t + 2];
+            float length = triangleNormal(mesh.positions, a, b, c, normal); // normal ของสามเหลี่ยม
+            if (length <= 0f) continue; // สามเหลี่ยมที่ไม่มีพื้นที่
+            for (int i = 0; i < 3; ++i) normal[i] /= length;
+            double d = -(normal[0] * mesh.positions[a * 3] + normal[1] * mesh.positions[a * 3 + 1] + normal[2] * mesh.positions[a * 3 + 2]);
+            for (int corner = 0; corner < 3; ++corner) { // เพิ่ม quadric ของระนาบให้ทั้ง 3 มุม
+                addPlane(positionOf[indices[t + corner]], normal[0], normal[1], normal[2], d);
+            }
+            for (int corner = 0; corner < 3; ++corner) { // ขอบเปิด: เพิ่มระนาบตั้งฉากกับสามเหลี่ยม
+                int from = indices[t + corner], to = indices[t + (corner + 1) % 3];
+                if (directedEdges.contains(edgeKey(positionOf[to], positionOf[from]))) continue; // มีสามเหลี่ยมอีกด้าน
+                float ex = mesh.positions[to * 3] - mesh.positions[from * 3];
+                float ey = mesh.positions[to * 3 + 1] - mesh.positions[from * 3 + 1];
+                float ez = mesh.positions[to * 3 + 2] - mesh.positions[from * 3 + 2];
+                float px = ey * normal[2] - ez * normal[1], py = ez * normal[0] - ex * normal[2], pz = ex * normal[1] - ey * normal[0]; // ทิศตั้งฉากกับขอบบนระนาบสามเหลี่ยม
+                float edgeLength = (float) Math.sqrt(px * px + py * py + pz * pz);
+                if (edgeLength <= 0f) continue;
+                px /= edgeLength;
+                py /= edgeLength;
+                pz /= edgeLength;
+                double pd = -(px * mesh.positions[from * 3] + py * mesh.positions[from * 3 + 1] + pz * mesh.positions[from * 3 + 2]);
+                addPlane(positionOf[from], px, py, pz, pd);
+                addPlane(positionOf[to], px, py, pz, pd);
+            }
+        }
+        float attributeDistance = ATTRIBUTE_WEIGHT * diagonal(mesh.computeBounds()); // ระยะที่เทียบเท่า attribute ต่างกัน 1 หน่วย
+        attributeScale = attributeDistance * attributeDistance;
+    }
+
+    private Result run(int[] source, int targetIndexCount, float targetError) { // ลดสามเหลี่ยมทีละรอบ
+        int[] indices = source.clone(); // index ปัจจุบัน
+        int indexCount = indices.length; // จำนวน index ปัจจุบัน
+        double maxErrorSquared = (double) targetError * targetError; // ค่าคลาดเคลื่อนกำลังสองสูงสุด
+        float error = 0f; // ค่าคลาดเคลื่อนที่เกิดขึ้นแล้ว
+        int[] collapseTarget = new int[positionCount]; // ตำแหน่งปลายทางของการยุบ (-1 = ไม่ยุบ)
+        boolean[] locked = new boolean[positionCount]; // ตำแหน่งที่ถูกล็อกในรอบนี้
+        int[] vertexRemap = new int[mesh.getVertexCount()]; // vertex ใหม่ของแต่ละ vertex
+
+        for (int pass = 0; pass < MAX_PASSES && indexCount > targetIndexCount; ++pass) { // ยุบทีละรอบ
+            // Triangles around each position (CSR).
+            int[] adjacencyOffsets = new int[positionCount + 1];
+            for (int i = 0; i < indexCount; ++i) ++adjacencyOffsets[positionOf[indices[i]] + 1];
+            for (int p = 0; p < positionCount; ++p) adjacencyOffsets[p + 1] += adjacencyOffsets[p];
+            int[] adjacency = new int[indexCount];
+            int[] fill = Arrays.copyOf(adjacencyOffsets, positionCount);
+            for (int i = 0; i < indexCount; ++i) adjacency[fill[positionOf[indices[i]]]++] = i / 3;
+
+            // The cheaper direction of every edge, sorted by cost.
+            int[] candidateFrom = new int[indexCount]; // ตำแหน่งที่ถูกยุบ
+            int[] candidateTo = new int[indexCount]; // ตำแหน่งปลายทาง
+            double[] candidateError = new double[indexCount]; // ค่าคลาดเคลื่อนกำลังสอง (เฉพาะรูปทรง)
+            long[] order = new long[indexCount]; // ราคา (bits ของ float) และลำดับของ candidate
+            int candidateCount = 0;
+            for (int i = 0; i < indexCount; ++i) {
+                int a = positionOf[indices[i]], b = positionOf[indices[i - i % 3 + (i % 3 + 1) % 3]];
+                if (a > b) continue; // ขอบแต่ละเส้นพิจารณาครั้งเดียวต่อสามเหลี่ยม
+                double errorAB = collapseError(a, b), errorBA = collapseError(b, a);
+                double costAB = errorAB + attributeCost(a, b), costBA = errorBA + attributeCost(b, a);
+                boolean forward = costAB <= costBA;
+                candidateFrom[candidateCount] = forward ? a : b;
+                candidateTo[candidateCount] = forward ? b : a;
+                candidateError[candidateCount] = forward ? errorAB : errorBA;
+                order[candidateCount] = ((long) Float.floatToIntBits((float) (forward ? costAB : costBA)) << 32) | candidateCount; // float บวกเรียงตาม bits ได้
+                ++candidateCount;
+            }
+            Arrays.sort(order, 0, candidateCount);
+
+            Arrays.fill(collapseTarget, -1);
+            Arrays.fill(locked, false);
+            int removed = 0; // จำนวน index ที่จะหายไปในรอบนี้
+            int collapses = 0; // จำนวนการยุบในรอบนี้
+            for (int k = 0; k < candidateCount && indexCount - removed > targetIndexCount; ++k) {
+                int candidate = (int) order[k];
+                int from = candidateFrom[candidate], to = candidateTo[candidate];
+                if (locked[from] || locked[to] || candidateError[candidate] > maxErrorSquared) continue;
+                if (flipsTriangle(indices, adjacency, adjacencyOffsets, from, to)) continue; // สามเหลี่ยมจะกลับด้าน
+                collapseTarget[from] = to;
+                for (int q = 0; q < QUADRIC_SIZE; ++q) quadrics[to * QUADRIC_SIZE + q] += quadrics[from * QUADRIC_SIZE + q]; // รวม quadric
+                error = Math.max(error, (float) Math.sqrt(candidateError[candidate]));
+                locked[to] = true;
+                for (int a = adjacencyOffsets[from]; a < adjacencyOffsets[from + 1]; ++a) { // ล็อกตำแหน่งรอบๆ และนับสามเหลี่ยมที่หาย
+                    int t = adjacency[a] * 3;
+                    boolean hasTarget = false;
+                    for (int c = 0; c < 3; ++c) {
+                        int p = positionOf[indices[t + c]];
+                        locked[p] = true;
+                        hasTarget |= p == to;
+                    }
+                    if (hasTarget) removed += 3;
+                }
+                ++collapses;
+            }
+            if (collapses == 0) break; // ไม่มีการยุบที่ทำได้แล้ว
+
+            // Move each corner of a collapsed position to the closest wedge of its target, drop degenerate triangles.
+            for (int v = 0; v < vertexRemap.length; ++v) {
+                int to = collapseTarget[positionOf[v]];
+                vertexRemap[v] = to < 0 ? v : closestWedge(v, to);
+            }
+            int written = 0;
+            for (int t = 0; t < indexCount; t += 3) {
+                int a = vertexRemap[indices[t]], b = vertexRemap[indices[t + 1]], c = vertexRemap[indices[t + 2]];
+                int pa = positionOf[a], pb = positionOf[b], pc = positionOf[c];
+                if (pa == pb || pb == pc || pa == pc) continue; // สามเหลี่ยมที่ยุบหายไป
+                indices[written++] = a;
+                indices[written++] = b;
+                indices[written++] = c;
+            }
+            indexCount = written;
+        }
+        return new Result(Arrays.copyOf(indices, indexCount), error); // คืนผลลัพธ์
+    }
+
+    private double collapseError(int from, int to) { // ค่าคลาดเคลื่อนกำลังสองเมื่อยุบ from ไปที่ to
+        int v = wedges[wedgeOffsets[to]] * 3; // vertex ตัวแทนของปลายทาง
+        double x = mesh.positions[v], y = mesh.positions[v + 1], z = mesh.positions[v + 2];
+        int f = from * QUADRIC_SIZE, t = to * QUADRIC_SIZE;
+        double[] q = quadrics;
+        double a2 = q[f] + q[t], ab = q[f + 1] + q[t + 1], ac = q[f + 2] + q[t + 2], ad = q[f + 3] + q[t + 3];
+        double b2 = q[f + 4] + q[t + 4], bc = q[f + 5] + q[t + 5], bd = q[f + 6] + q[t + 6];
+        double c2 = q[f + 7] + q[t + 7], cd = q[f + 8] + q[t + 8], d2 = q[f + 9] + q[t + 9];
+        double error = x * x * a2 + y * y * b2 + z * z * c2 + 2 * (x * y * ab + x * z * ac + y * z * bc) + 2 * (x * ad + y * bd + z * cd) + d2;
+        return Math.max(0, error); // ปัดค่าติดลบจากการปัดเศษ
+    }
+
+    private double attributeCost(int from, int to) { // ราคาของ normal/UV ที่เปลี่ยนเมื่อยุบ from ไปที่ to
+        double worst = 0;
+        for (int w = wedgeOffsets[from]; w < wedgeOffsets[from + 1]; ++w) {
+            worst = Math.max(worst, attributeDistance(wedges[w], closestWedge(wedges[w], to)));
+        }
+        return worst * attributeScale;
+    }
+
+    private int closestWedge(int vertex, int position) { // vertex ของตำแหน่งปลายทางที่ attribute ใกล้สุด
+        int best = wedges[wedgeOffsets[position]];
+        double bestDistance = Double.MAX_VALUE;
+        for (int w = wedgeOffsets[position]; w < wedgeOffsets[position + 1]; ++w) {
+            double distance = attributeDistance(vertex, wedges[w]);
+            if (distance < bestDistance) {
+                bestDistance = distance;
+                best = wedges[w];
+            }
+        }
+        return best;
+    }
+
+    private double attributeDistance(int a, int b) { // ระยะกำลังสองของ normal และ UV
+        double distance = 0;
+        for (int c = 0; c < 3; ++c) {
+            double d = mesh.normals[a * 3 + c] - mesh.normals[b * 3 + c];
+            distance += d * d;
+        }
+        for (int c = 0; c < 2; ++c) {
+            double d = mesh.texCoords[a * 2 + c] - mesh.texCoords[b * 2 + c];
+            distance += d * d;
+        }
+        return distance;
+    }
+
+    private boolean flipsTriangle(int[] indices, int[] adjacency, int[] adjacencyOffsets, int from, int to) { // เช็คว่าการยุบทำให้สามเหลี่ยมกลับด้านหรือไม่
+        float[] before = new float[3], after = new float[3];
+        float[] moved = new float[9]; // ตำแหน่งมุมหลังยุบ
+        int target = wedges[wedgeOffsets[to]];
+        for (int a = adjacencyOffsets[from]; a < adjacencyOffsets[from + 1]; ++a) {
+            int t = adjacency[a] * 3;
+            boolean hasTarget = false;
+            for (int c = 0; c < 3; ++c) hasTarget |= positionOf[indices[t + c]] == to;
+            if (hasTarget) continue; // สามเหลี่ยมนี้จะหายไป
+            triangleNormal(mesh.positions, indices[t], indices[t + 1], indices[t + 2], before);
+            for (int c = 0; c < 3; ++c) {
+                int v = positionOf[indices[t + c]] == from ? target : indices[t + c];
+                System.arraycopy(mesh.positions, v * 3, moved, c * 3, 3);
+            }
+            triangleNormal(moved, 0, 1, 2, after);
+            if (before[0] * after[0] + before[1] * after[1] + before[2] * after[2] <= 0f) return true; // กลับด้านหรือไม่มีพื้นที่
+        }
+        return false;
+    }
+
+    private void addPlane(int position, double a, double b, double c, double d) { // เพิ่ม quadric ของระนาบ
+        int q = position * QUADRIC_SIZE;
+        quadrics[q] += a * a;
+        quadrics[q + 1] += a * b;
+        quadrics[q + 2] += a * c;
+        quadrics[q + 3] += a * d;
+        quadrics[q + 4] += b * b;
+        quadrics[q + 5] += b * c;
+        quadrics[q + 6] += b * d;
+        quadrics[q + 7] += c * c;
+        quadrics[q + 8] += c * d;
+        quadrics[q + 9] += d * d;
+    }
+
+    private boolean samePosition(int a, int b) { // เช็คว่า vertex สองตัวอยู่ตำแหน่งเดียวกันหรือไม่
+        return mesh.positions[a * 3] == mesh.positions[b * 3]
+                && mesh.positions[a * 3 + 1] == mesh.positions[b * 3 + 1]
+                && mesh.positions[a * 3 + 2] == mesh.positions[b * 3 + 2];
+    }
+
+    private static long edgeKey(int from, int to) { // key ของขอบแบบมีทิศ
+        return ((long) from << 32) | (to & 0xFFFFFFFFL);
+    }
+
+    /** Writes the unnormalized normal of triangle (a, b, c) and returns its length (twice the area). */ // คำนวณ normal ของสามเหลี่ยม
+    private static float triangleNormal(float[] positions, int a, int b, int c, float[] out) {
+        float e1x = positions[b * 3] - positions[a * 3], e1y = positions[b * 3 + 1] - positions[a * 3 + 1], e1z = positions[b * 3 + 2] - positions[a * 3 + 2];
+        float e2x = positions[c * 3] - positions[a * 3], e2y = positions[c * 3 + 1] - positions[a * 3 + 1], e2z = positions[c * 3 + 2] - positions[a * 3 + 2];
+        out[0] = e1y * e2z - e1z * e2y;
+        out[1] = e1z * e2x - e1x * e2z;
+        out[2] = e1x * e2y - e1y * e2x;
+        return (float) Math.sqrt(out[0] * out[0] + out[1] * out[1] + out[2] * out[2]);
+    }
+
+    private static float pointTriangleDistanceSquared(float[] p, float[] positions, int a, int b, int c) { // ระยะกำลังสองจากจุดถึงสามเหลี่ยม (Ericson, Real-Time Collision Detection 5.1.5)
+        float ax = positions[a * 3], ay = positions[a * 3 + 1], az = positions[a * 3 + 2];
+        float abx = positions[b * 3] - ax, aby = positions[b * 3 + 1] - ay, abz = positions[b * 3 + 2] - az;
+        float acx = positions[c * 3] - ax, acy = positions[c * 3 + 1] - ay, acz = positions[c * 3 + 2] - az;
+        float apx = p[0] - ax, apy = p[1] - ay, apz = p[2] - az;
+        float nx = aby * acz - abz * acy, ny = abz * acx - abx * acz, nz = abx * acy - aby * acx;
+        if (nx * nx + ny * ny + nz * nz == 0f) { // สามเหลี่ยมที่ไม่มีพื้นที่: ใช้ระยะถึงมุมที่ใกล้สุด
+            float bx = apx - abx, by = apy - aby, bz = apz - abz, cx = apx - acx, cy = apy - acy, cz = apz - acz;
+            return Math.min(apx * apx + apy * apy + apz * apz, Math.min(bx * bx + by * by + bz * bz, cx * cx + cy * cy + cz * cz));
+        }
+        float d1 = abx * apx + aby * apy + abz * apz, d2 = acx * apx + acy * apy + acz * apz;
+        float s, t; // พิกัด barycentric ของจุดที่ใกล้สุด (a + s*ab + t*ac)
+        if (d1 <= 0f && d2 <= 0f) { s = 0f; t = 0f; } // มุม a
+        else {
+            float bpx = apx - abx, bpy = apy - aby, bpz = apz - abz;
+            float d3 = abx * bpx + aby * bpy + abz * bpz, d4 = acx * bpx + acy * bpy + acz * bpz;
+            float cpx = apx - acx, cpy = apy - acy, cpz = apz - acz;
+            float d5 = abx * cpx + aby * cpy + abz * cpz, d6 = acx * cpx + acy * cpy + acz * cpz;
+            float vc = d1 * d4 - d3 * d2, vb = d5 * d2 - d1 * d6, va = d3 * d6 - d5 * d4;
+            if (d3 >= 0f && d4 <= d3) { s = 1f; t = 0f; } // มุม b
+            else if (d6 >= 0f && d5 <= d6) { s = 0f; t = 1f; } // มุม c
+            else if (vc <= 0f && d1 >= 0f && d3 <= 0f) { s = d1 / (d1 - d3); t = 0f; } // ขอบ ab
+            else if (vb <= 0f && d2 >= 0f && d6 <= 0f) { s = 0f; t = d2 / (d2 - d6); } // ขอบ ac
+            else if (va <= 0f && d4 - d3 >= 0f && d5 - d6 >= 0f) { t = (d4 - d3) / ((d4 - d3) + (d5 - d6)); s = 1f - t; } // ขอบ bc
+            else { float denominator = 1f / (va + vb + vc); s = vb * denominator; t = vc * denominator; } // ภายในสามเหลี่ยม
+        }
+        float dx = apx - s * abx - t * acx, dy = apy - s * aby - t * acy, dz = apz - s * abz - t * acz;
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    private static float diagonal(float[] bounds) { // ความยาวเส้นทแยงของ bounds
+        float dx = bounds[3] - bounds[0], dy = bounds[4] - bounds[1], dz = bounds[5] - bounds[2];
+        return (float) Math.sqrt(dx * dx + dy * dy + dz * dz);
+    }
+}
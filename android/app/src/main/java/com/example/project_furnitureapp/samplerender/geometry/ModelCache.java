@@ -0,0 +1,342 @@
+package com.example.project_furnitureapp.samplerender.geometry; // ประกาศ package ของไฟล์นี้
+
+import java.io.BufferedInputStream; // import BufferedInputStream สำหรับอ่านไฟล์ที่ดาวน์โหลด
+import java.io.File; // import File สำหรับจัดการไฟล์
+import java.io.FileInputStream; // import FileInputStream สำหรับอ่านไฟล์
+import java.io.FileOutputStream; // import FileOutputStream สำหรับเขียนไฟล์
+import java.io.IOException; // import IOException สำหรับจัดการ exception
+import java.io.InputStream; // import InputStream สำหรับอ่านข้อมูล
+import java.io.OutputStream; // import OutputStream สำหรับเขียนข้อมูล
+import java.io.RandomAccessFile; // import RandomAccessFile สำหรับ map ไฟล์
+import java.net.HttpURLConnection; // import HttpURLConnection สำหรับดาวน์โหลด
+import java.net.URL; // import URL สำหรับดาวน์โหลด
+import java.nio.MappedByteBuffer; // import MappedByteBuffer สำหรับไฟล์ที่ map แล้ว
+import java.nio.channels.FileChannel; // import FileChannel สำหรับ map ไฟล์
+import java.nio.file.Files; // import Files สำหรับย้ายไฟล์
+import java.nio.file.StandardCopyOption; // import StandardCopyOption สำหรับย้ายไฟล์แบบ atomic
+import java.security.DigestOutputStream; // import DigestOutputStream สำหรับคำนวณ hash ระหว่างดาวน์โหลด
+import java.security.MessageDigest; // import MessageDigest สำหรับ SHA-256
+import java.security.NoSuchAlgorithmException; // import NoSuchAlgorithmException สำหรับ SHA-256
+import java.util.ArrayList; // import ArrayList สำหรับรายการไฟล์
+import java.util.Comparator; // import Comparator สำหรับเรียงตามเวลาใช้งาน
+import java.util.HashMap; // import HashMap สำหรับเวลาใช้งาน
+import java.util.Iterator; // import Iterator สำหรับลบ entry ของ index
+import java.util.List; // import List สำหรับรายการไฟล์
+import java.util.Map; // import Map สำหรับ index
+import java.util.Properties; // import Properties สำหรับเก็บ index ลงไฟล์
+import java.util.concurrent.CompletableFuture; // import CompletableFuture สำหรับผลลัพธ์แบบ async
+import java.util.concurrent.ConcurrentHashMap; // import ConcurrentHashMap สำหรับงานที่กำลังทำ
+import java.util.concurrent.Executor; // import Executor สำหรับ thread ที่ดาวน์โหลด
+
+/**
+ * On-disk cache of downloaded models, so that the second view of a product is a local load instead
+ * of a download. Each download goes through a {@link Processor} first: {@link #OBJ_TO_FMESH} stores
+ * the GPU-ready {@link BinaryMeshFormat}, which is memory-mapped instead of parsed, and {@link
+ * #STORE} keeps the bytes as they are, for the glTF binaries the product pages hand to their
+ * model viewer.
+ *
+ * <p>Processed files are content-addressed: they are named after the SHA-256 of the downloaded
+ * bytes, so product URLs that serve the same model (for example, several colours sharing one mesh)
+ * share one file. A small index maps each URL to its hash; it is kept in {@code index.properties}
+ * in the cache directory so hits survive a restart. Concurrent {@link #get} calls for the same URL
+ * share one download. When the files exceed the byte budget, the least recently used ones are
+ * deleted, together with the URLs that point to them.
+ *
+ * <p>This class does not use Android, so it is checked on the JVM against a local HTTP server by
+ * {@code ModelCacheCheck}. On the device, the directory is a folder of {@code Context#getCacheDir()}.
+ */ // คำอธิบายคลาส: cache บนดิสก์ของ model ที่ดาวน์โหลดและแปลงเป็น .fmesh แล้ว โดยใช้ hash ของเนื้อหาเป็น key
+public final class ModelCache { // ประกาศคลาส ModelCache
+    public static final long DEFAULT_MAX_BYTES = 128L * 1024 * 1024; // ขนาดสูงสุดเริ่มต้น (128 MB)
+    private static final String INDEX_FILE_NAME = "index.properties"; // ไฟล์ index: URL -> hash
+    private static final int CONNECT_TIMEOUT_MS = 15_000; // timeout ตอนเชื่อมต่อ
+    private static final int READ_TIMEOUT_MS = 30_000; // timeout ตอนอ่านข้อมูล
+
+    /** Turns downloaded bytes into the cached representation. */
+    public interface Processor { // interface สำหรับแปลงข้อมูลที่ดาวน์โหลด
+        void process(InputStream in, OutputStream out) throws IOException;
+    }
+
+    /**
+     * Parses an OBJ file and writes it as {@link MeshConverter#convert} does: with levels of
+     * detail, reordered for the vertex cache, float attributes.
+     */
+    public static final Processor OBJ_TO_FMESH = (in, out) -> { // ตัวแปลง OBJ เป็น .fmesh
+        MeshData mesh = VertexCacheOptimizer.optimize(MeshSimplifier.generateLods(ObjParser.read(in))); // import, LOD และ cache optimization
+        BinaryMeshFormat.write(mesh, /*quantize=*/ false, out); // เข้ารหัสแบบ binary
+    };
+
+    /** Stores the downloaded bytes unchanged, for formats the consumer parses itself (such as glb). */
+    public static final Processor STORE = (in, out) -> { // ตัวเก็บไฟล์ตามเดิม
+        byte[] chunk = new byte[64 * 1024]; // คัดลอกทีละ 64 KB
+        int amount;
+        while ((amount = in.read(chunk)) != -1) {
+            out.write(chunk, 0, amount);
+        }
+    };
+
+    private final File directory; // โฟลเดอร์ของ cache
+    private final String fileExtension; // นามสกุลของไฟล์ที่แปลงแล้ว
+    private final Processor processor; // ตัวแปลงข้อมูล
+    private final Executor executor; // thread ที่ใช้ดาวน์โหลดและแปลง
+    private final Map<String, CompletableFuture<File>> inFlight = new ConcurrentHashMap<>(); // งานที่กำลังทำตาม URL
+    private final Properties index = new Properties(); // URL -> hash (ใช้ร่วมกันหลาย thread: sync ที่ this)
+    private long maxBytes; // ขนาดสูงสุด (byte)
+    private int downloads; // จำนวนครั้งที่ดาวน์โหลดจริง
+
+    /** Opens (or creates) a cache of {@code .fmesh} files in {@code directory}, keeping at most {@code maxBytes} of them. */
+    public ModelCache(File directory, long maxBytes, Processor processor, Executor executor) throws IOException { // constructor สำหรับไฟล์ .fmesh
+        this(directory, BinaryMeshFormat.FILE_EXTENSION, maxBytes, processor, executor);
+    }
+
+    /**
+     * Opens (or creates) the cache in {@code directory}, keeping at most {@code maxBytes} of
+     * processed files, which are named with {@code fileExtension} (such as {@code ".glb"}).
+     */
+    public ModelCache(File directory, String fileExtension, long maxBytes, Processor processor, Executor executor) throws IOException { // constructor
+        if (!directory.isDirectory() && !directory.mkdirs()) { // ถ้าสร้างโฟลเดอร์ไม่ได้
+            throw new IOException("Cannot create cache directory " + directory); // ขว้าง exception
+        }
+        this.directory = directory; // กำหนดโฟลเดอร์
+        this.fileExtension = fileExtension; // กำหนดนามสกุล
+        this.maxBytes = maxBytes; // กำหนดขนาดสูงสุด
+        this.processor = processor; // กำหนดตัวแปลง
+        this.executor = executor; // กำหนด executor
+        File indexFile = new File(directory, INDEX_FILE_NAME);
+        if (indexFile.isFile()) { // โหลด index ที่บันทึกไว้
+            try (InputStream in = new FileInputStream(indexFile)) {
+                index.load(in);
+            } catch (IOException | IllegalArgumentException e) { // index เสีย: เริ่มใหม่ ไฟล์ที่ไม่มี URL ชี้จะถูก evict ตามปกติ
+                index.clear();
+            }
+        }
+        synchronized (this) {
+            dropMissingEntries(); // ลบ URL ที่ไฟล์หายไปแล้ว
+        }
+    }
+
+    /**
+     * Returns the processed file for {@code url}, downloading and processing it on the executor on
+     * a miss. A hit completes immediately.
+     */
+    public CompletableFuture<File> get(String url) { // เมธอดดึงไฟล์ของ URL
+        File cached = lookup(url); // ลองหาใน cache ก่อน
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached); // hit
+        }
+        CompletableFuture<File> created = new CompletableFuture<>();
+        CompletableFuture<File> existing = inFlight.putIfAbsent(url, created); // มีคนกำลังโหลด URL นี้อยู่หรือไม่
+        if (existing != null) {
+            return existing; // ใช้งานเดียวกัน
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    created.complete(fetch(url)); // ดาวน์โหลดและแปลง
+                } catch (Throwable t) {
+                    created.completeExceptionally(t);
+                } finally {
+                    inFlight.remove(url, created); // ครั้งถัดไปจะเป็น hit (หรือลองใหม่ถ้าล้มเหลว)
+                }
+            });
+        } catch (RuntimeException e) { // executor ปฏิเสธงาน
+            inFlight.remove(url, created);
+            created.completeExceptionally(e);
+        }
+        return created;
+    }
+
+    /** Returns the cached file for {@code url} and marks it used, or null on a miss. */
+    public synchronized File lookup(String url) { // เมธอดหาไฟล์ใน cache
+        String hash = index.getProperty(url); // hash ของเนื้อหา
+        if (hash == null) {
+            return null; // miss
+        }
+        File file = processedFile(hash);
+        if (!file.isFile()) { // ไฟล์ถูกลบไปนอก cache
+            index.remove(url);
+            return null;
+        }
+        file.setLastModified(System.currentTimeMillis()); // เวลาใช้งานล่าสุด สำหรับ LRU
+        return file;
+    }
+
+    /** Maps a processed file read-only and faults its pages in. */
+    public static MappedByteBuffer map(File file) throws IOException { // เมธอด map ไฟล์เข้าหน่วยความจำ
+        try (RandomAccessFile input = new RandomAccessFile(file, "r")) {
+            // The mapping stays valid after the file is closed, or even deleted by eviction.
+            MappedByteBuffer buffer = input.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, input.length());
+            buffer.load(); // โหลดทุก page ตอนนี้ ไม่ให้ page fault ไปเกิดตอน upload
+            return buffer;
+        }
+    }
+
+    public synchronized long getUsedBytes() { // เมธอดคืนค่าขนาดที่ใช้อยู่
+        long bytes = 0;
+        for (File file : processedFiles()) {
+            bytes += file.length();
+        }
+        return bytes;
+    }
+
+    public synchronized long getMaxBytes() { return maxBytes; } // คืนค่าขนาดสูงสุด
+
+    /** Changes the byte budget, evicting at once if the cache is now over it. */
+    public synchronized void setMaxBytes(long maxBytes) throws IOException { // เมธอดเปลี่ยนขนาดสูงสุด
+        this.maxBytes = maxBytes;
+        evict(null);
+    }
+
+    /** Number of downloads so far, for tests and logging. */
+    public synchronized int getDownloadCount() { return downloads; } // คืนค่าจำนวนครั้งที่ดาวน์โหลด
+
+    /** Downloads {@code url} while hashing it, processes it unless that content is already cached, and indexes it. */
+    private File fetch(String url) throws IOException { // เมธอดดาวน์โหลดและแปลง
+        File download = File.createTempFile("download", ".tmp", directory); // ไฟล์ดาวน์โหลดชั่วคราว
+        try {
+            MessageDigest digest = sha256();
+            HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+            connection.setConnectTimeout(CONNECT_TIMEOUT_MS);
+            connection.setReadTimeout(READ_TIMEOUT_MS);
+            try {
+                int status = connection.getResponseCode();
+                if (status != HttpURLConnection.HTTP_OK) {
+                    throw new IOException("HTTP " + status + " for " + url); // ดาวน์โหลดไม่สำเร็จ
+                }
+                try (InputStream in = connection.getInputStream();
+                        OutputStream out = new DigestOutputStream(new FileOutputStream(download), digest)) {
+                    byte[] chunk = new byte[64 * 1024]; // อ่านทีละ 64 KB
+                    int amount;
+                    while ((amount = in.read(chunk)) != -1) {
+                        out.write(chunk, 0, amount); // บันทึกพร้อมคำนวณ hash
+                    }
+                }
+            } finally {
+                connection.disconnect();
+            }
+            synchronized (this) {
+                ++downloads;
+            }
+            String hash = toHex(digest.digest()); // hash ของเนื้อหา
+            File file = processedFile(hash);
+            // Skip processing when another URL already brought the same content; if that file is
+            // evicted before it is indexed again below, process it after all.
+            for (boolean process = !file.isFile(); ; process = true) {
+                File processed = process ? process(download) : null; // แปลงนอก lock
+                try {
+                    synchronized (this) {
+                        if (processed != null) {
+                            // Readers only ever see complete files.
+                            Files.move(processed.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                        } else if (!file.isFile()) {
+                            continue; // ถูก evict ไปแล้ว: แปลงใหม่
+                        }
+                        file.setLastModified(System.currentTimeMillis()); // ใช้ล่าสุด
+                        index.setProperty(url, hash);
+                        evict(file); // ไม่ลบไฟล์ที่เพิ่งได้มา
+                        saveIndex();
+                        return file;
+                    }
+                } finally {
+                    if (processed != null) {
+                        processed.delete(); // ไม่มีผลถ้าย้ายไปแล้ว
+                    }
+                }
+            }
+        } finally {
+            download.delete(); // ลบไฟล์ดาวน์โหลดชั่วคราว
+        }
+    }
+
+    /** Processes a downloaded file into a temporary file in the cache directory. */
+    private File process(File download) throws IOException { // เมธอดแปลงไฟล์ที่ดาวน์โหลด
+        File processed = File.createTempFile("processed", ".tmp", directory); // แปลงลงไฟล์ชั่วคราวก่อน
+        try (InputStream in = new BufferedInputStream(new FileInputStream(download));
+                OutputStream out = new FileOutputStream(processed)) {
+            processor.process(in, out);
+        } catch (IOException | RuntimeException e) {
+            processed.delete();
+            throw e;
+        }
+        return processed;
+    }
+
+    /** Deletes the least recently used processed files, other than {@code keep}, until the cache fits its budget. */
+    private void evict(File keep) throws IOException { // เมธอดลบไฟล์ที่ใช้น้อยที่สุด
+        List<File> files = processedFiles();
+        Map<File, Long> lastUsed = new HashMap<>(); // อ่านเวลาครั้งเดียว ไม่ให้เปลี่ยนระหว่างเรียง
+        long used = 0;
+        for (File file : files) {
+            lastUsed.put(file, file.lastModified());
+            used += file.length();
+        }
+        if (used <= maxBytes) {
+            return;
+        }
+        files.sort(Comparator.comparingLong(lastUsed::get)); // เก่าสุดก่อน
+        boolean removed = false;
+        for (File file : files) {
+            if (used <= maxBytes) {
+                break;
+            }
+            if (file.equals(keep)) {
+                continue;
+            }
+            long length = file.length();
+            if (file.delete()) {
+                used -= length;
+                removed = true;
+            }
+        }
+        if (removed) {
+            dropMissingEntries(); // ลบ URL ที่ชี้ไปยังไฟล์ที่ถูกลบ
+            saveIndex();
+        }
+    }
+
+    private void dropMissingEntries() { // เมธอดลบ URL ที่ไม่มีไฟล์แล้ว
+        for (Iterator<Map.Entry<Object, Object>> it = index.entrySet().iterator(); it.hasNext(); ) {
+            if (!processedFile((String) it.next().getValue()).isFile()) {
+                it.remove();
+            }
+        }
+    }
+
+    private void saveIndex() throws IOException { // เมธอดบันทึก index แบบ atomic
+        File temp = new File(directory, INDEX_FILE_NAME + ".tmp");
+        try (OutputStream out = new FileOutputStream(temp)) {
+            index.store(out, "model URL -> SHA-256 of its content");
+        }
+        Files.move(temp.toPath(), new File(directory, INDEX_FILE_NAME).toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private File processedFile(String hash) { // เมธอดคืนไฟล์ของ hash
+        return new File(directory, hash + fileExtension);
+    }
+
+    private List<File> processedFiles() { // เมธอดคืนรายการไฟล์ที่แปลงแล้ว
+        File[] files = directory.listFiles((dir, name) -> name.endsWith(fileExtension));
+        List<File> list = new ArrayList<>();
+        if (files != null) {
+            for (File file : files) {
+                list.add(file);
+            }
+        }
+        return list;
+    }
+
+    private static MessageDigest sha256() { // เมธอดสร้างตัวคำนวณ SHA-256
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e); // ทุก JVM และ Android ต้องมี
+        }
+    }
+
+    private static String toHex(byte[] bytes) { // เมธอดแปลง byte เป็นเลขฐาน 16
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.project_furnitureapp.samplerender.geometry; // ประกาศ package ของไฟล์นี้
+
+import de.javagl.obj.Obj; // import Obj สำหรับอ่านไฟล์ .obj
+import de.javagl.obj.ObjData; // import ObjData สำหรับดึงข้อมูลจาก obj
+import de.javagl.obj.ObjReader; // import ObjReader สำหรับอ่านไฟล์ obj
+import de.javagl.obj.ObjUtils; // import ObjUtils สำหรับแปลง obj
+import java.io.IOException; // import IOException สำหรับจัดการ exception
+import java.io.InputStream; // import InputStream สำหรับอ่านไฟล์
+import java.util.Arrays; // import Arrays สำหรับขยาย array
+
+/**
+ * Reads Wavefront OBJ files into {@link MeshData} using the de.javagl OBJ library.
+ *
+ * <p>Kept as the reference implementation for {@code ObjParseBenchmark}; loading goes through the
+ * faster {@link ObjParser}.
+ */ // คำอธิบายคลาส: อ่าน OBJ ด้วย de.javagl (ใช้เป็นตัวเทียบใน benchmark)
+public final class ObjImporter { // ประกาศคลาส ObjImporter
+
+    /**
+     * Reads and triangulates an OBJ stream.
+     *
+     * <p>The result has one vertex per unique position/texture coordinate/normal combination, as
+     * produced by {@link ObjUtils#convertToRenderable}.
+     */
+    public static MeshData read(InputStream inputStream) throws IOException { // เมธอดอ่าน OBJ เป็น MeshData
+        Obj obj = ObjUtils.convertToRenderable(ObjReader.read(inputStream)); // อ่านและแปลง obj
+        float[] positions = ObjData.getVerticesArray(obj); // ตำแหน่ง vertex
+        int vertexCount = positions.length / MeshData.POSITION_COMPONENTS; // จำนวน vertex
+        // Files without "vt"/"vn" lines yield empty arrays; pad them so every attribute has one entry per vertex.
+        float[] texCoords = Arrays.copyOf(ObjData.getTexCoordsArray(obj, /*dimensions=*/ 2), vertexCount * MeshData.TEX_COORD_COMPONENTS); // texture coordinate
+        float[] normals = Arrays.copyOf(ObjData.getNormalsArray(obj), vertexCount * MeshData.NORMAL_COMPONENTS); // normal
+        int[] indices = ObjData.getFaceVertexIndicesArray(obj, /*numVerticesPerFace=*/ 3); // index ของสามเหลี่ยม
+        return new MeshData(positions, texCoords, normals, indices); // คืนค่า MeshData
+    }
+
+    private ObjImporter() {} // constructor private เพื่อไม่ให้สร้าง instance
+}
@@ -0,0 +1,330 @@
+package com.example.project_furnitureapp.samplerender.geometry; // ประกาศ package ของไฟล์นี้
+
+import java.io.IOException; // import IOException สำหรับจัดการ exception
+import java.io.InputStream; // import InputStream สำหรับอ่านไฟล์
+import java.util.Arrays; // import Arrays สำหรับขยาย/ตัด array
+
+/**
+ * Single-pass Wavefront OBJ parser that reads {@code v}, {@code vt}, {@code vn} and {@code f}
+ * lines straight from the byte stream into growable primitive arrays.
+ *
+ * <p>Unlike {@link ObjImporter} it builds no per-face or per-vertex objects and no {@link String}s:
+ * numbers are decoded from the raw bytes, polygons are fan-triangulated as they are read, and
+ * unique position/texture coordinate/normal tuples are deduplicated with a primitive
+ * open-addressing hash table. The scratch arrays are kept between calls, so a parser instance that
+ * is reused for several models only allocates the final {@link MeshData} arrays.
+ *
+ * <p>Instances are not thread-safe.
+ */ // คำอธิบายคลาส: parser ไฟล์ OBJ แบบอ่านรอบเดียว ไม่สร้าง object ต่อ vertex
+public final class ObjParser { // ประกาศคลาส ObjParser
+    private static final int READ_BUFFER_SIZE = 64 * 1024; // ขนาด buffer สำหรับอ่าน stream
+    private static final int MAX_LINE_LENGTH = 4096; // ความยาวบรรทัดสูงสุดที่รองรับ
+    private static final int EMPTY_SLOT = -1; // ค่าของช่องว่างใน hash table
+    private static final double[] POWERS_OF_TEN = new double[23]; // ตาราง 10^n สำหรับแปลงตัวเลข
+
+    static {
+        POWERS_OF_TEN[0] = 1.0; // 10^0
+        for (int i = 1; i < POWERS_OF_TEN.length; ++i) { // คำนวณ 10^1 ถึง 10^22
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10.0;
+        }
+    }
+
+    // Input
+    private final byte[] readBuffer = new byte[READ_BUFFER_SIZE]; // buffer สำหรับอ่าน stream
+    private final byte[] line = new byte[MAX_LINE_LENGTH]; // บรรทัดปัจจุบัน
+    private int lineLength; // ความยาวของบรรทัดปัจจุบัน
+    private int cursor; // ตำแหน่งที่กำลังอ่านในบรรทัด
+
+    // Raw OBJ attributes, indexed by the numbers in "f" lines
+    private float[] rawPositions = new float[3 * 1024]; // ค่า v ที่อ่านได้
+    private int rawPositionCount; // จำนวน float ใน rawPositions
+    private float[] rawTexCoords = new float[2 * 1024]; // ค่า vt ที่อ่านได้
+    private int rawTexCoordCount; // จำนวน float ใน rawTexCoords
+    private float[] rawNormals = new float[3 * 1024]; // ค่า vn ที่อ่านได้
+    private int rawNormalCount; // จำนวน float ใน rawNormals
+
+    // Output vertices, one per unique (v, vt, vn) tuple
+    private float[] positions = new float[3 * 1024]; // position ของ vertex ที่ไม่ซ้ำ
+    private float[] texCoords = new float[2 * 1024]; // texture coordinate ของ vertex ที่ไม่ซ้ำ
+    private float[] normals = new float[3 * 1024]; // normal ของ vertex ที่ไม่ซ้ำ
+    private int vertexCount; // จำนวน vertex ที่ไม่ซ้ำ
+    private int[] indices = new int[3 * 1024]; // index ของสามเหลี่ยม
+    private int indexCount; // จำนวน index
+
+    // Open-addressing table: three key ints per slot and the output vertex index
+    private int[] hashKeys = new int[3 * 2048]; // key (v, vt, vn) ของแต่ละช่อง
+    private int[] hashValues = new int[2048]; // index ของ vertex ในแต่ละช่อง
+
+    /** Parses a complete OBJ stream. The stream is read to the end but not closed. */ // parse OBJ ทั้งไฟล์
+    public MeshData parse(InputStream inputStream) throws IOException { // เมธอด parse OBJ
+        reset(); // ล้างสถานะจากการ parse ครั้งก่อน
+        int lineNumber = 0; // หมายเลขบรรทัด (สำหรับข้อความ error)
+        lineLength = 0; // เริ่มบรรทัดใหม่
+        int amount; // จำนวน byte ที่อ่านได้
+        while ((amount = inputStream.read(readBuffer)) != -1) { // อ่าน stream ทีละก้อน
+            for (int i = 0; i < amount; ++i) { // วนลูปทุก byte
+                byte b = readBuffer[i]; // byte ปัจจุบัน
+                if (b == '\n') { // จบบรรทัด
+                    parseLine(++lineNumber); // parse บรรทัดนี้
+                    lineLength = 0; // เริ่มบรรทัดใหม่
+                } else if (lineLength < MAX_LINE_LENGTH) { // ยังมีที่ว่างในบรรทัด
+                    line[lineLength++] = b; // เก็บ byte
+                } else { // บรรทัดยาวเกิน
+                    throw new IOException("OBJ line " + (lineNumber + 1) + " is longer than " + MAX_LINE_LENGTH + " bytes"); // ขว้าง exception
+                }
+            }
+        }
+        if (lineLength > 0) { // บรรทัดสุดท้ายที่ไม่มี newline
+            parseLine(++lineNumber); // parse บรรทัดสุดท้าย
+        }
+        return new MeshData(
+                Arrays.copyOf(positions, vertexCount * 3), // ตัด array ให้พอดี
+                Arrays.copyOf(texCoords, vertexCount * 2),
+                Arrays.copyOf(normals, vertexCount * 3),
+                Arrays.copyOf(indices, indexCount)); // คืนค่า MeshData
+    }
+
+    /** Convenience for one-off loads; prefer reusing an instance when loading several models. */ // parse ด้วย instance ใหม่
+    public static MeshData read(InputStream inputStream) throws IOException { // เมธอด static สำหรับโหลดครั้งเดียว
+        return new ObjParser().parse(inputStream); // สร้าง parser และ parse
+    }
+
+    private void reset() { // เมธอดล้างสถานะ
+        rawPositionCount = 0; // ล้างจำนวน v
+        rawTexCoordCount = 0; // ล้างจำนวน vt
+        rawNormalCount = 0; // ล้างจำนวน vn
+        vertexCount = 0; // ล้างจำนวน vertex
+        indexCount = 0; // ล้างจำนวน index
+        Arrays.fill(hashValues, EMPTY_SLOT); // ล้าง hash table
+    }
+
+    private void parseLine(int lineNumber) throws IOException { // เมธอด parse หนึ่งบรรทัด
+        cursor = 0; // เริ่มที่ต้นบรรทัด
+        skipSpaces(); // ข้ามช่องว่างนำหน้า
+        if (cursor + 1 >= lineLength) { // บรรทัดว่างหรือสั้นเกินไป
+            return;
+        }
+        byte c0 = line[cursor]; // ตัวอักษรแรก
+        byte c1 = line[cursor + 1]; // ตัวอักษรที่สอง
+        if (c0 == 'v' && isSpace(c1)) { // บรรทัด "v x y z"
+            cursor += 2; // ข้าม "v "
+            rawPositions = ensureCapacity(rawPositions, rawPositionCount + 3); // ขยาย array ถ้าจำเป็น
+            rawPositions[rawPositionCount++] = parseFloat(lineNumber); // x
+            rawPositions[rawPositionCount++] = parseFloat(lineNumber); // y
+            rawPositions[rawPositionCount++] = parseFloat(lineNumber); // z
+        } else if (c0 == 'v' && c1 == 't' && cursor + 2 < lineLength && isSpace(line[cursor + 2])) { // บรรทัด "vt u v"
+            cursor += 3; // ข้าม "vt "
+            rawTexCoords = ensureCapacity(rawTexCoords, rawTexCoordCount + 2); // ขยาย array ถ้าจำเป็น
+            rawTexCoords[rawTexCoordCount++] = parseFloat(lineNumber); // u
+            skipSpaces(); // ข้ามช่องว่าง
+            rawTexCoords[rawTexCoordCount++] = cursor < lineLength ? parseFloat(lineNumber) : 0f; // v (ไม่บังคับ)
+        } else if (c0 == 'v' && c1 == 'n' && cursor + 2 < lineLength && isSpace(line[cursor + 2])) { // บรรทัด "vn x y z"
+            cursor += 3; // ข้าม "vn "
+            rawNormals = ensureCapacity(rawNormals, rawNormalCount + 3); // ขยาย array ถ้าจำเป็น
+            rawNormals[rawNormalCount++] = parseFloat(lineNumber); // x
+            rawNormals[rawNormalCount++] = parseFloat(lineNumber); // y
+            rawNormals[rawNormalCount++] = parseFloat(lineNumber); // z
+        } else if (c0 == 'f' && isSpace(c1)) { // บรรทัด "f v/vt/vn ..."
+            cursor += 2; // ข้าม "f "
+            parseFace(lineNumber); // parse face
+        }
+        // Every other statement (o, g, s, usemtl, mtllib, comments) does not affect geometry.
+    }
+
+    private void parseFace(int lineNumber) throws IOException { // เมธอด parse face และแบ่งเป็นสามเหลี่ยม
+        int first = -1; // vertex แรกของ polygon
+        int previous = -1; // vertex ก่อนหน้า
+        int corners = 0; // จำนวนมุมที่อ่านแล้ว
+        while (true) { // อ่านทุกมุมของ polygon
+            skipSpaces(); // ข้ามช่องว่าง
+            if (cursor >= lineLength || line[cursor] == '#') { // จบบรรทัดหรือเจอ comment
+                break;
+            }
+            int v = resolveIndex(parseInt(lineNumber), rawPositionCount / 3, lineNumber); // index ของ position
+            int vt = -1; // index ของ texture coordinate (ไม่บังคับ)
+            int vn = -1; // index ของ normal (ไม่บังคับ)
+            if (cursor < lineLength && line[cursor] == '/') { // มี "/" ตามหลัง
+                ++cursor; // ข้าม "/"
+                if (cursor < lineLength && line[cursor] != '/') { // รูปแบบ v/vt
+                    vt = resolveIndex(parseInt(lineNumber), rawTexCoordCount / 2, lineNumber);
+                }
+                if (cursor < lineLength && line[cursor] == '/') { // รูปแบบ v/vt/vn หรือ v//vn
+                    ++cursor; // ข้าม "/"
+                    vn = resolveIndex(parseInt(lineNumber), rawNormalCount / 3, lineNumber);
+                }
+            }
+            int vertex = findOrAddVertex(v, vt, vn); // หา vertex ที่ซ้ำหรือเพิ่มใหม่
+            if (corners == 0) { // มุมแรก
+                first = vertex;
+            } else if (corners >= 2) { // ตั้งแต่มุมที่สามเป็นต้นไป สร้างสามเหลี่ยมแบบ fan
+                indices = ensureCapacity(indices, indexCount + 3); // ขยาย array ถ้าจำเป็น
+                indices[indexCount++] = first;
+                indices[indexCount++] = previous;
+                indices[indexCount++] = vertex;
+            }
+            previous = vertex; // จำ vertex ก่อนหน้า
+            ++corners; // นับมุม
+        }
+        if (corners < 3) { // face ต้องมีอย่างน้อย 3 มุม
+            throw new IOException("OBJ line " + lineNumber + ": face has fewer than three vertices"); // ขว้าง exception
+        }
+    }
+
+    private int findOrAddVertex(int v, int vt, int vn) { // เมธอดค้นหาหรือเพิ่ม vertex ใน hash table
+        if (vertexCount * 2 >= hashValues.length) { // load factor เกิน 0.5
+            growHashTable(); // ขยาย hash table
+        }
+        int mask = hashValues.length - 1; // mask สำหรับ modulo (ขนาดเป็นกำลังสอง)
+        int slot = hash(v, vt, vn) & mask; // ช่องเริ่มต้น
+        while (hashValues[slot] != EMPTY_SLOT) { // probe จนเจอช่องว่าง
+            int k = slot * 3; // ตำแหน่ง key ของช่องนี้
+            if (hashKeys[k] == v && hashKeys[k + 1] == vt && hashKeys[k + 2] == vn) { // เจอ tuple เดิม
+                return hashValues[slot]; // คืน vertex เดิม
+            }
+            slot = (slot + 1) & mask; // linear probing
+        }
+        int vertex = vertexCount++; // vertex ใหม่
+        hashKeys[slot * 3] = v; // เก็บ key
+        hashKeys[slot * 3 + 1] = vt;
+        hashKeys[slot * 3 + 2] = vn;
+        hashValues[slot] = vertex; // เก็บ index ของ vertex
+
+        positions = ensureCapacity(positions, vertexCount * 3); // ขยาย array ถ้าจำเป็น
+        texCoords = ensureCapacity(texCoords, vertexCount * 2);
+        normals = ensureCapacity(normals, vertexCount * 3);
+        System.arraycopy(rawPositions, v * 3, positions, vertex * 3, 3); // คัดลอก position
+        if (vt >= 0) { // มี texture coordinate
+            System.arraycopy(rawTexCoords, vt * 2, texCoords, vertex * 2, 2);
+        } else { // ไม่มี ใช้ 0
+            texCoords[vertex * 2] = 0f;
+            texCoords[vertex * 2 + 1] = 0f;
+        }
+        if (vn >= 0) { // มี normal
+            System.arraycopy(rawNormals, vn * 3, normals, vertex * 3, 3);
+        } else { // ไม่มี ใช้ 0
+            normals[vertex * 3] = 0f;
+            normals[vertex * 3 + 1] = 0f;
+            normals[vertex * 3 + 2] = 0f;
+        }
+        return vertex; // คืน vertex ใหม่
+    }
+
+    private void growHashTable() { // เมธอดขยาย hash table เป็นสองเท่า
+        int[] oldKeys = hashKeys; // key เดิม
+        int[] oldValues = hashValues; // value เดิม
+        hashKeys = new int[oldKeys.length * 2]; // จอง key ใหม่
+        hashValues = new int[oldValues.length * 2]; // จอง value ใหม่
+        Arrays.fill(hashValues, EMPTY_SLOT); // ล้างช่องทั้งหมด
+        int mask = hashValues.length - 1; // mask ใหม่
+        for (int i = 0; i < oldValues.length; ++i) { // ย้ายทุกช่องที่มีข้อมูล
+            if (oldValues[i] == EMPTY_SLOT) {
+                continue;
+            }
+            int v = oldKeys[i * 3], vt = oldKeys[i * 3 + 1], vn = oldKeys[i * 3 + 2]; // key เดิม
+            int slot = hash(v, vt, vn) & mask; // ช่องใหม่
+            while (hashValues[slot] != EMPTY_SLOT) { // linear probing
+                slot = (slot + 1) & mask;
+            }
+            hashKeys[slot * 3] = v;
+            hashKeys[slot * 3 + 1] = vt;
+            hashKeys[slot * 3 + 2] = vn;
+            hashValues[slot] = oldValues[i];
+        }
+    }
+
+    private static int hash(int v, int vt, int vn) { // เมธอดคำนวณ hash ของ tuple
+        int h = v * 0x9E3779B1 + vt * 0x85EBCA77 + vn * 0xC2B2AE3D; // ผสมค่า 3 ตัว
+        return h ^ (h >>> 16); // กระจาย bit สูงลงมา
+    }
+
+    private static int resolveIndex(int index, int count, int lineNumber) throws IOException { // เมธอดแปลง index ของ OBJ (เริ่ม 1, ติดลบได้) เป็นเริ่ม 0
+        int resolved = index > 0 ? index - 1 : count + index; // index ติดลบนับจากท้าย
+        if (index == 0 || resolved < 0 || resolved >= count) { // index อยู่นอกช่วง
+            throw new IOException("OBJ line " + lineNumber + ": index " + index + " out of range"); // ขว้าง exception
+        }
+        return resolved; // คืน index ที่แปลงแล้ว
+    }
+
+    private int parseInt(int lineNumber) throws IOException { // เมธอดแปลงเลขจำนวนเต็มจาก byte
+        boolean negative = false; // เครื่องหมายลบ
+        if (cursor < lineLength && line[cursor] == '-') { // มีเครื่องหมายลบ
+            negative = true;
+            ++cursor;
+        }
+        int start = cursor; // ตำแหน่งเริ่มของตัวเลข
+        int value = 0; // ค่าที่แปลงได้
+        while (cursor < lineLength && line[cursor] >= '0' && line[cursor] <= '9') { // อ่านทุกหลัก
+            value = value * 10 + (line[cursor++] - '0');
+        }
+        if (cursor == start) { // ไม่มีตัวเลข
+            throw new IOException("OBJ line " + lineNumber + ": expected an integer"); // ขว้าง exception
+        }
+        return negative ? -value : value; // คืนค่า
+    }
+
+    private float parseFloat(int lineNumber) throws IOException { // เมธอดแปลงเลขทศนิยมจาก byte
+        skipSpaces(); // ข้ามช่องว่าง
+        boolean negative = false; // เครื่องหมายลบ
+        if (cursor < lineLength && (line[cursor] == '-' || line[cursor] == '+')) { // มีเครื่องหมาย
+            negative = line[cursor] == '-';
+            ++cursor;
+        }
+        long mantissa = 0; // ตัวเลขทั้งหมดโดยไม่มีจุด
+        int exponent = 0; // เลขชี้กำลังฐานสิบ
+        int digits = 0; // จำนวนหลักที่อ่าน
+        while (cursor < lineLength && line[cursor] >= '0' && line[cursor] <= '9') { // ส่วนจำนวนเต็ม
+            if (mantissa < 100_000_000_000_000_000L) mantissa = mantissa * 10 + (line[cursor] - '0'); else ++exponent; // กัน overflow
+            ++cursor;
+            ++digits;
+        }
+        if (cursor < lineLength && line[cursor] == '.') { // ส่วนทศนิยม
+            ++cursor;
+            while (cursor < lineLength && line[cursor] >= '0' && line[cursor] <= '9') {
+                if (mantissa < 100_000_000_000_000_000L) { mantissa = mantissa * 10 + (line[cursor] - '0'); --exponent; } // กัน overflow
+                ++cursor;
+                ++digits;
+            }
+        }
+        if (digits == 0) { // ไม่มีตัวเลข
+            throw new IOException("OBJ line " + lineNumber + ": expected a number"); // ขว้าง exception
+        }
+        if (cursor < lineLength && (line[cursor] == 'e' || line[cursor] == 'E')) { // มีเลขชี้กำลัง
+            ++cursor;
+            boolean negativeExponent = false; // เครื่องหมายของเลขชี้กำลัง
+            if (cursor < lineLength && (line[cursor] == '-' || line[cursor] == '+')) {
+                negativeExponent = line[cursor] == '-';
+                ++cursor;
+            }
+            int e = 0; // ค่าเลขชี้กำลัง
+            while (cursor < lineLength && line[cursor] >= '0' && line[cursor] <= '9') {
+                e = Math.min(e * 10 + (line[cursor++] - '0'), 1000); // จำกัดค่าเพื่อกัน overflow
+            }
+            exponent += negativeExponent ? -e : e; // รวมเลขชี้กำลัง
+        }
+        double value = mantissa; // แปลงเป็น double
+        if (exponent < 0) { // หารด้วย 10^n
+            value = -exponent < POWERS_OF_TEN.length ? value / POWERS_OF_TEN[-exponent] : value * Math.pow(10, exponent);
+        } else if (exponent > 0) { // คูณด้วย 10^n
+            value = exponent < POWERS_OF_TEN.length ? value * POWERS_OF_TEN[exponent] : value * Math.pow(10, exponent);
+        }
+        return (float) (negative ? -value : value); // คืนค่า float
+    }
+
+    private void skipSpaces() { // เมธอดข้ามช่องว่าง
+        while (cursor < lineLength && isSpace(line[cursor])) {
+            ++cursor;
+        }
+    }
+
+    private static boolean isSpace(byte b) { // เช็คว่าเป็นช่องว่างหรือไม่ (รวม \r ของไฟล์ Windows)
+        return b == ' ' || b == '\t' || b == '\r';
+    }
+
+    private static float[] ensureCapacity(float[] array, int required) { // เมธอดขยาย float array
+        return required <= array.length ? array : Arrays.copyOf(array, Math.max(required, array.length * 2)); // ขยายเป็นสองเท่า
+    }
+
+    private static int[] ensureCapacity(int[] array, int required) { // เมธอดขยาย int array
+        return required <= array.length ? array : Arrays.copyOf(array, Math.max(required, array.length * 2)); // ขยายเป็นสองเท่า
+    }
+}
@@ -0,0 +1,158 @@
+package com.example.project_furnitureapp.samplerender.geometry; // ประกาศ package ของไฟล์นี้
+
+import java.util.Map; // import Map สำหรับวนลูป block
+import java.util.TreeMap; // import TreeMap สำหรับเรียง block ตาม offset
+
+/**
+ * Suballocates ranges of a fixed-capacity buffer, in abstract units (vertices or indices).
+ *
+ * <p>Allocation is best-fit over the free blocks, and freeing merges a block with its free
+ * neighbours, which keeps fragmentation low for the mix of sizes a furniture catalogue has. When
+ * products are added and removed for long enough the free space still scatters; {@link
+ * #getFragmentation} measures it and {@link #compact} packs the live blocks to the front in a given
+ * order, leaving one free block at the end. Moving the data itself is the caller's job.
+ *
+ * <p>This class does not use OpenGL, so it is checked on the JVM by {@code ArenaCheck}.
+ */ // คำอธิบายคลาส: ตัวจัดสรรช่วงของ buffer ขนาดคงที่ พร้อมการบีบอัด (compaction)
+public final class RangeAllocator { // ประกาศคลาส RangeAllocator
+    private final TreeMap<Integer, Integer> freeBlocks = new TreeMap<>(); // block ว่าง: offset -> ขนาด
+    private final TreeMap<Integer, Integer> usedBlocks = new TreeMap<>(); // block ที่ใช้อยู่: offset -> ขนาด
+    private int capacity; // ความจุทั้งหมด (หน่วย)
+    private int used; // จำนวนหน่วยที่ใช้อยู่
+
+    public RangeAllocator(int capacity) { // constructor รับความจุ
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity must not be negative: " + capacity); // ขว้าง exception
+        }
+        this.capacity = capacity; // กำหนดความจุ
+        if (capacity > 0) {
+            freeBlocks.put(0, capacity); // เริ่มต้นว่างทั้งหมด
+        }
+    }
+
+    /** Allocates {@code size} units; returns the offset, or -1 when no free block is large enough. */
+    public int allocate(int size) { // เมธอดจองช่วง
+        if (size <= 0) {
+            throw new IllegalArgumentException("Size must be positive: " + size); // ขว้าง exception
+        }
+        int bestOffset = -1, bestSize = Integer.MAX_VALUE; // block ที่พอดีที่สุด
+        for (Map.Entry<Integer, Integer> block : freeBlocks.entrySet()) {
+            int blockSize = block.getValue();
+            if (blockSize >= size && blockSize < bestSize) { // ใหญ่พอและเล็กกว่าตัวที่เจอก่อน
+                bestOffset = block.getKey();
+                bestSize = blockSize;
+                if (blockSize == size) {
+                    break; // พอดีเป๊ะ ไม่ต้องหาต่อ
+                }
+            }
+        }
+        if (bestOffset < 0) {
+            return -1; // ไม่มี block ที่ใหญ่พอ
+        }
+        freeBlocks.remove(bestOffset);
+        if (bestSize > size) {
+            freeBlocks.put(bestOffset + size, bestSize - size); // ส่วนที่เหลือยังว่าง
+        }
+        usedBlocks.put(bestOffset, size);
+        used += size;
+        return bestOffset; // คืนค่า offset
+    }
+
+    /** Frees the block allocated at {@code offset}. */
+    public void free(int offset) { // เมธอดคืนช่วง
+        Integer size = usedBlocks.remove(offset);
+        if (size == null) {
+            throw new IllegalArgumentException("No block allocated at " + offset); // ขว้าง exception
+        }
+        used -= size;
+        int start = offset, end = offset + size; // ช่วงที่จะคืน
+        Map.Entry<Integer, Integer> before = freeBlocks.floorEntry(offset); // block ว่างก่อนหน้า
+        if (before != null && before.getKey() + before.getValue() == start) { // ติดกัน: รวมเข้าด้วยกัน
+            start = before.getKey();
+            freeBlocks.remove(start);
+        }
+        Integer afterSize = freeBlocks.remove(end); // block ว่างถัดไป
+        if (afterSize != null) { // ติดกัน: รวมเข้าด้วยกัน
+            end += afterSize;
+        }
+        freeBlocks.put(start, end - start);
+    }
+
+    /** Returns the size of the block allocated at {@code offset}. */
+    public int getSize(int offset) { // เมธอดคืนค่าขนาดของ block
+        Integer size = usedBlocks.get(offset);
+        if (size == null) {
+            throw new IllegalArgumentException("No block allocated at " + offset); // ขว้าง exception
+        }
+        return size;
+    }
+
+    /** Extends the capacity to {@code newCapacity}, adding the new units to the free space at the end. */
+    public void grow(int newCapacity) { // เมธอดขยายความจุ
+        if (newCapacity < capacity) {
+            throw new IllegalArgumentException("Cannot shrink from " + capacity + " to " + newCapacity); // ขว้าง exception
+        }
+        if (newCapacity == capacity) {
+            return;
+        }
+        int start = capacity; // ช่วงใหม่เริ่มที่ความจุเดิม
+        Map.Entry<Integer, Integer> last = freeBlocks.floorEntry(capacity); // block ว่างตัวสุดท้าย
+        if (last != null && last.getKey() + last.getValue() == capacity) { // ติดกับท้าย buffer: รวมเข้าด้วยกัน
+            start = last.getKey();
+        }
+        freeBlocks.put(start, newCapacity - start);
+        capacity = newCapacity;
+    }
+
+    /**
+     * Packs the live blocks to the front of the buffer in the order of {@code offsets}, which must
+     * list every allocated block exactly once, and returns their new offsets in the same order.
+     */
+    public int[] compact(int[] offsets) { // เมธอดบีบอัด block ทั้งหมดไปไว้ด้านหน้า
+        if (offsets.length != usedBlocks.size()) {
+            throw new IllegalArgumentException(offsets.length + " offsets for " + usedBlocks.size() + " blocks"); // ต้องครบทุก block
+        }
+        int[] sizes = new int[offsets.length]; // ขนาดของแต่ละ block
+        for (int i = 0; i < offsets.length; ++i) {
+            sizes[i] = getSize(offsets[i]);
+        }
+        TreeMap<Integer, Integer> packed = new TreeMap<>(); // block ในตำแหน่งใหม่
+        int[] newOffsets = new int[offsets.length]; // offset ใหม่
+        int next = 0; // ตำแหน่งถัดไปที่ว่าง
+        for (int i = 0; i < offsets.length; ++i) {
+            if (packed.put(next, sizes[i]) != null) {
+                throw new IllegalArgumentException("Block " + offsets[i] + " is listed twice"); // ห้ามซ้ำ
+            }
+            newOffsets[i] = next;
+            next += sizes[i];
+        }
+        usedBlocks.clear();
+        usedBlocks.putAll(packed);
+        freeBlocks.clear();
+        if (next < capacity) {
+            freeBlocks.put(next, capacity - next); // ที่ว่างทั้งหมดรวมเป็น block เดียวที่ท้าย
+        }
+        return newOffsets; // คืนค่า offset ใหม่
+    }
+
+    public int getCapacity() { return capacity; } // คืนค่าความจุ
+
+    public int getUsed() { return used; } // คืนค่าจำนวนหน่วยที่ใช้อยู่
+
+    public int getBlockCount() { return usedBlocks.size(); } // คืนค่าจำนวน block ที่ใช้อยู่
+
+    /** Size of the largest free block: the largest allocation that can succeed without compacting. */
+    public int getLargestFreeBlock() { // เมธอดคืนค่าขนาด block ว่างที่ใหญ่ที่สุด
+        int largest = 0;
+        for (int size : freeBlocks.values()) {
+            largest = Math.max(largest, size);
+        }
+        return largest;
+    }
+
+    /** Share of the free space outside the largest free block: 0 when it is contiguous, towards 1 when scattered. */
+    public float getFragmentation() { // เมธอดคืนค่าระดับการกระจายของที่ว่าง
+        int free = capacity - used; // ที่ว่างทั้งหมด
+        return free == 0 ? 0f : 1f - (float) getLargestFreeBlock() / free;
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.project_furnitureapp.samplerender.geometry; // ประกาศ package ของไฟล์นี้
+
+import java.util.ArrayList; // import ArrayList สำหรับรายการ batch
+import java.util.Arrays; // import Arrays สำหรับเรียงช่วง index
+import java.util.LinkedHashMap; // import LinkedHashMap สำหรับจัดกลุ่มตาม key โดยคงลำดับ
+import java.util.List; // import List สำหรับรายการ batch
+import java.util.Map; // import Map สำหรับจัดกลุ่มตาม key
+
+/**
+ * Groups the index ranges of a frame's objects by what they are drawn with (usually their shader)
+ * and merges ranges that touch, so that objects stored next to each other in one index buffer are
+ * drawn with a single {@code glDrawElements}.
+ *
+ * <p>The ranges are in indices, as {@code GeometryArena} hands them out; they only merge when the
+ * objects' vertices are already in a shared space (the arena stores them transformed to world
+ * space) and the indices point into one vertex buffer. Batches are reused across frames: call
+ * {@link #clear} at the start of a frame, {@link #add} for every visible object, then draw each of
+ * {@link #getBatches}.
+ *
+ * <p>This class does not use OpenGL, so it is checked on the JVM by {@code ArenaCheck}.
+ */ // คำอธิบายคลาส: จัดกลุ่มช่วง index ตาม shader และรวมช่วงที่ติดกันเป็น draw call เดียว
+public final class StaticBatcher<K> { // ประกาศคลาส StaticBatcher
+
+    /** The index ranges of one key; after {@link StaticBatcher#getBatches} they are sorted and merged. */
+    public static final class Batch<K> { // ประกาศคลาส Batch
+        private final K key; // key ของ batch
+        private long[] ranges = new long[8]; // ช่วง index: (index แรก << 32) | จำนวน
+        private int count; // จำนวนช่วง
+        private boolean merged = true; // รวมช่วงแล้วหรือยัง
+
+        private Batch(K key) { // constructor
+            this.key = key; // กำหนด key
+        }
+
+        public K getKey() { return key; } // คืนค่า key
+
+        /** Number of draw calls, one per merged range. */
+        public int getDrawCount() { return count; } // คืนค่าจำนวน draw call
+
+        public int getFirstIndex(int draw) { return (int) (ranges[draw] >>> 32); } // คืนค่า index แรกของ draw call
+
+        public int getIndexCount(int draw) { return (int) ranges[draw]; } // คืนค่าจำนวน index ของ draw call
+
+        private void add(int firstIndex, int indexCount) { // เมธอดเพิ่มช่วง
+            if (count == ranges.length) {
+                ranges = Arrays.copyOf(ranges, count * 2); // ขยายสองเท่า
+            }
+            ranges[count++] = ((long) firstIndex << 32) | indexCount; // เรียงตาม index แรกได้โดยตรง
+            merged = false;
+        }
+
+        private void merge() { // เมธอดรวมช่วงที่ติดกัน
+            if (merged) {
+                return;
+            }
+            Arrays.sort(ranges, 0, count); // เรียงตาม index แรก
+            int out = 0; // จำนวนช่วงหลังรวม
+            for (int i = 1; i < count; ++i) {
+                long end = getFirstIndex(out) + (long) getIndexCount(out); // จุดสิ้นสุดของช่วงปัจจุบัน
+                if (getFirstIndex(i) == end && end + getIndexCount(i) <= Integer.MAX_VALUE) { // ติดกัน: ต่อเข้าไป
+                    ranges[out] += getIndexCount(i);
+                } else {
+                    ranges[++out] = ranges[i]; // ช่วงใหม่
+                }
+            }
+            count = out + 1;
+            merged = true;
+        }
+    }
+
+    private final Map<K, Batch<K>> batches = new LinkedHashMap<>(); // batch ตาม key (คงลำดับที่เพิ่ม)
+    private final List<Batch<K>> nonEmpty = new ArrayList<>(); // batch ที่มีช่วงในเฟรมนี้
+
+    /** Empties every batch, keeping its storage for the next frame. */
+    public void clear() { // เมธอดล้าง batch
+        for (Batch<K> batch : nonEmpty) {
+            batch.count = 0; // รีเซ็ตจำนวนช่วง
+            batch.merged = true;
+        }
+        nonEmpty.clear();
+    }
+
+    /** Adds the {@code indexCount} indices from {@code firstIndex} to the batch of {@code key}. */
+    public void add(K key, int firstIndex, int indexCount) { // เมธอดเพิ่มช่วง index
+        if (firstIndex < 0 || indexCount < 0) {
+            throw new IllegalArgumentException("Invalid index range " + firstIndex + "+" + indexCount); // ขว้าง exception
+        }
+        if (indexCount == 0) {
+            return; // ไม่มีอะไรให้วาด
+        }
+        Batch<K> batch = batches.get(key); // batch ของ key นี้
+        if (batch == null) { // ยังไม่มี batch
+            batch = new Batch<>(key);
+            batches.put(key, batch);
+        }
+        if (batch.count == 0) { // ช่วงแรกของเฟรม
+            nonEmpty.add(batch);
+        }
+        batch.add(firstIndex, indexCount); // เพิ่มช่วง
+    }
+
+    /** Batches with at least one range this frame, in the order their first range was added. */
+    public List<Batch<K>> getBatches() { // เมธอดคืนค่า batch ที่ต้องวาด
+        for (Batch<K> batch : nonEmpty) {
+            batch.merge(); // รวมช่วงที่ติดกัน
+        }
+        return nonEmpty;
+    }
+
+    /** Total number of draw calls for the frame. */
+    public int getDrawCount() { // เมธอดคืนค่าจำนวน draw call รวม
+        int draws = 0;
+        for (Batch<K> batch : getBatches()) {
+            draws += batch.getDrawCount();
+        }
+        return draws;
+    }
+
+    /** Forgets the batch of {@code key}, e.g. after its shader was released. */
+    public void remove(K key) { // เมธอดลบ batch
+        Batch<K> batch = batches.remove(key);
+        if (batch != null) {
+            nonEmpty.remove(batch);
+        }
+    }
+}
@@ -0,0 +1,382 @@
+package com.example.project_furnitureapp.samplerender.geometry; // ประกาศ package ของไฟล์นี้
+
+import java.util.Arrays; // import Arrays สำหรับเติมค่าและเรียงลำดับ
+
+/**
+ * Import-time index and vertex reordering for the GPU's post-transform vertex cache.
+ *
+ * <p>{@link #optimize} runs three passes:
+ *
+ * <ol>
+ *   <li>{@link #optimizeTriangleOrder}: Tom Forsyth's linear-speed greedy triangle ordering, which
+ *       prefers triangles whose vertices are already in a simulated LRU cache.
+ *   <li>{@link #optimizeOverdraw}: splits that order into clusters at cache-flush points and
+ *       sorts the clusters so that outward-facing ones are drawn first, trading at most a small
+ *       ACMR increase for earlier depth rejection.
+ *   <li>{@link #optimizeVertexFetch}: renumbers vertices in first-use order so that vertex fetches
+ *       walk memory linearly, dropping unreferenced vertices.
+ * </ol>
+ *
+ * {@link #analyze} reports ACMR (cache misses per triangle) and ATVR (misses per vertex, 1.0 is
+ * optimal) for a FIFO cache of a given size.
+ */ // คำอธิบายคลาส: จัดลำดับสามเหลี่ยมและ vertex ให้ใช้ vertex cache ของ GPU ได้ดี
+public final class VertexCacheOptimizer { // ประกาศคลาส VertexCacheOptimizer
+    /** FIFO size used for reports; a conservative figure for mobile GPUs. */ // ขนาด cache ที่ใช้รายงานผล
+    public static final int REPORT_CACHE_SIZE = 16;
+    /** Largest ACMR increase accepted by the overdraw pass, as a factor. */ // ค่า ACMR ที่ยอมให้เพิ่มได้จากการจัดลำดับ overdraw
+    public static final float OVERDRAW_THRESHOLD = 1.05f;
+
+    // Forsyth's tuning constants
+    private static final int LRU_CACHE_SIZE = 32; // ขนาด cache ที่ใช้ให้คะแนน
+    private static final float CACHE_DECAY_POWER = 1.5f; // ค่ายกกำลังของคะแนนตำแหน่งใน cache
+    private static final float LAST_TRIANGLE_SCORE = 0.75f; // คะแนนของ vertex ในสามเหลี่ยมล่าสุด
+    private static final float VALENCE_BOOST_SCALE = 2.0f; // น้ำหนักของคะแนน valence
+    private static final float VALENCE_BOOST_POWER = 0.5f; // ค่ายกกำลังของคะแนน valence
+    private static final int VALENCE_TABLE_SIZE = 64; // valence ที่คำนวณคะแนนไว้ล่วงหน้า
+    private static final float[] CACHE_SCORES = new float[LRU_CACHE_SIZE]; // คะแนนตามตำแหน่งใน cache
+    private static final float[] VALENCE_SCORES = new float[VALENCE_TABLE_SIZE]; // คะแนนตาม valence
+
+    static {
+        for (int i = 0; i < LRU_CACHE_SIZE; ++i) {
+            CACHE_SCORES[i] = i < 3
+                    ? LAST_TRIANGLE_SCORE // อยู่ในสามเหลี่ยมล่าสุด
+                    : (float) Math.pow(1f - (i - 3) / (float) (LRU_CACHE_SIZE - 3), CACHE_DECAY_POWER); // ยิ่งใหม่ใน cache ยิ่งได้คะแนนมาก
+        }
+        for (int i = 1; i < VALENCE_TABLE_SIZE; ++i) {
+            VALENCE_SCORES[i] = valenceScore(i);
+        }
+    }
+
+    /** Cache efficiency of an index order. */ // คำอธิบายคลาส: ผลการวัดประสิทธิภาพ cache
+    public static final class Statistics { // ประกาศคลาส Statistics
+        public final int cacheMisses; // จำนวน vertex ที่ต้อง transform
+        public final float acmr; // average cache miss ratio (ต่อสามเหลี่ยม)
+        public final float atvr; // average transformed vertex ratio (ต่อ vertex)
+
+        private Statistics(int cacheMisses, float acmr, float atvr) { // constructor
+            this.cacheMisses = cacheMisses; // กำหนดจำนวน miss
+            this.acmr = acmr; // กำหนด ACMR
+            this.atvr = atvr; // กำหนด ATVR
+        }
+    }
+
+    /**
+     * Runs triangle ordering and overdraw clustering on each level of detail, then vertex fetch
+     * ordering over all levels (finest first).
+     */ // รันการจัดลำดับทั้งหมด
+    public static MeshData optimize(MeshData mesh) { // เมธอด optimize mesh
+        int[] indices = new int[mesh.indices.length]; // index ใหม่ของทุกระดับ
+        for (int level = 0; level < mesh.lods.length; ++level) { // จัดลำดับแต่ละระดับแยกกัน
+            int[] lodIndices = optimizeTriangleOrder(mesh.getLodIndices(level), mesh.getVertexCount()); // จัดลำดับสามเหลี่ยม
+            lodIndices = optimizeOverdraw(lodIndices, mesh.positions, mesh.getVertexCount(), OVERDRAW_THRESHOLD); // จัดลำดับ cluster
+            System.arraycopy(lodIndices, 0, indices, mesh.lods[level].firstIndex, lodIndices.length);
+        }
+        return optimizeVertexFetch(new MeshData(mesh.positions, mesh.texCoords, mesh.normals, indices, mesh.lods)); // จัดลำดับ vertex
+    }
+
+    /** Simulates a FIFO vertex cache of {@code cacheSize} entries over the index order. */ // จำลอง FIFO cache เพื่อวัดผล
+    public static Statistics analyze(int[] indices, int vertexCount, int cacheSize) { // เมธอดวัดผล
+        int[] timestamps = new int[vertexCount]; // เวลาที่ vertex เข้า cache (0 = ไม่เคยเข้า)
+        int time = cacheSize + 1; // นาฬิกาของ FIFO (เริ่มมากกว่า cacheSize เพื่อให้ 0 เป็น miss เสมอ)
+        int misses = 0; // จำนวน miss
+        for (int index : indices) { // วนลูปทุก index
+            if (time - timestamps[index] > cacheSize) { // vertex ไม่อยู่ใน cache
+                timestamps[index] = time++; // ใส่เข้า cache
+                ++misses; // นับ miss
+            }
+        }
+        int triangles = indices.length / 3; // จำนวนสามเหลี่ยม
+        return new Statistics(misses, triangles == 0 ? 0f : (float) misses / triangles, vertexCount == 0 ? 0f : (float) misses / vertexCount); // คืนผลการวัด
+    }
+
+    /** Reorders triangles for vertex cache reuse (Forsyth). The returned array is new. */ // จัดลำดับสามเหลี่ยมแบบ Forsyth
+    public static int[] optimizeTriangleOrder(int[] indices, int vertexCount) { // เมธอดจัดลำดับสามเหลี่ยม
+        int triangleCount = indices.length / 3; // จำนวนสามเหลี่ยม
+        if (triangleCount == 0) {
+            return indices.clone();
+        }
+
+        // Triangle adjacency per vertex (CSR). Each vertex's live triangles are kept at the front of its range.
+        int[] liveTriangles = new int[vertexCount]; // จำนวนสามเหลี่ยมที่ยังไม่ถูกวาดของแต่ละ vertex
+        for (int index : indices) {
+            ++liveTriangles[index];
+        }
+        int[] adjacencyOffsets = new int[vertexCount + 1]; // จุดเริ่มของแต่ละ vertex ใน adjacency
+        for (int v = 0; v < vertexCount; ++v) {
+            adjacencyOffsets[v + 1] = adjacencyOffsets[v] + liveTriangles[v];
+        }
+        int[] adjacency = new int[indices.length]; // สามเหลี่ยมที่ติดกับแต่ละ vertex
+        int[] fill = Arrays.copyOf(adjacencyOffsets, vertexCount); // ตำแหน่งเติมของแต่ละ vertex
+        for (int i = 0; i < indices.length; ++i) {
+            adjacency[fill[indices[i]]++] = i / 3;
+        }
+
+        int[] cachePosition = new int[vertexCount]; // ตำแหน่งใน cache (-1 = ไม่อยู่)
+        Arrays.fill(cachePosition, -1);
+        float[] vertexScore = new float[vertexCount]; // คะแนนของ vertex
+        for (int v = 0; v < vertexCount; ++v) {
+            vertexScore[v] = vertexScore(-1, liveTriangles[v]);
+        }
+        float[] triangleScore = new float[triangleCount]; // คะแนนของสามเหลี่ยม
+        int best = 0; // สามเหลี่ยมที่คะแนนสูงสุด
+        for (int t = 0; t < triangleCount; ++t) {
+            triangleScore[t] = vertexScore[indices[t * 3]] + vertexScore[indices[t * 3 + 1]] + vertexScore[indices[t * 3 + 2]];
+            if (triangleScore[t] > triangleScore[best]) best = t;
+        }
+        boolean[] emitted = new boolean[triangleCount]; // สามเหลี่ยมที่วาดแล้ว
+
+        int[] cache = new int[LRU_CACHE_SIZE + 3]; // cache แบบ LRU (+3 สำหรับสามเหลี่ยมใหม่)
+        int[] nextCache = new int[LRU_CACHE_SIZE + 3]; // cache หลังเพิ่มสามเหลี่ยม
+        int cacheSize = 0; // จำนวน vertex ใน cache
+        int[] output = new int[indices.length]; // ผลลัพธ์
+        int scanCursor = 0; // ตำแหน่งค้นหาสามเหลี่ยมถัดไปเมื่อ cache ไม่มีตัวเลือก
+
+        for (int emittedCount = 0; emittedCount < triangleCount; ++emittedCount) { // วาดทีละสามเหลี่ยม
+            if (best < 0) { // ไม่มีสามเหลี่ยมที่ติดกับ cache เลือกตัวถัดไปที่ยังไม่วาด
+                while (emitted[scanCursor]) ++scanCursor;
+                best = scanCursor;
+            }
+            emitted[best] = true; // ทำเครื่องหมายว่าวาดแล้ว
+            int nextCacheSize = 0; // จำนวน vertex ใน cache ใหม่
+            for (int c = 0; c < 3; ++c) { // ใส่ vertex ของสามเหลี่ยมนี้ไว้หน้า cache
+                int v = indices[best * 3 + c];
+                output[emittedCount * 3 + c] = v;
+                removeTriangle(adjacency, adjacencyOffsets[v], liveTriangles[v]--, best); // เอาสามเหลี่ยมออกจาก adjacency
+                if (!contains(nextCache, nextCacheSize, v)) nextCache[nextCacheSize++] = v;
+            }
+            for (int i = 0; i < cacheSize; ++i) { // ต่อด้วย vertex เดิมใน cache
+                int v = cache[i];
+                if (!contains(nextCache, nextCacheSize, v)) {
+                    if (nextCacheSize < LRU_CACHE_SIZE) { // ยังมีที่ว่าง
+                        nextCache[nextCacheSize++] = v;
+                    } else { // หลุดจาก cache: อัปเดตคะแนน
+                        cachePosition[v] = -1;
+                        updateVertex(v, indices, adjacency, adjacencyOffsets, liveTriangles, cachePosition, vertexScore, triangleScore);
+                    }
+                }
+            }
+            int[] swap = cache; // สลับ cache เดิมกับใหม่
+            cache = nextCache;
+            nextCache = swap;
+            cacheSize = nextCacheSize;
+
+            best = -1; // หาสามเหลี่ยมคะแนนสูงสุดที่ติดกับ cache
+            float bestScore = -1f;
+            for (int i = 0; i < cacheSize; ++i) { // อัปเดตคะแนนของ vertex ใน cache
+                int v = cache[i];
+                cachePosition[v] = i;
+                updateVertex(v, indices, adjacency, adjacencyOffsets, liveTriangles, cachePosition, vertexScore, triangleScore);
+            }
+            for (int i = 0; i < cacheSize; ++i) { // เลือกสามเหลี่ยมที่ดีที่สุด
+                int v = cache[i];
+                for (int a = adjacencyOffsets[v], end = a + liveTriangles[v]; a < end; ++a) {
+                    int t = adjacency[a];
+                    if (triangleScore[t] > bestScore) {
+                        bestScore = triangleScore[t];
+                        best = t;
+                    }
+                }
+            }
+        }
+        return output; // คืนลำดับใหม่
+    }
+
+    /**
+     * Splits a cache-optimized order into clusters and draws outward-facing clusters first.
+     *
+     * <p>Cluster boundaries are placed where all three vertices of a triangle miss the cache (the
+     * order restarts there anyway), then subdivided wherever the running miss ratio is within
+     * {@code threshold} of the cluster's own ratio, so reordering whole clusters costs at most
+     * that factor in ACMR. Clusters are sorted by how far their centroid lies along their average
+     * normal from the mesh centroid. If the sorted order still exceeds the threshold, because
+     * reuse across cluster seams is lost, the input order is returned unchanged.
+     */ // จัดลำดับ cluster เพื่อลด overdraw
+    public static int[] optimizeOverdraw(int[] indices, float[] positions, int vertexCount, float threshold) { // เมธอดจัดลำดับ cluster
+        int triangleCount = indices.length / 3; // จำนวนสามเหลี่ยม
+        if (triangleCount == 0) {
+            return indices.clone();
+        }
+        int[] clusterStarts = new int[triangleCount + 1]; // สามเหลี่ยมแรกของแต่ละ cluster
+        int clusterCount = 0; // จำนวน cluster
+        int[] hardStarts = hardBoundaries(indices, vertexCount); // จุดเริ่ม cluster ที่ cache เริ่มใหม่
+        int[] timestamps = new int[vertexCount]; // FIFO cache ที่ใช้ร่วมกันทุก cluster
+        for (int h = 0; h + 1 < hardStarts.length; ++h) { // แบ่ง cluster ย่อย
+            clusterCount = softBoundaries(indices, timestamps, hardStarts[h], hardStarts[h + 1], threshold, clusterStarts, clusterCount);
+        }
+        clusterStarts[clusterCount] = triangleCount; // จุดสิ้นสุดของ cluster สุดท้าย
+
+        // Mesh centroid, then each cluster's area-weighted centroid and normal.
+        float[] meshCentroid = new float[3]; // จุดศูนย์กลางของ mesh
+        for (int v = 0; v < vertexCount; ++v) {
+            for (int c = 0; c < 3; ++c) meshCentroid[c] += positions[v * 3 + c] / vertexCount;
+        }
+        float[] sortKeys = new float[clusterCount]; // ค่าที่ใช้เรียง cluster
+        Integer[] order = new Integer[clusterCount]; // ลำดับของ cluster
+        for (int k = 0; k < clusterCount; ++k) {
+            float[] centroid = new float[3]; // จุดศูนย์กลางของ cluster
+            float[] normal = new float[3]; // normal รวมของ cluster (ถ่วงด้วยพื้นที่)
+            float totalArea = 0f; // พื้นที่รวม
+            for (int t = clusterStarts[k]; t < clusterStarts[k + 1]; ++t) {
+                int a = indices[t * 3] * 3, b = indices[t * 3 + 1] * 3, c = indices[t * 3 + 2] * 3;
+                float e1x = positions[b] - positions[a], e1y = positions[b + 1] - positions[a + 1], e1z = positions[b + 2] - positions[a + 2];
+                float e2x = positions[c] - positions[a], e2y = positions[c + 1] - positions[a + 1], e2z = positions[c + 2] - positions[a + 2];
+                float nx = e1y * e2z - e1z * e2y, ny = e1z * e2x - e1x * e2z, nz = e1x * e2y - e1y * e2x; // cross product (2 เท่าของพื้นที่)
+                float area = (float) Math.sqrt(nx * nx + ny * ny + nz * nz);
+                for (int i = 0; i < 3; ++i) {
+                    centroid[i] += (positions[a + i] + positions[b + i] + positions[c + i]) / 3f * area;
+                }
+                normal[0] += nx;
+                normal[1] += ny;
+                normal[2] += nz;
+                totalArea += area;
+            }
+            float normalLength = (float) Math.sqrt(normal[0] * normal[0] + normal[1] * normal[1] + normal[2] * normal[2]);
+            float key = 0f;
+            if (totalArea > 0f && normalLength > 0f) {
+                for (int i = 0; i < 3; ++i) {
+                    key += (centroid[i] / totalArea - meshCentroid[i]) * normal[i] / normalLength;
+                }
+            }
+            sortKeys[k] = key;
+            order[k] = k;
+        }
+        Arrays.sort(order, (x, y) -> Float.compare(sortKeys[y], sortKeys[x])); // เรียงจากด้านนอกเข้าด้านใน (stable)
+
+        int[] output = new int[indices.length]; // ผลลัพธ์
+        int written = 0;
+        for (int k : order) { // ต่อ cluster ตามลำดับใหม่
+            int start = clusterStarts[k] * 3, length = (clusterStarts[k + 1] - clusterStarts[k]) * 3;
+            System.arraycopy(indices, start, output, written, length);
+            written += length;
+        }
+        int missesBefore = analyze(indices, vertexCount, REPORT_CACHE_SIZE).cacheMisses; // miss ของลำดับเดิม
+        int missesAfter = analyze(output, vertexCount, REPORT_CACHE_SIZE).cacheMisses; // miss ของลำดับใหม่
+        return missesAfter <= missesBefore * threshold ? output : indices.clone(); // ใช้ลำดับเดิมถ้าเสีย cache เกินกำหนด
+    }
+
+    /**
+     * Renumbers vertices in order of first use and drops vertices no triangle references, so that
+     * vertex fetches are sequential. Levels of detail keep their index ranges.
+     */ // จัดลำดับ vertex ตามลำดับการใช้งานครั้งแรก
+    public static MeshData optimizeVertexFetch(MeshData mesh) { // เมธอดจัดลำดับ vertex
+        int[] remap = new int[mesh.getVertexCount()]; // index ใหม่ของแต่ละ vertex เดิม
+        Arrays.fill(remap, -1);
+        int[] indices = new int[mesh.indices.length]; // index ใหม่
+        int next = 0; // จำนวน vertex ใหม่
+        for (int i = 0; i < indices.length; ++i) {
+            int v = mesh.indices[i];
+            if (remap[v] < 0) remap[v] = next++;
+            indices[i] = remap[v];
+        }
+        float[] positions = new float[next * MeshData.POSITION_COMPONENTS]; // position ตามลำดับใหม่
+        float[] texCoords = new float[next * MeshData.TEX_COORD_COMPONENTS]; // texture coordinate ตามลำดับใหม่
+        float[] normals = new float[next * MeshData.NORMAL_COMPONENTS]; // normal ตามลำดับใหม่
+        for (int v = 0; v < remap.length; ++v) {
+            int n = remap[v];
+            if (n < 0) continue; // vertex ที่ไม่ถูกใช้
+            System.arraycopy(mesh.positions, v * MeshData.POSITION_COMPONENTS, positions, n * MeshData.POSITION_COMPONENTS, MeshData.POSITION_COMPONENTS);
+            System.arraycopy(mesh.texCoords, v * MeshData.TEX_COORD_COMPONENTS, texCoords, n * MeshData.TEX_COORD_COMPONENTS, MeshData.TEX_COORD_COMPONENTS);
+            System.arraycopy(mesh.normals, v * MeshData.NORMAL_COMPONENTS, normals, n * MeshData.NORMAL_COMPONENTS, MeshData.NORMAL_COMPONENTS);
+        }
+        return new MeshData(positions, texCoords, normals, indices, mesh.lods); // คืน mesh ใหม่ (ช่วงของ LOD เหมือนเดิม)
+    }
+
+    private static float vertexScore(int cachePosition, int liveTriangles) { // คะแนนของ vertex ตามสูตรของ Forsyth
+        if (liveTriangles == 0) {
+            return -1f; // ไม่มีสามเหลี่ยมเหลือ
+        }
+        float score = cachePosition >= 0 ? CACHE_SCORES[cachePosition] : 0f; // คะแนนจากตำแหน่งใน cache
+        return score + (liveTriangles < VALENCE_TABLE_SIZE ? VALENCE_SCORES[liveTriangles] : valenceScore(liveTriangles)); // บวกคะแนน valence (vertex ที่เหลือน้อยควรปิดให้จบ)
+    }
+
+    private static float valenceScore(int liveTriangles) { // คะแนนตามจำนวนสามเหลี่ยมที่เหลือ
+        return VALENCE_BOOST_SCALE * (float) Math.pow(liveTriangles, -VALENCE_BOOST_POWER);
+    }
+
+    private static void updateVertex(int v, int[] indices, int[] adjacency, int[] adjacencyOffsets, int[] liveTriangles,
+                                     int[] cachePosition, float[] vertexScore, float[] triangleScore) { // อัปเดตคะแนนของ vertex และสามเหลี่ยมที่ติดกัน
+        float score = vertexScore(cachePosition[v], liveTriangles[v]);
+        float delta = score - vertexScore[v];
+        vertexScore[v] = score;
+        for (int a = adjacencyOffsets[v], end = a + liveTriangles[v]; a < end; ++a) {
+            triangleScore[adjacency[a]] += delta;
+        }
+    }
+
+    private static void removeTriangle(int[] adjacency, int start, int count, int triangle) { // เอาสามเหลี่ยมออกจากช่วงที่ยังไม่วาด
+        for (int a = start, end = start + count; a < end; ++a) {
+            if (adjacency[a] == triangle) {
+                adjacency[a] = adjacency[end - 1]; // ย้ายตัวสุดท้ายมาแทน
+                adjacency[end - 1] = triangle;
+                return;
+            }
+        }
+    }
+
+    private static boolean contains(int[] values, int count, int value) { // เช็คว่ามีค่าใน array หรือไม่
+        for (int i = 0; i < count; ++i) {
+            if (values[i] == value) return true;
+        }
+        return false;
+    }
+
+    private static int[] hardBoundaries(int[] indices, int vertexCount) { // หาจุดที่สามเหลี่ยมพลาด cache ทั้ง 3 vertex
+        int triangleCount = indices.length / 3;
+        int[] starts = new int[triangleCount + 1];
+        int count = 0;
+        int[] timestamps = new int[vertexCount];
+        int time = REPORT_CACHE_SIZE + 1;
+        for (int t = 0; t < triangleCount; ++t) {
+            int misses = 0;
+            for (int c = 0; c < 3; ++c) {
+                int v = indices[t * 3 + c];
+                if (time - timestamps[v] > REPORT_CACHE_SIZE) {
+                    timestamps[v] = time++;
+                    ++misses;
+                }
+            }
+            if (t == 0 || misses == 3) starts[count++] = t;
+        }
+        starts[count++] = triangleCount;
+        return Arrays.copyOf(starts, count);
+    }
+
+    private static int softBoundaries(int[] indices, int[] timestamps, int start, int end, float threshold,
+                                      int[] clusterStarts, int clusterCount) { // แบ่ง cluster ย่อยโดยรักษา ACMR
+        // timestamps only grow, so moving the clock REPORT_CACHE_SIZE past the newest entry empties the cache.
+        int time = 0; // นาฬิกาของ FIFO
+        for (int t = start * 3; t < end * 3; ++t) time = Math.max(time, timestamps[indices[t]]);
+        time += REPORT_CACHE_SIZE + 1; // ล้าง cache
+        int clusterMisses = 0; // miss ของทั้ง cluster
+        for (int t = start * 3; t < end * 3; ++t) {
+            int v = indices[t];
+            if (time - timestamps[v] > REPORT_CACHE_SIZE) {
+                timestamps[v] = time++;
+                ++clusterMisses;
+            }
+        }
+        float clusterThreshold = (float) clusterMisses / (end - start) * threshold; // ACMR ที่ยอมรับได้ของ cluster ย่อย
+        time += REPORT_CACHE_SIZE + 1; // ล้าง cache
+        int clusterStart = start;
+        int misses = 0;
+        clusterStarts[clusterCount++] = start;
+        for (int t = start; t < end; ++t) {
+            for (int c = 0; c < 3; ++c) {
+                int v = indices[t * 3 + c];
+                if (time - timestamps[v] > REPORT_CACHE_SIZE) {
+                    timestamps[v] = time++;
+                    ++misses;
+                }
+            }
+            if (t + 1 < end && misses <= clusterThreshold * (t + 1 - clusterStart)) { // cluster ย่อยดีพอแล้ว: ตัดที่นี่และเริ่ม cache ใหม่
+                clusterStart = t + 1;
+                clusterStarts[clusterCount++] = clusterStart;
+                misses = 0;
+                time += REPORT_CACHE_SIZE + 1; // ล้าง cache
+            }
+        }
+        return clusterCount;
+    }
+
+    private VertexCacheOptimizer() {} // constructor private เพื่อไม่ให้สร้าง instance
+}
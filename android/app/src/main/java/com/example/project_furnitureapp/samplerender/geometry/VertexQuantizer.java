@@ -0,0 +1,179 @@
+package com.example.project_furnitureapp.samplerender.geometry; // ประกาศ package ของไฟล์นี้
+
+import java.nio.ByteBuffer; // import ByteBuffer สำหรับเขียน/อ่านข้อมูลที่ถูก quantize
+import java.nio.ByteOrder; // import ByteOrder สำหรับกำหนด endian
+
+/**
+ * Compact interleaved vertex encoding for {@link MeshData}: {@link #VERTEX_STRIDE} (16) bytes per
+ * vertex instead of 32.
+ *
+ * <pre>
+ *   0  unorm16 x4  position x, y, z relative to the mesh bounds; w is always 1
+ *   8  half x2     texture coordinate u, v
+ *  12  snorm16 x2  octahedral normal
+ * </pre>
+ *
+ * The shader restores positions with {@code offset + xyz * scale} (see {@link #dequantizeOffset}
+ * and {@link #dequantizeScale}). Positions are four components wide so that every attribute stays
+ * 4-byte aligned.
+ */ // คำอธิบายคลาส: บีบอัด vertex แบบ interleave เหลือ 16 byte ต่อ vertex
+public final class VertexQuantizer { // ประกาศคลาส VertexQuantizer
+    public static final int POSITION_COMPONENTS = 4; // unorm16 x, y, z, w
+    public static final int TEX_COORD_COMPONENTS = 2; // half u, v
+    public static final int NORMAL_COMPONENTS = 2; // snorm16 octahedral x, y
+    public static final int POSITION_OFFSET = 0; // offset ของ position ใน vertex (byte)
+    public static final int TEX_COORD_OFFSET = 8; // offset ของ texture coordinate ใน vertex (byte)
+    public static final int NORMAL_OFFSET = 12; // offset ของ normal ใน vertex (byte)
+    public static final int VERTEX_STRIDE = 16; // ขนาดของ 1 vertex (byte)
+
+    private static final int UNORM16_MAX = 0xFFFF; // ค่าสูงสุดของ unorm16
+    private static final int SNORM16_MAX = 0x7FFF; // ค่าสูงสุดของ snorm16
+
+    /** Returns the value added to dequantized positions: the minimum corner of the bounds. */ // คืนค่า offset สำหรับ shader
+    public static float[] dequantizeOffset(float[] bounds) { // เมธอดคำนวณ offset
+        return new float[] {bounds[0], bounds[1], bounds[2]}; // มุม min ของ bounds
+    }
+
+    /** Returns the factor applied to normalized positions: the extent of the bounds. */ // คืนค่า scale สำหรับ shader
+    public static float[] dequantizeScale(float[] bounds) { // เมธอดคำนวณ scale
+        return new float[] {bounds[3] - bounds[0], bounds[4] - bounds[1], bounds[5] - bounds[2]}; // ขนาดของ bounds แต่ละแกน
+    }
+
+    /** Encodes {@code mesh} into a new direct buffer in native order. */ // สร้าง direct buffer ของ vertex ที่ quantize แล้ว
+    public static ByteBuffer createInterleavedBuffer(MeshData mesh, float[] bounds) {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(mesh.getVertexCount() * VERTEX_STRIDE).order(ByteOrder.nativeOrder()); // จอง direct buffer
+        putInterleaved(buffer, 0, mesh, bounds); // เขียนข้อมูล
+        return buffer; // คืนค่า buffer
+    }
+
+    /** Writes the interleaved vertices of {@code mesh} starting at byte {@code base}, in the buffer's order. */ // เขียน vertex แบบ interleave
+    public static void putInterleaved(ByteBuffer out, int base, MeshData mesh, float[] bounds) { // เมธอดเขียน vertex
+        float[] scale = dequantizeScale(bounds); // ขนาดของ bounds
+        float[] encoded = new float[2]; // ผลลัพธ์ของการเข้ารหัส normal
+        for (int v = 0; v < mesh.getVertexCount(); ++v) { // วนลูปทุก vertex
+            int vertex = base + v * VERTEX_STRIDE; // offset ของ vertex นี้
+            for (int c = 0; c < 3; ++c) { // position: วนลูปทุกแกน
+                float t = scale[c] > 0f ? (mesh.positions[v * 3 + c] - bounds[c]) / scale[c] : 0f; // ตำแหน่งในช่วง 0..1
+                out.putShort(vertex + POSITION_OFFSET + c * 2, (short) Math.round(clamp(t, 0f, 1f) * UNORM16_MAX)); // แปลงเป็น unorm16
+            }
+            out.putShort(vertex + POSITION_OFFSET + 6, (short) UNORM16_MAX); // w = 1
+            out.putShort(vertex + TEX_COORD_OFFSET, floatToHalf(mesh.texCoords[v * 2])); // u แบบ half float
+            out.putShort(vertex + TEX_COORD_OFFSET + 2, floatToHalf(mesh.texCoords[v * 2 + 1])); // v แบบ half float
+            encodeOctahedral(mesh.normals[v * 3], mesh.normals[v * 3 + 1], mesh.normals[v * 3 + 2], encoded); // เข้ารหัส normal
+            out.putShort(vertex + NORMAL_OFFSET, (short) Math.round(clamp(encoded[0], -1f, 1f) * SNORM16_MAX)); // แปลงเป็น snorm16
+            out.putShort(vertex + NORMAL_OFFSET + 2, (short) Math.round(clamp(encoded[1], -1f, 1f) * SNORM16_MAX));
+        }
+    }
+
+    /**
+     * Decodes {@code vertexCount} vertices written by {@link #putInterleaved}, starting at byte
+     * {@code base}, and pairs them with {@code indices}.
+     */ // แปลง vertex กลับเป็น MeshData
+    public static MeshData getInterleaved(ByteBuffer in, int base, int vertexCount, float[] bounds, int[] indices) { // เมธอดอ่าน vertex
+        float[] scale = dequantizeScale(bounds); // ขนาดของ bounds
+        float[] positions = new float[vertexCount * 3]; // position
+        float[] texCoords = new float[vertexCount * 2]; // texture coordinate
+        float[] normals = new float[vertexCount * 3]; // normal
+        for (int v = 0; v < vertexCount; ++v) { // วนลูปทุก vertex
+            int vertex = base + v * VERTEX_STRIDE; // offset ของ vertex นี้
+            for (int c = 0; c < 3; ++c) { // position: วนลูปทุกแกน
+                positions[v * 3 + c] = bounds[c] + (in.getShort(vertex + POSITION_OFFSET + c * 2) & UNORM16_MAX) / (float) UNORM16_MAX * scale[c]; // แปลงกลับ
+            }
+            texCoords[v * 2] = halfToFloat(in.getShort(vertex + TEX_COORD_OFFSET)); // u
+            texCoords[v * 2 + 1] = halfToFloat(in.getShort(vertex + TEX_COORD_OFFSET + 2)); // v
+            float x = Math.max(in.getShort(vertex + NORMAL_OFFSET) / (float) SNORM16_MAX, -1f); // แปลง snorm16 กลับ (แบบเดียวกับ GL)
+            float y = Math.max(in.getShort(vertex + NORMAL_OFFSET + 2) / (float) SNORM16_MAX, -1f);
+            float z = 1f - Math.abs(x) - Math.abs(y); // แกน z จากพื้นผิว octahedron
+            if (z < 0f) { // ครึ่งล่าง: พับกลับ
+                float foldedX = (1f - Math.abs(y)) * Math.signum(x);
+                float foldedY = (1f - Math.abs(x)) * Math.signum(y);
+                x = foldedX;
+                y = foldedY;
+            }
+            float length = (float) Math.sqrt(x * x + y * y + z * z); // ความยาวของเวกเตอร์
+            normals[v * 3] = x / length; // normalize
+            normals[v * 3 + 1] = y / length;
+            normals[v * 3 + 2] = z / length;
+        }
+        return new MeshData(positions, texCoords, normals, indices); // คืนค่า MeshData
+    }
+
+    /**
+     * Projects a direction onto the octahedron and unfolds it onto the [-1, 1] square. A zero
+     * vector (missing normal) encodes as (0, 0), which decodes to +Z.
+     */ // เข้ารหัส normal แบบ octahedral
+    static void encodeOctahedral(float x, float y, float z, float[] out) { // เมธอดเข้ารหัส octahedral
+        float l1 = Math.abs(x) + Math.abs(y) + Math.abs(z); // ความยาวแบบ L1
+        if (l1 == 0f) { // normal ว่าง
+            out[0] = 0f;
+            out[1] = 0f;
+            return;
+        }
+        x /= l1; // ฉายลงบน octahedron
+        y /= l1;
+        if (z < 0f) { // ครึ่งล่าง: พับออกไปที่มุม
+            float foldedX = (1f - Math.abs(y)) * (x >= 0f ? 1f : -1f);
+            float foldedY = (1f - Math.abs(x)) * (y >= 0f ? 1f : -1f);
+            x = foldedX;
+            y = foldedY;
+        }
+        out[0] = x; // ผลลัพธ์ x
+        out[1] = y; // ผลลัพธ์ y
+    }
+
+    /** Converts to IEEE 754 binary16, rounding to nearest even. */ // แปลง float เป็น half float
+    static short floatToHalf(float value) { // เมธอดแปลง float เป็น half
+        int bits = Float.floatToRawIntBits(value); // bit ของ float
+        int sign = (bits >>> 16) & 0x8000; // bit เครื่องหมาย
+        int exponent = (bits >>> 23) & 0xFF; // exponent ของ float
+        int mantissa = bits & 0x7FFFFF; // mantissa ของ float
+        if (exponent == 0xFF) { // Inf หรือ NaN
+            return (short) (sign | 0x7C00 | (mantissa != 0 ? 0x200 : 0));
+        }
+        int halfExponent = exponent - 127 + 15; // exponent ของ half
+        if (halfExponent >= 0x1F) { // ใหญ่เกินไป
+            return (short) (sign | 0x7C00); // Inf
+        }
+        if (halfExponent <= 0) { // subnormal หรือเล็กจนเป็นศูนย์
+            if (halfExponent < -10) {
+                return (short) sign; // ±0
+            }
+            mantissa |= 0x800000; // เติม bit นำหน้า
+            int shift = 14 - halfExponent; // จำนวน bit ที่ต้องเลื่อน
+            int half = mantissa >> shift; // ค่าหลังเลื่อน
+            int remainder = mantissa & ((1 << shift) - 1); // เศษที่ถูกตัด
+            int halfway = 1 << (shift - 1); // ค่าครึ่งหนึ่ง
+            if (remainder > halfway || (remainder == halfway && (half & 1) != 0)) { // ปัดเศษแบบ even
+                ++half;
+            }
+            return (short) (sign | half);
+        }
+        int half = (halfExponent << 10) | (mantissa >> 13); // ประกอบ half
+        int remainder = mantissa & 0x1FFF; // เศษที่ถูกตัด
+        if (remainder > 0x1000 || (remainder == 0x1000 && (half & 1) != 0)) { // ปัดเศษแบบ even (อาจล้นไป Inf ได้ถูกต้อง)
+            ++half;
+        }
+        return (short) (sign | half);
+    }
+
+    /** Converts IEEE 754 binary16 to float. */ // แปลง half float เป็น float
+    static float halfToFloat(short half) { // เมธอดแปลง half เป็น float
+        int sign = (half & 0x8000) << 16; // bit เครื่องหมาย
+        int exponent = (half >>> 10) & 0x1F; // exponent ของ half
+        int mantissa = half & 0x3FF; // mantissa ของ half
+        if (exponent == 0) { // ศูนย์หรือ subnormal
+            float magnitude = mantissa * 0x1p-24f; // mantissa * 2^-24
+            return sign != 0 ? -magnitude : magnitude;
+        }
+        if (exponent == 0x1F) { // Inf หรือ NaN
+            return Float.intBitsToFloat(sign | 0x7F800000 | (mantissa << 13));
+        }
+        return Float.intBitsToFloat(sign | ((exponent - 15 + 127) << 23) | (mantissa << 13)); // ค่าปกติ
+    }
+
+    private static float clamp(float value, float min, float max) { // เมธอดจำกัดค่า
+        return Math.max(min, Math.min(max, value));
+    }
+
+    private VertexQuantizer() {} // constructor private เพื่อไม่ให้สร้าง instance
+}
@@ -0,0 +1,73 @@
+package com.example.project_furnitureapp.samplerender.gl; // ประกาศ package ของไฟล์นี้
+
+/**
+ * Layout of the per-frame camera uniform block that every shader can read: the view, projection and
+ * view-projection matrices, the camera position and the viewport, packed by the std140 rules.
+ *
+ * <p>{@code Shader} inserts {@link #GLSL} into every shader it compiles and binds the block to
+ * {@link #BINDING}; {@code CameraUniforms} fills one uniform buffer per frame with {@link #pack}.
+ * Objects then upload only their model matrix. This class does not use OpenGL, so the layout is
+ * checked on the JVM by {@code CameraBlockCheck}.
+ */ // คำอธิบายคลาส: layout ของ uniform block ข้อมูลกล้องต่อเฟรม ที่ทุก shader อ่านได้
+public final class CameraBlock { // ประกาศคลาส CameraBlock
+    /** Name of the block in GLSL. */
+    public static final String NAME = "CameraUniforms"; // ชื่อ block
+    /** Uniform buffer binding point of the block, the same in every program. */
+    public static final int BINDING = 0; // binding point
+
+    /**
+     * Declaration inserted after {@code #version} and the defines. Members are {@code highp} so the
+     * block matches between vertex and fragment shaders whatever their default precision.
+     */
+    public static final String GLSL = // โค้ด GLSL ของ block
+            "layout(std140) uniform " + NAME + " {\n"
+            + "  highp mat4 u_View;\n"
+            + "  highp mat4 u_Projection;\n"
+            + "  highp mat4 u_ViewProjection;\n"
+            + "  highp vec4 u_CameraPosition; // xyz, w = 1\n"
+            + "  highp vec4 u_Viewport; // x, y, width, height in pixels\n"
+            + "};\n";
+
+    // Offsets in floats; std140 places each mat4 and vec4 on a 16-byte boundary.
+    public static final int VIEW_OFFSET = 0; // ตำแหน่งของ u_View
+    public static final int PROJECTION_OFFSET = 16; // ตำแหน่งของ u_Projection
+    public static final int VIEW_PROJECTION_OFFSET = 32; // ตำแหน่งของ u_ViewProjection
+    public static final int CAMERA_POSITION_OFFSET = 48; // ตำแหน่งของ u_CameraPosition
+    public static final int VIEWPORT_OFFSET = 52; // ตำแหน่งของ u_Viewport
+    public static final int SIZE_FLOATS = 56; // ขนาดทั้งหมด (float)
+    public static final int SIZE_BYTES = SIZE_FLOATS * Float.BYTES; // ขนาดทั้งหมด (byte)
+
+    /**
+     * Packs one frame of camera data into {@code out} ({@link #SIZE_FLOATS} floats). Matrices are
+     * column-major, as ARCore returns them; {@code cameraPosition} is the world position (x, y, z).
+     */
+    public static void pack(float[] viewMatrix, float[] projectionMatrix, float[] cameraPosition,
+            int viewportX, int viewportY, int viewportWidth, int viewportHeight, float[] out) { // เมธอดเขียนข้อมูลกล้องของเฟรมลง array
+        System.arraycopy(viewMatrix, 0, out, VIEW_OFFSET, 16);
+        System.arraycopy(projectionMatrix, 0, out, PROJECTION_OFFSET, 16);
+        multiply(projectionMatrix, viewMatrix, out, VIEW_PROJECTION_OFFSET); // projection * view
+        out[CAMERA_POSITION_OFFSET] = cameraPosition[0];
+        out[CAMERA_POSITION_OFFSET + 1] = cameraPosition[1];
+        out[CAMERA_POSITION_OFFSET + 2] = cameraPosition[2];
+        out[CAMERA_POSITION_OFFSET + 3] = 1f;
+        out[VIEWPORT_OFFSET] = viewportX;
+        out[VIEWPORT_OFFSET + 1] = viewportY;
+        out[VIEWPORT_OFFSET + 2] = viewportWidth;
+        out[VIEWPORT_OFFSET + 3] = viewportHeight;
+    }
+
+    /** Column-major {@code out[offset..] = a * b}. */
+    private static void multiply(float[] a, float[] b, float[] out, int offset) { // เมธอดคูณ matrix 4x4
+        for (int column = 0; column < 4; ++column) {
+            for (int row = 0; row < 4; ++row) {
+                float sum = 0f;
+                for (int k = 0; k < 4; ++k) {
+                    sum += a[k * 4 + row] * b[column * 4 + k];
+                }
+                out[offset + column * 4 + row] = sum;
+            }
+        }
+    }
+
+    private CameraBlock() {} // constructor private เพื่อไม่ให้สร้าง instance
+}
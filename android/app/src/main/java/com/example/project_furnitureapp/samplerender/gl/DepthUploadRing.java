@@ -0,0 +1,195 @@
+package com.example.project_furnitureapp.samplerender.gl; // ประกาศ package ของไฟล์นี้
+
+import java.nio.ByteBuffer; // import ByteBuffer สำหรับข้อมูลภาพ depth
+
+/**
+ * Uploads 16-bit depth images to a texture through a ring of pixel buffer objects, so that neither
+ * the CPU nor the GPU waits for the other. Each upload copies the image into the next buffer of the
+ * ring and has the GPU copy it into the texture from there with {@code glTexSubImage2D}; a fence
+ * marks when the GPU is done with the buffer. A buffer whose fence has not signaled by the time
+ * the ring comes round to it is not waited for: that image is skipped ({@link #getBusyCount}) and
+ * the texture keeps the previous one.
+ *
+ * <p>The texture storage and the buffers are allocated once, for the first image, and again only
+ * if the image size changes. An image with the same timestamp as the last one uploaded is not
+ * uploaded again ({@link #getUnchangedCount}).
+ *
+ * <p>All calls must be made on the GL thread; not thread safe. The GL calls go through {@link
+ * Binding}, so this class is checked on the JVM against a fake GPU by {@code DepthUploadRingCheck}.
+ */ // คำอธิบายคลาส: วงของ pixel buffer สำหรับ upload ภาพ depth โดยไม่รอ GPU
+public final class DepthUploadRing { // ประกาศคลาส DepthUploadRing
+    /** Buffers in the ring: an image is written into a buffer the GPU finished with this many uploads ago. */
+    public static final int DEFAULT_DEPTH = 3; // จำนวน buffer ในวง
+    /** Bytes per depth texel: one 16-bit value in millimeters. */
+    public static final int BYTES_PER_TEXEL = 2; // ขนาดของ 1 texel
+
+    /** The GL calls this class makes. */
+    public interface Binding { // interface สำหรับเรียก GL
+        void genBuffers(int[] ids); // สร้าง buffer
+        void deleteBuffers(int[] ids); // ลบ buffer
+        void allocateTexture(int width, int height); // glTexStorage2D(GL_RG8) ของ texture (ครั้งที่สองขึ้นไปต้องเป็น texture ใหม่)
+        void allocateBuffer(int id, int bytes); // glBufferData(GL_PIXEL_UNPACK_BUFFER, bytes, null, GL_STREAM_DRAW)
+        ByteBuffer map(int id, int bytes); // glMapBufferRange สำหรับเขียน; null ถ้าไม่สำเร็จ
+        boolean unmap(int id); // glUnmapBuffer: false = ข้อมูลเสีย
+        void texSubImage(int id, int width, int height); // glTexSubImage2D จาก buffer ที่ offset 0
+        long fence(); // glFenceSync หลังคำสั่ง copy
+        boolean isSignaled(long fence); // glClientWaitSync แบบไม่รอ
+        void deleteFence(long fence); // glDeleteSync
+    }
+
+    private final Binding binding; // ตัวเรียก GL
+    private final int[] ids; // buffer ของวง
+    private final long[] fences; // fence ของแต่ละ buffer (0 = ว่าง)
+    private int slot; // buffer ที่ใช้ครั้งถัดไป
+    private int width; // ขนาดของ texture (0 = ยังไม่จอง)
+    private int height;
+    private long lastTimestamp = -1; // timestamp ของภาพล่าสุดที่ upload (-1 = ยังไม่มี)
+    private long uploads; // จำนวนภาพที่ upload
+    private long uploadedBytes; // จำนวน byte ที่ upload
+    private long unchanged; // จำนวนภาพที่ข้ามเพราะ timestamp เดิม
+    private long busy; // จำนวนภาพที่ข้ามเพราะ buffer ยังไม่ว่าง
+    private long failed; // จำนวนภาพที่ข้ามเพราะ map/unmap ไม่สำเร็จ
+    private long allocations; // จำนวนครั้งที่จองพื้นที่
+    private boolean closed; // ปิดแล้วหรือยัง
+
+    /** Creates the buffers; call on the GL thread with a context current. */
+    public DepthUploadRing(Binding binding, int depth) { // constructor
+        if (depth <= 0) {
+            throw new IllegalArgumentException("Need at least one buffer"); // ขว้าง exception
+        }
+        this.binding = binding;
+        ids = new int[depth];
+        fences = new long[depth];
+        binding.genBuffers(ids); // สร้าง buffer ทั้งหมดครั้งเดียว
+    }
+
+    /**
+     * Uploads an image whose rows of {@code width} texels start {@code rowStride} bytes apart in
+     * {@code source}, from its position; the position is left as it was. Returns whether the
+     * texture now holds this image.
+     */
+    public boolean upload(long timestamp, int width, int height, ByteBuffer source, int rowStride) { // เมธอด upload ภาพ
+        int rowBytes = width * BYTES_PER_TEXEL;
+        if (width <= 0 || height <= 0 || rowStride < rowBytes || source.remaining() < (long) (height - 1) * rowStride + rowBytes) {
+            throw new IllegalArgumentException("Image of " + width + "x" + height + " does not fit " + source.remaining() + " bytes with a row stride of " + rowStride); // ขว้าง exception
+        }
+        if (closed) {
+            return false;
+        }
+        if (timestamp == lastTimestamp && width == this.width && height == this.height) {
+            ++unchanged; // ภาพเดิม: texture มีอยู่แล้ว
+            return false;
+        }
+        int bytes = rowBytes * height;
+        if (width != this.width || height != this.height) {
+            allocate(width, height, bytes);
+        }
+        int id = ids[slot];
+        if (fences[slot] != 0) {
+            if (!binding.isSignaled(fences[slot])) {
+                ++busy; // GPU ยังอ่าน buffer นี้อยู่: ข้ามภาพนี้แทนการรอ
+                return false;
+            }
+            binding.deleteFence(fences[slot]);
+            fences[slot] = 0;
+        }
+        ByteBuffer target = binding.map(id, bytes);
+        if (target == null) {
+            ++failed;
+            return false;
+        }
+        copyRows(source, rowStride, target, rowBytes, height);
+        if (!binding.unmap(id)) {
+            ++failed; // ข้อมูลใน buffer เสีย (เช่น surface ถูกทิ้ง)
+            return false;
+        }
+        binding.texSubImage(id, width, height); // GPU copy จาก buffer ไป texture ตามคิวคำสั่ง
+        fences[slot] = binding.fence();
+        slot = (slot + 1) % ids.length;
+        lastTimestamp = timestamp;
+        ++uploads;
+        uploadedBytes += bytes;
+        return true;
+    }
+
+    /**
+     * Copies {@code rows} rows of {@code rowBytes} bytes, {@code rowStride} bytes apart in {@code
+     * source} from its position, tightly packed into {@code target}. Allocates nothing and leaves
+     * the position and limit of {@code source} as they were.
+     */
+    public static void copyRows(ByteBuffer source, int rowStride, ByteBuffer target, int rowBytes, int rows) { // เมธอด copy ทีละแถวโดยตัด padding
+        int start = source.position();
+        int limit = source.limit();
+        try {
+            if (rowStride == rowBytes) {
+                source.limit(start + rowBytes * rows); // ไม่มี padding: copy ครั้งเดียว
+                target.put(source);
+                return;
+            }
+            for (int row = 0; row < rows; ++row) {
+                int rowStart = start + row * rowStride;
+                source.limit(rowStart + rowBytes);
+                source.position(rowStart);
+                target.put(source);
+            }
+        } finally {
+            source.limit(limit);
+            source.position(start);
+        }
+    }
+
+    /** Width of the texture in texels, 0 before the first image. */
+    public int getWidth() { return width; } // คืนค่าความกว้าง
+
+    /** Height of the texture in texels, 0 before the first image. */
+    public int getHeight() { return height; } // คืนค่าความสูง
+
+    /** Number of images uploaded. */
+    public long getUploadCount() { return uploads; } // คืนค่าจำนวนภาพที่ upload
+
+    /** Bytes of images uploaded, without row padding. */
+    public long getUploadedBytes() { return uploadedBytes; } // คืนค่าจำนวน byte ที่ upload
+
+    /** Number of images not uploaded because the texture already held them. */
+    public long getUnchangedCount() { return unchanged; } // คืนค่าจำนวนภาพที่ข้ามเพราะ timestamp เดิม
+
+    /** Number of images skipped because the GPU was still reading the next buffer. */
+    public long getBusyCount() { return busy; } // คืนค่าจำนวนภาพที่ข้ามเพราะ buffer ไม่ว่าง
+
+    /** Number of images lost because a buffer could not be mapped or lost its contents. */
+    public long getFailedCount() { return failed; } // คืนค่าจำนวนภาพที่ upload ไม่สำเร็จ
+
+    /** Number of times the texture and buffers were allocated: once, unless the image size changed. */
+    public long getAllocationCount() { return allocations; } // คืนค่าจำนวนครั้งที่จองพื้นที่
+
+    /** Deletes the buffers and fences; later uploads do nothing. */
+    public void close() { // เมธอดลบ buffer
+        if (closed) {
+            return;
+        }
+        closed = true;
+        deleteFences();
+        binding.deleteBuffers(ids);
+    }
+
+    private void allocate(int width, int height, int bytes) { // เมธอดจอง texture และ buffer ตามขนาดภาพ
+        deleteFences(); // buffer ถูกจองใหม่: ไม่ต้องรอการอ่านครั้งก่อน
+        binding.allocateTexture(width, height);
+        for (int id : ids) {
+            binding.allocateBuffer(id, bytes);
+        }
+        this.width = width;
+        this.height = height;
+        slot = 0;
+        ++allocations;
+    }
+
+    private void deleteFences() { // เมธอดลบ fence ที่ค้าง
+        for (int i = 0; i < fences.length; ++i) {
+            if (fences[i] != 0) {
+                binding.deleteFence(fences[i]);
+                fences[i] = 0;
+            }
+        }
+    }
+}
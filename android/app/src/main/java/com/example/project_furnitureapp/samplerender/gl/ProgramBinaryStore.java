@@ -0,0 +1,160 @@
+package com.example.project_furnitureapp.samplerender.gl; // ประกาศ package ของไฟล์นี้
+
+import java.io.File; // import File สำหรับจัดการไฟล์
+import java.io.FileInputStream; // import FileInputStream สำหรับอ่านไฟล์
+import java.io.FileOutputStream; // import FileOutputStream สำหรับเขียนไฟล์
+import java.io.IOException; // import IOException สำหรับจัดการ exception
+import java.nio.ByteBuffer; // import ByteBuffer สำหรับข้อมูล binary
+import java.nio.ByteOrder; // import ByteOrder สำหรับกำหนด endian
+import java.nio.channels.FileChannel; // import FileChannel สำหรับอ่าน/เขียนทั้งไฟล์
+import java.nio.charset.StandardCharsets; // import StandardCharsets สำหรับแปลง string เป็น byte
+import java.nio.file.Files; // import Files สำหรับย้ายไฟล์
+import java.nio.file.StandardCopyOption; // import StandardCopyOption สำหรับย้ายไฟล์แบบ atomic
+import java.security.MessageDigest; // import MessageDigest สำหรับ SHA-256
+import java.security.NoSuchAlgorithmException; // import NoSuchAlgorithmException สำหรับจัดการ exception
+import java.util.zip.CRC32; // import CRC32 สำหรับตรวจไฟล์เสีย
+
+/**
+ * On-disk store of linked program binaries, one file per key.
+ *
+ * <p>{@link #key} hashes everything a binary depends on: the final shader sources (defines
+ * included) and the driver's vendor, renderer and version strings, so a driver update never loads
+ * an old binary. Each file holds the driver's binary format, the length and a CRC32 of the bytes;
+ * a file that is truncated or fails its CRC is deleted and read as a miss. Files are written to a
+ * temporary name and moved into place, so a crash never leaves a partial entry.
+ *
+ * <p>This class does not use OpenGL, so it is checked on the JVM by {@code ProgramBinaryStoreCheck};
+ * {@code ProgramBinaryCache} moves the binaries in and out of GL.
+ */ // คำอธิบายคลาส: เก็บ program binary ที่ link แล้วลงดิสก์ ตาม key ของ source และ driver
+public final class ProgramBinaryStore { // ประกาศคลาส ProgramBinaryStore
+    private static final int MAGIC = 0x46505247; // "FPRG"
+    private static final int VERSION = 1; // เวอร์ชันของรูปแบบไฟล์
+    private static final int HEADER_BYTES = 5 * Integer.BYTES; // magic, version, format, length, crc
+    private static final String SUFFIX = ".bin"; // นามสกุลไฟล์
+
+    /** A stored binary: the driver's format enum and the bytes, in a direct buffer for {@code glProgramBinary}. */
+    public static final class Entry { // ประกาศคลาส Entry
+        public final int format; // binary format ของ driver
+        public final ByteBuffer binary; // ข้อมูล binary (direct)
+
+        Entry(int format, ByteBuffer binary) { // constructor
+            this.format = format;
+            this.binary = binary;
+        }
+    }
+
+    private final File directory; // โฟลเดอร์ที่เก็บไฟล์
+
+    public ProgramBinaryStore(File directory) throws IOException { // constructor รับโฟลเดอร์
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Cannot create " + directory); // ขว้าง exception
+        }
+        this.directory = directory;
+    }
+
+    /** Returns the key of a binary built from {@code parts}; each part is length-prefixed, so no two lists collide. */
+    public static String key(String... parts) { // เมธอดสร้าง key จาก source และ driver
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e); // ทุก JVM และ Android ต้องมี
+        }
+        ByteBuffer length = ByteBuffer.allocate(Integer.BYTES);
+        for (String part : parts) {
+            byte[] bytes = part.getBytes(StandardCharsets.UTF_8);
+            length.clear();
+            digest.update(length.putInt(bytes.length).array());
+            digest.update(bytes);
+        }
+        StringBuilder hex = new StringBuilder();
+        for (byte b : digest.digest()) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+
+    /** Returns the binary stored under {@code key}, or null if there is none or it is damaged. */
+    public Entry read(String key) { // เมธอดอ่าน binary
+        File file = file(key);
+        if (!file.isFile()) {
+            return null; // ไม่มีใน cache
+        }
+        try (FileChannel channel = new FileInputStream(file).getChannel()) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            if (readFully(channel, header) && header.getInt(0) == MAGIC && header.getInt(4) == VERSION) {
+                int format = header.getInt(8);
+                int length = header.getInt(12);
+                if (length > 0 && length == channel.size() - HEADER_BYTES) {
+                    ByteBuffer binary = ByteBuffer.allocateDirect(length);
+                    if (readFully(channel, binary)) {
+                        binary.flip();
+                        if (crc(binary) == header.getInt(16)) {
+                            return new Entry(format, binary);
+                        }
+                    }
+                }
+            }
+        } catch (IOException e) {
+            // Fall through: an unreadable file is dropped like a damaged one.
+        }
+        delete(key); // ไฟล์เสีย: ลบทิ้งแล้วถือว่าไม่มี
+        return null;
+    }
+
+    /** Stores {@code binary} (from its position to its limit) under {@code key}, replacing any older entry. */
+    public void write(String key, int format, ByteBuffer binary) throws IOException { // เมธอดบันทึก binary
+        ByteBuffer data = binary.duplicate();
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(MAGIC).putInt(VERSION).putInt(format).putInt(data.remaining()).putInt(crc(data));
+        header.flip();
+        File temp = File.createTempFile(key, ".tmp", directory); // ไฟล์ชั่วคราวในโฟลเดอร์เดียวกัน
+        try {
+            try (FileChannel channel = new FileOutputStream(temp).getChannel()) {
+                while (header.hasRemaining()) {
+                    channel.write(header);
+                }
+                while (data.hasRemaining()) {
+                    channel.write(data);
+                }
+            }
+            Files.move(temp.toPath(), file(key).toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            temp.delete(); // ไม่มีผลถ้าย้ายไปแล้ว
+        }
+    }
+
+    /** Deletes the entry under {@code key}, for example after the driver rejected it. */
+    public void delete(String key) { // เมธอดลบ binary
+        file(key).delete();
+    }
+
+    /** Deletes every entry. */
+    public void clear() { // เมธอดลบทั้งหมด
+        File[] files = directory.listFiles((dir, name) -> name.endsWith(SUFFIX));
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+    }
+
+    private File file(String key) { // เมธอดคืนค่าไฟล์ของ key
+        return new File(directory, key + SUFFIX);
+    }
+
+    private static boolean readFully(FileChannel channel, ByteBuffer buffer) throws IOException { // เมธอดอ่านจนเต็ม buffer
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                return false; // ไฟล์สั้นเกินไป
+            }
+        }
+        return true;
+    }
+
+    private static int crc(ByteBuffer buffer) { // เมธอดคำนวณ CRC32 ของข้อมูลตั้งแต่ position ถึง limit
+        CRC32 crc = new CRC32();
+        crc.update(buffer.duplicate()); // ไม่เลื่อน position ของ buffer เดิม
+        return (int) crc.getValue();
+    }
+}
@@ -0,0 +1,203 @@
+package com.example.project_furnitureapp.samplerender.gl; // ประกาศ package ของไฟล์นี้
+
+import java.util.Arrays; // import Arrays สำหรับขยาย array
+
+/**
+ * Values of a shader's uniforms, kept in preallocated primitive arrays with one dirty bit per
+ * uniform so that only the uniforms that changed since the last draw are uploaded.
+ *
+ * <p>Each uniform is resolved once into a {@link Handle} with {@link #add}. Setting a handle copies
+ * the values into the store and marks it dirty only if they differ from the stored ones; a linked
+ * program starts with every uniform at zero, and so does the store. {@link #flush} hands each dirty
+ * uniform to an {@link Uploader} and clears its bit. Neither setting nor flushing allocates.
+ *
+ * <p>This class does not use OpenGL, so it also runs in the JVM check {@code UniformCheck};
+ * {@code Shader} uploads with {@code glUniform*}.
+ */ // คำอธิบายคลาส: เก็บค่า uniform ใน array ที่จองไว้แล้ว พร้อม dirty bit เพื่อ upload เฉพาะค่าที่เปลี่ยน
+public final class UniformStore { // ประกาศคลาส UniformStore
+    private static final int INITIAL_HANDLES = 8; // จำนวน handle เริ่มต้น
+
+    /** GLSL type of a uniform. Integer types are stored as ints, the others as floats. */
+    public enum Type { // enum ชนิดของ uniform
+        INT(1, true), SAMPLER(1, true), FLOAT(1, false), VEC2(2, false), VEC3(3, false), VEC4(4, false),
+        MAT2(4, false), MAT3(9, false), MAT4(16, false);
+
+        public final int components; // จำนวนค่าต่อ 1 element
+        public final boolean integer; // เก็บเป็น int หรือไม่
+
+        Type(int components, boolean integer) { // constructor
+            this.components = components;
+            this.integer = integer;
+        }
+    }
+
+    /** A resolved uniform: its location, type, array length and place in the store. */
+    public static final class Handle { // ประกาศคลาส Handle
+        private final String name; // ชื่อ uniform
+        private final int location; // location ใน program (-1 ถ้า compiler ตัดทิ้ง)
+        private final Type type; // ชนิด
+        private final int count; // จำนวน element (1 ถ้าไม่ใช่ array)
+        private final int index; // ลำดับใน store (ตำแหน่งของ dirty bit)
+        private final int offset; // ตำแหน่งแรกใน floats หรือ ints
+
+        private Handle(String name, int location, Type type, int count, int index, int offset) { // constructor
+            this.name = name;
+            this.location = location;
+            this.type = type;
+            this.count = count;
+            this.index = index;
+            this.offset = offset;
+        }
+
+        public String getName() { return name; } // คืนค่าชื่อ
+
+        public int getLocation() { return location; } // คืนค่า location
+
+        public Type getType() { return type; } // คืนค่าชนิด
+
+        public int getCount() { return count; } // คืนค่าจำนวน element
+
+        /** Number of floats or ints the uniform holds. */
+        public int getLength() { return type.components * count; } // คืนค่าจำนวนค่าทั้งหมด
+    }
+
+    /** Uploads one uniform; the values are {@code handle.getLength()} entries from {@code offset}. */
+    public interface Uploader { // interface สำหรับ upload uniform
+        void upload(Handle handle, float[] floats, int[] ints, int offset);
+    }
+
+    private Handle[] handles = new Handle[INITIAL_HANDLES]; // handle ทั้งหมด
+    private int handleCount; // จำนวน handle
+    private long[] dirty = new long[1]; // dirty bit ต่อ handle
+    private float[] floats = new float[0]; // ค่าของ uniform แบบ float
+    private int[] ints = new int[0]; // ค่าของ uniform แบบ int
+    private int floatCount; // จำนวน float ที่ใช้
+    private int intCount; // จำนวน int ที่ใช้
+
+    /** Adds a uniform of {@code count} elements. Call once per uniform, at setup: this allocates. */
+    public Handle add(String name, int location, Type type, int count) { // เมธอดเพิ่ม uniform
+        if (count < 1) {
+            throw new IllegalArgumentException("Uniform " + name + " needs at least one element"); // ขว้าง exception
+        }
+        int length = type.components * count;
+        Handle handle;
+        if (type.integer) {
+            handle = new Handle(name, location, type, count, handleCount, intCount);
+            intCount += length;
+            if (intCount > ints.length) {
+                ints = Arrays.copyOf(ints, Math.max(intCount, ints.length * 2)); // ขยาย storage
+            }
+        } else {
+            handle = new Handle(name, location, type, count, handleCount, floatCount);
+            floatCount += length;
+            if (floatCount > floats.length) {
+                floats = Arrays.copyOf(floats, Math.max(floatCount, floats.length * 2)); // ขยาย storage
+            }
+        }
+        if (handleCount == handles.length) {
+            handles = Arrays.copyOf(handles, handles.length * 2);
+        }
+        if ((handleCount >> 6) == dirty.length) {
+            dirty = Arrays.copyOf(dirty, dirty.length * 2);
+        }
+        handles[handleCount++] = handle;
+        return handle;
+    }
+
+    public int getHandleCount() { return handleCount; } // คืนค่าจำนวน handle
+
+    /** Sets a single-element {@code int} or {@code sampler} uniform. */
+    public void setInt(Handle handle, int value) { // เมธอดตั้งค่า int
+        checkType(handle, true, 1);
+        if (ints[handle.offset] != value) {
+            ints[handle.offset] = value;
+            markDirty(handle);
+        }
+    }
+
+    /** Returns the value of a single-element {@code int} or {@code sampler} uniform. */
+    public int getInt(Handle handle) { // เมธอดคืนค่า int
+        checkType(handle, true, 1);
+        return ints[handle.offset];
+    }
+
+    /** Sets a single-element {@code float} uniform. */
+    public void setFloat(Handle handle, float value) { // เมธอดตั้งค่า float
+        checkType(handle, false, 1);
+        if (floats[handle.offset] != value) {
+            floats[handle.offset] = value;
+            markDirty(handle);
+        }
+    }
+
+    /** Sets every value of a float-based uniform from {@code values}, which must hold exactly {@link Handle#getLength} floats. */
+    public void setFloats(Handle handle, float[] values) { // เมธอดตั้งค่า float หลายค่า
+        checkType(handle, false, values.length);
+        int offset = handle.offset;
+        for (int i = 0; i < values.length; ++i) {
+            if (floats[offset + i] != values[i]) { // เจอค่าที่ต่าง: คัดลอกส่วนที่เหลือทั้งหมด
+                System.arraycopy(values, i, floats, offset + i, values.length - i);
+                markDirty(handle);
+                return;
+            }
+        }
+    }
+
+    /** Sets every value of an int-based uniform from {@code values}, which must hold exactly {@link Handle#getLength} ints. */
+    public void setInts(Handle handle, int[] values) { // เมธอดตั้งค่า int หลายค่า
+        checkType(handle, true, values.length);
+        int offset = handle.offset;
+        for (int i = 0; i < values.length; ++i) {
+            if (ints[offset + i] != values[i]) { // เจอค่าที่ต่าง: คัดลอกส่วนที่เหลือทั้งหมด
+                System.arraycopy(values, i, ints, offset + i, values.length - i);
+                markDirty(handle);
+                return;
+            }
+        }
+    }
+
+    public boolean isDirty(Handle handle) { // เมธอดเช็คว่า uniform ยังไม่ได้ upload
+        return (dirty[handle.index >> 6] & (1L << handle.index)) != 0;
+    }
+
+    /** Marks every uniform dirty, for example after the program was relinked. */
+    public void markAllDirty() { // เมธอดทำให้ทุก uniform ต้อง upload ใหม่
+        for (int i = 0; i < handleCount; ++i) {
+            dirty[i >> 6] |= 1L << i;
+        }
+    }
+
+    /**
+     * Uploads every dirty uniform and clears its bit. Uniforms without a location are cleared
+     * without an upload. Returns the number of uniforms uploaded.
+     */
+    public int flush(Uploader uploader) { // เมธอด upload uniform ที่เปลี่ยน
+        int uploaded = 0;
+        for (int word = 0; word < dirty.length; ++word) {
+            long bits = dirty[word];
+            while (bits != 0) {
+                int bit = Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1; // ลบ bit ที่ต่ำที่สุด
+                Handle handle = handles[(word << 6) + bit];
+                // Clear first: if the upload throws, the value is not retried on every draw.
+                dirty[word] &= ~(1L << bit);
+                if (handle.location >= 0) {
+                    uploader.upload(handle, floats, ints, handle.offset);
+                    ++uploaded;
+                }
+            }
+        }
+        return uploaded;
+    }
+
+    private static void checkType(Handle handle, boolean integer, int length) { // เมธอดตรวจชนิดและจำนวนค่า
+        if (handle.type.integer != integer || handle.getLength() != length) {
+            throw new IllegalArgumentException(
+                    "Uniform " + handle.name + " is " + handle.type + "[" + handle.count + "], not " + length + (integer ? " ints" : " floats")); // ขว้าง exception
+        }
+    }
+
+    private void markDirty(Handle handle) { // เมธอดตั้ง dirty bit
+        dirty[handle.index >> 6] |= 1L << handle.index;
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.project_furnitureapp.samplerender.gl; // ประกาศ package ของไฟล์นี้
+
+import java.io.Closeable; // import Closeable สำหรับปิด variant
+import java.io.IOException; // import IOException สำหรับจัดการ exception
+import java.util.Collections; // import Collections สำหรับ map ว่าง
+import java.util.HashMap; // import HashMap สำหรับเก็บ variant
+import java.util.List; // import List สำหรับรายการ define ตอน warm-up
+import java.util.Map; // import Map สำหรับ define
+import java.util.SortedMap; // import SortedMap สำหรับ define ที่เรียงแล้ว
+import java.util.TreeMap; // import TreeMap สำหรับเรียง define
+
+/**
+ * Registry of compiled shader variants, keyed by vertex asset, fragment asset and defines, so that
+ * switching a renderer between variants (occlusion on and off, depth visualization on and off)
+ * returns a program compiled earlier instead of compiling it again.
+ *
+ * <p>Defines are sorted into the key, so the same set in any order is one variant, and null is
+ * the same as no defines. Variants are compiled on first request, or ahead of time with {@link
+ * #warmUp}, and stay alive until {@link #close}, which closes all of them; callers share the
+ * instances and must not close them. A compile that throws is not cached.
+ *
+ * <p>{@link #getCompileCount} and {@link #getCompileNanos} report the compiles the registry did;
+ * {@link #getRequestCount} minus the compile count is the number of compiles it saved. Not thread
+ * safe: {@code SampleRender} uses one registry on the GL thread.
+ *
+ * <p>This class does not use OpenGL, so it is checked on the JVM by {@code VariantRegistryCheck}.
+ */ // คำอธิบายคลาส: เก็บ shader แต่ละ variant ที่ compile แล้ว ตาม asset และ define
+public final class VariantRegistry<T extends Closeable> implements Closeable { // ประกาศคลาส VariantRegistry
+
+    /** Compiles one variant, or starts compiling it; for shaders, {@code AsyncShaderCompiler.compile}. */
+    public interface Compiler<T> { // interface สำหรับ compile variant
+        T compile(String vertexAsset, String fragmentAsset, Map<String, String> defines) throws IOException; // เมธอด compile
+    }
+
+    private final Compiler<T> compiler; // ตัว compile variant
+    private final Map<String, T> variants = new HashMap<>(); // variant ที่ compile แล้ว ตาม key
+    private int requests; // จำนวนครั้งที่ขอ variant
+    private int compiles; // จำนวนครั้งที่ compile
+    private long compileNanos; // เวลารวมที่ใช้ compile
+    private boolean closed; // ปิดแล้วหรือยัง
+
+    public VariantRegistry(Compiler<T> compiler) { // constructor รับตัว compile
+        this.compiler = compiler;
+    }
+
+    /** Returns the key of a variant: both assets and the defines sorted by name. */
+    public static String key(String vertexAsset, String fragmentAsset, Map<String, String> defines) { // เมธอดสร้าง key ของ variant
+        StringBuilder key = new StringBuilder(vertexAsset).append('\n').append(fragmentAsset); // ชื่อ asset ไม่มีขึ้นบรรทัดใหม่
+        for (Map.Entry<String, String> define : sorted(defines).entrySet()) {
+            key.append('\n').append(define.getKey()).append('=').append(define.getValue());
+        }
+        return key.toString();
+    }
+
+    /** Returns the variant for these assets and defines, compiling it if this is the first request. */
+    public T get(String vertexAsset, String fragmentAsset, Map<String, String> defines) throws IOException { // เมธอดคืนค่า variant
+        if (closed) {
+            throw new IllegalStateException("Variant registry is closed"); // ขว้าง exception
+        }
+        ++requests;
+        String key = key(vertexAsset, fragmentAsset, defines);
+        T variant = variants.get(key);
+        if (variant == null) { // ยังไม่เคย compile
+            long start = System.nanoTime();
+            variant = compiler.compile(vertexAsset, fragmentAsset, sorted(defines)); // สำเนาที่เรียงแล้ว ผู้เรียกแก้ map ต่อได้
+            compileNanos += System.nanoTime() - start;
+            ++compiles;
+            variants.put(key, variant);
+        }
+        return variant;
+    }
+
+    /** Compiles every listed define set of these assets that is not compiled yet, so later {@link #get} calls never compile. */
+    public void warmUp(String vertexAsset, String fragmentAsset, List<Map<String, String>> defineSets) throws IOException { // เมธอด compile variant ล่วงหน้า
+        for (Map<String, String> defines : defineSets) {
+            get(vertexAsset, fragmentAsset, defines);
+        }
+    }
+
+    /** Number of variants alive. */
+    public int size() { return variants.size(); } // คืนค่าจำนวน variant
+
+    /** Number of {@link #get} calls, warm-up included. */
+    public int getRequestCount() { return requests; } // คืนค่าจำนวนครั้งที่ขอ variant
+
+    /** Number of variants compiled. */
+    public int getCompileCount() { return compiles; } // คืนค่าจำนวนครั้งที่ compile
+
+    /** Total time spent compiling variants, in nanoseconds. */
+    public long getCompileNanos() { return compileNanos; } // คืนค่าเวลารวมที่ใช้ compile
+
+    /** Closes every variant. Variants already handed out must not be used afterwards. */
+    @Override
+    public void close() { // เมธอดปิด variant ทั้งหมด
+        closed = true;
+        for (T variant : variants.values()) {
+            try {
+                variant.close(); // ปิด variant
+            } catch (IOException e) {
+                // Keep closing the others: one failed close must not leak the rest.
+            }
+        }
+        variants.clear();
+    }
+
+    private static SortedMap<String, String> sorted(Map<String, String> defines) { // เมธอดเรียง define ตามชื่อ
+        return new TreeMap<>(defines != null ? defines : Collections.<String, String>emptyMap());
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.project_furnitureapp.samplerender.diagnostics; // ประกาศ package ของไฟล์นี้
+
+import java.lang.management.ManagementFactory; // import ManagementFactory สำหรับวัดหน่วยความจำที่ thread จอง
+import java.util.Map; // import Map สำหรับอ่าน snapshot
+
+/**
+ * JVM check of {@link FrameStats} and {@link LogHistogram} against a simulated clock (see the
+ * {@code checkFrameStats} Gradle task, part of {@code check}). It verifies that:
+ *
+ * <ul>
+ *   <li>histogram percentiles are never below the true value and at most 12.5% above it, from
+ *       microseconds to seconds, and values outside the range are kept;
+ *   <li>each phase gets its own time, and phases a frame did not reach are not recorded;
+ *   <li>late frames are counted as dropped, the frame rate follows the intervals, and a pause
+ *       counts as neither;
+ *   <li>failed frames are counted by exception type, with the types past the limit together;
+ *   <li>recording frames, failed ones included, allocates nothing.
+ * </ul>
+ *
+ * It prints the snapshot. Exits with status 1 on the first failure.
+ */ // คำอธิบายคลาส: ตรวจ histogram และสถิติของเฟรมด้วยนาฬิกาจำลอง
+public final class FrameStatsCheck { // ประกาศคลาส FrameStatsCheck
+    private static final String[] PHASES = {"update", "draw", "tap"}; // ช่วงจำลอง
+    private static final long MS = 1_000_000L; // nanosecond ต่อ millisecond
+    private static final long INTERVAL = 33 * MS; // ระยะห่างปกติของเฟรม
+    private static final long LATE_INTERVAL = 80 * MS; // ระยะห่างของเฟรมที่ช้า
+    private static final int FRAMES = 1000; // จำนวนเฟรมที่จำลอง
+    private static final RuntimeException[] ERRORS = { // exception 10 ชนิด (เกินจำนวนที่นับแยก)
+        new IllegalStateException(), new IllegalArgumentException(), new NullPointerException(),
+        new ArithmeticException(), new ArrayIndexOutOfBoundsException(), new ClassCastException(),
+        new UnsupportedOperationException(), new NumberFormatException(), new IndexOutOfBoundsException(),
+        new NegativeArraySizeException()
+    };
+
+    public static void main(String[] args) { // จุดเริ่มต้นของโปรแกรม
+        if (args.length != 0) { // ไม่รับ argument
+            System.err.println("Usage: FrameStatsCheck"); // แสดงวิธีใช้
+            System.exit(2); // ออกจากโปรแกรม
+        }
+        try {
+            // Percentiles are within one bucket above the true value at every scale.
+            for (long scale = 1000; scale <= 10_000_000L; scale *= 10) { // ค่าสูงสุด 1 ms ถึง 10 วินาที
+                LogHistogram histogram = new LogHistogram();
+                for (long i = 1; i <= 1000; ++i) {
+                    histogram.record(i * scale);
+                }
+                for (int percent : new int[] {1, 50, 95, 99, 100}) {
+                    long exact = percent * 10L * scale;
+                    long reported = histogram.getPercentile(percent);
+                    expect(reported >= exact && reported <= exact + exact / 8,
+                            "p" + percent + " of " + scale + " ns steps is " + reported + ", not about " + exact);
+                }
+            }
+            LogHistogram extremes = new LogHistogram();
+            extremes.record(-5);
+            extremes.record(100_000_000_000L); // 100 วินาที เกินช่วงของ bucket
+            expect(extremes.getPercentile(50) < 1024 && extremes.getPercentile(100) == 100_000_000_000L, "values outside the buckets were lost");
+
+            // Phases, drops, frame rate and errors.
+            FrameStats stats = new FrameStats(50 * MS, PHASES);
+            long[] clock = {0};
+            runFrames(stats, clock, FRAMES);
+            stats.pause();
+            clock[0] += 5_000 * MS; // หยุด 5 วินาที
+            runFrames(stats, clock, FRAMES);
+            Map<String, Object> snapshot = stats.snapshot();
+            Map<?, ?> phases = (Map<?, ?>) snapshot.get("phases");
+            for (int phase = 0; phase < PHASES.length; ++phase) {
+                Map<?, ?> summary = (Map<?, ?>) phases.get(PHASES[phase]);
+                double p50 = (Double) summary.get("p50Ms");
+                expect(p50 >= phase + 1 && p50 <= (phase + 1) * 1.125, PHASES[phase] + " p50 is " + p50 + " ms, not " + (phase + 1));
+            }
+            expect((Long) ((Map<?, ?>) phases.get("tap")).get("samples") == FRAMES, "frames without a tap recorded the tap phase");
+            expect(stats.getFrameCount() == 2 * FRAMES, "counted " + stats.getFrameCount() + " frames");
+            expect(stats.getDroppedCount() == 2 * FRAMES / 10, "counted " + stats.getDroppedCount() + " dropped frames, the pause included?");
+            double fps = 1e9 / ((9 * INTERVAL + LATE_INTERVAL) / 10.0);
+            expect(Math.abs(stats.getFrameRate() - fps) < 0.5, "frame rate is " + stats.getFrameRate() + ", not " + fps);
+            Map<?, ?> errors = (Map<?, ?>) snapshot.get("errors");
+            expect(stats.getFailedCount() == 2 * FRAMES / 10 && errors.size() == FrameStats.MAX_ERROR_TYPES + 1,
+                    stats.getFailedCount() + " failed frames in " + errors.size() + " groups");
+            expect((Long) errors.get("other") == 2 * 2 * FRAMES / 10 / ERRORS.length, "errors past the limit were not grouped");
+            System.out.println(snapshot); // แสดงผล
+
+            // Recording allocates nothing.
+            com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+            long overheadStart = threads.getCurrentThreadAllocatedBytes();
+            long overhead = threads.getCurrentThreadAllocatedBytes() - overheadStart; // ค่าใช้จ่ายของการวัดเอง
+            long start = threads.getCurrentThreadAllocatedBytes();
+            runFrames(stats, clock, FRAMES);
+            long allocated = threads.getCurrentThreadAllocatedBytes() - start - overhead;
+            expect(allocated == 0, "recording " + FRAMES + " frames allocated " + allocated + " bytes");
+        } catch (IllegalStateException e) { // ตรวจไม่ผ่าน
+            System.err.println("FAILED: " + e.getMessage()); // แสดงสาเหตุ
+            System.exit(1); // ออกจากโปรแกรม
+        }
+        System.out.println("Frame phases were recorded without allocating."); // ผ่านทุกข้อ
+    }
+
+    /**
+     * Simulates frames: phase {@code i} takes {@code i + 1} ms, every other frame taps, and every
+     * tenth frame starts late and throws, cycling through the exception types.
+     */
+    private static void runFrames(FrameStats stats, long[] clock, int frames) { // เมธอดจำลองหลายเฟรม
+        for (int frame = 0; frame < frames; ++frame) {
+            boolean late = frame % 10 == 9;
+            clock[0] += late ? LATE_INTERVAL : INTERVAL;
+            long start = clock[0];
+            stats.beginFrame(start);
+            stats.mark(0, start + MS);
+            stats.mark(1, start + 3 * MS);
+            if (frame % 2 == 0) {
+                stats.mark(2, start + 6 * MS);
+            }
+            if (late) {
+                stats.fail(ERRORS[frame / 10 % ERRORS.length]);
+            }
+            stats.endFrame(start + 7 * MS);
+        }
+    }
+
+    private static void expect(boolean condition, String message) { // เมธอดตรวจเงื่อนไข
+        if (!condition) {
+            throw new IllegalStateException(message); // ขว้าง exception
+        }
+    }
+
+    private FrameStatsCheck() {} // constructor private เพื่อไม่ให้สร้าง instance
+}
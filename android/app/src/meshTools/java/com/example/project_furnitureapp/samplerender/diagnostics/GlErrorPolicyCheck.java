@@ -0,0 +1,150 @@
+package com.example.project_furnitureapp.samplerender.diagnostics; // ประกาศ package ของไฟล์นี้
+
+import java.lang.management.ManagementFactory; // import ManagementFactory สำหรับวัดหน่วยความจำที่ thread จอง
+import java.util.ArrayDeque; // import ArrayDeque สำหรับคิว error ของ GL จำลอง
+import java.util.Arrays; // import Arrays สำหรับเปรียบเทียบ error code
+
+/**
+ * JVM check of {@link GlErrorPolicy} against a fake GL binding that queues errors and counts
+ * {@code glGetError} calls (see the {@code checkGlErrorPolicy} Gradle task, part of {@code check}).
+ * It verifies that:
+ *
+ * <ul>
+ *   <li>{@code OFF} and {@code DEBUG_OUTPUT} never call {@code glGetError}, per call or per frame;
+ *   <li>{@code PER_FRAME} calls it only at the end of a frame, and returns every error the frame
+ *       raised;
+ *   <li>{@code FULL} calls it once per checked call, returns the first error and drains the rest,
+ *       and allocates nothing while there are no errors;
+ *   <li>draining stops even if the binding never runs out of errors, as without a context;
+ *   <li>debug output keeps errors and high or medium severity messages and drops the rest.
+ * </ul>
+ *
+ * It prints the {@code glGetError} calls per frame of each mode. Exits with status 1 on the first
+ * failure.
+ */ // คำอธิบายคลาส: ตรวจนโยบายการเรียก glGetError กับ GL จำลอง
+public final class GlErrorPolicyCheck { // ประกาศคลาส GlErrorPolicyCheck
+    private static final int CALLS_PER_FRAME = 500; // จำนวนการเรียก GL ที่ตรวจต่อเฟรม
+    private static final int FRAMES = 100; // จำนวนเฟรมที่จำลอง
+    private static final int GL_INVALID_ENUM = 0x0500; // error code จำลอง
+    private static final int GL_INVALID_VALUE = 0x0501;
+    private static final int GL_INVALID_OPERATION = 0x0502;
+
+    /** Fake GL: hands out queued errors and counts calls. */
+    private static final class FakeGl implements GlErrorPolicy.Binding { // GL จำลอง
+        final ArrayDeque<Integer> errors = new ArrayDeque<>(); // error ที่รออยู่
+        boolean stuck; // คืน error ตลอด (เหมือนไม่มี context)
+        long calls; // จำนวนครั้งที่เรียก glGetError
+
+        @Override
+        public int glGetError() { // คืนค่า error ถัดไป
+            ++calls;
+            if (stuck) {
+                return GL_INVALID_OPERATION;
+            }
+            Integer error = errors.poll();
+            return error != null ? error : GlErrorPolicy.NO_ERROR;
+        }
+    }
+
+    public static void main(String[] args) { // จุดเริ่มต้นของโปรแกรม
+        if (args.length != 0) { // ไม่รับ argument
+            System.err.println("Usage: GlErrorPolicyCheck"); // แสดงวิธีใช้
+            System.exit(2); // ออกจากโปรแกรม
+        }
+        try {
+            FakeGl gl = new FakeGl();
+            GlErrorPolicy policy = new GlErrorPolicy(gl, GlErrorPolicy.Mode.OFF);
+
+            // OFF and DEBUG_OUTPUT never ask.
+            for (GlErrorPolicy.Mode mode : new GlErrorPolicy.Mode[] {GlErrorPolicy.Mode.OFF, GlErrorPolicy.Mode.DEBUG_OUTPUT}) {
+                policy.setMode(mode);
+                gl.errors.add(GL_INVALID_ENUM);
+                gl.calls = 0;
+                runFrames(policy);
+                expect(gl.calls == 0, mode + " called glGetError " + gl.calls + " times");
+                expect(gl.errors.size() == 1, mode + " consumed an error");
+                gl.errors.clear();
+                System.out.printf("%-12s 0 glGetError calls per frame%n", mode); // แสดงผล
+            }
+
+            // PER_FRAME asks once per frame and reports the frame's errors.
+            policy.setMode(GlErrorPolicy.Mode.PER_FRAME);
+            gl.calls = 0;
+            int[] reported = runFrames(policy);
+            expect(gl.calls == FRAMES && reported == null, "clean frames made " + gl.calls + " glGetError calls, not " + FRAMES);
+            for (int i = 0; i < CALLS_PER_FRAME; ++i) {
+                expect(policy.check() == GlErrorPolicy.NO_ERROR, "PER_FRAME reported an error per call");
+            }
+            gl.errors.add(GL_INVALID_ENUM);
+            gl.errors.add(GL_INVALID_VALUE);
+            reported = policy.endFrame();
+            expect(Arrays.equals(reported, new int[] {GL_INVALID_ENUM, GL_INVALID_VALUE}) && gl.errors.isEmpty(),
+                    "the end of the frame reported " + Arrays.toString(reported));
+            System.out.printf("%-12s 1 glGetError call per frame%n", GlErrorPolicy.Mode.PER_FRAME); // แสดงผล
+
+            // FULL asks after every call, and finds each error where it happens.
+            policy.setMode(GlErrorPolicy.Mode.FULL);
+            gl.calls = 0;
+            reported = runFrames(policy);
+            expect(gl.calls == (long) FRAMES * CALLS_PER_FRAME && reported == null, "FULL made " + gl.calls + " glGetError calls");
+            gl.errors.add(GL_INVALID_OPERATION);
+            gl.errors.add(GL_INVALID_ENUM);
+            int first = policy.check();
+            expect(first == GL_INVALID_OPERATION, "the failed call was not reported");
+            expect(Arrays.equals(policy.drain(first), new int[] {GL_INVALID_OPERATION, GL_INVALID_ENUM}) && gl.errors.isEmpty(), "queued errors were not drained");
+            expect(policy.check() == GlErrorPolicy.NO_ERROR, "a drained error was reported again");
+            System.out.printf("%-12s %d glGetError calls per frame%n", GlErrorPolicy.Mode.FULL, CALLS_PER_FRAME); // แสดงผล
+
+            // Checks without errors allocate nothing.
+            com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+            runFrames(policy); // warm-up
+            long overheadStart = threads.getCurrentThreadAllocatedBytes();
+            long overhead = threads.getCurrentThreadAllocatedBytes() - overheadStart; // ค่าใช้จ่ายของการวัดเอง
+            long start = threads.getCurrentThreadAllocatedBytes();
+            runFrames(policy);
+            long allocated = threads.getCurrentThreadAllocatedBytes() - start - overhead;
+            expect(allocated == 0, "error-free checks allocated " + allocated + " bytes");
+
+            // Draining is bounded.
+            gl.stuck = true;
+            int[] stuck = policy.drain(policy.check());
+            expect(stuck.length > 0 && stuck.length <= 16, "draining a binding without a context did not stop");
+            gl.stuck = false;
+
+            // Debug output filter.
+            expect(policy.isReported(GlErrorPolicy.DEBUG_TYPE_ERROR, 0x826B), "a debug error was dropped"); // GL_DEBUG_SEVERITY_NOTIFICATION
+            expect(policy.isReported(0x8250, GlErrorPolicy.DEBUG_SEVERITY_HIGH), "a high severity performance message was dropped"); // GL_DEBUG_TYPE_PERFORMANCE
+            expect(!policy.isReported(0x8251, 0x826B), "a notification was reported"); // GL_DEBUG_TYPE_OTHER
+            expect(policy.getErrorCount() == 4 + stuck.length + 1, "the policy counted " + policy.getErrorCount() + " errors");
+        } catch (IllegalStateException e) { // ตรวจไม่ผ่าน
+            System.err.println("FAILED: " + e.getMessage()); // แสดงสาเหตุ
+            System.exit(1); // ออกจากโปรแกรม
+        }
+        System.out.println("Each error mode called glGetError only where it should, without allocating."); // ผ่านทุกข้อ
+    }
+
+    /** Runs {@link #FRAMES} frames of checked calls and returns the errors of the last frame that had any. */
+    private static int[] runFrames(GlErrorPolicy policy) { // เมธอดจำลองหลายเฟรม
+        int[] reported = null;
+        for (int frame = 0; frame < FRAMES; ++frame) {
+            for (int i = 0; i < CALLS_PER_FRAME; ++i) {
+                if (policy.check() != GlErrorPolicy.NO_ERROR) {
+                    throw new IllegalStateException("an error-free call reported an error"); // ขว้าง exception
+                }
+            }
+            int[] errors = policy.endFrame();
+            if (errors != null) {
+                reported = errors;
+            }
+        }
+        return reported;
+    }
+
+    private static void expect(boolean condition, String message) { // เมธอดตรวจเงื่อนไข
+        if (!condition) {
+            throw new IllegalStateException(message); // ขว้าง exception
+        }
+    }
+
+    private GlErrorPolicyCheck() {} // constructor private เพื่อไม่ให้สร้าง instance
+}
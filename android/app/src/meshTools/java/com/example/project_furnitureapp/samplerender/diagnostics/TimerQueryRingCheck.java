@@ -0,0 +1,185 @@
+package com.example.project_furnitureapp.samplerender.diagnostics; // ประกาศ package ของไฟล์นี้
+
+import java.util.HashMap; // import HashMap สำหรับ query ของ GPU จำลอง
+import java.util.Map; // import Map สำหรับ query ของ GPU จำลอง
+
+/**
+ * JVM check of {@link TimerQueryRing} and {@link RollingStats} against a fake GPU whose query
+ * results arrive a set number of frames after the query ends (see the {@code checkTimerQueryRing}
+ * Gradle task, part of {@code check}). It verifies that:
+ *
+ * <ul>
+ *   <li>no result is ever read before it is available, so reading back never stalls;
+ *   <li>with results two frames late, every pass of every frame is timed, with its own time;
+ *   <li>with results later than the ring is deep, passes are skipped instead of waited for;
+ *   <li>a disjoint event throws away every result in flight and keeps later ones;
+ *   <li>minimum, average and 95th percentile are right, and old samples leave the window;
+ *   <li>nested passes are refused, a pass left open is ended with the frame, and closing deletes
+ *       every query.
+ * </ul>
+ *
+ * It prints the timed, skipped and discarded counts. Exits with status 1 on the first failure.
+ */ // คำอธิบายคลาส: ตรวจว่า timer query อ่านผลโดยไม่รอ GPU และสถิติถูกต้อง
+public final class TimerQueryRingCheck { // ประกาศคลาส TimerQueryRingCheck
+    private static final String[] PASSES = {"background", "planes", "points"}; // pass จำลอง
+    private static final int FRAMES = 1000; // จำนวนเฟรมที่จำลอง
+
+    /** Fake GPU: a query's result becomes available {@code latency} frames after it ends. */
+    private static final class FakeGpu implements TimerQueryRing.Binding { // GPU จำลอง
+        final int latency; // จำนวนเฟรมกว่าผลจะพร้อม
+        final Map<Integer, Long> readyFrame = new HashMap<>(); // เฟรมที่ผลของ query พร้อม
+        final Map<Integer, Long> nanos = new HashMap<>(); // เวลาของ query
+        int nextId = 1; // id ถัดไป
+        int created; // จำนวน query ที่ยังไม่ถูกลบ
+        int active; // query ที่กำลังจับเวลา
+        long frame; // เฟรมปัจจุบัน
+        long passNanos; // เวลาที่ pass ถัดไปจะใช้
+        boolean disjoint; // มี disjoint event ค้างอยู่
+
+        FakeGpu(int latency) { // constructor
+            this.latency = latency;
+        }
+
+        @Override
+        public void genQueries(int[] ids) { // สร้าง query
+            for (int i = 0; i < ids.length; ++i) {
+                ids[i] = nextId++;
+            }
+            created += ids.length;
+        }
+
+        @Override
+        public void deleteQueries(int[] ids) { created -= ids.length; } // ลบ query
+
+        @Override
+        public void beginTimeElapsed(int id) { // เริ่ม query
+            if (active != 0) {
+                throw new IllegalStateException("a timer query began inside another");
+            }
+            if (readyFrame.containsKey(id) && readyFrame.get(id) > frame) {
+                throw new IllegalStateException("query " + id + " was reused before its result was read");
+            }
+            active = id;
+        }
+
+        @Override
+        public void endTimeElapsed() { // จบ query
+            readyFrame.put(active, frame + latency);
+            nanos.put(active, passNanos);
+            active = 0;
+        }
+
+        @Override
+        public boolean isResultAvailable(int id) { return readyFrame.get(id) <= frame; } // ผลพร้อมหรือยัง
+
+        @Override
+        public long getResultNanos(int id) { // อ่านผล
+            if (!isResultAvailable(id)) {
+                throw new IllegalStateException("reading query " + id + " would stall"); // การอ่านที่ต้องรอ GPU
+            }
+            return nanos.get(id);
+        }
+
+        @Override
+        public boolean isDisjoint() { // อ่านแล้วล้าง
+            boolean was = disjoint;
+            disjoint = false;
+            return was;
+        }
+    }
+
+    public static void main(String[] args) { // จุดเริ่มต้นของโปรแกรม
+        if (args.length != 0) { // ไม่รับ argument
+            System.err.println("Usage: TimerQueryRingCheck"); // แสดงวิธีใช้
+            System.exit(2); // ออกจากโปรแกรม
+        }
+        try {
+            // Results two frames late: every pass of every frame is timed, without stalling.
+            FakeGpu gpu = new FakeGpu(2);
+            TimerQueryRing ring = new TimerQueryRing(gpu, PASSES, TimerQueryRing.DEFAULT_DEPTH, FRAMES);
+            runFrames(gpu, ring, FRAMES);
+            for (int pass = 0; pass < PASSES.length; ++pass) {
+                RollingStats stats = ring.getStats(pass);
+                expect(stats.getCount() == FRAMES - gpu.latency + 1, PASSES[pass] + " has " + stats.getCount() + " results"); // เฟรมสุดท้ายยังไม่ได้ผล
+                expect(stats.getMin() == passNanos(pass, 0) && stats.getAverage() > stats.getMin(), PASSES[pass] + " got another pass's times");
+            }
+            expect(ring.getBusyCount() == 0 && ring.getDiscardedCount() == 0, "a pass was skipped with results two frames late");
+            System.out.printf("latency 2: %d of %d frames timed per pass, 0 skipped%n", ring.getStats(0).getCount(), FRAMES); // แสดงผล
+
+            // A disjoint event discards what is in flight and nothing after it.
+            gpu.disjoint = true;
+            runFrames(gpu, ring, 10);
+            expect(ring.getDiscardedCount() == (long) PASSES.length * gpu.latency, "discarded " + ring.getDiscardedCount() + " results after a disjoint event");
+            System.out.printf("disjoint:  %d results in flight discarded%n", ring.getDiscardedCount()); // แสดงผล
+
+            // Nesting is refused, and closing deletes the queries.
+            ring.begin(0);
+            expectThrows(() -> ring.begin(1), "a nested pass was accepted");
+            ring.end(0);
+            expectThrows(() -> ring.end(0), "ending a pass twice was accepted");
+            ring.begin(2); // pass ที่ถูก exception ขัดจังหวะ
+            ring.endFrame();
+            ring.begin(2);
+            ring.end(2);
+            ring.close();
+            expect(gpu.created == 0, gpu.created + " queries leaked");
+
+            // Results later than the ring is deep: skip passes instead of waiting.
+            FakeGpu slowGpu = new FakeGpu(TimerQueryRing.DEFAULT_DEPTH + 2);
+            TimerQueryRing slowRing = new TimerQueryRing(slowGpu, PASSES, TimerQueryRing.DEFAULT_DEPTH, FRAMES);
+            runFrames(slowGpu, slowRing, FRAMES);
+            expect(slowRing.getBusyCount() > 0 && slowRing.getStats(0).getCount() > 0, "a slow GPU was not skipped, or never timed");
+            System.out.printf("latency %d: %d frames timed per pass, %d pass timings skipped%n", slowGpu.latency, slowRing.getStats(0).getCount(), slowRing.getBusyCount()); // แสดงผล
+            slowRing.close();
+
+            // Statistics.
+            RollingStats stats = new RollingStats(100);
+            expect(stats.getMin() == 0 && stats.getAverage() == 0 && stats.getPercentile(95) == 0, "empty statistics are not zero");
+            for (int i = 100; i >= 1; --i) {
+                stats.add(i);
+            }
+            expect(stats.getMin() == 1 && stats.getAverage() == 50 && stats.getPercentile(95) == 95 && stats.getPercentile(100) == 100,
+                    "min/avg/p95 of 1..100 are " + stats.getMin() + "/" + stats.getAverage() + "/" + stats.getPercentile(95));
+            for (int i = 0; i < 100; ++i) {
+                stats.add(1000);
+            }
+            expect(stats.getMin() == 1000 && stats.getCount() == 100, "old samples stayed in the window");
+        } catch (IllegalStateException e) { // ตรวจไม่ผ่าน
+            System.err.println("FAILED: " + e.getMessage()); // แสดงสาเหตุ
+            System.exit(1); // ออกจากโปรแกรม
+        }
+        System.out.println("Timer queries were read back without stalling."); // ผ่านทุกข้อ
+    }
+
+    /** Time of a pass in a frame: different per pass, growing with the frame. */
+    private static long passNanos(int pass, long frame) { return (pass + 1) * 1_000_000L + frame; } // เวลาจำลองของ pass
+
+    private static void runFrames(FakeGpu gpu, TimerQueryRing ring, int frames) { // เมธอดจำลองหลายเฟรม
+        for (int i = 0; i < frames; ++i) {
+            for (int pass = 0; pass < PASSES.length; ++pass) {
+                gpu.passNanos = passNanos(pass, gpu.frame);
+                ring.begin(pass);
+                ring.end(pass);
+            }
+            ++gpu.frame; // GPU ทำงานต่อ ผลของเฟรมก่อนๆ ทยอยพร้อม
+            ring.endFrame();
+        }
+    }
+
+    private static void expectThrows(Runnable action, String message) { // เมธอดตรวจว่าต้องขว้าง exception
+        try {
+            action.run();
+        } catch (IllegalStateException expected) {
+            return;
+        }
+        throw new IllegalStateException(message); // ขว้าง exception
+    }
+
+    private static void expect(boolean condition, String message) { // เมธอดตรวจเงื่อนไข
+        if (!condition) {
+            throw new IllegalStateException(message); // ขว้าง exception
+        }
+    }
+
+    private TimerQueryRingCheck() {} // constructor private เพื่อไม่ให้สร้าง instance
+}
@@ -0,0 +1,229 @@
+package com.example.project_furnitureapp.samplerender.geometry; // ประกาศ package ของไฟล์นี้
+
+import java.io.File; // import File สำหรับจัดการไฟล์
+import java.io.IOException; // import IOException สำหรับจัดการ exception
+import java.util.ArrayList; // import ArrayList สำหรับรายการ object
+import java.util.List; // import List สำหรับรายการ object
+import java.util.Random; // import Random สำหรับสุ่มการเพิ่ม/ลบสินค้า
+
+/**
+ * JVM check of {@link RangeAllocator} and {@link StaticBatcher}, the bookkeeping behind {@code
+ * GeometryArena} (see the {@code checkArena} Gradle task, part of {@code check}).
+ *
+ * <p>It replays a long session in which customers add and remove the models of a directory, three
+ * shaders' worth, with the arena's policy: an entry that does not fit compacts the buffers while
+ * they would stay at most three quarters full, and doubles them otherwise. The session runs in
+ * rounds: the room is furnished with small pieces until the buffers are nearly full, half of them
+ * are taken away at random, and then the largest model is brought in a few times. The scattered
+ * holes are too small for it and the end of the buffers is taken, so adding it compacts without
+ * growing. It verifies that:
+ *
+ * <ul>
+ *   <li>live vertex and index ranges never overlap and the used counts match them;
+ *   <li>adding an entry that does not fit compacts in the session, and grows only when the buffers
+ *       would be more than three quarters full;
+ *   <li>compaction packs every range to the front, grouped by shader, without growing;
+ *   <li>after compaction the whole room is drawn with one draw call per shader.
+ * </ul>
+ *
+ * Exits with status 1 on the first failure.
+ */ // คำอธิบายคลาส: ตรวจการจัดสรร/บีบอัดช่วงของ buffer และการรวม draw call
+public final class ArenaCheck { // ประกาศคลาส ArenaCheck
+    private static final int ROUNDS = 50; // จำนวนรอบของการจัดห้อง
+    private static final float FURNISHED_FILL = 0.95f; // จัดของชิ้นเล็กจน buffer เต็มเท่านี้
+    private static final int LARGE_PIECES = 3; // จำนวนชิ้นใหญ่ที่นำเข้าต่อรอบ
+    private static final int SHADERS = 3; // จำนวน shader (กลุ่ม)
+    private static final float COMPACT_MAX_FILL = 0.75f; // เกณฑ์เดียวกับ GeometryArena
+
+    /** One placed model. */
+    private static final class Placed { // ประกาศคลาส Placed
+        final int vertexCount, indexCount, shader; // ขนาดและ shader
+        int firstVertex, firstIndex; // ตำแหน่งใน buffer ร่วม
+
+        Placed(int vertexCount, int indexCount, int shader) { // constructor
+            this.vertexCount = vertexCount;
+            this.indexCount = indexCount;
+            this.shader = shader;
+        }
+    }
+
+    private static int compactions, grows, adds, removes; // สถิติ
+
+    public static void main(String[] args) throws IOException { // จุดเริ่มต้นของโปรแกรม
+        if (args.length != 1) { // ถ้า argument ไม่ครบ
+            System.err.println("Usage: ArenaCheck <dir with .obj files>"); // แสดงวิธีใช้
+            System.exit(2); // ออกจากโปรแกรม
+        }
+        List<File> files = MeshConverter.listObjFiles(new File(args[0])); // model ที่จะวาง
+        int[] vertexCounts = new int[files.size()], indexCounts = new int[files.size()]; // ขนาดของแต่ละ model
+        int largest = 0; // model ที่ใหญ่ที่สุด (ชิ้นใหญ่)
+        for (int i = 0; i < files.size(); ++i) {
+            MeshData mesh = MeshConverter.readObj(files.get(i));
+            vertexCounts[i] = mesh.getVertexCount();
+            indexCounts[i] = mesh.getIndexCount();
+            if (vertexCounts[i] > vertexCounts[largest]) {
+                largest = i;
+            }
+        }
+        try {
+            expect(files.size() > 1, "need at least two models");
+            Random random = new Random(42); // seed คงที่ ให้ผลเหมือนเดิมทุกครั้ง
+            RangeAllocator vertices = new RangeAllocator(1 << 14), indices = new RangeAllocator(1 << 15); // เริ่มเล็ก ให้ต้องขยายในรอบแรก
+            List<Placed> room = new ArrayList<>(); // object ในห้อง
+            for (int round = 0; round < ROUNDS; ++round) {
+                while (vertices.getUsed() < vertices.getCapacity() * FURNISHED_FILL && indices.getUsed() < indices.getCapacity() * FURNISHED_FILL) { // จัดของชิ้นเล็ก
+                    int model = random.nextInt(files.size() - 1);
+                    model += model >= largest ? 1 : 0; // ทุก model ยกเว้นชิ้นใหญ่
+                    place(room, vertices, indices, new Placed(vertexCounts[model], indexCounts[model], model % SHADERS));
+                }
+                for (int keep = room.size() / 2; room.size() > keep; ) { // เอาออกครึ่งหนึ่งแบบสุ่ม
+                    Placed removed = room.remove(random.nextInt(room.size()));
+                    vertices.free(removed.firstVertex);
+                    indices.free(removed.firstIndex);
+                    ++removes;
+                    checkNoOverlap(room, vertices, indices);
+                }
+                for (int piece = 0; piece < LARGE_PIECES; ++piece) { // นำชิ้นใหญ่เข้ามา
+                    place(room, vertices, indices, new Placed(vertexCounts[largest], indexCounts[largest], largest % SHADERS));
+                }
+            }
+            expect(compactions > 0, "adding an entry that did not fit never compacted the buffers");
+
+            StaticBatcher<Integer> batcher = new StaticBatcher<>(); // batch ก่อนบีบอัด
+            int scatteredDraws = drawRoom(batcher, room);
+            int vertexCapacity = vertices.getCapacity(), indexCapacity = indices.getCapacity();
+            rebuild(room, vertices, indices, vertexCapacity, indexCapacity); // บีบอัด
+            expect(vertices.getCapacity() == vertexCapacity && indices.getCapacity() == indexCapacity, "compaction grew the buffers");
+            expect(vertices.getFragmentation() == 0f && indices.getFragmentation() == 0f, "compaction left scattered free space");
+            checkNoOverlap(room, vertices, indices);
+            int packedDraws = drawRoom(batcher, room);
+            int shaders = (int) room.stream().mapToInt(p -> p.shader).distinct().count(); // จำนวน shader ที่ใช้อยู่
+            expect(packedDraws == shaders, packedDraws + " draw calls for " + shaders + " shaders after compaction");
+            System.out.printf(
+                    "%d adds, %d removes: %d compactions, %d grows to %d vertices / %d indices; %d objects in %d draw calls (%d before compacting)%n",
+                    adds, removes, compactions, grows, vertices.getCapacity(), indices.getCapacity(),
+                    room.size(), packedDraws, scatteredDraws); // แสดงผล
+        } catch (IllegalStateException e) { // ตรวจไม่ผ่าน
+            System.err.println("FAILED: " + e.getMessage()); // แสดงสาเหตุ
+            System.exit(1); // ออกจากโปรแกรม
+        }
+        System.out.println("Arena ranges never overlapped, full buffers compacted when adding, and compaction merged each shader into one draw call."); // ผ่านทุกข้อ
+    }
+
+    /** Adds {@code placed} like {@code GeometryArena.add}: compacts or grows first if it does not fit. */
+    private static void place(List<Placed> room, RangeAllocator vertices, RangeAllocator indices, Placed placed) { // เมธอดวางสินค้า
+        placed.firstVertex = vertices.allocate(placed.vertexCount);
+        placed.firstIndex = placed.firstVertex < 0 ? -1 : indices.allocate(placed.indexCount);
+        if (placed.firstIndex < 0) { // ไม่มีที่ว่างติดกันพอ
+            if (placed.firstVertex >= 0) {
+                vertices.free(placed.firstVertex);
+            }
+            int vertexCapacity = requiredCapacity(vertices, placed.vertexCount);
+            int indexCapacity = requiredCapacity(indices, placed.indexCount);
+            if (vertexCapacity == vertices.getCapacity() && indexCapacity == indices.getCapacity()) {
+                ++compactions;
+            } else {
+                expect(vertices.getUsed() + placed.vertexCount > vertices.getCapacity() * COMPACT_MAX_FILL
+                        || indices.getUsed() + placed.indexCount > indices.getCapacity() * COMPACT_MAX_FILL, "grew buffers that compaction would have made room in");
+                ++grows;
+            }
+            rebuild(room, vertices, indices, vertexCapacity, indexCapacity);
+            placed.firstVertex = vertices.allocate(placed.vertexCount);
+            placed.firstIndex = indices.allocate(placed.indexCount);
+            expect(placed.firstVertex >= 0 && placed.firstIndex >= 0, "an entry did not fit after rebuilding");
+        }
+        room.add(placed);
+        ++adds;
+        checkNoOverlap(room, vertices, indices);
+    }
+
+    /** Same policy as {@code GeometryArena}: compact while that leaves headroom, else double. */
+    private static int requiredCapacity(RangeAllocator allocator, int extra) { // เมธอดคำนวณความจุที่ต้องใช้
+        int needed = allocator.getUsed() + extra;
+        if (needed <= allocator.getCapacity() * COMPACT_MAX_FILL) {
+            return allocator.getCapacity();
+        }
+        return Math.max(needed, allocator.getCapacity() * 2);
+    }
+
+    /** Grows, then packs the room grouped by shader in first-seen order, and checks the result. */
+    private static void rebuild(List<Placed> room, RangeAllocator vertices, RangeAllocator indices, int vertexCapacity, int indexCapacity) { // เมธอดบีบอัด
+        List<Placed> ordered = new ArrayList<>(room.size()); // object เรียงตามกลุ่ม
+        List<Integer> seen = new ArrayList<>(); // shader ตามลำดับที่เจอ
+        for (Placed placed : room) {
+            if (!seen.contains(placed.shader)) {
+                seen.add(placed.shader);
+            }
+        }
+        for (int shader : seen) {
+            for (Placed placed : room) {
+                if (placed.shader == shader) {
+                    ordered.add(placed);
+                }
+            }
+        }
+        int[] vertexOffsets = new int[ordered.size()], indexOffsets = new int[ordered.size()];
+        for (int i = 0; i < ordered.size(); ++i) {
+            vertexOffsets[i] = ordered.get(i).firstVertex;
+            indexOffsets[i] = ordered.get(i).firstIndex;
+        }
+        vertices.grow(vertexCapacity);
+        indices.grow(indexCapacity);
+        int[] newVertexOffsets = vertices.compact(vertexOffsets), newIndexOffsets = indices.compact(indexOffsets);
+        int vertexEnd = 0, indexEnd = 0; // ต้องเรียงต่อกันตั้งแต่ 0
+        for (int i = 0; i < ordered.size(); ++i) {
+            Placed placed = ordered.get(i);
+            expect(newVertexOffsets[i] == vertexEnd && newIndexOffsets[i] == indexEnd, "compaction left a gap before entry " + i);
+            placed.firstVertex = newVertexOffsets[i];
+            placed.firstIndex = newIndexOffsets[i];
+            vertexEnd += placed.vertexCount;
+            indexEnd += placed.indexCount;
+        }
+        room.clear();
+        room.addAll(ordered);
+    }
+
+    private static void checkNoOverlap(List<Placed> room, RangeAllocator vertices, RangeAllocator indices) { // เมธอดตรวจว่าช่วงไม่ทับกัน
+        int vertexCount = 0, indexCount = 0;
+        for (int a = 0; a < room.size(); ++a) {
+            Placed p = room.get(a);
+            expect(vertices.getSize(p.firstVertex) == p.vertexCount && indices.getSize(p.firstIndex) == p.indexCount, "allocator lost a block");
+            expect(p.firstVertex + p.vertexCount <= vertices.getCapacity() && p.firstIndex + p.indexCount <= indices.getCapacity(), "a block is past the end");
+            for (int b = a + 1; b < room.size(); ++b) {
+                Placed q = room.get(b);
+                expect(p.firstVertex + p.vertexCount <= q.firstVertex || q.firstVertex + q.vertexCount <= p.firstVertex, "vertex ranges overlap");
+                expect(p.firstIndex + p.indexCount <= q.firstIndex || q.firstIndex + q.indexCount <= p.firstIndex, "index ranges overlap");
+            }
+            vertexCount += p.vertexCount;
+            indexCount += p.indexCount;
+        }
+        expect(vertices.getUsed() == vertexCount && indices.getUsed() == indexCount, "used counts do not match the live blocks");
+        expect(vertices.getBlockCount() == room.size() && indices.getBlockCount() == room.size(), "allocator has stale blocks");
+    }
+
+    /** Batches every object of the room by shader and returns the number of draw calls. */
+    private static int drawRoom(StaticBatcher<Integer> batcher, List<Placed> room) { // เมธอดจำลองการวาดห้อง
+        batcher.clear();
+        int indexCount = 0;
+        for (Placed placed : room) {
+            batcher.add(placed.shader, placed.firstIndex, placed.indexCount);
+            indexCount += placed.indexCount;
+        }
+        int drawn = 0;
+        for (StaticBatcher.Batch<Integer> batch : batcher.getBatches()) {
+            for (int draw = 0; draw < batch.getDrawCount(); ++draw) {
+                drawn += batch.getIndexCount(draw);
+            }
+        }
+        expect(drawn == indexCount, "merging changed the number of indices drawn");
+        return batcher.getDrawCount();
+    }
+
+    private static void expect(boolean condition, String message) { // เมธอดตรวจเงื่อนไข
+        if (!condition) {
+            throw new IllegalStateException(message); // ขว้าง exception
+        }
+    }
+
+    private ArenaCheck() {} // constructor private เพื่อไม่ให้สร้าง instance
+}
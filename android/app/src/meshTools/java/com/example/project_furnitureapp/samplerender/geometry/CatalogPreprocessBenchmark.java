@@ -0,0 +1,67 @@
+package com.example.project_furnitureapp.samplerender.geometry; // ประกาศ package ของไฟล์นี้
+
+import java.io.File; // import File สำหรับจัดการไฟล์
+import java.io.IOException; // import IOException สำหรับจัดการ exception
+import java.util.ArrayList; // import ArrayList สำหรับรายการจำนวน thread
+import java.util.Arrays; // import Arrays สำหรับเรียงลำดับเวลา
+import java.util.Collections; // import Collections สำหรับ map ว่าง
+import java.util.List; // import List สำหรับรายการไฟล์
+import java.util.concurrent.ForkJoinPool; // import ForkJoinPool สำหรับประมวลผลแบบขนาน
+
+/**
+ * JVM benchmark of {@link CatalogPreprocessor} on every model of a directory with 1, 2, 4, ... up
+ * to all available cores (see the {@code benchmarkCatalog} Gradle task). Output is encoded in
+ * memory so disk speed does not limit the scaling. The catalogue has few, unequal models, so the
+ * speedup levels off once the largest model alone takes most of the wall time.
+ */ // คำอธิบายคลาส: benchmark การเตรียม model ทั้งแคตตาล็อกตามจำนวน thread
+public final class CatalogPreprocessBenchmark { // ประกาศคลาส CatalogPreprocessBenchmark
+    private static final int WARMUP_ITERATIONS = 2; // จำนวนรอบ warm-up
+    private static final int MEASURED_ITERATIONS = 5; // จำนวนรอบที่วัดผล
+
+    public static void main(String[] args) throws IOException { // จุดเริ่มต้นของโปรแกรม
+        if (args.length != 1) { // ถ้า argument ไม่ครบ
+            System.err.println("Usage: CatalogPreprocessBenchmark <dir with .obj files>"); // แสดงวิธีใช้
+            System.exit(2); // ออกจากโปรแกรม
+        }
+        List<File> objFiles = MeshConverter.listObjFiles(new File(args[0])); // model ทั้งหมด
+        int cores = Runtime.getRuntime().availableProcessors(); // จำนวน core
+        List<Integer> threadCounts = new ArrayList<>(); // 1, 2, 4, ... และจำนวน core
+        for (int threads = 1; threads < cores; threads *= 2) {
+            threadCounts.add(threads);
+        }
+        threadCounts.add(cores);
+
+        System.out.printf("%d models, %d cores%n%8s %10s %8s %10s%n", objFiles.size(), cores, "threads", "ms", "speedup", "efficiency"); // หัวตาราง
+        double baseline = 0; // เวลาของ 1 thread
+        for (int threads : threadCounts) {
+            double ms = medianMillis(objFiles, threads); // เวลา (median)
+            if (threads == 1) {
+                baseline = ms;
+            }
+            double speedup = baseline / ms; // เร็วขึ้นกี่เท่า
+            System.out.printf("%8d %10.1f %7.2fx %9.0f%%%n", threads, ms, speedup, 100 * speedup / threads); // แสดงผล
+        }
+    }
+
+    private static double medianMillis(List<File> objFiles, int threads) throws IOException { // เมธอดวัดเวลา (median)
+        ForkJoinPool pool = new ForkJoinPool(threads); // pool ตามจำนวน thread
+        try {
+            CatalogPreprocessor preprocessor = new CatalogPreprocessor(pool, Collections.emptyMap(), /*quantize=*/ false);
+            for (int i = 0; i < WARMUP_ITERATIONS; ++i) { // warm-up ให้ JIT ทำงาน
+                preprocessor.run(objFiles, /*outputDir=*/ null);
+            }
+            double[] times = new double[MEASURED_ITERATIONS]; // เวลาแต่ละรอบ
+            for (int i = 0; i < MEASURED_ITERATIONS; ++i) {
+                long start = System.nanoTime();
+                preprocessor.run(objFiles, /*outputDir=*/ null); // เข้ารหัสในหน่วยความจำ
+                times[i] = (System.nanoTime() - start) / 1e6;
+            }
+            Arrays.sort(times);
+            return times[MEASURED_ITERATIONS / 2]; // median
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private CatalogPreprocessBenchmark() {} // constructor private เพื่อไม่ให้สร้าง instance
+}
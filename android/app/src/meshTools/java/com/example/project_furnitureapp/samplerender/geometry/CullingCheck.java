@@ -0,0 +1,242 @@
+package com.example.project_furnitureapp.samplerender.geometry; // ประกาศ package ของไฟล์นี้
+
+import java.nio.FloatBuffer; // import FloatBuffer สำหรับ polygon ของ plane
+import java.util.Arrays; // import Arrays สำหรับเรียงเวลา
+import java.util.Random; // import Random สำหรับสร้างฉากสุ่ม
+
+/**
+ * JVM check of {@link Frustum} on synthetic scenes (see the {@code checkCulling} Gradle task, part
+ * of {@code check}).
+ *
+ * <p>Each scene scatters 5000 randomly oriented plane polygons around a camera
+ * looking in a random direction. For every plane it verifies that:
+ *
+ * <ul>
+ *   <li>{@link Frustum#polygonBounds} and {@link Frustum#transformBounds} enclose the polygon
+ *       exactly as transforming its points does;
+ *   <li>a culled plane has no point inside the clip volume (no visible plane is ever culled).
+ * </ul>
+ *
+ * and the same for bounding spheres, plus that {@link Frustum#projectedSizePixels} never
+ * underestimates a sphere straight ahead. It prints the culled fraction and the cost per plane.
+ * Exits with status 1 on the first failure.
+ */ // คำอธิบายคลาส: ตรวจการตัด plane และทรงกลมด้วย frustum บนฉากสุ่มหลายพัน plane
+public final class CullingCheck { // ประกาศคลาส CullingCheck
+    private static final int SCENES = 20; // จำนวนฉาก
+    private static final int PLANE_COUNT = 5000; // จำนวน plane ต่อฉาก
+    private static final int POLYGON_POINTS = 8; // จำนวนจุดของ polygon
+    private static final float SCENE_RADIUS = 30f; // รัศมีของฉาก (เมตร)
+    private static final int VIEWPORT_HEIGHT = 2400; // ความสูงของจอ (pixel)
+    private static final float INSIDE_MARGIN = 1e-3f; // ระยะที่ถือว่าอยู่ในแน่นอน (clip space)
+
+    public static void main(String[] args) { // จุดเริ่มต้นของโปรแกรม
+        if (args.length != 0) { // ไม่รับ argument
+            System.err.println("Usage: CullingCheck"); // แสดงวิธีใช้
+            System.exit(2); // ออกจากโปรแกรม
+        }
+        Random random = new Random(42); // seed คงที่ให้ผลซ้ำได้
+        long culled = 0, total = 0; // สถิติ
+        long[] times = new long[SCENES]; // เวลาทดสอบต่อฉาก
+        try {
+            for (int scene = 0; scene < SCENES; ++scene) {
+                float[] forward = randomDirection(random); // ทิศที่กล้องมอง
+                float[] view = lookAt(forward); // กล้องที่จุดกำเนิด มองทิศสุ่ม
+                float[] projection = perspective(60f + random.nextFloat() * 30f, 0.4f + random.nextFloat() * 0.6f, 0.1f, 100f);
+                float[] viewProjection = new float[16];
+                Frustum.multiply(projection, view, viewProjection);
+                Frustum frustum = new Frustum();
+                frustum.update(view, projection, VIEWPORT_HEIGHT);
+
+                float[][] models = new float[PLANE_COUNT][];
+                FloatBuffer[] polygons = new FloatBuffer[PLANE_COUNT];
+                for (int i = 0; i < PLANE_COUNT; ++i) { // สร้าง plane สุ่ม
+                    models[i] = randomPose(random);
+                    polygons[i] = randomPolygon(random);
+                }
+                float[] bounds = new float[6];
+                boolean[] visible = new boolean[PLANE_COUNT];
+                long start = System.nanoTime(); // วัดเวลาเฉพาะขั้นตอน culling
+                for (int i = 0; i < PLANE_COUNT; ++i) {
+                    Frustum.polygonBounds(polygons[i], bounds);
+                    visible[i] = frustum.intersectsBox(bounds, models[i]);
+                }
+                times[scene] = System.nanoTime() - start;
+
+                for (int i = 0; i < PLANE_COUNT; ++i) { // เทียบกับการคำนวณแบบตรง
+                    checkPlane(frustum, viewProjection, models[i], polygons[i], visible[i]);
+                    if (!visible[i]) ++culled;
+                    ++total;
+                }
+                checkSpheres(random, frustum, viewProjection);
+                checkProjectedSize(random, frustum, projection, forward);
+            }
+        } catch (IllegalStateException e) { // ตรวจไม่ผ่าน
+            System.err.println("FAILED: " + e.getMessage()); // แสดงสาเหตุ
+            System.exit(1); // ออกจากโปรแกรม
+        }
+        Arrays.sort(times);
+        System.out.printf("%d planes in %d scenes: %.1f%% culled, %.1f ns per plane (median scene)%n",
+                total, SCENES, 100.0 * culled / total, (double) times[SCENES / 2] / PLANE_COUNT); // แสดงผล
+        System.out.println("Culling never removed a visible plane or sphere."); // ผ่านทุกข้อ
+    }
+
+    private static void checkPlane(Frustum frustum, float[] viewProjection, float[] model, FloatBuffer polygon, boolean visible) { // เมธอดตรวจ plane หนึ่งแผ่น
+        float[] bounds = new float[6];
+        Frustum.polygonBounds(polygon, bounds);
+        float[] world = new float[6];
+        Frustum.transformBounds(bounds, model, world);
+        float[] expected = {Float.MAX_VALUE, Float.MAX_VALUE, Float.MAX_VALUE, -Float.MAX_VALUE, -Float.MAX_VALUE, -Float.MAX_VALUE};
+        float[] point = new float[3];
+        for (int corner = 0; corner < 8; ++corner) { // bounds ที่แท้จริงจากมุมทั้งแปดของกล่อง
+            transformPoint(model, bounds[(corner & 1) * 3], bounds[((corner >> 1) & 1) * 3 + 1], bounds[((corner >> 2) & 1) * 3 + 2], point);
+            for (int c = 0; c < 3; ++c) {
+                expected[c] = Math.min(expected[c], point[c]);
+                expected[c + 3] = Math.max(expected[c + 3], point[c]);
+            }
+        }
+        for (int c = 0; c < 6; ++c) {
+            expect(Math.abs(world[c] - expected[c]) <= 1e-4f * (1f + Math.abs(expected[c])), "transformBounds differs from transforming the corners");
+        }
+
+        // Sample the polygon fan (every vertex and points inside each triangle).
+        int count = polygon.limit() / 2;
+        for (int t = 1; t + 1 < count; ++t) {
+            for (int s = 0; s <= 4; ++s) {
+                for (int u = 0; u + s <= 4; ++u) {
+                    float a = s / 4f, b = u / 4f;
+                    float x = polygon.get(0) * (1 - a - b) + polygon.get(t * 2) * a + polygon.get(t * 2 + 2) * b;
+                    float z = polygon.get(1) * (1 - a - b) + polygon.get(t * 2 + 1) * a + polygon.get(t * 2 + 3) * b;
+                    transformPoint(model, x, 0f, z, point);
+                    float inside = clipInside(viewProjection, point[0], point[1], point[2]);
+                    if (!visible) {
+                        expect(inside < 0f, "a culled plane has a point inside the frustum");
+                    } else if (inside > INSIDE_MARGIN) {
+                        return; // มองเห็นจริง
+                    }
+                }
+            }
+        }
+    }
+
+    private static void checkSpheres(Random random, Frustum frustum, float[] viewProjection) { // เมธอดตรวจทรงกลม
+        for (int i = 0; i < PLANE_COUNT; ++i) {
+            float x = (random.nextFloat() * 2 - 1) * SCENE_RADIUS, y = (random.nextFloat() * 2 - 1) * SCENE_RADIUS, z = (random.nextFloat() * 2 - 1) * SCENE_RADIUS;
+            float radius = random.nextFloat() * 3f;
+            boolean visible = frustum.intersectsSphere(x, y, z, radius);
+            float[] direction = new float[3];
+            for (int s = 0; s < 64; ++s) { // จุดบนและในทรงกลม
+                float[] d = s == 0 ? new float[3] : randomDirection(random);
+                float scale = s == 0 ? 0f : radius * (s % 2 == 0 ? 1f : random.nextFloat());
+                direction[0] = x + d[0] * scale; direction[1] = y + d[1] * scale; direction[2] = z + d[2] * scale;
+                float inside = clipInside(viewProjection, direction[0], direction[1], direction[2]);
+                expect(visible || inside < 0f, "a culled sphere has a point inside the frustum");
+            }
+            if (clipInside(viewProjection, x, y, z) > INSIDE_MARGIN) {
+                expect(visible, "a sphere whose center is inside the frustum was culled");
+            }
+        }
+    }
+
+    private static void checkProjectedSize(Random random, Frustum frustum, float[] projection, float[] forward) { // เมธอดตรวจขนาดบนจอ
+        // The camera is at the origin, so points along its view direction are straight ahead.
+        for (int i = 0; i < 100; ++i) {
+            float depth = 0.5f + random.nextFloat() * 50f, radius = random.nextFloat() * depth * 0.9f;
+            float size = frustum.projectedSizePixels(forward[0] * depth, forward[1] * depth, forward[2] * depth, radius);
+            double exact = projection[5] * VIEWPORT_HEIGHT * radius / Math.sqrt((double) depth * depth - (double) radius * radius); // เส้นผ่านศูนย์กลางของภาพทรงกลมบนแกนกล้อง
+            expect(size >= exact * (1 - 1e-4), "projectedSizePixels underestimates a sphere ahead: " + size + " < " + exact);
+        }
+    }
+
+    /** Smallest distance, in clip units, by which the point is inside the clip volume (negative if outside). */
+    private static float clipInside(float[] m, float x, float y, float z) { // เมธอดวัดว่าจุดอยู่ใน clip volume หรือไม่
+        float[] clip = new float[4];
+        for (int row = 0; row < 4; ++row) {
+            clip[row] = m[row] * x + m[4 + row] * y + m[8 + row] * z + m[12 + row];
+        }
+        float w = clip[3];
+        float inside = Float.MAX_VALUE;
+        for (int c = 0; c < 3; ++c) {
+            inside = Math.min(inside, Math.min(w - clip[c], w + clip[c]));
+        }
+        return inside;
+    }
+
+    private static void transformPoint(float[] m, float x, float y, float z, float[] out) { // เมธอดแปลงจุดด้วย matrix
+        for (int row = 0; row < 3; ++row) {
+            out[row] = m[row] * x + m[4 + row] * y + m[8 + row] * z + m[12 + row];
+        }
+    }
+
+    private static FloatBuffer randomPolygon(Random random) { // เมธอดสร้าง polygon นูนแบบสุ่ม (เหมือน plane ของ ARCore)
+        FloatBuffer polygon = FloatBuffer.allocate(POLYGON_POINTS * 2);
+        float extentX = 0.2f + random.nextFloat() * 3f, extentZ = 0.2f + random.nextFloat() * 3f;
+        for (int i = 0; i < POLYGON_POINTS; ++i) {
+            double angle = 2 * Math.PI * i / POLYGON_POINTS;
+            polygon.put((float) Math.cos(angle) * extentX).put((float) Math.sin(angle) * extentZ);
+        }
+        polygon.flip();
+        return polygon;
+    }
+
+    private static float[] randomPose(Random random) { // เมธอดสร้าง pose สุ่ม (หมุน + เลื่อน)
+        float[] q = {random.nextFloat() * 2 - 1, random.nextFloat() * 2 - 1, random.nextFloat() * 2 - 1, random.nextFloat() * 2 - 1};
+        float length = (float) Math.sqrt(q[0] * q[0] + q[1] * q[1] + q[2] * q[2] + q[3] * q[3]);
+        float x = q[0] / length, y = q[1] / length, z = q[2] / length, w = q[3] / length;
+        return new float[] {
+            1 - 2 * (y * y + z * z), 2 * (x * y + w * z), 2 * (x * z - w * y), 0,
+            2 * (x * y - w * z), 1 - 2 * (x * x + z * z), 2 * (y * z + w * x), 0,
+            2 * (x * z + w * y), 2 * (y * z - w * x), 1 - 2 * (x * x + y * y), 0,
+            (random.nextFloat() * 2 - 1) * SCENE_RADIUS, (random.nextFloat() * 2 - 1) * SCENE_RADIUS, (random.nextFloat() * 2 - 1) * SCENE_RADIUS, 1
+        }; // matrix แบบ column-major
+    }
+
+    private static float[] randomDirection(Random random) { // เมธอดสุ่มเวกเตอร์หนึ่งหน่วย
+        while (true) {
+            float x = random.nextFloat() * 2 - 1, y = random.nextFloat() * 2 - 1, z = random.nextFloat() * 2 - 1;
+            float length = (float) Math.sqrt(x * x + y * y + z * z);
+            if (length > 0.1f && length <= 1f) {
+                return new float[] {x / length, y / length, z / length};
+            }
+        }
+    }
+
+    private static float[] lookAt(float[] forward) { // เมธอดสร้าง view matrix ของกล้องที่จุดกำเนิด
+        float[] up = Math.abs(forward[1]) > 0.9f ? new float[] {1, 0, 0} : new float[] {0, 1, 0};
+        float[] side = normalize(cross(forward, up));
+        float[] trueUp = cross(side, forward);
+        return new float[] {
+            side[0], trueUp[0], -forward[0], 0,
+            side[1], trueUp[1], -forward[1], 0,
+            side[2], trueUp[2], -forward[2], 0,
+            0, 0, 0, 1
+        }; // กล้องมองไปทาง -z ของ view space
+    }
+
+    private static float[] perspective(float fovYDegrees, float aspect, float near, float far) { // เมธอดสร้าง projection matrix
+        float f = (float) (1.0 / Math.tan(Math.toRadians(fovYDegrees) / 2));
+        float[] m = new float[16];
+        m[0] = f / aspect;
+        m[5] = f;
+        m[10] = (far + near) / (near - far);
+        m[11] = -1f;
+        m[14] = 2f * far * near / (near - far);
+        return m;
+    }
+
+    private static float[] cross(float[] a, float[] b) { // เมธอด cross product
+        return new float[] {a[1] * b[2] - a[2] * b[1], a[2] * b[0] - a[0] * b[2], a[0] * b[1] - a[1] * b[0]};
+    }
+
+    private static float[] normalize(float[] v) { // เมธอดทำให้เวกเตอร์ยาว 1
+        float length = (float) Math.sqrt(v[0] * v[0] + v[1] * v[1] + v[2] * v[2]);
+        return new float[] {v[0] / length, v[1] / length, v[2] / length};
+    }
+
+    private static void expect(boolean condition, String message) { // เมธอดตรวจเงื่อนไข
+        if (!condition) {
+            throw new IllegalStateException(message); // ขว้าง exception
+        }
+    }
+
+    private CullingCheck() {} // constructor private เพื่อไม่ให้สร้าง instance
+}
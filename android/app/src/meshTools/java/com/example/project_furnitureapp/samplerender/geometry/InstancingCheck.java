@@ -0,0 +1,174 @@
+package com.example.project_furnitureapp.samplerender.geometry; // ประกาศ package ของไฟล์นี้
+
+import java.io.File; // import File สำหรับจัดการไฟล์
+import java.io.IOException; // import IOException สำหรับจัดการ exception
+import java.nio.FloatBuffer; // import FloatBuffer สำหรับอ่านข้อมูลที่ pack แล้ว
+import java.util.List; // import List สำหรับรายการ batch
+
+/**
+ * JVM check of {@link InstanceBatcher} (see the {@code checkInstancing} Gradle task, part of
+ * {@code check}).
+ *
+ * <p>It places {@code i + 1} copies of the {@code i}-th model of a directory, as if customers
+ * arranged several identical chairs, and verifies that:
+ *
+ * <ul>
+ *   <li>the frame needs exactly one draw call per distinct model, whatever the number of copies;
+ *   <li>every instance is packed as its 16 column-major floats, in the order it was added, also
+ *       after a batch grows past its initial capacity;
+ *   <li>a second frame reuses the batches and their buffers;
+ *   <li>against a fake vertex array, an instanced draw points the four instance locations at the
+ *       matrix columns with a divisor of 1, and leaves them disabled with a divisor of 0 afterwards,
+ *       so a non-instanced draw of the same mesh reads only the vertex attributes.
+ * </ul>
+ *
+ * Exits with status 1 on the first failure.
+ */ // คำอธิบายคลาส: ตรวจการ pack model matrix และจำนวน draw call ของ instanced rendering
+public final class InstancingCheck { // ประกาศคลาส InstancingCheck
+    private static final int VERTEX_LOCATIONS = 3; // location ของ vertex (position, uv, normal) ที่ Mesh เปิดไว้
+
+    /** Fake vertex array: the attribute state GL keeps per vertex array object. */
+    private static final class FakeVertexArray implements InstanceBatcher.Binding { // vertex array จำลอง
+        static final int MAX_ATTRIBS = 16; // GL_MAX_VERTEX_ATTRIBS ขั้นต่ำของ GLES 3.0
+        final boolean[] enabled = new boolean[MAX_ATTRIBS]; // attribute ที่เปิดอยู่
+        final int[] divisor = new int[MAX_ATTRIBS]; // divisor ของแต่ละ location
+        final int[] stride = new int[MAX_ATTRIBS]; // stride ของ pointer (0 = ยังไม่ตั้ง)
+        final int[] offset = new int[MAX_ATTRIBS]; // offset ของ pointer
+
+        FakeVertexArray() { // vertex array ของ mesh หลังสร้าง
+            for (int location = 0; location < VERTEX_LOCATIONS; ++location) {
+                enabled[location] = true;
+                stride[location] = 32;
+            }
+        }
+
+        @Override
+        public void vertexAttribPointer(int location, int stride, int offset) { // ตั้ง pointer
+            this.stride[location] = stride;
+            this.offset[location] = offset;
+        }
+
+        @Override
+        public void enableVertexAttribArray(int location) { // เปิด attribute
+            expect(stride[location] != 0, "location " + location + " was enabled before its pointer was set");
+            enabled[location] = true;
+        }
+
+        @Override
+        public void disableVertexAttribArray(int location) { enabled[location] = false; } // ปิด attribute
+
+        @Override
+        public void vertexAttribDivisor(int location, int divisor) { this.divisor[location] = divisor; } // ตั้ง divisor
+    }
+
+    public static void main(String[] args) throws IOException { // จุดเริ่มต้นของโปรแกรม
+        if (args.length != 1) { // ถ้า argument ไม่ครบ
+            System.err.println("Usage: InstancingCheck <dir with .obj files>"); // แสดงวิธีใช้
+            System.exit(2); // ออกจากโปรแกรม
+        }
+        List<File> models = MeshConverter.listObjFiles(new File(args[0])); // model ที่จะวาง
+        try {
+            InstanceBatcher<String> batcher = new InstanceBatcher<>(); // ตัวจัดกลุ่ม
+            int objects = placeScene(batcher, models); // เฟรมแรก
+            checkFrame(batcher, models, objects);
+            FloatBuffer firstBuffer = batcher.getBatches().get(0).getMatrices(); // buffer ของ batch แรก
+
+            batcher.clear(); // เฟรมที่สอง
+            expect(batcher.getBatches().isEmpty(), "clear() left batches to draw");
+            placeScene(batcher, models);
+            checkFrame(batcher, models, objects);
+            expect(batcher.getBatches().get(0).getMatrices() == firstBuffer, "the second frame reallocated a buffer that was large enough");
+            System.out.printf("%d objects of %d models: %d draw calls instead of %d%n", objects, models.size(), batcher.getBatches().size(), objects); // แสดงผล
+
+            FakeVertexArray vertexArray = new FakeVertexArray(); // vertex array ของ mesh ที่วาดทั้งสองแบบ
+            for (int frame = 0; frame < 2; ++frame) { // สลับวาดแบบ instance และแบบปกติ
+                InstanceBatcher.enableInstanceAttributes(vertexArray);
+                checkInstancedDraw(vertexArray);
+                InstanceBatcher.disableInstanceAttributes(vertexArray);
+                checkPlainDraw(vertexArray);
+            }
+        } catch (IllegalStateException e) { // ตรวจไม่ผ่าน
+            System.err.println("FAILED: " + e.getMessage()); // แสดงสาเหตุ
+            System.exit(1); // ออกจากโปรแกรม
+        }
+        System.out.println("Instances are packed correctly and batched into one draw call per model."); // ผ่านทุกข้อ
+    }
+
+    /** Adds {@code i + 1} copies of model {@code i}, interleaving the models; returns the object count. */
+    private static int placeScene(InstanceBatcher<String> batcher, List<File> models) { // เมธอดวาง object ในฉาก
+        int objects = 0; // จำนวน object
+        for (int copy = 0; copy < models.size(); ++copy) { // วางทีละรอบ สลับ model กัน
+            for (int model = copy; model < models.size(); ++model) {
+                batcher.add(models.get(model).getName(), modelMatrix(model, copy)); // เพิ่ม instance
+                ++objects;
+            }
+        }
+        return objects; // คืนค่าจำนวน object
+    }
+
+    private static void checkFrame(InstanceBatcher<String> batcher, List<File> models, int objects) { // เมธอดตรวจผลของเฟรม
+        List<InstanceBatcher.Batch<String>> batches = batcher.getBatches(); // batch ที่ต้องวาด
+        expect(batches.size() == models.size(), batches.size() + " draw calls for " + models.size() + " models");
+        int instances = 0; // จำนวน instance รวม
+        for (int model = 0; model < models.size(); ++model) {
+            InstanceBatcher.Batch<String> batch = batches.get(model);
+            expect(batch.getKey().equals(models.get(model).getName()), "batch " + model + " is out of order");
+            expect(batch.getInstanceCount() == model + 1, batch.getKey() + ": " + batch.getInstanceCount() + " instances, expected " + (model + 1));
+            FloatBuffer matrices = batch.getMatrices();
+            expect(matrices.position() == 0 && matrices.limit() == batch.getInstanceCount() * InstanceBatcher.FLOATS_PER_INSTANCE,
+                    batch.getKey() + ": packed buffer has the wrong range");
+            for (int copy = 0; copy <= model; ++copy) { // ตรวจทุก instance
+                float[] expected = modelMatrix(model, copy);
+                for (int i = 0; i < InstanceBatcher.FLOATS_PER_INSTANCE; ++i) {
+                    expect(matrices.get(copy * InstanceBatcher.FLOATS_PER_INSTANCE + i) == expected[i],
+                            batch.getKey() + ": instance " + copy + " float " + i + " is wrong");
+                }
+            }
+            instances += batch.getInstanceCount();
+        }
+        expect(instances == objects, instances + " instances packed for " + objects + " objects");
+    }
+
+    /** During an instanced draw: one matrix column per instance location, advancing per instance. */
+    private static void checkInstancedDraw(FakeVertexArray vertexArray) { // เมธอดตรวจ state ระหว่างวาดแบบ instance
+        for (int column = 0; column < InstanceBatcher.LOCATIONS_PER_INSTANCE; ++column) {
+            int location = InstanceBatcher.FIRST_LOCATION + column;
+            expect(vertexArray.enabled[location] && vertexArray.divisor[location] == 1, "instance location " + location + " is not enabled per instance");
+            expect(vertexArray.stride[location] == InstanceBatcher.BYTES_PER_INSTANCE && vertexArray.offset[location] == column * 4 * Float.BYTES,
+                    "instance location " + location + " does not point at column " + column);
+        }
+        for (int location = 0; location < VERTEX_LOCATIONS; ++location) {
+            expect(vertexArray.enabled[location] && vertexArray.divisor[location] == 0, "vertex location " + location + " was changed");
+        }
+    }
+
+    /** After an instanced draw, a plain draw reads the vertex attributes only, each per vertex. */
+    private static void checkPlainDraw(FakeVertexArray vertexArray) { // เมธอดตรวจ state ของการวาดแบบปกติ
+        for (int location = 0; location < FakeVertexArray.MAX_ATTRIBS; ++location) {
+            expect(vertexArray.enabled[location] == location < VERTEX_LOCATIONS, "location " + location + " is " + (vertexArray.enabled[location] ? "still enabled" : "disabled"));
+            expect(vertexArray.divisor[location] == 0, "location " + location + " kept divisor " + vertexArray.divisor[location]);
+        }
+    }
+
+    /** A column-major transform with a unique scale and translation per model and copy. */
+    private static float[] modelMatrix(int model, int copy) { // เมธอดสร้าง model matrix สำหรับทดสอบ
+        float[] m = new float[16];
+        float scale = 1f + model * 0.5f; // scale ต่อ model
+        m[0] = scale;
+        m[5] = scale;
+        m[10] = scale;
+        m[12] = copy * 0.75f; // translation อยู่ในคอลัมน์ที่ 4
+        m[13] = model;
+        m[14] = -copy;
+        m[15] = 1f;
+        return m;
+    }
+
+    private static void expect(boolean condition, String message) { // เมธอดตรวจเงื่อนไข
+        if (!condition) {
+            throw new IllegalStateException(message); // ขว้าง exception
+        }
+    }
+
+    private InstancingCheck() {} // constructor private เพื่อไม่ให้สร้าง instance
+}
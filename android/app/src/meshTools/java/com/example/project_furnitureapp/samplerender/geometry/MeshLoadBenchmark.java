@@ -0,0 +1,74 @@
+package com.example.project_furnitureapp.samplerender.geometry; // ประกาศ package ของไฟล์นี้
+
+import java.io.ByteArrayInputStream; // import ByteArrayInputStream สำหรับอ่าน OBJ จากหน่วยความจำ
+import java.io.File; // import File สำหรับจัดการไฟล์
+import java.io.IOException; // import IOException สำหรับจัดการ exception
+import java.io.RandomAccessFile; // import RandomAccessFile สำหรับ map ไฟล์
+import java.nio.MappedByteBuffer; // import MappedByteBuffer สำหรับไฟล์ที่ map แล้ว
+import java.nio.channels.FileChannel; // import FileChannel สำหรับ map ไฟล์
+import java.nio.file.Files; // import Files สำหรับอ่านไฟล์ทั้งไฟล์
+import java.util.Arrays; // import Arrays สำหรับเรียงลำดับเวลา
+
+/**
+ * JVM benchmark comparing OBJ parsing against memory-mapped {@link BinaryMeshFormat} loading for
+ * every model in a directory (see the {@code benchmarkMeshLoad} Gradle task).
+ *
+ * <p>The OBJ path includes the copy into direct buffers that a GPU upload needs; the binary path
+ * is the map plus header validation, whose views are handed to the GPU as they are.
+ */ // คำอธิบายคลาส: benchmark เทียบเวลาโหลด OBJ กับไฟล์ binary
+public final class MeshLoadBenchmark { // ประกาศคลาส MeshLoadBenchmark
+    private static final int WARMUP_ITERATIONS = 5; // จำนวนรอบ warm-up
+    private static final int MEASURED_ITERATIONS = 20; // จำนวนรอบที่วัดผล
+
+    public static void main(String[] args) throws IOException { // จุดเริ่มต้นของโปรแกรม
+        if (args.length != 1) { // ถ้า argument ไม่ครบ
+            System.err.println("Usage: MeshLoadBenchmark <dir with .obj files>"); // แสดงวิธีใช้
+            System.exit(2); // ออกจากโปรแกรม
+        }
+        File tempDir = Files.createTempDirectory("fmesh").toFile(); // โฟลเดอร์ชั่วคราวสำหรับไฟล์ .fmesh
+        System.out.printf("%-14s %10s %10s %8s%n", "model", "obj ms", "fmesh ms", "speedup"); // หัวตาราง
+        double totalObj = 0; // เวลารวมของ OBJ
+        double totalBinary = 0; // เวลารวมของ binary
+        for (File objFile : MeshConverter.listObjFiles(new File(args[0]))) { // วนลูปทุกไฟล์ .obj
+            File binaryFile = new File(tempDir, MeshConverter.binaryFileName(objFile.getName())); // ไฟล์ .fmesh ชั่วคราว
+            MeshConverter.convert(objFile, binaryFile); // แปลงไฟล์ก่อนวัดผล
+            byte[] objBytes = Files.readAllBytes(objFile.toPath()); // อ่าน OBJ เข้าหน่วยความจำ (ไม่นับเวลา I/O)
+
+            double objMs = medianMillis(() -> { // วัดเวลา parse OBJ
+                MeshData mesh = ObjParser.read(new ByteArrayInputStream(objBytes)); // parse OBJ
+                mesh.createInterleavedBuffer(); // คัดลอก vertex ลง direct buffer แบบ interleave
+                mesh.createIndexBuffer(); // คัดลอก index ลง direct buffer
+            });
+            double binaryMs = medianMillis(() -> { // วัดเวลาโหลดไฟล์ binary
+                try (RandomAccessFile file = new RandomAccessFile(binaryFile, "r")) { // เปิดไฟล์
+                    MappedByteBuffer mapped = file.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, file.length()); // map ไฟล์
+                    BinaryMeshFormat.read(mapped); // อ่าน header และสร้าง view
+                }
+            });
+            totalObj += objMs; // รวมเวลา OBJ
+            totalBinary += binaryMs; // รวมเวลา binary
+            System.out.printf("%-14s %10.3f %10.3f %7.1fx%n", objFile.getName(), objMs, binaryMs, objMs / binaryMs); // แสดงผล
+            binaryFile.delete(); // ลบไฟล์ชั่วคราว
+        }
+        System.out.printf("%-14s %10.3f %10.3f %7.1fx%n", "total", totalObj, totalBinary, totalObj / totalBinary); // แสดงผลรวม
+        tempDir.delete(); // ลบโฟลเดอร์ชั่วคราว
+    }
+
+    private interface Task { void run() throws IOException; } // interface สำหรับงานที่จะวัดเวลา
+
+    private static double medianMillis(Task task) throws IOException { // เมธอดวัดเวลา (median)
+        for (int i = 0; i < WARMUP_ITERATIONS; ++i) { // warm-up ให้ JIT ทำงาน
+            task.run();
+        }
+        long[] samples = new long[MEASURED_ITERATIONS]; // เก็บเวลาแต่ละรอบ
+        for (int i = 0; i < MEASURED_ITERATIONS; ++i) { // วัดเวลาแต่ละรอบ
+            long start = System.nanoTime(); // เวลาเริ่ม
+            task.run(); // ทำงาน
+            samples[i] = System.nanoTime() - start; // เวลาที่ใช้
+        }
+        Arrays.sort(samples); // เรียงเวลา
+        return samples[MEASURED_ITERATIONS / 2] / 1e6; // คืนค่า median (ms)
+    }
+
+    private MeshLoadBenchmark() {} // constructor private เพื่อไม่ให้สร้าง instance
+}
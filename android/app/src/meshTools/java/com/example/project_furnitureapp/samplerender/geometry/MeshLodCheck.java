@@ -0,0 +1,101 @@
+package com.example.project_furnitureapp.samplerender.geometry; // ประกาศ package ของไฟล์นี้
+
+import java.io.File; // import File สำหรับจัดการไฟล์
+import java.io.IOException; // import IOException สำหรับจัดการ exception
+import java.nio.ByteBuffer; // import ByteBuffer สำหรับทดสอบการเข้ารหัส
+
+/**
+ * JVM check of the levels of detail that {@link MeshConverter} generates, run on every model in a
+ * directory (see the {@code checkMeshLods} Gradle task, part of {@code check}).
+ *
+ * <p>For each level below the full mesh it verifies that:
+ *
+ * <ul>
+ *   <li>it has at most {@link MeshSimplifier#MIN_REDUCTION} of the previous level's triangles, and
+ *       meets its {@link MeshSimplifier#LOD_TRIANGLE_RATIOS} budget unless simplifying to the
+ *       budget without an error limit ends above the level's error limit;
+ *   <li>its recorded error is within {@link MeshSimplifier#LOD_MAX_ERRORS} of the bounds diagonal
+ *       and is not smaller than the deviation measured by {@link MeshSimplifier#surfaceDeviation};
+ *   <li>it has no degenerate triangles and references only existing vertices;
+ *   <li>it survives {@link VertexCacheOptimizer} and a {@link BinaryMeshFormat} round trip.
+ * </ul>
+ *
+ * Exits with status 1 on the first failure.
+ */ // คำอธิบายคลาส: ตรวจงบจำนวนสามเหลี่ยมและค่าคลาดเคลื่อนของ LOD
+public final class MeshLodCheck { // ประกาศคลาส MeshLodCheck
+
+    public static void main(String[] args) throws IOException { // จุดเริ่มต้นของโปรแกรม
+        if (args.length != 1) { // ถ้า argument ไม่ครบ
+            System.err.println("Usage: MeshLodCheck <dir with .obj files>"); // แสดงวิธีใช้
+            System.exit(2); // ออกจากโปรแกรม
+        }
+        System.out.printf("%-14s %5s %9s %9s %10s %10s %10s%n", "model", "level", "triangles", "budget", "error", "measured", "limit"); // หัวตาราง
+        try {
+            for (File objFile : MeshConverter.listObjFiles(new File(args[0]))) { // วนลูปทุกไฟล์ .obj
+                check(objFile.getName(), MeshConverter.readObj(objFile));
+            }
+        } catch (IllegalStateException e) { // ตรวจไม่ผ่าน
+            System.err.println("FAILED: " + e.getMessage()); // แสดงสาเหตุ
+            System.exit(1); // ออกจากโปรแกรม
+        }
+        System.out.println("All levels of detail are within their budgets and error bounds."); // ผ่านทุกข้อ
+    }
+
+    private static void check(String name, MeshData imported) throws IOException { // เมธอดตรวจ mesh หนึ่งไฟล์
+        MeshData mesh = MeshSimplifier.generateLods(imported); // สร้าง LOD
+        float[] bounds = imported.computeBounds(); // bounds ของ mesh
+        float dx = bounds[3] - bounds[0], dy = bounds[4] - bounds[1], dz = bounds[5] - bounds[2];
+        float diagonal = (float) Math.sqrt(dx * dx + dy * dy + dz * dz); // เส้นทแยงของ bounds
+        int fullTriangles = mesh.lods[0].indexCount / 3; // จำนวนสามเหลี่ยมของระดับละเอียดสุด
+        expect(fullTriangles == imported.getIndexCount() / 3, name + ": level 0 is not the imported mesh");
+        expect(mesh.lods.length <= MeshSimplifier.LOD_TRIANGLE_RATIOS.length + 1, name + ": too many levels");
+
+        for (int level = 1; level < mesh.lods.length; ++level) { // ตรวจทุกระดับที่ลดแล้ว
+            MeshData.Lod lod = mesh.lods[level];
+            int[] indices = mesh.getLodIndices(level);
+            int triangles = lod.indexCount / 3;
+            int budget = (int) (fullTriangles * MeshSimplifier.LOD_TRIANGLE_RATIOS[level - 1]); // งบจำนวนสามเหลี่ยม
+            float limit = MeshSimplifier.LOD_MAX_ERRORS[level - 1] * diagonal; // ค่าคลาดเคลื่อนสูงสุดที่ยอมได้
+            float measured = MeshSimplifier.surfaceDeviation(imported, indices); // ระยะคลาดเคลื่อนที่วัดได้
+            System.out.printf("%-14s %5d %9d %9d %10.4g %10.4g %10.4g%n", name, level, triangles, budget, lod.error, measured, limit); // แสดงผล
+
+            expect(triangles <= mesh.lods[level - 1].indexCount / 3 * MeshSimplifier.MIN_REDUCTION,
+                    name + ": level " + level + " does not reduce the previous level enough");
+            expect(triangles <= budget || MeshSimplifier.simplify(imported, budget * 3, Float.MAX_VALUE).error > limit,
+                    name + ": level " + level + " misses its budget although the budget is reachable within the error limit");
+            expect(lod.error <= limit, name + ": level " + level + " error " + lod.error + " exceeds " + limit);
+            expect(measured <= lod.error, name + ": level " + level + " deviates " + measured + " but records " + lod.error);
+            for (int i = 0; i < indices.length; i += 3) { // ตรวจ index ของทุกสามเหลี่ยม
+                for (int c = 0; c < 3; ++c) {
+                    expect(indices[i + c] >= 0 && indices[i + c] < mesh.getVertexCount(), name + ": index out of range");
+                }
+                expect(!samePosition(mesh, indices[i], indices[i + 1]) && !samePosition(mesh, indices[i + 1], indices[i + 2])
+                        && !samePosition(mesh, indices[i], indices[i + 2]), name + ": degenerate triangle in level " + level);
+            }
+        }
+
+        MeshData optimized = VertexCacheOptimizer.optimize(mesh); // จัดลำดับแบบเดียวกับ converter
+        ByteBuffer encoded = BinaryMeshFormat.encode(optimized); // เข้ารหัส
+        MeshData decoded = BinaryMeshFormat.toMeshData(BinaryMeshFormat.read(encoded)); // อ่านกลับ
+        expect(decoded.lods.length == mesh.lods.length, name + ": level count changed in the binary round trip");
+        for (int level = 0; level < mesh.lods.length; ++level) {
+            expect(decoded.lods[level].indexCount == mesh.lods[level].indexCount
+                    && decoded.lods[level].error == mesh.lods[level].error, name + ": level " + level + " changed in the binary round trip");
+        }
+    }
+
+    private static boolean samePosition(MeshData mesh, int a, int b) { // เช็คว่า vertex สองตัวอยู่ตำแหน่งเดียวกันหรือไม่
+        for (int c = 0; c < 3; ++c) {
+            if (mesh.positions[a * 3 + c] != mesh.positions[b * 3 + c]) return false;
+        }
+        return true;
+    }
+
+    private static void expect(boolean condition, String message) { // เมธอดตรวจเงื่อนไข
+        if (!condition) {
+            throw new IllegalStateException(message); // ขว้าง exception
+        }
+    }
+
+    private MeshLodCheck() {} // constructor private เพื่อไม่ให้สร้าง instance
+}
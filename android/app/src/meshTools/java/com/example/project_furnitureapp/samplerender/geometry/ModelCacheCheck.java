@@ -0,0 +1,187 @@
+package com.example.project_furnitureapp.samplerender.geometry; // ประกาศ package ของไฟล์นี้
+
+import com.sun.net.httpserver.HttpServer; // import HttpServer สำหรับ server จำลองในเครื่อง
+import java.io.File; // import File สำหรับจัดการไฟล์
+import java.io.IOException; // import IOException สำหรับจัดการ exception
+import java.io.OutputStream; // import OutputStream สำหรับส่งข้อมูลกลับ
+import java.net.InetSocketAddress; // import InetSocketAddress สำหรับผูก port
+import java.nio.file.Files; // import Files สำหรับอ่านไฟล์และสร้างโฟลเดอร์ชั่วคราว
+import java.util.ArrayList; // import ArrayList สำหรับรายการ future
+import java.util.Arrays; // import Arrays สำหรับเทียบเนื้อหาไฟล์
+import java.util.HashMap; // import HashMap สำหรับเนื้อหาตาม path
+import java.util.List; // import List สำหรับรายการไฟล์
+import java.util.Map; // import Map สำหรับเนื้อหาตาม path
+import java.util.concurrent.CompletableFuture; // import CompletableFuture สำหรับผลลัพธ์แบบ async
+import java.util.concurrent.CompletionException; // import CompletionException สำหรับงานที่ล้มเหลว
+import java.util.concurrent.CountDownLatch; // import CountDownLatch สำหรับเริ่มทุก thread พร้อมกัน
+import java.util.concurrent.ExecutorService; // import ExecutorService สำหรับ thread ที่ดาวน์โหลด
+import java.util.concurrent.Executors; // import Executors สำหรับสร้าง thread pool
+import java.util.concurrent.atomic.AtomicInteger; // import AtomicInteger สำหรับนับ request
+
+/**
+ * JVM check of {@link ModelCache} against a local HTTP server that serves the models of a
+ * directory (see the {@code checkModelCache} Gradle task, part of {@code check}). It verifies that:
+ *
+ * <ul>
+ *   <li>concurrent requests for one URL share a single download;
+ *   <li>the second request is a hit that downloads nothing, and its mapped file parses;
+ *   <li>two URLs serving the same bytes share one processed file;
+ *   <li>a small budget evicts the least recently used model and keeps the cache under it;
+ *   <li>a reopened cache still hits, and a failed download is not cached;
+ *   <li>a cache that stores downloads unchanged, as the product pages' glb cache does, hits with
+ *       the exact bytes served.
+ * </ul>
+ *
+ * Exits with status 1 on the first failure.
+ */ // คำอธิบายคลาส: ตรวจ cache ของ model ที่ดาวน์โหลดกับ HTTP server ในเครื่อง
+public final class ModelCacheCheck { // ประกาศคลาส ModelCacheCheck
+    private static final int CONCURRENT_REQUESTS = 8; // จำนวน request พร้อมกันสำหรับ URL เดียว
+
+    public static void main(String[] args) throws Exception { // จุดเริ่มต้นของโปรแกรม
+        if (args.length != 1) { // ถ้า argument ไม่ครบ
+            System.err.println("Usage: ModelCacheCheck <dir with .obj files>"); // แสดงวิธีใช้
+            System.exit(2); // ออกจากโปรแกรม
+        }
+        List<File> files = MeshConverter.listObjFiles(new File(args[0])); // model ที่จะให้บริการ
+        Map<String, byte[]> content = new HashMap<>(); // path -> เนื้อหา
+        for (File file : files) {
+            content.put("/" + file.getName(), Files.readAllBytes(file.toPath()));
+        }
+        String first = "/" + files.get(0).getName();
+        content.put("/alias" + first, content.get(first)); // URL อื่นที่เนื้อหาเหมือนกัน
+
+        AtomicInteger requests = new AtomicInteger(); // จำนวน request ที่ server ได้รับ
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0); // port ว่างใดก็ได้
+        server.createContext("/", exchange -> {
+            requests.incrementAndGet();
+            byte[] body = content.get(exchange.getRequestURI().getPath());
+            if (body == null) {
+                exchange.sendResponseHeaders(404, -1); // ไม่พบไฟล์
+            } else {
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            }
+            exchange.close();
+        });
+        server.setExecutor(Executors.newFixedThreadPool(4));
+        server.start();
+        String base = "http://127.0.0.1:" + server.getAddress().getPort();
+        File directory = Files.createTempDirectory("model-cache").toFile(); // โฟลเดอร์ cache ชั่วคราว
+        ExecutorService executor = Executors.newFixedThreadPool(CONCURRENT_REQUESTS);
+        try {
+            ModelCache cache = new ModelCache(directory, ModelCache.DEFAULT_MAX_BYTES, ModelCache.OBJ_TO_FMESH, executor);
+
+            // Concurrent misses for one URL share a download.
+            String url = base + first;
+            CountDownLatch start = new CountDownLatch(1);
+            List<CompletableFuture<CompletableFuture<File>>> callers = new ArrayList<>();
+            for (int i = 0; i < CONCURRENT_REQUESTS; ++i) {
+                callers.add(CompletableFuture.supplyAsync(() -> {
+                    awaitQuietly(start);
+                    return cache.get(url);
+                }));
+            }
+            long missStart = System.nanoTime();
+            start.countDown(); // เริ่มทุก request พร้อมกัน
+            File missFile = null;
+            for (CompletableFuture<CompletableFuture<File>> caller : callers) {
+                File file = caller.join().join();
+                expect(missFile == null || missFile.equals(file), "concurrent requests got different files");
+                missFile = file;
+            }
+            double missMs = (System.nanoTime() - missStart) / 1e6;
+            expect(cache.getDownloadCount() == 1 && requests.get() == 1, requests.get() + " downloads for " + CONCURRENT_REQUESTS + " concurrent requests");
+
+            // The second view is a mapped load.
+            long hitStart = System.nanoTime();
+            CompletableFuture<File> hit = cache.get(url);
+            expect(hit.isDone(), "a hit did not complete at once");
+            BinaryMeshFormat.View view = BinaryMeshFormat.read(ModelCache.map(hit.join()));
+            double hitMs = (System.nanoTime() - hitStart) / 1e6;
+            expect(requests.get() == 1, "a hit downloaded again");
+            MeshData expected = MeshConverter.readObj(files.get(0));
+            expect(view.lods.length > 0 && view.lods[0].indexCount == expected.getIndexCount(), "the mapped file does not hold the model");
+
+            // Same bytes under another URL share the processed file.
+            File alias = cache.get(base + "/alias" + first).join();
+            expect(alias.equals(missFile) && requests.get() == 2, "identical content was stored twice");
+
+            // A failed download completes exceptionally and is not cached.
+            try {
+                cache.get(base + "/missing.obj").join();
+                expect(false, "a 404 completed normally");
+            } catch (CompletionException e) {
+                expect(e.getCause() instanceof IOException, "a 404 failed with " + e.getCause());
+            }
+            expect(cache.lookup(base + "/missing.obj") == null, "a failed download was cached");
+
+            // Fill the cache, then shrink the budget: the least recently used files go first.
+            for (File file : files) {
+                cache.get(base + "/" + file.getName()).join();
+                Thread.sleep(5); // เวลาใช้งานต่างกันแน่นอน
+            }
+            cache.lookup(url); // model แรกกลายเป็นใช้ล่าสุด
+            long budget = cache.getUsedBytes() / 2;
+            cache.setMaxBytes(budget);
+            expect(cache.getUsedBytes() <= budget, "the cache is over its budget after eviction");
+            expect(cache.lookup(url) != null, "the most recently used model was evicted");
+            String oldest = base + "/" + files.get(1).getName();
+            expect(cache.lookup(oldest) == null, "the least recently used model survived eviction");
+            int downloads = requests.get();
+            cache.get(oldest).join(); // โหลดใหม่หลังถูก evict
+            expect(requests.get() == downloads + 1 && cache.getUsedBytes() <= budget, "reloading an evicted model did not respect the budget");
+
+            // The index survives a restart.
+            ModelCache reopened = new ModelCache(directory, budget, ModelCache.OBJ_TO_FMESH, executor);
+            expect(reopened.get(oldest).isDone() && requests.get() == downloads + 1, "a reopened cache missed");
+
+            // Stored unchanged: the hit is the served file, byte for byte, under the given extension.
+            ModelCache store = new ModelCache(new File(directory, "store"), ".glb", ModelCache.DEFAULT_MAX_BYTES, ModelCache.STORE, executor);
+            File stored = store.get(url).join();
+            downloads = requests.get();
+            expect(stored.getName().endsWith(".glb") && Arrays.equals(Files.readAllBytes(stored.toPath()), content.get(first)),
+                    "a stored model differs from the download");
+            expect(store.get(url).join().equals(stored) && requests.get() == downloads, "a stored model was downloaded again");
+
+            System.out.printf("%s: miss (download + process) %.1f ms, hit (mapped) %.2f ms, %d of %d bytes used%n",
+                    files.get(0).getName(), missMs, hitMs, cache.getUsedBytes(), budget); // แสดงผล
+        } catch (IllegalStateException e) { // ตรวจไม่ผ่าน
+            System.err.println("FAILED: " + e.getMessage()); // แสดงสาเหตุ
+            System.exit(1); // ออกจากโปรแกรม
+        } finally {
+            executor.shutdown();
+            server.stop(0);
+            deleteTree(directory);
+        }
+        System.out.println("Model cache shared downloads, deduplicated content, evicted LRU and survived a restart."); // ผ่านทุกข้อ
+        System.exit(0); // ปิด thread ของ HTTP server
+    }
+
+    private static void deleteTree(File file) { // เมธอดลบโฟลเดอร์และทุกอย่างข้างใน
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                deleteTree(child);
+            }
+        }
+        file.delete();
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) { // เมธอดรอ latch
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void expect(boolean condition, String message) { // เมธอดตรวจเงื่อนไข
+        if (!condition) {
+            throw new IllegalStateException(message); // ขว้าง exception
+        }
+    }
+
+    private ModelCacheCheck() {} // constructor private เพื่อไม่ให้สร้าง instance
+}
@@ -0,0 +1,105 @@
+package com.example.project_furnitureapp.samplerender.geometry; // ประกาศ package ของไฟล์นี้
+
+import java.io.ByteArrayInputStream; // import ByteArrayInputStream สำหรับอ่าน OBJ จากหน่วยความจำ
+import java.io.File; // import File สำหรับจัดการไฟล์
+import java.io.IOException; // import IOException สำหรับจัดการ exception
+import java.lang.management.ManagementFactory; // import ManagementFactory สำหรับอ่านสถิติของ JVM
+import java.nio.file.Files; // import Files สำหรับอ่านไฟล์ทั้งไฟล์
+import java.util.Arrays; // import Arrays สำหรับเรียงลำดับผลลัพธ์
+
+/**
+ * JVM benchmark comparing {@link ObjParser} with the de.javagl path ({@link ObjImporter}) on every
+ * model in a directory (see the {@code benchmarkObjParse} Gradle task).
+ *
+ * <p>Both paths read from an in-memory copy of the file and produce a {@link MeshData}. Besides the
+ * median parse time it reports the heap bytes allocated per parse, measured with the HotSpot
+ * per-thread allocation counter. The {@link ObjParser} instance is reused, as a loader would.
+ */ // คำอธิบายคลาส: benchmark เทียบเวลาและหน่วยความจำที่จองระหว่าง ObjParser กับ de.javagl
+public final class ObjParseBenchmark { // ประกาศคลาส ObjParseBenchmark
+    private static final int WARMUP_ITERATIONS = 5; // จำนวนรอบ warm-up
+    private static final int MEASURED_ITERATIONS = 20; // จำนวนรอบที่วัดผล
+
+    private static final com.sun.management.ThreadMXBean THREAD_BEAN =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean(); // ตัวนับหน่วยความจำที่ thread จอง
+
+    public static void main(String[] args) throws IOException { // จุดเริ่มต้นของโปรแกรม
+        if (args.length != 1) { // ถ้า argument ไม่ครบ
+            System.err.println("Usage: ObjParseBenchmark <dir with .obj files>"); // แสดงวิธีใช้
+            System.exit(2); // ออกจากโปรแกรม
+        }
+        ObjParser parser = new ObjParser(); // parser ที่ใช้ซ้ำทุกไฟล์
+        System.out.printf("%-14s %10s %10s %8s %12s %12s%n", "model", "javagl ms", "parser ms", "speedup", "javagl KiB", "parser KiB"); // หัวตาราง
+        double totalJavagl = 0; // เวลารวมของ de.javagl
+        double totalParser = 0; // เวลารวมของ ObjParser
+        for (File objFile : MeshConverter.listObjFiles(new File(args[0]))) { // วนลูปทุกไฟล์ .obj
+            byte[] objBytes = Files.readAllBytes(objFile.toPath()); // อ่าน OBJ เข้าหน่วยความจำ (ไม่นับเวลา I/O)
+
+            MeshData expected = ObjImporter.read(new ByteArrayInputStream(objBytes)); // ผลลัพธ์จาก de.javagl
+            MeshData actual = parser.parse(new ByteArrayInputStream(objBytes)); // ผลลัพธ์จาก ObjParser
+            checkSameTriangles(objFile.getName(), expected, actual); // ตรวจว่าได้สามเหลี่ยมเดียวกัน
+
+            long[] javagl = measure(() -> ObjImporter.read(new ByteArrayInputStream(objBytes))); // วัด de.javagl
+            long[] ours = measure(() -> parser.parse(new ByteArrayInputStream(objBytes))); // วัด ObjParser
+            double javaglMs = javagl[0] / 1e6; // เวลา median (ms)
+            double parserMs = ours[0] / 1e6;
+            totalJavagl += javaglMs; // รวมเวลา
+            totalParser += parserMs;
+            System.out.printf("%-14s %10.3f %10.3f %7.1fx %12d %12d%n",
+                    objFile.getName(), javaglMs, parserMs, javaglMs / parserMs, javagl[1] / 1024, ours[1] / 1024); // แสดงผล
+        }
+        System.out.printf("%-14s %10.3f %10.3f %7.1fx%n", "total", totalJavagl, totalParser, totalJavagl / totalParser); // แสดงผลรวม
+    }
+
+    /**
+     * Checks that both meshes describe the same triangles corner by corner. Vertex counts may
+     * differ: {@link ObjParser} merges every repeated (v, vt, vn) tuple, javagl only some of them.
+     */ // ตรวจว่า mesh สองอันมีสามเหลี่ยมเหมือนกันทุกมุม
+    private static void checkSameTriangles(String name, MeshData expected, MeshData actual) throws IOException { // เมธอดตรวจผลลัพธ์
+        if (expected.getIndexCount() != actual.getIndexCount()) { // จำนวน index ต้องเท่ากัน
+            throw new IOException(name + ": " + actual.getIndexCount() + " indices, javagl " + expected.getIndexCount()); // ขว้าง exception
+        }
+        for (int i = 0; i < expected.getIndexCount(); ++i) { // วนลูปทุกมุมของสามเหลี่ยม
+            int e = expected.indices[i]; // vertex จาก de.javagl
+            int a = actual.indices[i]; // vertex จาก ObjParser
+            if (!sameRange(expected.positions, e * 3, actual.positions, a * 3, 3)
+                    || !sameRange(expected.texCoords, e * 2, actual.texCoords, a * 2, 2)
+                    || !sameRange(expected.normals, e * 3, actual.normals, a * 3, 3)) { // ถ้า attribute ไม่ตรงกัน
+                throw new IOException(name + ": corner " + i + " differs from javagl"); // ขว้าง exception
+            }
+        }
+    }
+
+    private static boolean sameRange(float[] a, int aOffset, float[] b, int bOffset, int length) { // เมธอดเทียบ float ช่วงหนึ่ง
+        for (int i = 0; i < length; ++i) {
+            float x = a[aOffset + i], y = b[bOffset + i];
+            if (Math.abs(x - y) > 1e-6f * Math.max(1f, Math.abs(x))) { // ยอมให้ต่างกันระดับการปัดเศษ
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private interface Task { void run() throws IOException; } // interface สำหรับงานที่จะวัด
+
+    /** Returns {median nanoseconds, median allocated bytes} of the task. */ // วัดเวลาและหน่วยความจำ (median)
+    private static long[] measure(Task task) throws IOException { // เมธอดวัดผล
+        for (int i = 0; i < WARMUP_ITERATIONS; ++i) { // warm-up ให้ JIT ทำงาน
+            task.run();
+        }
+        long threadId = Thread.currentThread().getId(); // id ของ thread ปัจจุบัน
+        long[] times = new long[MEASURED_ITERATIONS]; // เวลาแต่ละรอบ
+        long[] allocations = new long[MEASURED_ITERATIONS]; // หน่วยความจำที่จองแต่ละรอบ
+        for (int i = 0; i < MEASURED_ITERATIONS; ++i) { // วัดผลแต่ละรอบ
+            long allocatedBefore = THREAD_BEAN.getThreadAllocatedBytes(threadId); // byte ที่จองก่อนเริ่ม
+            long start = System.nanoTime(); // เวลาเริ่ม
+            task.run(); // ทำงาน
+            times[i] = System.nanoTime() - start; // เวลาที่ใช้
+            allocations[i] = THREAD_BEAN.getThreadAllocatedBytes(threadId) - allocatedBefore; // byte ที่จองระหว่างทำงาน
+        }
+        Arrays.sort(times); // เรียงเวลา
+        Arrays.sort(allocations); // เรียงหน่วยความจำ
+        return new long[] {times[MEASURED_ITERATIONS / 2], allocations[MEASURED_ITERATIONS / 2]}; // คืนค่า median
+    }
+
+    private ObjParseBenchmark() {} // constructor private เพื่อไม่ให้สร้าง instance
+}
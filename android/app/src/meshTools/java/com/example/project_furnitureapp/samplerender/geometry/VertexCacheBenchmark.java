@@ -0,0 +1,100 @@
+package com.example.project_furnitureapp.samplerender.geometry; // ประกาศ package ของไฟล์นี้
+
+import java.io.File; // import File สำหรับจัดการไฟล์
+import java.io.IOException; // import IOException สำหรับจัดการ exception
+import java.util.Arrays; // import Arrays สำหรับเรียงลำดับผลลัพธ์
+
+/**
+ * JVM benchmark for {@link VertexCacheOptimizer} on every model in a directory (see the {@code
+ * benchmarkVertexCache} Gradle task).
+ *
+ * <p>For each model it prints ACMR and ATVR for 16- and 32-entry FIFO caches in the exported
+ * order, after triangle ordering alone and after the full pipeline, the fraction of vertex fetches
+ * that land on the next or an already fetched vertex before and after the fetch reorder, and the
+ * median optimization time. It also checks that every stage keeps the same set of triangles.
+ */ // คำอธิบายคลาส: benchmark ของการจัดลำดับ index สำหรับ vertex cache
+public final class VertexCacheBenchmark { // ประกาศคลาส VertexCacheBenchmark
+    private static final int WARMUP_ITERATIONS = 5; // จำนวนรอบ warm-up
+    private static final int MEASURED_ITERATIONS = 20; // จำนวนรอบที่วัดผล
+
+    public static void main(String[] args) throws IOException { // จุดเริ่มต้นของโปรแกรม
+        if (args.length != 1) { // ถ้า argument ไม่ครบ
+            System.err.println("Usage: VertexCacheBenchmark <dir with .obj files>"); // แสดงวิธีใช้
+            System.exit(2); // ออกจากโปรแกรม
+        }
+        System.out.printf("%-14s %9s %-23s %-23s %-23s %10s %8s%n", "model", "triangles",
+                "ACMR16 exp/tri/full", "ACMR32 exp/tri/full", "ATVR16 exp/tri/full", "seq fetch%", "opt ms"); // หัวตาราง
+        for (File objFile : MeshConverter.listObjFiles(new File(args[0]))) { // วนลูปทุกไฟล์ .obj
+            MeshData imported = MeshConverter.readObj(objFile); // mesh ตามลำดับที่ export มา
+            int vertexCount = imported.getVertexCount(); // จำนวน vertex
+            int[] triangleOrder = VertexCacheOptimizer.optimizeTriangleOrder(imported.indices, vertexCount); // จัดลำดับสามเหลี่ยมอย่างเดียว
+            int[] clustered = VertexCacheOptimizer.optimizeOverdraw(triangleOrder, imported.positions, vertexCount, VertexCacheOptimizer.OVERDRAW_THRESHOLD); // จัดลำดับ cluster
+            checkSameTriangles(objFile.getName(), imported.indices, triangleOrder); // ตรวจว่าสามเหลี่ยมไม่หาย
+            checkSameTriangles(objFile.getName(), imported.indices, clustered);
+            MeshData optimized = VertexCacheOptimizer.optimize(imported); // ทั้ง pipeline
+
+            int[][] orders = {imported.indices, triangleOrder, optimized.indices}; // ลำดับที่จะวัด
+            int[] vertexCounts = {vertexCount, vertexCount, optimized.getVertexCount()};
+            StringBuilder acmr16 = new StringBuilder(), acmr32 = new StringBuilder(), atvr16 = new StringBuilder(); // ผลแต่ละคอลัมน์
+            for (int i = 0; i < orders.length; ++i) {
+                VertexCacheOptimizer.Statistics s16 = VertexCacheOptimizer.analyze(orders[i], vertexCounts[i], 16);
+                VertexCacheOptimizer.Statistics s32 = VertexCacheOptimizer.analyze(orders[i], vertexCounts[i], 32);
+                String separator = i == 0 ? "" : "/";
+                acmr16.append(separator).append(String.format("%.3f", s16.acmr));
+                acmr32.append(separator).append(String.format("%.3f", s32.acmr));
+                atvr16.append(separator).append(String.format("%.3f", s16.atvr));
+            }
+            double millis = measure(imported) / 1e6; // เวลา median (ms)
+            System.out.printf("%-14s %9d %-23s %-23s %-23s %5.0f/%4.0f %8.2f%n",
+                    objFile.getName(), imported.getIndexCount() / 3, acmr16, acmr32, atvr16,
+                    sequentialFetches(clustered) * 100, sequentialFetches(optimized.indices) * 100, millis); // แสดงผล
+        }
+    }
+
+    /** Fraction of indices that are at most one past the highest vertex fetched so far. */ // สัดส่วนการอ่าน vertex ที่เรียงต่อกัน
+    private static double sequentialFetches(int[] indices) { // เมธอดวัดความต่อเนื่องของการอ่าน vertex
+        int highest = -1; // vertex สูงสุดที่อ่านแล้ว
+        int sequential = 0; // จำนวนการอ่านที่ต่อเนื่อง
+        for (int index : indices) {
+            if (index <= highest + 1) ++sequential;
+            highest = Math.max(highest, index);
+        }
+        return indices.length == 0 ? 1.0 : (double) sequential / indices.length;
+    }
+
+    /** Checks that both index lists contain the same triangles, allowing rotation of each triangle. */ // ตรวจว่าสามเหลี่ยมชุดเดียวกัน
+    private static void checkSameTriangles(String name, int[] expected, int[] actual) throws IOException { // เมธอดตรวจผลลัพธ์
+        if (!Arrays.equals(canonicalTriangles(expected), canonicalTriangles(actual))) { // ถ้าชุดสามเหลี่ยมไม่ตรงกัน
+            throw new IOException(name + ": reordering changed the triangle set"); // ขว้าง exception
+        }
+    }
+
+    private static long[] canonicalTriangles(int[] indices) { // เมธอดแปลงสามเหลี่ยมเป็นค่าที่เทียบกันได้
+        long[] keys = new long[indices.length / 3];
+        for (int t = 0; t < keys.length; ++t) {
+            int a = indices[t * 3], b = indices[t * 3 + 1], c = indices[t * 3 + 2];
+            if (b < a && b < c) { int x = a; a = b; b = c; c = x; } // หมุนให้ vertex น้อยสุดอยู่หน้า (คงทิศทางการวน)
+            else if (c < a && c < b) { int x = a; a = c; c = b; b = x; }
+            keys[t] = ((long) a << 42) | ((long) b << 21) | c;
+        }
+        Arrays.sort(keys);
+        return keys;
+    }
+
+    /** Returns the median nanoseconds of {@link VertexCacheOptimizer#optimize}. */ // วัดเวลา (median)
+    private static long measure(MeshData mesh) { // เมธอดวัดผล
+        for (int i = 0; i < WARMUP_ITERATIONS; ++i) { // warm-up ให้ JIT ทำงาน
+            VertexCacheOptimizer.optimize(mesh);
+        }
+        long[] times = new long[MEASURED_ITERATIONS]; // เวลาแต่ละรอบ
+        for (int i = 0; i < MEASURED_ITERATIONS; ++i) {
+            long start = System.nanoTime(); // เวลาเริ่ม
+            VertexCacheOptimizer.optimize(mesh);
+            times[i] = System.nanoTime() - start; // เวลาที่ใช้
+        }
+        Arrays.sort(times); // เรียงเวลา
+        return times[MEASURED_ITERATIONS / 2]; // คืนค่า median
+    }
+
+    private VertexCacheBenchmark() {} // constructor private เพื่อไม่ให้สร้าง instance
+}
@@ -0,0 +1,124 @@
+package com.example.project_furnitureapp.samplerender.gl; // ประกาศ package ของไฟล์นี้
+
+import com.example.project_furnitureapp.samplerender.geometry.Frustum; // import Frustum สำหรับคูณ matrix ของกล้อง
+import java.io.File; // import File สำหรับจัดการไฟล์
+import java.io.IOException; // import IOException สำหรับจัดการ exception
+import java.nio.charset.StandardCharsets; // import StandardCharsets สำหรับอ่านไฟล์ shader
+import java.nio.file.Files; // import Files สำหรับอ่านไฟล์ shader
+import java.util.ArrayList; // import ArrayList สำหรับรายการสมาชิกของ block
+import java.util.Arrays; // import Arrays สำหรับเรียงไฟล์
+import java.util.List; // import List สำหรับรายการสมาชิกของ block
+import java.util.Random; // import Random สำหรับสร้าง matrix สุ่ม
+import java.util.regex.Matcher; // import Matcher สำหรับอ่านสมาชิกของ block
+import java.util.regex.Pattern; // import Pattern สำหรับอ่านสมาชิกของ block
+
+/**
+ * JVM check of {@link CameraBlock} against the shaders of a directory (see the {@code
+ * checkCameraBlock} Gradle task, part of {@code check}). It verifies that:
+ *
+ * <ul>
+ *   <li>the float offsets and size match the std140 layout of the {@link CameraBlock#GLSL}
+ *       declaration;
+ *   <li>{@link CameraBlock#pack} writes the matrices, {@code projection * view}, the position and
+ *       the viewport where those offsets say;
+ *   <li>every shader is GLSL ES 3.00, which uniform blocks need, and none declares a block member
+ *       as a plain uniform, which would not compile once the block is inserted;
+ *   <li>no shader takes a per-object model-view or model-view-projection matrix any more.
+ * </ul>
+ *
+ * Exits with status 1 on the first failure.
+ */ // คำอธิบายคลาส: ตรวจ layout std140 ของ block ข้อมูลกล้อง และว่าทุก shader ใช้ block ได้
+public final class CameraBlockCheck { // ประกาศคลาส CameraBlockCheck
+    private static final Pattern MEMBER = Pattern.compile("^\\s*(?:highp\\s+)?(mat4|vec4|vec3|vec2|float)\\s+(\\w+);", Pattern.MULTILINE); // สมาชิกของ block
+    private static final String[] PER_OBJECT_CAMERA_UNIFORMS = {"u_ModelView", "u_ModelViewProjection"}; // uniform ที่ block มาแทน
+
+    public static void main(String[] args) throws IOException { // จุดเริ่มต้นของโปรแกรม
+        if (args.length != 1) { // ถ้า argument ไม่ครบ
+            System.err.println("Usage: CameraBlockCheck <shader dir>"); // แสดงวิธีใช้
+            System.exit(2); // ออกจากโปรแกรม
+        }
+        try {
+            // std140 offsets of the declaration.
+            List<String> names = new ArrayList<>();
+            int offset = 0; // byte
+            Matcher member = MEMBER.matcher(CameraBlock.GLSL);
+            while (member.find()) {
+                String type = member.group(1);
+                int alignment = type.equals("float") ? 4 : type.equals("vec2") ? 8 : 16; // base alignment ของ std140
+                int size = type.equals("mat4") ? 64 : type.equals("vec4") ? 16 : type.equals("vec3") ? 12 : type.equals("vec2") ? 8 : 4;
+                offset = (offset + alignment - 1) / alignment * alignment;
+                expect(offset / Float.BYTES == expectedOffset(member.group(2)),
+                        member.group(2) + " is at float " + offset / Float.BYTES + " in std140, not " + expectedOffset(member.group(2)));
+                names.add(member.group(2));
+                offset += size;
+            }
+            int blockSize = (offset + 15) / 16 * 16; // ขนาดของ block ปัดเป็น vec4
+            expect(names.size() == 5, "the declaration has " + names.size() + " members");
+            expect(blockSize == CameraBlock.SIZE_BYTES, "the block is " + blockSize + " bytes in std140, not " + CameraBlock.SIZE_BYTES);
+
+            // Packing.
+            Random random = new Random(42);
+            float[] view = random(random, 16), projection = random(random, 16), position = random(random, 3);
+            float[] packed = new float[CameraBlock.SIZE_FLOATS];
+            CameraBlock.pack(view, projection, position, 0, 0, 1080, 2400, packed);
+            float[] viewProjection = new float[16];
+            Frustum.multiply(projection, view, viewProjection);
+            expect(Arrays.equals(Arrays.copyOfRange(packed, CameraBlock.VIEW_OFFSET, CameraBlock.VIEW_OFFSET + 16), view), "u_View is not the view matrix");
+            expect(Arrays.equals(Arrays.copyOfRange(packed, CameraBlock.PROJECTION_OFFSET, CameraBlock.PROJECTION_OFFSET + 16), projection), "u_Projection is not the projection matrix");
+            for (int i = 0; i < 16; ++i) {
+                expect(Math.abs(packed[CameraBlock.VIEW_PROJECTION_OFFSET + i] - viewProjection[i]) < 1e-5f, "u_ViewProjection is not projection * view");
+            }
+            expect(packed[CameraBlock.CAMERA_POSITION_OFFSET] == position[0] && packed[CameraBlock.CAMERA_POSITION_OFFSET + 2] == position[2]
+                    && packed[CameraBlock.CAMERA_POSITION_OFFSET + 3] == 1f, "u_CameraPosition is not (position, 1)");
+            expect(packed[CameraBlock.VIEWPORT_OFFSET + 2] == 1080f && packed[CameraBlock.VIEWPORT_OFFSET + 3] == 2400f, "u_Viewport is not (0, 0, width, height)");
+
+            // Every shader can take the block.
+            File[] shaders = new File(args[0]).listFiles((dir, name) -> name.endsWith(".vert") || name.endsWith(".frag"));
+            expect(shaders != null && shaders.length > 0, "no shaders in " + args[0]);
+            Arrays.sort(shaders);
+            for (File shader : shaders) {
+                String source = new String(Files.readAllBytes(shader.toPath()), StandardCharsets.UTF_8);
+                expect(source.trim().startsWith("#version 300 es"), shader.getName() + " is not GLSL ES 3.00");
+                for (String name : names) {
+                    expect(!Pattern.compile("\\buniform\\s+\\w+\\s+" + name + "\\b").matcher(source).find(),
+                            shader.getName() + " declares " + name + ", which the camera block provides");
+                }
+                for (String name : PER_OBJECT_CAMERA_UNIFORMS) {
+                    expect(!Pattern.compile("\\b" + name + "\\b").matcher(source).find(),
+                            shader.getName() + " still takes " + name + " per object");
+                }
+            }
+            System.out.printf("Camera block: %d bytes, %d members; %d shaders can read it.%n", blockSize, names.size(), shaders.length); // แสดงผล
+        } catch (IllegalStateException e) { // ตรวจไม่ผ่าน
+            System.err.println("FAILED: " + e.getMessage()); // แสดงสาเหตุ
+            System.exit(1); // ออกจากโปรแกรม
+        }
+    }
+
+    private static int expectedOffset(String name) { // เมธอดคืนค่า offset ที่ CameraBlock ประกาศ
+        switch (name) {
+            case "u_View": return CameraBlock.VIEW_OFFSET;
+            case "u_Projection": return CameraBlock.PROJECTION_OFFSET;
+            case "u_ViewProjection": return CameraBlock.VIEW_PROJECTION_OFFSET;
+            case "u_CameraPosition": return CameraBlock.CAMERA_POSITION_OFFSET;
+            case "u_Viewport": return CameraBlock.VIEWPORT_OFFSET;
+            default: throw new IllegalStateException("unexpected member " + name); // ขว้าง exception
+        }
+    }
+
+    private static float[] random(Random random, int length) { // เมธอดสร้างค่าสุ่ม
+        float[] values = new float[length];
+        for (int i = 0; i < length; ++i) {
+            values[i] = random.nextFloat() * 2f - 1f;
+        }
+        return values;
+    }
+
+    private static void expect(boolean condition, String message) { // เมธอดตรวจเงื่อนไข
+        if (!condition) {
+            throw new IllegalStateException(message); // ขว้าง exception
+        }
+    }
+
+    private CameraBlockCheck() {} // constructor private เพื่อไม่ให้สร้าง instance
+}
@@ -0,0 +1,225 @@
+package com.example.project_furnitureapp.samplerender.gl; // ประกาศ package ของไฟล์นี้
+
+import java.nio.ByteBuffer; // import ByteBuffer สำหรับภาพ depth และ buffer จำลอง
+import java.util.ArrayDeque; // import ArrayDeque สำหรับคิวคำสั่งของ GPU จำลอง
+import java.util.HashMap; // import HashMap สำหรับ buffer และ fence ของ GPU จำลอง
+import java.util.Map; // import Map สำหรับ buffer และ fence ของ GPU จำลอง
+
+/**
+ * JVM check of {@link DepthUploadRing} against a fake GPU that copies a buffer into the texture a
+ * set number of frames after the copy is queued (see the {@code checkDepthUploadRing} Gradle task,
+ * part of {@code check}). It verifies that:
+ *
+ * <ul>
+ *   <li>no buffer is ever written while the GPU may still be reading it, so uploading never stalls
+ *       and never tears an image;
+ *   <li>with the GPU a frame behind, every image is uploaded, and the texture ends up holding the
+ *       last one exactly, with the source's row padding removed;
+ *   <li>an image with the timestamp of the last one is not uploaded again;
+ *   <li>with the GPU further behind than the ring is deep, images are skipped instead of waited for;
+ *   <li>storage is allocated once, and again only when the image size changes;
+ *   <li>closing deletes every buffer and fence.
+ * </ul>
+ *
+ * It prints the upload counts. Exits with status 1 on the first failure.
+ */ // คำอธิบายคลาส: ตรวจว่า upload ภาพ depth ผ่านวงของ buffer โดยไม่รอ GPU และข้อมูลถูกต้อง
+public final class DepthUploadRingCheck { // ประกาศคลาส DepthUploadRingCheck
+    private static final int WIDTH = 160; // ขนาดภาพ depth จำลอง
+    private static final int HEIGHT = 120;
+    private static final int PADDING = 6; // byte ที่เกินท้ายแถวของภาพต้นทาง
+    private static final int FRAMES = 1000; // จำนวนเฟรมที่จำลอง
+
+    /** Fake GPU: a queued copy from a buffer to the texture runs {@code latency} frames later. */
+    private static final class FakeGpu implements DepthUploadRing.Binding { // GPU จำลอง
+        final int latency; // จำนวนเฟรมกว่าคำสั่ง copy จะทำ
+        final Map<Integer, ByteBuffer> buffers = new HashMap<>(); // ข้อมูลของแต่ละ buffer
+        final Map<Long, Long> fences = new HashMap<>(); // เฟรมที่ fence จะ signal
+        final ArrayDeque<long[]> copies = new ArrayDeque<>(); // คำสั่ง copy ที่ค้าง: {buffer, เฟรมที่ทำ}
+        byte[] texture; // ข้อมูลของ texture
+        int textureWidth; // ขนาดของ texture
+        int nextId = 1; // id ถัดไป
+        long nextFence = 1; // fence ถัดไป
+        int textures; // จำนวนครั้งที่จอง texture
+        long frame; // เฟรมปัจจุบัน
+
+        FakeGpu(int latency) { // constructor
+            this.latency = latency;
+        }
+
+        @Override
+        public void genBuffers(int[] ids) { // สร้าง buffer
+            for (int i = 0; i < ids.length; ++i) {
+                ids[i] = nextId++;
+                buffers.put(ids[i], ByteBuffer.allocate(0));
+            }
+        }
+
+        @Override
+        public void deleteBuffers(int[] ids) { // ลบ buffer
+            for (int id : ids) {
+                buffers.remove(id);
+            }
+        }
+
+        @Override
+        public void allocateTexture(int width, int height) { // จอง texture
+            texture = new byte[width * height * DepthUploadRing.BYTES_PER_TEXEL];
+            textureWidth = width;
+            ++textures;
+        }
+
+        @Override
+        public void allocateBuffer(int id, int bytes) { // จอง buffer (แบบ orphan: คำสั่ง copy ที่ค้างอ่าน buffer เดิม)
+            buffers.put(id, ByteBuffer.allocate(bytes));
+            copies.removeIf(copy -> copy[0] == id);
+        }
+
+        @Override
+        public ByteBuffer map(int id, int bytes) { // map buffer สำหรับเขียน
+            for (long[] copy : copies) {
+                if (copy[0] == id) {
+                    throw new IllegalStateException("buffer " + id + " was mapped while the GPU still reads it"); // ต้องรอ GPU หรือภาพจะเสีย
+                }
+            }
+            ByteBuffer buffer = buffers.get(id);
+            buffer.clear();
+            return buffer;
+        }
+
+        @Override
+        public boolean unmap(int id) { return true; } // unmap buffer
+
+        @Override
+        public void texSubImage(int id, int width, int height) { // คิวคำสั่ง copy
+            if (width != textureWidth || width * height * DepthUploadRing.BYTES_PER_TEXEL != texture.length) {
+                throw new IllegalStateException("copied " + width + "x" + height + " into a texture of another size");
+            }
+            copies.add(new long[] {id, frame + latency});
+        }
+
+        @Override
+        public long fence() { // fence หลังคำสั่ง copy ล่าสุด
+            fences.put(nextFence, frame + latency);
+            return nextFence++;
+        }
+
+        @Override
+        public boolean isSignaled(long fence) { return fences.get(fence) <= frame; } // fence signal หรือยัง (ไม่รอ)
+
+        @Override
+        public void deleteFence(long fence) { fences.remove(fence); } // ลบ fence
+
+        /** Moves to the next frame, running the copies that are due. */
+        void advance() { // เมธอดเลื่อนเฟรม
+            ++frame;
+            while (!copies.isEmpty() && copies.peek()[1] <= frame) {
+                ByteBuffer buffer = buffers.get((int) copies.poll()[0]);
+                System.arraycopy(buffer.array(), 0, texture, 0, texture.length);
+            }
+        }
+    }
+
+    public static void main(String[] args) { // จุดเริ่มต้นของโปรแกรม
+        if (args.length != 0) { // ไม่รับ argument
+            System.err.println("Usage: DepthUploadRingCheck"); // แสดงวิธีใช้
+            System.exit(2); // ออกจากโปรแกรม
+        }
+        try {
+            // The GPU a frame behind: every image is uploaded, each into a buffer the GPU is done with.
+            FakeGpu gpu = new FakeGpu(1);
+            DepthUploadRing ring = new DepthUploadRing(gpu, DepthUploadRing.DEFAULT_DEPTH);
+            ByteBuffer source = ByteBuffer.allocate(10 + HEIGHT * (WIDTH * 2 + PADDING));
+            long timestamp = 0;
+            for (int i = 0; i < FRAMES; ++i) {
+                ++timestamp;
+                fillImage(source, 10, timestamp, WIDTH, HEIGHT);
+                expect(ring.upload(timestamp, WIDTH, HEIGHT, source, WIDTH * 2 + PADDING), "image " + timestamp + " was not uploaded");
+                expect(source.position() == 10, "the source position moved to " + source.position());
+                expect(!ring.upload(timestamp, WIDTH, HEIGHT, source, WIDTH * 2 + PADDING), "an unchanged image was uploaded again");
+                gpu.advance();
+            }
+            expect(ring.getWidth() == WIDTH && ring.getHeight() == HEIGHT, "texture is " + ring.getWidth() + "x" + ring.getHeight());
+            expect(ring.getUploadCount() == FRAMES && ring.getUnchangedCount() == FRAMES && ring.getBusyCount() == 0,
+                    ring.getUploadCount() + " uploaded, " + ring.getUnchangedCount() + " unchanged, " + ring.getBusyCount() + " busy");
+            expect(ring.getUploadedBytes() == (long) FRAMES * WIDTH * HEIGHT * 2, "counted " + ring.getUploadedBytes() + " bytes");
+            expect(ring.getAllocationCount() == 1 && gpu.textures == 1, "storage was allocated " + gpu.textures + " times for one size");
+            expectTexture(gpu, timestamp, WIDTH, HEIGHT);
+            System.out.printf("latency 1: %d of %d images uploaded, %d unchanged skipped, %d bytes%n",
+                    ring.getUploadCount(), FRAMES, ring.getUnchangedCount(), ring.getUploadedBytes()); // แสดงผล
+
+            // A new size allocates new storage; the texture holds the new image.
+            ByteBuffer small = ByteBuffer.allocate(80 * 60 * 2);
+            fillImage(small, 0, ++timestamp, 80, 60);
+            expect(ring.upload(timestamp, 80, 60, small, 80 * 2), "the resized image was not uploaded");
+            gpu.advance();
+            expect(ring.getAllocationCount() == 2 && gpu.textures == 2, "a new size did not allocate new storage");
+            expectTexture(gpu, timestamp, 80, 60);
+
+            // A source too small for the image is refused.
+            try {
+                ring.upload(timestamp + 1, WIDTH, HEIGHT, small, WIDTH * 2);
+                throw new IllegalStateException("an image larger than its source was accepted");
+            } catch (IllegalArgumentException expected) {
+                // ถูกต้อง
+            }
+
+            // Closing deletes every buffer and fence.
+            ring.close();
+            expect(gpu.buffers.isEmpty() && gpu.fences.isEmpty(), gpu.buffers.size() + " buffers and " + gpu.fences.size() + " fences leaked");
+            expect(!ring.upload(timestamp + 1, 80, 60, small, 80 * 2), "a closed ring uploaded");
+
+            // The GPU further behind than the ring is deep: skip images instead of waiting.
+            FakeGpu slowGpu = new FakeGpu(DepthUploadRing.DEFAULT_DEPTH + 2);
+            DepthUploadRing slowRing = new DepthUploadRing(slowGpu, DepthUploadRing.DEFAULT_DEPTH);
+            for (int i = 0; i < FRAMES; ++i) {
+                ++timestamp;
+                fillImage(source, 10, timestamp, WIDTH, HEIGHT);
+                slowRing.upload(timestamp, WIDTH, HEIGHT, source, WIDTH * 2 + PADDING);
+                slowGpu.advance();
+            }
+            expect(slowRing.getBusyCount() > 0 && slowRing.getUploadCount() > 0 && slowRing.getUploadCount() + slowRing.getBusyCount() == FRAMES,
+                    "a slow GPU was not skipped, or never uploaded to");
+            System.out.printf("latency %d: %d images uploaded, %d skipped while the GPU was busy%n",
+                    slowGpu.latency, slowRing.getUploadCount(), slowRing.getBusyCount()); // แสดงผล
+            slowRing.close();
+        } catch (IllegalStateException e) { // ตรวจไม่ผ่าน
+            System.err.println("FAILED: " + e.getMessage()); // แสดงสาเหตุ
+            System.exit(1); // ออกจากโปรแกรม
+        }
+        System.out.println("Depth images were uploaded without stalling."); // ผ่านทุกข้อ
+    }
+
+    /** Byte {@code i} of a texel's row in an image: depends on the image, the row and the column. */
+    private static byte texelByte(long timestamp, int row, int i) { return (byte) (timestamp * 31 + row * 7 + i); } // ข้อมูลจำลองของ texel
+
+    /** Writes an image from {@code offset}, with {@link #PADDING} bytes of junk after each row unless it is tightly packed. */
+    private static void fillImage(ByteBuffer source, int offset, long timestamp, int width, int height) { // เมธอดสร้างภาพจำลอง
+        int rowBytes = width * 2;
+        int stride = source.capacity() - offset >= height * (rowBytes + PADDING) ? rowBytes + PADDING : rowBytes;
+        source.clear();
+        for (int row = 0; row < height; ++row) {
+            for (int i = 0; i < stride; ++i) {
+                source.put(offset + row * stride + i, i < rowBytes ? texelByte(timestamp, row, i) : (byte) 0x7F); // padding เป็นขยะ
+            }
+        }
+        source.position(offset);
+    }
+
+    private static void expectTexture(FakeGpu gpu, long timestamp, int width, int height) { // เมธอดตรวจข้อมูลใน texture
+        for (int row = 0; row < height; ++row) {
+            for (int i = 0; i < width * 2; ++i) {
+                if (gpu.texture[row * width * 2 + i] != texelByte(timestamp, row, i)) {
+                    throw new IllegalStateException("texture byte " + i + " of row " + row + " is not from image " + timestamp);
+                }
+            }
+        }
+    }
+
+    private static void expect(boolean condition, String message) { // เมธอดตรวจเงื่อนไข
+        if (!condition) {
+            throw new IllegalStateException(message); // ขว้าง exception
+        }
+    }
+
+    private DepthUploadRingCheck() {} // constructor private เพื่อไม่ให้สร้าง instance
+}
@@ -0,0 +1,103 @@
+package com.example.project_furnitureapp.samplerender.gl; // ประกาศ package ของไฟล์นี้
+
+import java.io.File; // import File สำหรับจัดการไฟล์
+import java.io.IOException; // import IOException สำหรับจัดการ exception
+import java.io.RandomAccessFile; // import RandomAccessFile สำหรับทำให้ไฟล์เสีย
+import java.nio.ByteBuffer; // import ByteBuffer สำหรับข้อมูล binary
+import java.nio.file.Files; // import Files สำหรับสร้างโฟลเดอร์ชั่วคราว
+import java.util.Random; // import Random สำหรับสร้างข้อมูลสุ่ม
+
+/**
+ * JVM check of {@link ProgramBinaryStore} (see the {@code checkProgramBinaryStore} Gradle task,
+ * part of {@code check}). It verifies that:
+ *
+ * <ul>
+ *   <li>keys change with either source or the driver string, and cannot collide by moving text
+ *       from one part to the next;
+ *   <li>a stored binary reads back with its format and bytes, and a new write replaces it;
+ *   <li>truncated or corrupted files read as misses and are deleted.
+ * </ul>
+ *
+ * It prints the time of a warm read. Exits with status 1 on the first failure.
+ */ // คำอธิบายคลาส: ตรวจการเก็บ program binary ลงดิสก์
+public final class ProgramBinaryStoreCheck { // ประกาศคลาส ProgramBinaryStoreCheck
+    private static final int BINARY_BYTES = 64 * 1024; // ขนาด binary จำลอง
+    private static final int FORMAT = 0x8740; // binary format จำลอง
+    private static final int READS = 200; // จำนวนรอบที่วัดเวลาอ่าน
+
+    public static void main(String[] args) throws IOException { // จุดเริ่มต้นของโปรแกรม
+        if (args.length != 0) { // ไม่รับ argument
+            System.err.println("Usage: ProgramBinaryStoreCheck"); // แสดงวิธีใช้
+            System.exit(2); // ออกจากโปรแกรม
+        }
+        File directory = Files.createTempDirectory("program-binaries").toFile(); // โฟลเดอร์ชั่วคราว
+        try {
+            ProgramBinaryStore store = new ProgramBinaryStore(directory);
+
+            // Keys.
+            String key = ProgramBinaryStore.key("vertex", "fragment", "vendor|renderer|1");
+            expect(key.equals(ProgramBinaryStore.key("vertex", "fragment", "vendor|renderer|1")), "a key is not stable");
+            expect(!key.equals(ProgramBinaryStore.key("vertex", "fragment", "vendor|renderer|2")), "a driver update kept the key");
+            expect(!key.equals(ProgramBinaryStore.key("vertex ", "fragment", "vendor|renderer|1")), "a source change kept the key");
+            expect(!ProgramBinaryStore.key("ab", "c").equals(ProgramBinaryStore.key("a", "bc")), "keys collide across parts");
+
+            // Round trip and replacement.
+            expect(store.read(key) == null, "an empty store hit");
+            ByteBuffer binary = randomBinary(new Random(42));
+            store.write(key, FORMAT, binary);
+            ProgramBinaryStore.Entry entry = store.read(key);
+            expect(entry != null && entry.format == FORMAT && entry.binary.isDirect() && entry.binary.equals(binary), "a stored binary did not read back");
+            ByteBuffer replacement = randomBinary(new Random(7));
+            store.write(key, FORMAT + 1, replacement);
+            entry = store.read(key);
+            expect(entry != null && entry.format == FORMAT + 1 && entry.binary.equals(replacement), "a new write did not replace the old binary");
+
+            // Damaged files are misses and go away.
+            File file = new File(directory, key + ".bin");
+            try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+                raf.seek(raf.length() / 2);
+                int b = raf.read();
+                raf.seek(raf.length() / 2);
+                raf.write(b ^ 0xFF); // เปลี่ยน 1 byte
+            }
+            expect(store.read(key) == null && !file.exists(), "a corrupted binary was returned or kept");
+            store.write(key, FORMAT, binary);
+            try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+                raf.setLength(raf.length() - 1); // ตัดท้ายไฟล์
+            }
+            expect(store.read(key) == null && !file.exists(), "a truncated binary was returned or kept");
+
+            // Warm read time.
+            store.write(key, FORMAT, binary);
+            long start = System.nanoTime();
+            for (int i = 0; i < READS; ++i) {
+                expect(store.read(key) != null, "a stored binary went missing");
+            }
+            double readMs = (System.nanoTime() - start) / 1e6 / READS;
+            System.out.printf("%d KB program binary: %.3f ms per warm read%n", BINARY_BYTES / 1024, readMs); // แสดงผล
+        } catch (IllegalStateException e) { // ตรวจไม่ผ่าน
+            System.err.println("FAILED: " + e.getMessage()); // แสดงสาเหตุ
+            System.exit(1); // ออกจากโปรแกรม
+        } finally {
+            for (File file : directory.listFiles()) {
+                file.delete();
+            }
+            directory.delete();
+        }
+        System.out.println("Program binaries round-tripped, replaced and rejected damaged files."); // ผ่านทุกข้อ
+    }
+
+    private static ByteBuffer randomBinary(Random random) { // เมธอดสร้าง binary สุ่ม
+        byte[] bytes = new byte[BINARY_BYTES];
+        random.nextBytes(bytes);
+        return ByteBuffer.wrap(bytes);
+    }
+
+    private static void expect(boolean condition, String message) { // เมธอดตรวจเงื่อนไข
+        if (!condition) {
+            throw new IllegalStateException(message); // ขว้าง exception
+        }
+    }
+
+    private ProgramBinaryStoreCheck() {} // constructor private เพื่อไม่ให้สร้าง instance
+}
@@ -0,0 +1,171 @@
+package com.example.project_furnitureapp.samplerender.gl; // ประกาศ package ของไฟล์นี้
+
+import java.lang.management.ManagementFactory; // import ManagementFactory สำหรับวัดหน่วยความจำที่ thread จอง
+import java.util.Arrays; // import Arrays สำหรับเปรียบเทียบค่า
+import java.util.Random; // import Random สำหรับสร้างค่าสุ่ม
+
+/**
+ * JVM check of {@link UniformStore} (see the {@code checkUniforms} Gradle task, part of
+ * {@code check}). It replays the uniforms {@code PlaneRenderer} sets, with an uploader that copies
+ * into a shadow of the program's uniform storage instead of calling {@code glUniform*}, and
+ * verifies that:
+ *
+ * <ul>
+ *   <li>after every flush the shadow holds exactly the values that were set;
+ *   <li>a uniform set once at setup is uploaded once, and setting an unchanged value uploads nothing;
+ *   <li>a wrong type or length is rejected;
+ *   <li>steady-state frames allocate 0 bytes.
+ * </ul>
+ *
+ * Exits with status 1 on the first failure.
+ */ // คำอธิบายคลาส: ตรวจว่า uniform upload เฉพาะค่าที่เปลี่ยน ถูกต้อง และไม่จองหน่วยความจำต่อเฟรม
+public final class UniformCheck { // ประกาศคลาส UniformCheck
+    private static final int PLANES = 16; // จำนวน plane ต่อเฟรม
+    private static final int WARMUP_FRAMES = 20_000; // เฟรม warm-up ให้ JIT ทำงาน
+    private static final int MEASURED_FRAMES = 10_000; // เฟรมที่วัดการจองหน่วยความจำ
+
+    /** Records uploads into a shadow of the uniform values, like the GL program would hold them. */
+    private static final class ShadowUploader implements UniformStore.Uploader { // uploader จำลอง
+        final float[][] floats = new float[8][]; // ค่าที่ upload แล้ว ต่อ handle
+        final int[][] ints = new int[8][]; // ค่าที่ upload แล้ว ต่อ handle
+        final int[] uploads = new int[8]; // จำนวนครั้งที่ upload ต่อ location
+
+        @Override
+        public void upload(UniformStore.Handle handle, float[] floatValues, int[] intValues, int offset) {
+            int location = handle.getLocation();
+            if (handle.getType().integer) {
+                System.arraycopy(intValues, offset, ints[location], 0, handle.getLength());
+            } else {
+                System.arraycopy(floatValues, offset, floats[location], 0, handle.getLength());
+            }
+            ++uploads[location];
+        }
+    }
+
+    public static void main(String[] args) { // จุดเริ่มต้นของโปรแกรม
+        if (args.length != 0) { // ไม่รับ argument
+            System.err.println("Usage: UniformCheck"); // แสดงวิธีใช้
+            System.exit(2); // ออกจากโปรแกรม
+        }
+        try {
+            UniformStore store = new UniformStore();
+            ShadowUploader gpu = new ShadowUploader();
+            // The uniforms of plane.vert / plane.frag, with the locations a driver might assign.
+            UniformStore.Handle texture = add(store, gpu, "u_Texture", 0, UniformStore.Type.SAMPLER);
+            UniformStore.Handle model = add(store, gpu, "u_Model", 1, UniformStore.Type.MAT4);
+            UniformStore.Handle mvp = add(store, gpu, "u_ModelViewProjection", 2, UniformStore.Type.MAT4);
+            UniformStore.Handle gridControl = add(store, gpu, "u_GridControl", 3, UniformStore.Type.VEC4);
+            UniformStore.Handle normal = add(store, gpu, "u_Normal", 4, UniformStore.Type.VEC3);
+            UniformStore.Handle planeUv = add(store, gpu, "u_PlaneUvMatrix", 5, UniformStore.Type.MAT2);
+            UniformStore.Handle unused = store.add("u_Unused", -1, UniformStore.Type.FLOAT, 1); // ถูก compiler ตัดทิ้ง
+
+            // Setup: the grid control and the texture unit are set once.
+            float[] grid = {0.2f, 0.4f, 2.0f, 1.5f};
+            store.setFloats(gridControl, grid);
+            store.setInt(texture, 0); // unit 0 เท่ากับค่าเริ่มต้น: ไม่ต้อง upload
+            store.setFloat(unused, 1f);
+            expect(store.flush(gpu) == 1 && gpu.uploads[3] == 1, "setup uploaded other than the grid control");
+            expect(!store.isDirty(unused), "a uniform without a location stayed dirty");
+
+            // Per-plane values, precomputed so the frame loop itself allocates nothing.
+            Random random = new Random(42);
+            float[][] models = new float[PLANES][16], mvps = new float[PLANES][16];
+            float[][] normals = new float[PLANES][3], uvs = new float[PLANES][4];
+            for (int i = 0; i < PLANES; ++i) {
+                fill(random, models[i]);
+                fill(random, mvps[i]);
+                fill(random, normals[i]);
+                fill(random, uvs[i]);
+            }
+            normals[1] = normals[0].clone(); // plane ที่ normal เหมือนกัน: ไม่ต้อง upload ซ้ำ
+
+            // One frame, verified: the shadow matches after every draw.
+            int before = gpu.uploads[4];
+            for (int i = 0; i < PLANES; ++i) {
+                setPlane(store, model, mvp, normal, planeUv, models[i], mvps[i], normals[i], uvs[i]);
+                int uploaded = store.flush(gpu);
+                expect(Arrays.equals(gpu.floats[1], models[i]) && Arrays.equals(gpu.floats[2], mvps[i])
+                        && Arrays.equals(gpu.floats[4], normals[i]) && Arrays.equals(gpu.floats[5], uvs[i]),
+                        "plane " + i + " drew with stale uniform values");
+                expect(uploaded == (i == 1 ? 3 : 4), "plane " + i + " uploaded " + uploaded + " uniforms");
+            }
+            expect(gpu.uploads[4] - before == PLANES - 1, "an unchanged normal was uploaded again");
+            setPlane(store, model, mvp, normal, planeUv, models[PLANES - 1], mvps[PLANES - 1], normals[PLANES - 1], uvs[PLANES - 1]);
+            expect(store.flush(gpu) == 0, "setting the same values uploaded again");
+            expect(gpu.uploads[3] == 1 && gpu.uploads[0] == 0, "a constant uniform was uploaded per frame");
+
+            // Wrong type or length is rejected.
+            expectRejected(() -> store.setFloats(normal, grid), "a vec4 was accepted for a vec3");
+            expectRejected(() -> store.setInt(model, 1), "an int was accepted for a mat4");
+
+            // Steady state allocates nothing.
+            for (int frame = 0; frame < WARMUP_FRAMES; ++frame) {
+                frame(store, gpu, model, mvp, normal, planeUv, models, mvps, normals, uvs);
+            }
+            com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+            long overheadStart = threads.getCurrentThreadAllocatedBytes();
+            long overhead = threads.getCurrentThreadAllocatedBytes() - overheadStart; // ค่าใช้จ่ายของการวัดเอง
+            long start = threads.getCurrentThreadAllocatedBytes();
+            for (int frame = 0; frame < MEASURED_FRAMES; ++frame) {
+                frame(store, gpu, model, mvp, normal, planeUv, models, mvps, normals, uvs);
+            }
+            long allocated = threads.getCurrentThreadAllocatedBytes() - start - overhead;
+            double perFrame = (double) allocated / MEASURED_FRAMES;
+            expect(allocated == 0, String.format("steady-state frames allocated %.2f bytes each", perFrame));
+            System.out.printf("%d planes x %d frames: %.2f bytes allocated per frame%n", PLANES, MEASURED_FRAMES, perFrame); // แสดงผล
+        } catch (IllegalStateException e) { // ตรวจไม่ผ่าน
+            System.err.println("FAILED: " + e.getMessage()); // แสดงสาเหตุ
+            System.exit(1); // ออกจากโปรแกรม
+        }
+        System.out.println("Uniforms uploaded only when changed, with no per-frame allocation."); // ผ่านทุกข้อ
+    }
+
+    private static UniformStore.Handle add(UniformStore store, ShadowUploader gpu, String name, int location, UniformStore.Type type) { // เมธอดเพิ่ม uniform และ shadow ของมัน
+        UniformStore.Handle handle = store.add(name, location, type, 1);
+        if (type.integer) {
+            gpu.ints[location] = new int[handle.getLength()];
+        } else {
+            gpu.floats[location] = new float[handle.getLength()];
+        }
+        return handle;
+    }
+
+    private static void frame(UniformStore store, ShadowUploader gpu, UniformStore.Handle model, UniformStore.Handle mvp,
+            UniformStore.Handle normal, UniformStore.Handle planeUv, float[][] models, float[][] mvps, float[][] normals, float[][] uvs) { // เมธอดจำลองการวาด 1 เฟรม
+        for (int i = 0; i < PLANES; ++i) {
+            setPlane(store, model, mvp, normal, planeUv, models[i], mvps[i], normals[i], uvs[i]);
+            store.flush(gpu);
+        }
+    }
+
+    private static void setPlane(UniformStore store, UniformStore.Handle model, UniformStore.Handle mvp, UniformStore.Handle normal,
+            UniformStore.Handle planeUv, float[] modelValue, float[] mvpValue, float[] normalValue, float[] uvValue) { // เมธอดตั้งค่า uniform ของ plane เดียว
+        store.setFloats(model, modelValue);
+        store.setFloats(mvp, mvpValue);
+        store.setFloats(normal, normalValue);
+        store.setFloats(planeUv, uvValue);
+    }
+
+    private static void fill(Random random, float[] values) { // เมธอดเติมค่าสุ่ม
+        for (int i = 0; i < values.length; ++i) {
+            values[i] = random.nextFloat() * 2f - 1f;
+        }
+    }
+
+    private static void expectRejected(Runnable action, String message) { // เมธอดตรวจว่าโยน exception
+        try {
+            action.run();
+        } catch (IllegalArgumentException e) {
+            return;
+        }
+        throw new IllegalStateException(message); // ขว้าง exception
+    }
+
+    private static void expect(boolean condition, String message) { // เมธอดตรวจเงื่อนไข
+        if (!condition) {
+            throw new IllegalStateException(message); // ขว้าง exception
+        }
+    }
+
+    private UniformCheck() {} // constructor private เพื่อไม่ให้สร้าง instance
+}
@@ -0,0 +1,128 @@
+package com.example.project_furnitureapp.samplerender.gl; // ประกาศ package ของไฟล์นี้
+
+import java.io.Closeable; // import Closeable สำหรับ variant จำลอง
+import java.io.IOException; // import IOException สำหรับจัดการ exception
+import java.util.Arrays; // import Arrays สำหรับรายการ define ตอน warm-up
+import java.util.Collections; // import Collections สำหรับ map ของ define
+import java.util.LinkedHashMap; // import LinkedHashMap สำหรับ define ที่ลำดับต่างกัน
+import java.util.Map; // import Map สำหรับ define
+
+/**
+ * JVM check of {@link VariantRegistry} (see the {@code checkVariantRegistry} Gradle task, part of
+ * {@code check}). It verifies that:
+ *
+ * <ul>
+ *   <li>toggling a renderer between two variants many times compiles each variant once, and not at
+ *       all after a warm-up;
+ *   <li>the same defines in another order, or null and empty defines, are one variant, while a
+ *       different value or asset is another;
+ *   <li>a compile that throws is not cached and is retried on the next request;
+ *   <li>closing the registry closes each variant once and refuses later requests.
+ * </ul>
+ *
+ * It prints the compile and request counts. Exits with status 1 on the first failure.
+ */ // คำอธิบายคลาส: ตรวจว่าการสลับ variant ไม่ compile ซ้ำ
+public final class VariantRegistryCheck { // ประกาศคลาส VariantRegistryCheck
+    private static final int TOGGLES = 1000; // จำนวนครั้งที่สลับ variant
+
+    /** Stand-in for a compiled program: remembers how often it was closed. */
+    private static final class FakeProgram implements Closeable { // variant จำลอง
+        final Map<String, String> defines; // define ที่ได้รับตอน compile
+        int closeCount; // จำนวนครั้งที่ถูกปิด
+
+        FakeProgram(Map<String, String> defines) { // constructor
+            this.defines = defines;
+        }
+
+        @Override
+        public void close() { ++closeCount; } // นับการปิด
+    }
+
+    public static void main(String[] args) throws IOException { // จุดเริ่มต้นของโปรแกรม
+        if (args.length != 0) { // ไม่รับ argument
+            System.err.println("Usage: VariantRegistryCheck"); // แสดงวิธีใช้
+            System.exit(2); // ออกจากโปรแกรม
+        }
+        try {
+            boolean[] failNext = new boolean[1]; // ให้ compile ครั้งถัดไปล้มเหลว
+            VariantRegistry<FakeProgram> registry = new VariantRegistry<>((vertex, fragment, defines) -> {
+                if (failNext[0]) {
+                    failNext[0] = false;
+                    throw new IOException("compile error"); // จำลอง compile ไม่ผ่าน
+                }
+                return new FakeProgram(defines);
+            });
+            Map<String, String> on = Collections.singletonMap("USE_OCCLUSION", "1");
+            Map<String, String> off = Collections.singletonMap("USE_OCCLUSION", "0");
+
+            // Toggling compiles each variant once.
+            FakeProgram first = registry.get("occlusion.vert", "occlusion.frag", off);
+            for (int i = 0; i < TOGGLES; ++i) {
+                FakeProgram program = registry.get("occlusion.vert", "occlusion.frag", i % 2 == 0 ? on : off);
+                expect(i % 2 != 0 || program.defines.equals(on), "the occlusion variant lost its define");
+                expect(i % 2 == 0 || program == first, "toggling back returned a new program");
+            }
+            expect(registry.getCompileCount() == 2, TOGGLES + " toggles compiled " + registry.getCompileCount() + " programs, not 2");
+
+            // Warm-up compiles ahead, later requests never compile.
+            registry.warmUp("background.vert", "background.frag", Arrays.asList(null, Collections.singletonMap("DEPTH", "1")));
+            int warmed = registry.getCompileCount();
+            expect(warmed == 4, "warm-up compiled " + (warmed - 2) + " variants, not 2");
+            for (int i = 0; i < TOGGLES; ++i) {
+                registry.get("background.vert", "background.frag", i % 2 == 0 ? Collections.singletonMap("DEPTH", "1") : null);
+            }
+            expect(registry.getCompileCount() == warmed, "a warmed-up variant was compiled again");
+
+            // Keys.
+            Map<String, String> ab = new LinkedHashMap<>();
+            ab.put("A", "1");
+            ab.put("B", "2");
+            Map<String, String> ba = new LinkedHashMap<>();
+            ba.put("B", "2");
+            ba.put("A", "1");
+            expect(VariantRegistry.key("v", "f", ab).equals(VariantRegistry.key("v", "f", ba)), "define order changed the key");
+            expect(VariantRegistry.key("v", "f", null).equals(VariantRegistry.key("v", "f", Collections.emptyMap())), "null and empty defines differ");
+            expect(!VariantRegistry.key("v", "f", on).equals(VariantRegistry.key("v", "f", off)), "a define value did not change the key");
+            expect(!VariantRegistry.key("v", "f", null).equals(VariantRegistry.key("v", "g", null)), "the fragment asset did not change the key");
+            expect(registry.get("v", "f", ab) == registry.get("v", "f", ba), "reordered defines compiled a second program");
+
+            // Failed compiles are retried.
+            failNext[0] = true;
+            int before = registry.getCompileCount();
+            try {
+                registry.get("broken.vert", "broken.frag", null);
+                throw new IllegalStateException("a failed compile returned a program"); // ขว้าง exception
+            } catch (IOException expected) {
+                // ต้องได้ exception
+            }
+            expect(registry.getCompileCount() == before && registry.get("broken.vert", "broken.frag", null) != null,
+                    "a failed compile was cached or counted");
+
+            // Close.
+            int variants = registry.size();
+            int requests = registry.getRequestCount();
+            int compiles = registry.getCompileCount();
+            registry.close();
+            expect(first.closeCount == 1 && registry.size() == 0, "closing the registry did not close each variant once");
+            try {
+                registry.get("occlusion.vert", "occlusion.frag", off);
+                throw new IllegalStateException("a closed registry returned a program"); // ขว้าง exception
+            } catch (IllegalStateException expected) {
+                expect(expected.getMessage().equals("Variant registry is closed"), expected.getMessage());
+            }
+            System.out.printf("%d variant requests, %d compiles, %d variants alive before close.%n", requests, compiles, variants); // แสดงผล
+        } catch (IllegalStateException e) { // ตรวจไม่ผ่าน
+            System.err.println("FAILED: " + e.getMessage()); // แสดงสาเหตุ
+            System.exit(1); // ออกจากโปรแกรม
+        }
+        System.out.println("Shader variants were compiled once each and reused on every toggle."); // ผ่านทุกข้อ
+    }
+
+    private static void expect(boolean condition, String message) { // เมธอดตรวจเงื่อนไข
+        if (!condition) {
+            throw new IllegalStateException(message); // ขว้าง exception
+        }
+    }
+
+    private VariantRegistryCheck() {} // constructor private เพื่อไม่ให้สร้าง instance
+}
@@ -1,6 +1,8 @@
 // Import ไลบรารีที่จำเป็นสำหรับการทำงาน
 import 'dart:ui' as ui; // ใช้สำหรับจัดการกราฟิกระดับล่าง เช่น ui.Image
 import 'dart:typed_data'; // ใช้สำหรับจัดการข้อมูลที่เป็น raw bytes เช่น Uint8List สำหรับรูปภาพ
+import 'dart:developer'
+    show Timeline; // ใช้สำหรับ trace section ที่เห็นใน Perfetto คู่กับ trace ของ tap ฝั่ง Native
 import 'package:flutter/rendering.dart'; // ใช้สำหรับเข้าถึง Render Object เช่น RenderRepaintBoundary
 import 'package:flutter/material.dart'; // ไลบรารีหลักสำหรับสร้าง UI ของ Flutter
 import 'package:flutter/services.dart'; // ใช้สำหรับ MethodChannel เพื่อสื่อสารกับ Native
@@ -120,25 +122,29 @@ class _ArMeasureScreenState extends State<ArMeasureScreen> {
       case 'measurementSetResult':
         // แปลง arguments ที่ได้มา (ซึ่งเป็น List)
         final List<dynamic>? results = call.arguments as List<dynamic>?;
-        // ถ้า results ไม่ใช่ null และ Widget ยังคงอยู่บนหน้าจอ (mounted)
-        if (results != null && mounted) {
-          // อัปเดต state ของแอป
-          setState(() {
-            // แปลง List ของ Map ที่ได้มาให้เป็น List ของ MeasurementData object
-            _measurements = results
-                .map((item) => MeasurementData.fromMap(
-                    item as Map<dynamic, dynamic>,
-                    MediaQuery.of(context)
-                        .devicePixelRatio)) // ส่ง devicePixelRatio ไปด้วย
-                .toList();
-            // อัปเดตข้อความสถานะตามจำนวนการวัด
-            if (!_isActionFinished) {
-              _statusText = _measurements.isEmpty
-                  ? 'Tap on detected planes to measure.' // ถ้ายังไม่มีการวัด
-                  : '${_measurements.length} measurement(s) active.'; // ถ้ามีการวัดแล้ว
-            }
-          });
-        }
+        // trace section ของการรับผล: ฝั่ง Native ปิด trace ของ tap เมื่อเมธอดนี้คืนค่า
+        // (timeSync ปิด section ให้แม้ระหว่างทางจะ throw)
+        Timeline.timeSync('ar_measure measurementSetResult', () {
+          // ถ้า results ไม่ใช่ null และ Widget ยังคงอยู่บนหน้าจอ (mounted)
+          if (results != null && mounted) {
+            // อัปเดต state ของแอป
+            setState(() {
+              // แปลง List ของ Map ที่ได้มาให้เป็น List ของ MeasurementData object
+              _measurements = results
+                  .map((item) => MeasurementData.fromMap(
+                      item as Map<dynamic, dynamic>,
+                      MediaQuery.of(context)
+                          .devicePixelRatio)) // ส่ง devicePixelRatio ไปด้วย
+                  .toList();
+              // อัปเดตข้อความสถานะตามจำนวนการวัด
+              if (!_isActionFinished) {
+                _statusText = _measurements.isEmpty
+                    ? 'Tap on detected planes to measure.' // ถ้ายังไม่มีการวัด
+                    : '${_measurements.length} measurement(s) active.'; // ถ้ามีการวัดแล้ว
+              }
+            });
+          }
+        });
         break;
       // กรณีที่ Native แจ้งว่าได้ล้างจุดทั้งหมดแล้ว
       case 'pointsCleared':
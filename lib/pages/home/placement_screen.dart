@@ -2,6 +2,7 @@
 import 'dart:typed_data'; // ใช้สำหรับ Uint8List ซึ่งเป็นข้อมูลรูปภาพที่ส่งมาจากหน้า AR
 import 'package:flutter/material.dart'; // ไลบรารีหลักสำหรับสร้าง UI
 import 'package:model_viewer_plus/model_viewer_plus.dart'; // Import Widget สำหรับแสดงผลโมเดล 3 มิติ
+import '../../services/model_cache_service.dart'; // ใช้ไฟล์โมเดลจาก cache ในเครื่องแทนการดาวน์โหลดซ้ำ
 
 // Import เพื่อให้รู้จักคลาส MeasurementData สำหรับแสดงผลการวัดซ้ำ
 import 'ar_measure_screen.dart';
@@ -38,6 +39,8 @@ class _PlacementScreenState extends State<PlacementScreen> {
   Offset? _modelPosition;
   // ขนาด (ความกว้างและความสูง) ของกรอบ ModelViewer เป็นค่าคงที่
   final double _modelViewerSize = 400.0;
+  // path ของไฟล์โมเดลใน cache (หรือ URL เดิมถ้า cache ไม่ได้)
+  late final Future<String> _modelSrc = ModelCacheService.resolve(widget.modelUrl);
 
   // เมธอดที่จะถูกเรียกเมื่อผู้ใช้ยกนิ้วขึ้นจากการแตะหน้าจอ
   void _handleScreenTap(TapUpDetails details) {
@@ -157,16 +160,25 @@ class _PlacementScreenState extends State<PlacementScreen> {
                   width: _modelViewerSize,
                   height: _modelViewerSize,
                   // ModelViewer: Widget สำหรับแสดงโมเดล 3 มิติ
-                  child: ModelViewer(
-                    src: widget.modelUrl, // URL ของไฟล์โมเดล
-                    alt: "3D Model", // ข้อความอธิบาย
-                    cameraControls: true, // อนุญาตให้ผู้ใช้หมุนดูโมเดลได้
-                    disableZoom: true, // ปิดการซูม
-                    backgroundColor: Colors.transparent, // พื้นหลังโปร่งใส
-                    interactionPrompt: InteractionPrompt
-                        .none, // ไม่ต้องแสดง prompt แนะนำการใช้งาน
-                    cameraOrbit:
-                        '0deg 75deg ${cameraRadius}m', // กำหนดมุมกล้องและระยะห่างเริ่มต้น
+                  child: FutureBuilder<String>(
+                    future: _modelSrc,
+                    builder: (context, snapshot) {
+                      // ระหว่างดาวน์โหลดครั้งแรก แสดงตัวโหลด
+                      if (!snapshot.hasData) {
+                        return const Center(child: CircularProgressIndicator());
+                      }
+                      return ModelViewer(
+                        src: snapshot.data!, // ไฟล์โมเดลใน cache หรือ URL เดิม
+                        alt: "3D Model", // ข้อความอธิบาย
+                        cameraControls: true, // อนุญาตให้ผู้ใช้หมุนดูโมเดลได้
+                        disableZoom: true, // ปิดการซูม
+                        backgroundColor: Colors.transparent, // พื้นหลังโปร่งใส
+                        interactionPrompt: InteractionPrompt
+                            .none, // ไม่ต้องแสดง prompt แนะนำการใช้งาน
+                        cameraOrbit:
+                            '0deg 75deg ${cameraRadius}m', // กำหนดมุมกล้องและระยะห่างเริ่มต้น
+                      );
+                    },
                   ),
                 ),
               ),
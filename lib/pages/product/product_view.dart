@@ -5,6 +5,7 @@ import 'package:project_furnitureapp/pages/home/product_model.dart';
 import 'package:model_viewer_plus/model_viewer_plus.dart';
 import 'package:project_furnitureapp/pages/product/orderProduct.dart';
 import 'package:project_furnitureapp/pages/home/ar_measure_screen.dart';
+import 'package:project_furnitureapp/services/model_cache_service.dart';
 import 'dart:io' show Platform;
 
 class ProductView extends StatefulWidget {
@@ -17,11 +18,13 @@ class ProductView extends StatefulWidget {
 
 class _ProductViewState extends State<ProductView> {
   late productModel model;
+  late Future<String> modelSrc;
 
   @override
   void initState() {
     super.initState();
     model = widget.productmodel;
+    modelSrc = ModelCacheService.resolve(model.model); // ไฟล์ใน cache ถ้าเคยเปิดสินค้านี้แล้ว
   }
 
   Future<void> addToCart() async {
@@ -72,11 +75,19 @@ class _ProductViewState extends State<ProductView> {
           Container(
             height: 350,
             width: 350,
-            child: ModelViewer(
-              src: model.model, // URL/path ของโมเดล 3D
-              ar: false,
-              autoRotate: true,
-              cameraControls: true,
+            child: FutureBuilder<String>(
+              future: modelSrc,
+              builder: (context, snapshot) {
+                if (!snapshot.hasData) {
+                  return Center(child: CircularProgressIndicator());
+                }
+                return ModelViewer(
+                  src: snapshot.data!, // URL/path ของโมเดล 3D (ไฟล์ใน cache หรือ URL เดิม)
+                  ar: false,
+                  autoRotate: true,
+                  cameraControls: true,
+                );
+              },
             ),
           ),
           SizedBox(height: 20),
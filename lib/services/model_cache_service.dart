@@ -0,0 +1,28 @@
+import 'dart:io' show Platform;
+
+import 'package:flutter/services.dart';
+
+/// Resolves product model URLs through the on-disk model cache on Android
+/// (ProductModelCache.java), so that the second view of a product loads a
+/// local file instead of downloading the model again.
+class ModelCacheService {
+  static const MethodChannel _channel = MethodChannel('product_model_cache');
+
+  /// Returns a `file://` URL of the cached copy of [url], downloading it on a
+  /// miss. Falls back to [url] itself when it is not an http(s) URL, off
+  /// Android, or when the download fails, so the viewer can still load it.
+  static Future<String> resolve(String url) async {
+    if (!Platform.isAndroid || !(url.startsWith('http://') || url.startsWith('https://'))) {
+      return url;
+    }
+    try {
+      final String? path = await _channel.invokeMethod<String>('getModelFile', {'url': url});
+      return path == null ? url : Uri.file(path).toString();
+    } on PlatformException catch (e) {
+      print('Model cache failed for $url: ${e.message}');
+      return url;
+    } on MissingPluginException {
+      return url;
+    }
+  }
+}